@@ -0,0 +1,20 @@
+#!/bin/bash
+
+function abs_path() {
+    SOURCE="${BASH_SOURCE[0]}"
+    while [ -h "$SOURCE" ]; do
+        DIR="$( cd -P "$( dirname "$SOURCE" )" && pwd )"
+        SOURCE="$(readlink "$SOURCE")"
+        [[ $SOURCE != /* ]] && SOURCE="$DIR/$SOURCE"
+    done
+    echo "$( cd -P "$( dirname "$SOURCE" )" && pwd )"
+}
+
+BIN=`abs_path`
+TOP="$(cd $BIN/../ && pwd)"
+
+. $BIN/util.sh
+
+CRONTAB_JOB="$TOP/bin/monitor-hugegraph.sh"
+
+crontab_remove "$CRONTAB_JOB"
@@ -21,6 +21,7 @@ package com.baidu.hugegraph.api;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
@@ -28,6 +29,8 @@ import java.util.function.Consumer;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Variant;
 
 import org.slf4j.Logger;
 
@@ -55,6 +58,11 @@ public class API {
                                APPLICATION_JSON + ";charset=" + CHARSET;
     public static final String JSON = MediaType.APPLICATION_JSON_TYPE
                                                .getSubtype();
+    public static final String APPLICATION_BINARY =
+                               "application/x-hugegraph-binary";
+    // Prefer json if the client accepts both of them (like with '*/*')
+    public static final String APPLICATION_BINARY_WITH_QS =
+                               APPLICATION_BINARY + ";qs=0.5";
 
     public static final String ACTION_APPEND = "append";
     public static final String ACTION_ELIMINATE = "eliminate";
@@ -68,6 +76,14 @@ public class API {
     private static final Meter unknownErrorMeter =
                          MetricsUtil.registerMeter(API.class, "unknown-error");
 
+    private static final MediaType BINARY_TYPE =
+                         MediaType.valueOf(APPLICATION_BINARY);
+    private static final List<Variant> RESPONSE_VARIANTS =
+                         Variant.mediaTypes(
+                         MediaType.valueOf(APPLICATION_JSON_WITH_CHARSET),
+                         MediaType.valueOf(APPLICATION_BINARY_WITH_QS))
+                         .build();
+
     public static HugeGraph graph(GraphManager manager, String graph) {
         HugeGraph g = manager.graph(graph);
         if (g == null) {
@@ -182,6 +198,17 @@ public class API {
         return props;
     }
 
+    /**
+     * Negotiate the response format with the same media types (and quality
+     * source) as the resources producing json and binary, return true if
+     * the binary format is preferred by the accept header of the request
+     */
+    public static boolean binaryResponse(Request request) {
+        Variant variant = request.selectVariant(RESPONSE_VARIANTS);
+        return variant != null &&
+               variant.getMediaType().isCompatible(BINARY_TYPE);
+    }
+
     public static boolean checkAndParseAction(String action) {
         E.checkArgumentNotNull(action, "The action param can't be empty");
         if (action.equals(ACTION_APPEND)) {
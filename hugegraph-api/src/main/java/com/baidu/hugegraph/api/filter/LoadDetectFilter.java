@@ -19,10 +19,15 @@
 
 package com.baidu.hugegraph.api.filter;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.List;
 import java.util.Set;
 
 import javax.inject.Singleton;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.ServiceUnavailableException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
@@ -33,18 +38,22 @@ import javax.ws.rs.ext.Provider;
 
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.define.ConcurrencyLimiter;
 import com.baidu.hugegraph.define.WorkLoad;
 import com.baidu.hugegraph.license.LicenseVerifier;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.util.concurrent.RateLimiter;
 
 @Provider
 @Singleton
 @PreMatching
 public class LoadDetectFilter implements ContainerRequestFilter {
 
+    public static final String LOAD_WORKLOAD = "load.workload";
+    public static final String LOAD_LIMITER = "load.limiter";
+    public static final String LOAD_START_TIME = "load.start_time";
+
     private static final Set<String> WHITE_API_LIST = ImmutableSet.of(
             "",
             "apis",
@@ -52,9 +61,10 @@ public class LoadDetectFilter implements ContainerRequestFilter {
             "versions"
     );
 
-    // Call gc every 30+ seconds if memory is low and request frequently
-    private static final RateLimiter GC_RATE_LIMITER =
-                         RateLimiter.create(1.0 / 30);
+    private static final Set<String> TRAVERSAL_API_LIST = ImmutableSet.of(
+            "gremlin",
+            "traversers"
+    );
 
     @Context
     private javax.inject.Provider<HugeConfig> configProvider;
@@ -70,11 +80,30 @@ public class LoadDetectFilter implements ContainerRequestFilter {
         }
 
         HugeConfig config = this.configProvider.get();
+        WorkLoad load = this.loadProvider.get();
+
+        ConcurrencyLimiter limiter = load.limiter(requestKind(context));
+        if (limiter != null) {
+            // Wait a moment in the queue rather than reject burst requests
+            long timeout = config.get(ServerOptions.REQUEST_QUEUE_TIMEOUT);
+            if (!limiter.tryAcquire(timeout)) {
+                throw new ServiceUnavailableException(String.format(
+                          "The server is too busy to process the %s " +
+                          "request (%s), you can config %s to adjust it " +
+                          "or try again later", limiter.name(), limiter,
+                          ServerOptions.MAX_QUEUED_REQUESTS.name()));
+            }
+            // Let LoadReleaseFilter release the limiter and sample latency
+            context.setProperty(LOAD_LIMITER, limiter);
+            context.setProperty(LOAD_START_TIME, System.nanoTime());
+        }
 
         int maxWorkerThreads = config.get(ServerOptions.MAX_WORKER_THREADS);
-        WorkLoad load = this.loadProvider.get();
+        int running = load.incrementAndGet();
+        // Let LoadReleaseFilter decrease the load even if rejected here
+        context.setProperty(LOAD_WORKLOAD, load);
         // There will be a thread doesn't work, dedicated to statistics
-        if (load.incrementAndGet() >= maxWorkerThreads) {
+        if (running >= maxWorkerThreads) {
             throw new ServiceUnavailableException(String.format(
                       "The server is too busy to process the request, " +
                       "you can config %s to adjust it or try again later",
@@ -82,12 +111,8 @@ public class LoadDetectFilter implements ContainerRequestFilter {
         }
 
         long minFreeMemory = config.get(ServerOptions.MIN_FREE_MEMORY);
-        long allocatedMem = Runtime.getRuntime().totalMemory() -
-                            Runtime.getRuntime().freeMemory();
-        long presumableFreeMem = (Runtime.getRuntime().maxMemory() -
-                                  allocatedMem) / Bytes.MB;
+        long presumableFreeMem = presumableFreeMemory() / Bytes.MB;
         if (presumableFreeMem < minFreeMemory) {
-            gcIfNeeded();
             throw new ServiceUnavailableException(String.format(
                       "The server available memory %s(MB) is below than " +
                       "threshold %s(MB) and can't process the request, " +
@@ -105,9 +130,44 @@ public class LoadDetectFilter implements ContainerRequestFilter {
         return WHITE_API_LIST.contains(rootPath);
     }
 
-    private static void gcIfNeeded() {
-        if (GC_RATE_LIMITER.tryAcquire(1)) {
-            System.gc();
+    private static WorkLoad.Kind requestKind(ContainerRequestContext context) {
+        /*
+         * The uri is like "gremlin", "graphs/{graph}/jobs/gremlin" or
+         * "graphs/{graph}/traversers/{traverser}"
+         */
+        List<PathSegment> segments = context.getUriInfo().getPathSegments();
+        for (int i = 0; i < segments.size() && i < 4; i++) {
+            if (TRAVERSAL_API_LIST.contains(segments.get(i).getPath())) {
+                return WorkLoad.Kind.TRAVERSAL;
+            }
+        }
+        String method = context.getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) {
+            return WorkLoad.Kind.READ;
+        }
+        return WorkLoad.Kind.WRITE;
+    }
+
+    /**
+     * Estimate the free heap memory by the usage after the last gc of each
+     * heap memory pool, the garbage collected by the next gc is not counted
+     * as used, so no need to call gc explicitly under pressure
+     * @return the presumable free memory in bytes
+     */
+    private static long presumableFreeMemory() {
+        long max = Runtime.getRuntime().maxMemory();
+        long used = 0L;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isValid()) {
+                continue;
+            }
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage == null) {
+                // The pool is not collected by gc
+                usage = pool.getUsage();
+            }
+            used += usage.getUsed();
         }
+        return max - used;
     }
 }
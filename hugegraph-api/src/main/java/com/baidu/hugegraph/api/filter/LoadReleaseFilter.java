@@ -19,30 +19,75 @@
 
 package com.baidu.hugegraph.api.filter;
 
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 import javax.inject.Singleton;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
-import javax.ws.rs.core.Context;
 import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
 
+import com.baidu.hugegraph.define.ConcurrencyLimiter;
 import com.baidu.hugegraph.define.WorkLoad;
 
+/**
+ * Release the load acquired by LoadDetectFilter after the response is sent,
+ * the response with entity is released after the entity is written since
+ * the streaming entity (like StreamingOutput) is produced while writing.
+ */
 @Provider
 @Singleton
-public class LoadReleaseFilter implements ContainerResponseFilter {
+public class LoadReleaseFilter implements ContainerResponseFilter,
+                                          WriterInterceptor {
 
-    @Context
-    private javax.inject.Provider<WorkLoad> loadProvider;
+    private static final String RESPONSE_STATUS = "load.response_status";
 
     @Override
     public void filter(ContainerRequestContext requestContext,
                        ContainerResponseContext responseContext) {
-        if (LoadDetectFilter.isWhiteAPI(requestContext)) {
-            return;
+        requestContext.setProperty(RESPONSE_STATUS,
+                                   responseContext.getStatus());
+        if (!responseContext.hasEntity()) {
+            release(requestContext::getProperty,
+                    requestContext::removeProperty);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context)
+                              throws IOException, WebApplicationException {
+        try {
+            context.proceed();
+        } finally {
+            release(context::getProperty, context::removeProperty);
         }
+    }
 
-        WorkLoad load = this.loadProvider.get();
-        load.decrementAndGet();
+    private static void release(Function<String, Object> getter,
+                                Consumer<String> remover) {
+        // The properties are removed to release only once
+        Object load = getter.apply(LoadDetectFilter.LOAD_WORKLOAD);
+        if (load != null) {
+            remover.accept(LoadDetectFilter.LOAD_WORKLOAD);
+            ((WorkLoad) load).decrementAndGet();
+        }
+
+        Object limiter = getter.apply(LoadDetectFilter.LOAD_LIMITER);
+        if (limiter != null) {
+            remover.accept(LoadDetectFilter.LOAD_LIMITER);
+            long start = (Long) getter.apply(LoadDetectFilter.LOAD_START_TIME);
+            long latency = System.nanoTime() - start;
+            // Don't sample the latency of failed requests
+            Object status = getter.apply(RESPONSE_STATUS);
+            if (status == null || (Integer) status >= 500) {
+                latency = 0L;
+            }
+            ((ConcurrencyLimiter) limiter).release(latency);
+        }
     }
 }
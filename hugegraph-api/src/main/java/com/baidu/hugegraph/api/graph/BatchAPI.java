@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.api.graph;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,6 +30,8 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
 import com.baidu.hugegraph.define.Checkable;
@@ -36,6 +39,7 @@ import com.baidu.hugegraph.define.UpdateStrategy;
 import com.baidu.hugegraph.metrics.MetricsUtil;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.Meter;
@@ -54,7 +58,7 @@ public class BatchAPI extends API {
                                   () -> batchWriteThreads.intValue());
     }
 
-    private final Meter batchMeter;
+    protected final Meter batchMeter;
 
     public BatchAPI() {
         this.batchMeter = MetricsUtil.registerMeter(this.getClass(),
@@ -80,6 +84,44 @@ public class BatchAPI extends API {
         }
     }
 
+    /**
+     * Acquire at most the expected number of batch writing threads without
+     * blocking, must call releaseWriteThreads() with the acquired number
+     * after writing
+     * @return the number of acquired threads, 0 if the server is too busy
+     */
+    protected static int tryAcquireWriteThreads(HugeConfig config,
+                                                int expected) {
+        int maxWriteThreads = config.get(ServerOptions.MAX_WRITE_THREADS);
+        int acquired = 0;
+        while (acquired < expected) {
+            int writingThreads = batchWriteThreads.incrementAndGet();
+            if (writingThreads > maxWriteThreads) {
+                batchWriteThreads.decrementAndGet();
+                break;
+            }
+            acquired++;
+        }
+        return acquired;
+    }
+
+    protected static void releaseWriteThreads(int count) {
+        batchWriteThreads.addAndGet(-count);
+    }
+
+    /**
+     * Build a query to get the elements by ids with one multi-get, the
+     * results are not sorted by the ids
+     */
+    protected static IdQuery idQuery(HugeType type, Collection<Id> ids) {
+        IdQuery query = new IdQuery(type);
+        for (Id id : ids) {
+            query.query(id);
+        }
+        query.mustSortByInput(false);
+        return query;
+    }
+
     @JsonIgnoreProperties(value = {"type"})
     protected static abstract class JsonElement implements Checkable {
 
@@ -20,11 +20,14 @@
 package com.baidu.hugegraph.api.graph;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import javax.inject.Singleton;
 import javax.ws.rs.Consumes;
@@ -137,10 +140,9 @@ public class EdgeAPI extends BatchAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        TriFunction<HugeGraph, Object, String, Vertex> getVertex =
-                    checkVertex ? EdgeAPI::getVertex : EdgeAPI::newVertex;
-
         return this.commit(config, g, jsonEdges.size(), () -> {
+            TriFunction<HugeGraph, Object, String, Vertex> getVertex =
+                        getVertexFunc(g, checkVertex, jsonEdges);
             List<String> ids = new ArrayList<>(jsonEdges.size());
             for (JsonEdge jsonEdge : jsonEdges) {
                 /*
@@ -180,10 +182,8 @@ public class EdgeAPI extends BatchAPI {
 
         HugeGraph g = graph(manager, graph);
         Map<Id, JsonEdge> map = new HashMap<>(req.jsonEdges.size());
-        TriFunction<HugeGraph, Object, String, Vertex> getVertex =
-                    req.checkVertex ? EdgeAPI::getVertex : EdgeAPI::newVertex;
 
-        return this.commit(config, g, map.size(), () -> {
+        return this.commit(config, g, req.jsonEdges.size(), () -> {
             // 1.Put all newEdges' properties into map (combine first)
             req.jsonEdges.forEach(newEdge -> {
                 Id newEdgeId = getEdgeId(g, newEdge);
@@ -193,9 +193,9 @@ public class EdgeAPI extends BatchAPI {
                 map.put(newEdgeId, newEdge);
             });
 
-            // 2.Get all oldEdges and update with new ones
-            Object[] ids = map.keySet().toArray();
-            Iterator<Edge> oldEdges = g.edges(ids);
+            // 2.Get all oldEdges by one multi-get and update them
+            Iterator<Edge> oldEdges = g.edges(idQuery(HugeType.EDGE,
+                                                      map.keySet()));
             oldEdges.forEachRemaining(oldEdge -> {
                 JsonEdge newEdge = map.get(oldEdge.id());
                 this.updateExistElement(g, oldEdge, newEdge,
@@ -203,6 +203,8 @@ public class EdgeAPI extends BatchAPI {
             });
 
             // 3.Add all finalEdges
+            TriFunction<HugeGraph, Object, String, Vertex> getVertex =
+                        getVertexFunc(g, req.checkVertex, map.values());
             List<Edge> edges = new ArrayList<>(map.size());
             map.values().forEach(finalEdge -> {
                 Vertex srcVertex = getVertex.apply(g, finalEdge.source,
@@ -372,7 +374,39 @@ public class EdgeAPI extends BatchAPI {
         }
     }
 
-    private static Vertex getVertex(HugeGraph graph, Object id, String label) {
+    /**
+     * Get the function to get source and target vertices of the edges,
+     * the vertices are prefetched by one multi-get if need to check them
+     */
+    static TriFunction<HugeGraph, Object, String, Vertex> getVertexFunc(
+                                     HugeGraph graph, boolean checkVertex,
+                                     Collection<JsonEdge> jsonEdges) {
+        if (!checkVertex) {
+            return EdgeAPI::newVertex;
+        }
+        Set<Id> ids = new HashSet<>();
+        for (JsonEdge jsonEdge : jsonEdges) {
+            ids.add(HugeVertex.getIdValue(jsonEdge.source));
+            ids.add(HugeVertex.getIdValue(jsonEdge.target));
+        }
+        Map<Id, Vertex> vertices = new HashMap<>(ids.size());
+        Iterator<Vertex> iter = graph.vertices(idQuery(HugeType.VERTEX, ids));
+        while (iter.hasNext()) {
+            HugeVertex vertex = (HugeVertex) iter.next();
+            // Clone a new vertex to support multi-thread access
+            vertices.put(vertex.id(), vertex.copy().resetTx());
+        }
+        return (g, id, label) -> {
+            Vertex vertex = vertices.get(HugeVertex.getIdValue(id));
+            if (vertex == null) {
+                throw new IllegalArgumentException(String.format(
+                          "Invalid vertex id '%s'", id));
+            }
+            return vertex;
+        };
+    }
+
+    static Vertex getVertex(HugeGraph graph, Object id, String label) {
         HugeVertex vertex;
         try {
             vertex = (HugeVertex) graph.vertices(id).next();
@@ -384,7 +418,7 @@ public class EdgeAPI extends BatchAPI {
         return vertex.copy().resetTx();
     }
 
-    private static Vertex newVertex(HugeGraph graph, Object id, String label) {
+    static Vertex newVertex(HugeGraph graph, Object id, String label) {
         // NOTE: Not use SchemaManager because it will throw 404
         VertexLabel vl = graph.schemaTransaction().getVertexLabel(label);
         E.checkArgumentNotNull(vl, "Invalid vertex label '%s'", label);
@@ -466,7 +500,7 @@ public class EdgeAPI extends BatchAPI {
         }
     }
 
-    private static class JsonEdge extends JsonElement {
+    static class JsonEdge extends JsonElement {
 
         @JsonProperty("outV")
         public Object source;
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.function.TriFunction;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.api.filter.DecompressInterceptor.Decompress;
+import com.baidu.hugegraph.api.filter.StatusFilter.Status;
+import com.baidu.hugegraph.api.graph.EdgeAPI.JsonEdge;
+import com.baidu.hugegraph.api.graph.VertexAPI.JsonVertex;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.server.RestServer;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Load vertices and edges from a newline-delimited json stream, each line
+ * is a vertex or an edge like the body of the batch APIs, with an optional
+ * "type" field. The lines are parsed by the request thread and committed
+ * in batches by the workers, reading the stream is blocked if the workers
+ * can't keep up with it. Each worker holds a batch writing thread, and the
+ * request is rejected if none of them is available.
+ */
+@Path("graphs/{graph}/graph/load")
+@Singleton
+public class LoadAPI extends BatchAPI {
+
+    private static final Logger LOG = Log.logger(RestServer.class);
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String LOAD_WORKER = "load-worker-%d";
+
+    // The workers of all requests, bounded by the batch writing threads
+    private static volatile ExecutorService loadExecutor;
+
+    @POST
+    @Timed
+    @Decompress
+    @Status(Status.CREATED)
+    @Consumes({APPLICATION_NDJSON, MediaType.TEXT_PLAIN})
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public Map<String, Object> load(@Context HugeConfig config,
+                                    @Context GraphManager manager,
+                                    @PathParam("graph") String graph,
+                                    @QueryParam("check_vertex")
+                                    @DefaultValue("true") boolean checkVertex,
+                                    InputStream body) {
+        LOG.debug("Graph [{}] load vertices and edges", graph);
+        E.checkArgumentNotNull(body, "The request body can't be empty");
+
+        HugeGraph g = graph(manager, graph);
+        LoadReport report = new LoadReport(
+                            config.get(ServerOptions.LOAD_MAX_ERRORS));
+        LoadPipeline pipeline = new LoadPipeline(config, g, checkVertex,
+                                                 report);
+        try (BufferedReader reader = new BufferedReader(
+                                     new InputStreamReader(body, CHARSET))) {
+            LoadBatch batch = null;
+            int lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                JsonElement element;
+                try {
+                    element = parseElement(line);
+                } catch (Exception e) {
+                    report.fail(lineNo, e);
+                    continue;
+                }
+                boolean edge = element instanceof JsonEdge;
+                if (batch != null && (batch.edge != edge || batch.full())) {
+                    pipeline.submit(batch);
+                    batch = null;
+                }
+                if (batch == null) {
+                    batch = new LoadBatch(edge);
+                }
+                batch.add(lineNo, element);
+            }
+            if (batch != null) {
+                pipeline.submit(batch);
+            }
+            pipeline.flush();
+        } catch (IOException e) {
+            throw new HugeException("Failed to read the request body", e);
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted while loading", e);
+        } finally {
+            pipeline.close();
+        }
+        return report.asMap();
+    }
+
+    private static JsonElement parseElement(String line) throws IOException {
+        JsonNode node = MAPPER.readTree(line);
+        E.checkArgument(node != null && node.isObject(),
+                        "Expect a json object, but got '%s'", line);
+        boolean edge;
+        JsonNode type = node.get("type");
+        if (type == null) {
+            edge = node.has("outV");
+        } else if ("vertex".equals(type.asText())) {
+            edge = false;
+        } else if ("edge".equals(type.asText())) {
+            edge = true;
+        } else {
+            throw new IllegalArgumentException(String.format(
+                      "The type must be 'vertex' or 'edge', but got '%s'",
+                      type.asText()));
+        }
+        Class<? extends JsonElement> clazz = edge ? JsonEdge.class :
+                                                    JsonVertex.class;
+        JsonElement element = MAPPER.treeToValue(node, clazz);
+        element.checkCreate(true);
+        return element;
+    }
+
+    private static ExecutorService loadExecutor() {
+        if (loadExecutor == null) {
+            synchronized (LoadAPI.class) {
+                if (loadExecutor == null) {
+                    ThreadFactory factory = new BasicThreadFactory.Builder()
+                                            .namingPattern(LOAD_WORKER)
+                                            .daemon(true).build();
+                    loadExecutor = Executors.newCachedThreadPool(factory);
+                }
+            }
+        }
+        return loadExecutor;
+    }
+
+    private static class LoadBatch {
+
+        private static final LoadBatch END = new LoadBatch(false);
+
+        private final boolean edge;
+        private final List<Integer> lines;
+        private final List<JsonElement> elements;
+
+        public LoadBatch(boolean edge) {
+            this.edge = edge;
+            this.lines = new ArrayList<>();
+            this.elements = new ArrayList<>();
+        }
+
+        public void add(int line, JsonElement element) {
+            this.lines.add(line);
+            this.elements.add(element);
+        }
+
+        public int size() {
+            return this.elements.size();
+        }
+
+        public boolean full() {
+            return this.elements.size() >= GraphTransaction.COMMIT_BATCH;
+        }
+    }
+
+    private class LoadPipeline {
+
+        private final HugeGraph graph;
+        private final boolean checkVertex;
+        private final LoadReport report;
+
+        private final int workers;
+        private final CountDownLatch stopped;
+        private final List<Future<?>> futures;
+        private final BlockingQueue<LoadBatch> queue;
+        private int pending;
+        private boolean lastEdge;
+
+        public LoadPipeline(HugeConfig config, HugeGraph graph,
+                            boolean checkVertex, LoadReport report) {
+            this.graph = graph;
+            this.checkVertex = checkVertex;
+            this.report = report;
+
+            int expected = config.get(ServerOptions.LOAD_WORKERS);
+            this.workers = tryAcquireWriteThreads(config, expected);
+            if (this.workers == 0) {
+                throw new ServiceUnavailableException(String.format(
+                          "The rest server is too busy to write, " +
+                          "you can config %s to adjust it or try again later",
+                          ServerOptions.MAX_WRITE_THREADS.name()));
+            }
+            int batches = config.get(ServerOptions.LOAD_PENDING_BATCHES);
+            this.queue = new ArrayBlockingQueue<>(batches);
+            this.stopped = new CountDownLatch(this.workers);
+            this.futures = new ArrayList<>(this.workers);
+            for (int i = 0; i < this.workers; i++) {
+                this.futures.add(loadExecutor().submit(this::work));
+            }
+            this.pending = 0;
+            this.lastEdge = false;
+        }
+
+        public void submit(LoadBatch batch) throws InterruptedException {
+            /*
+             * The edges may link to the vertices loaded just now, wait for
+             * them to be committed if need to check the vertices exist
+             */
+            if (batch.edge && !this.lastEdge && this.checkVertex) {
+                this.flush();
+            }
+            this.lastEdge = batch.edge;
+            synchronized (this) {
+                this.pending++;
+            }
+            // Block reading the stream if too many batches are pending
+            this.queue.put(batch);
+        }
+
+        public synchronized void flush() throws InterruptedException {
+            while (this.pending > 0) {
+                this.wait();
+            }
+        }
+
+        public void close() {
+            this.queue.clear();
+            for (int i = 0; i < this.workers; i++) {
+                this.queue.offer(LoadBatch.END);
+            }
+            try {
+                // The queue may be too small to hold all the END marks
+                while (!this.stopped.await(1L, TimeUnit.SECONDS)) {
+                    for (int i = this.queue.size(); i < this.workers; i++) {
+                        this.queue.offer(LoadBatch.END);
+                    }
+                }
+            } catch (InterruptedException e) {
+                for (Future<?> future : this.futures) {
+                    future.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+            } finally {
+                releaseWriteThreads(this.workers);
+            }
+        }
+
+        private synchronized void done() {
+            this.pending--;
+            this.notifyAll();
+        }
+
+        private void work() {
+            try {
+                while (true) {
+                    LoadBatch batch = this.queue.take();
+                    if (batch == LoadBatch.END) {
+                        break;
+                    }
+                    try {
+                        this.commit(batch);
+                    } finally {
+                        this.done();
+                    }
+                }
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while loading graph '{}'",
+                         this.graph, e);
+            } finally {
+                this.graph.closeTx();
+                this.stopped.countDown();
+            }
+        }
+
+        private void commit(LoadBatch batch) {
+            try {
+                API.commit(this.graph, () -> {
+                    this.add(batch.edge, batch.elements);
+                });
+                this.report.succeed(batch.edge, batch.size());
+            } catch (Throwable e) {
+                LOG.debug("Failed to load batch, retry one by one", e);
+                // Commit one by one to find out the failed lines
+                for (int i = 0; i < batch.size(); i++) {
+                    JsonElement element = batch.elements.get(i);
+                    try {
+                        API.commit(this.graph, () -> {
+                            this.add(batch.edge, ImmutableList.of(element));
+                        });
+                        this.report.succeed(batch.edge, 1);
+                    } catch (Throwable e2) {
+                        this.report.fail(batch.lines.get(i), e2);
+                    }
+                }
+            }
+            batchMeter.mark(batch.size());
+        }
+
+        private void add(boolean edge, List<JsonElement> elements) {
+            if (!edge) {
+                for (JsonElement element : elements) {
+                    this.graph.addVertex(element.properties());
+                }
+                return;
+            }
+
+            List<JsonEdge> edges = new ArrayList<>(elements.size());
+            for (JsonElement element : elements) {
+                edges.add((JsonEdge) element);
+            }
+            // Prefetch the source and target vertices by one multi-get
+            TriFunction<HugeGraph, Object, String, Vertex> getVertex;
+            getVertex = EdgeAPI.getVertexFunc(this.graph, this.checkVertex,
+                                              edges);
+            for (JsonEdge jsonEdge : edges) {
+                Vertex source = getVertex.apply(this.graph, jsonEdge.source,
+                                                jsonEdge.sourceLabel);
+                Vertex target = getVertex.apply(this.graph, jsonEdge.target,
+                                                jsonEdge.targetLabel);
+                source.addEdge(jsonEdge.label, target, jsonEdge.properties());
+            }
+        }
+    }
+
+    private static class LoadReport {
+
+        private final int maxErrors;
+        private final List<Map<String, Object>> errors;
+        private long vertices;
+        private long edges;
+        private long failures;
+
+        public LoadReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+            this.errors = new ArrayList<>();
+            this.vertices = 0L;
+            this.edges = 0L;
+            this.failures = 0L;
+        }
+
+        public synchronized void succeed(boolean edge, int count) {
+            if (edge) {
+                this.edges += count;
+            } else {
+                this.vertices += count;
+            }
+        }
+
+        public synchronized void fail(int line, Throwable e) {
+            this.failures++;
+            if (this.errors.size() < this.maxErrors) {
+                String message = e.getMessage();
+                if (message == null) {
+                    message = e.getClass().getSimpleName();
+                }
+                this.errors.add(ImmutableMap.of("line", line,
+                                                "message", message));
+            }
+        }
+
+        public synchronized Map<String, Object> asMap() {
+            // The lines may fail out of order since committed in parallel
+            this.errors.sort(Comparator.comparingInt(
+                             e -> (Integer) e.get("line")));
+            return ImmutableMap.of("vertices", this.vertices,
+                                   "edges", this.edges,
+                                   "failures", this.failures,
+                                   "errors", this.errors);
+        }
+    }
+}
@@ -141,7 +141,7 @@ public class VertexAPI extends BatchAPI {
         HugeGraph g = graph(manager, graph);
         Map<Id, JsonVertex> map = new HashMap<>(req.jsonVertices.size());
 
-        return this.commit(config, g, map.size(), () -> {
+        return this.commit(config, g, req.jsonVertices.size(), () -> {
             /*
              * 1.Put all newVertices' properties into map (combine first)
              * - Consider primary-key & user-define ID mode first
@@ -154,9 +154,10 @@ public class VertexAPI extends BatchAPI {
                 map.put(newVertexId, newVertex);
             });
 
-            // 2.Get all oldVertices and update with new vertices
-            Object[] ids = map.keySet().toArray();
-            Iterator<Vertex> oldVertices = g.vertices(ids);
+            // 2.Get all oldVertices by one multi-get and update them
+            Iterator<Vertex> oldVertices = g.vertices(
+                                           idQuery(HugeType.VERTEX,
+                                                   map.keySet()));
             oldVertices.forEachRemaining(oldVertex -> {
                 JsonVertex newVertex = map.get(oldVertex.id());
                 this.updateExistElement(g, oldVertex, newVertex,
@@ -376,7 +377,7 @@ public class VertexAPI extends BatchAPI {
         }
     }
 
-    private static class JsonVertex extends JsonElement {
+    static class JsonVertex extends JsonElement {
 
         @Override
         public void checkCreate(boolean isBatch) {
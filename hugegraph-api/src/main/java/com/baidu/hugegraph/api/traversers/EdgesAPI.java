@@ -30,6 +30,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.slf4j.Logger;
@@ -59,8 +61,9 @@ public class EdgesAPI extends API {
     @GET
     @Timed
     @Compress
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String list(@Context GraphManager manager,
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY_WITH_QS})
+    public Object list(@Context GraphManager manager,
+                       @Context Request request,
                        @PathParam("graph") String graph,
                        @QueryParam("ids") List<String> stringIds) {
         LOG.debug("Graph [{}] get edges by ids: {}", graph, stringIds);
@@ -76,6 +79,9 @@ public class EdgesAPI extends API {
         HugeGraph g = graph(manager, graph);
 
         Iterator<Edge> edges = g.edges(ids);
+        if (binaryResponse(request)) {
+            return manager.binarySerializer(g).writeEdges(edges, false);
+        }
         return manager.serializer(g).writeEdges(edges, false);
     }
 
@@ -100,14 +106,16 @@ public class EdgesAPI extends API {
     @Timed
     @Path("scan")
     @Compress
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String scan(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("start") String start,
-                       @QueryParam("end") String end,
-                       @QueryParam("page") String page,
-                       @QueryParam("page_limit")
-                       @DefaultValue(DEFAULT_PAGE_LIMIT) long pageLimit) {
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY_WITH_QS})
+    public StreamingOutput scan(@Context GraphManager manager,
+                                @Context Request request,
+                                @PathParam("graph") String graph,
+                                @QueryParam("start") String start,
+                                @QueryParam("end") String end,
+                                @QueryParam("page") String page,
+                                @QueryParam("page_limit")
+                                @DefaultValue(DEFAULT_PAGE_LIMIT)
+                                long pageLimit) {
         LOG.debug("Graph [{}] query edges by shard(start: {}, end: {}, " +
                   "page: {}) ", graph, start, end, page);
 
@@ -121,6 +129,11 @@ public class EdgesAPI extends API {
         }
         Iterator<Edge> edges = g.edges(query);
 
-        return manager.serializer(g).writeEdges(edges, query.paging());
+        // Write elements to the response while iterating them
+        if (binaryResponse(request)) {
+            return manager.binarySerializer(g).writeEdges(edges,
+                                                          query.paging());
+        }
+        return manager.serializer(g).streamEdges(edges, query.paging());
     }
 }
@@ -29,6 +29,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 
 import org.slf4j.Logger;
 
@@ -55,8 +56,9 @@ public class KneighborAPI extends API {
 
     @GET
     @Timed
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY_WITH_QS})
+    public Object get(@Context GraphManager manager,
+                      @Context Request request,
                       @PathParam("graph") String graph,
                       @QueryParam("source") String sourceV,
                       @QueryParam("direction") String direction,
@@ -65,12 +67,14 @@ public class KneighborAPI extends API {
                       @QueryParam("max_degree")
                       @DefaultValue(DEFAULT_DEGREE) long degree,
                       @QueryParam("limit")
-                      @DefaultValue(DEFAULT_ELEMENTS_LIMIT) long limit) {
+                      @DefaultValue(DEFAULT_ELEMENTS_LIMIT) long limit,
+                      @QueryParam("parallel")
+                      @DefaultValue("false") boolean parallel) {
         LOG.debug("Graph [{}] get k-neighbor from '{}' with " +
                   "direction '{}', edge label '{}', max depth '{}', " +
-                  "max degree '{}' and limit '{}'",
+                  "max degree '{}', limit '{}' and parallel '{}'",
                   graph, sourceV, direction, edgeLabel, depth,
-                  degree, limit);
+                  degree, limit, parallel);
 
         Id source = VertexAPI.checkAndParseVertexId(sourceV);
         Directions dir = Directions.convert(EdgeAPI.parseDirection(direction));
@@ -79,7 +83,10 @@ public class KneighborAPI extends API {
 
         HugeTraverser traverser = new HugeTraverser(g);
         Set<Id> ids = traverser.kneighbor(source, dir, edgeLabel, depth,
-                                          degree, limit);
+                                          degree, limit, parallel);
+        if (binaryResponse(request)) {
+            return manager.binarySerializer(g).writeIds(ids);
+        }
         return manager.serializer(g).writeList("vertices", ids);
     }
 }
@@ -29,6 +29,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 
 import org.slf4j.Logger;
 
@@ -56,8 +57,9 @@ public class KoutAPI extends API {
 
     @GET
     @Timed
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY_WITH_QS})
+    public Object get(@Context GraphManager manager,
+                      @Context Request request,
                       @PathParam("graph") String graph,
                       @QueryParam("source") String source,
                       @QueryParam("direction") String direction,
@@ -70,12 +72,14 @@ public class KoutAPI extends API {
                       @QueryParam("capacity")
                       @DefaultValue(DEFAULT_CAPACITY) long capacity,
                       @QueryParam("limit")
-                      @DefaultValue(DEFAULT_ELEMENTS_LIMIT) long limit) {
+                      @DefaultValue(DEFAULT_ELEMENTS_LIMIT) long limit,
+                      @QueryParam("parallel")
+                      @DefaultValue("false") boolean parallel) {
         LOG.debug("Graph [{}] get k-out from '{}' with " +
                   "direction '{}', edge label '{}', max depth '{}', nearest " +
-                  "'{}', max degree '{}', capacity '{}' and limit '{}'",
-                  graph, source, direction, edgeLabel, depth, nearest,
-                  degree, capacity, limit);
+                  "'{}', max degree '{}', capacity '{}', limit '{}' and " +
+                  "parallel '{}'", graph, source, direction, edgeLabel,
+                  depth, nearest, degree, capacity, limit, parallel);
 
         Id sourceId = VertexAPI.checkAndParseVertexId(source);
         Directions dir = Directions.convert(EdgeAPI.parseDirection(direction));
@@ -84,7 +88,11 @@ public class KoutAPI extends API {
 
         HugeTraverser traverser = new HugeTraverser(g);
         Set<Id> ids = traverser.kout(sourceId, dir, edgeLabel, depth,
-                                     nearest, degree, capacity, limit);
+                                     nearest, degree, capacity, limit,
+                                     parallel);
+        if (binaryResponse(request)) {
+            return manager.binarySerializer(g).writeIds(ids);
+        }
         return manager.serializer(g).writeList("vertices", ids);
     }
 }
@@ -29,6 +29,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 
 import org.slf4j.Logger;
 
@@ -57,8 +58,9 @@ public class PathsAPI extends API {
 
     @GET
     @Timed
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY_WITH_QS})
+    public Object get(@Context GraphManager manager,
+                      @Context Request request,
                       @PathParam("graph") String graph,
                       @QueryParam("source") String source,
                       @QueryParam("target") String target,
@@ -86,6 +88,9 @@ public class PathsAPI extends API {
         Set<HugeTraverser.Path> paths;
         paths = traverser.paths(sourceId, dir, targetId, dir.opposite(),
                                 edgeLabel, depth, degree, capacity, limit);
+        if (binaryResponse(request)) {
+            return manager.binarySerializer(g).writePaths(paths);
+        }
         return manager.serializer(g).writePaths("paths", paths, false);
     }
 }
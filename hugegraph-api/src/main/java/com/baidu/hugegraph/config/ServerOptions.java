@@ -74,6 +74,65 @@ public class ServerOptions extends OptionHolder {
                     256
             );
 
+    public static final ConfigOption<Boolean> REQUEST_LIMITER =
+            new ConfigOption<>(
+                    "restserver.request_limiter",
+                    "Whether to limit the concurrency of each kind of " +
+                    "requests(read, write or traversal) by the threads " +
+                    "ratio, the requests exceeding the limit wait in a queue.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> WRITE_THREADS_RATIO =
+            new ConfigOption<>(
+                    "restserver.write_threads_ratio",
+                    "The maximum ratio of worker threads for the write " +
+                    "requests like POST, PUT and DELETE.",
+                    rangeInt(0, 100),
+                    50
+            );
+
+    public static final ConfigOption<Integer> TRAVERSAL_THREADS_RATIO =
+            new ConfigOption<>(
+                    "restserver.traversal_threads_ratio",
+                    "The maximum ratio of worker threads for the traverser " +
+                    "and gremlin requests.",
+                    rangeInt(0, 100),
+                    50
+            );
+
+    public static final ConfigOption<Integer> MAX_QUEUED_REQUESTS =
+            new ConfigOption<>(
+                    "restserver.max_queued_requests",
+                    "The max number of requests of each kind(read, write " +
+                    "or traversal) waiting for the limit to be available, " +
+                    "requests will be rejected when the queue is full.",
+                    nonNegativeInt(),
+                    64
+            );
+
+    public static final ConfigOption<Integer> REQUEST_QUEUE_TIMEOUT =
+            new ConfigOption<>(
+                    "restserver.request_queue_timeout",
+                    "The time in milliseconds a request can wait in the " +
+                    "queue, requests will be rejected after timeout.",
+                    nonNegativeInt(),
+                    100
+            );
+
+    public static final ConfigOption<Boolean> ADAPTIVE_LIMIT =
+            new ConfigOption<>(
+                    "restserver.adaptive_limit",
+                    "Whether to adjust the concurrency limit of each kind " +
+                    "of requests by the latency, the limit decreases when " +
+                    "the latency grows and increases when it recovers, " +
+                    "only take effect if the restserver.request_limiter " +
+                    "is true.",
+                    disallowEmpty(),
+                    false
+            );
+
 
     public static final ConfigOption<Integer> REQUEST_TIMEOUT =
         new ConfigOption<>(
@@ -168,6 +227,34 @@ public class ServerOptions extends OptionHolder {
                     nonNegativeInt(),
                     0);
 
+    public static final ConfigOption<Integer> LOAD_WORKERS =
+            new ConfigOption<>(
+                    "batch.load_workers",
+                    "The number of threads of each streaming load request " +
+                    "to commit the parsed vertices and edges.",
+                    positiveInt(),
+                    4
+            );
+
+    public static final ConfigOption<Integer> LOAD_PENDING_BATCHES =
+            new ConfigOption<>(
+                    "batch.load_pending_batches",
+                    "The max number of parsed batches waiting to be " +
+                    "committed of each streaming load request, the request " +
+                    "body stops being read when it's reached.",
+                    positiveInt(),
+                    16
+            );
+
+    public static final ConfigOption<Integer> LOAD_MAX_ERRORS =
+            new ConfigOption<>(
+                    "batch.load_max_errors",
+                    "The max number of failed lines reported in detail by " +
+                    "each streaming load request.",
+                    nonNegativeInt(),
+                    100
+            );
+
     public static final ConfigOption<Boolean> ALLOW_TRACE =
             new ConfigOption<>(
                     "exception.allow_trace",
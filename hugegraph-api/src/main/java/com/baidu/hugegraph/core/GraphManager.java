@@ -48,6 +48,7 @@ import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.license.LicenseVerifier;
 import com.baidu.hugegraph.metrics.MetricsUtil;
 import com.baidu.hugegraph.metrics.ServerReporter;
+import com.baidu.hugegraph.serializer.BinaryResponseSerializer;
 import com.baidu.hugegraph.serializer.JsonSerializer;
 import com.baidu.hugegraph.serializer.Serializer;
 import com.baidu.hugegraph.server.RestServer;
@@ -112,6 +113,10 @@ public final class GraphManager {
         return JsonSerializer.instance();
     }
 
+    public BinaryResponseSerializer binarySerializer(Graph g) {
+        return BinaryResponseSerializer.instance();
+    }
+
     public void rollbackAll() {
         this.graphs.values().forEach(graph -> {
             if (graph.features().graph().supportsTransactions() &&
@@ -247,7 +252,7 @@ public final class GraphManager {
 
         // Add metrics for task
         MetricsUtil.registerGauge(TaskManager.class, "workers", () -> {
-            return TaskManager.instance().workerPoolSize();
+            return TaskManager.instance().totalWorkerPoolSize();
         });
         MetricsUtil.registerGauge(TaskManager.class, "pending-tasks", () -> {
             return TaskManager.instance().pendingTasks();
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.define;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * A concurrency limiter which adjusts the limit by the latency of requests,
+ * like TCP Vegas and AIMD: increase the limit additively while the latency
+ * stays near the no-load latency, decrease it multiplicatively once the
+ * latency grows, which means requests are queuing in the backend.
+ * The requests exceeding the limit wait in a bounded queue until the limit
+ * is available or the deadline is reached.
+ */
+public final class ConcurrencyLimiter {
+
+    // The latency exceeds the no-load latency by this ratio means overload
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double DECREASE_RATIO = 0.9;
+    // Let the no-load latency drift up slowly to adapt to workload changes
+    private static final double NOLOAD_LATENCY_DRIFT = 0.001;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final boolean adaptive;
+
+    private double limit;
+    private int inflight;
+    private int queued;
+    private double noLoadLatency;
+
+    // Adjust the limit once a window, a window has `limit` samples
+    private int windowSamples;
+    private long windowLatency;
+    private int windowMaxInflight;
+
+    public ConcurrencyLimiter(String name, int maxLimit, int maxQueued,
+                              boolean adaptive) {
+        E.checkArgument(maxLimit > 0,
+                        "The max limit of '%s' must be > 0, but got %s",
+                        name, maxLimit);
+        E.checkArgument(maxQueued >= 0,
+                        "The max queued of '%s' must be >= 0, but got %s",
+                        name, maxQueued);
+        this.name = name;
+        this.minLimit = 1;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.adaptive = adaptive;
+
+        this.limit = maxLimit;
+        this.inflight = 0;
+        this.queued = 0;
+        this.noLoadLatency = 0.0;
+
+        this.resetWindow();
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public synchronized int limit() {
+        return (int) this.limit;
+    }
+
+    public synchronized int inflight() {
+        return this.inflight;
+    }
+
+    public synchronized int queued() {
+        return this.queued;
+    }
+
+    /**
+     * Acquire a permit, wait at most `timeout` milliseconds in the queue
+     * @param timeout the max time in milliseconds to wait
+     * @return true if acquired, false if the queue is full or timeout
+     */
+    public synchronized boolean tryAcquire(long timeout) {
+        if (this.inflight < this.limit()) {
+            this.inflight++;
+            return true;
+        }
+        if (this.queued >= this.maxQueued || timeout <= 0L) {
+            return false;
+        }
+
+        long deadline = System.currentTimeMillis() + timeout;
+        this.queued++;
+        try {
+            while (this.inflight >= this.limit()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0L) {
+                    return false;
+                }
+                this.wait(remaining);
+            }
+            this.inflight++;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            this.queued--;
+        }
+    }
+
+    /**
+     * Release a permit and adjust the limit by the latency of the request
+     * @param latency the latency in nanoseconds of the request
+     */
+    public synchronized void release(long latency) {
+        assert this.inflight > 0 : this.inflight;
+        int inflight = this.inflight--;
+        if (this.adaptive && latency > 0L) {
+            this.adjustLimit(inflight, latency);
+        }
+        if (this.queued > 0) {
+            this.notifyAll();
+        }
+    }
+
+    private void adjustLimit(int inflight, long latency) {
+        this.windowSamples++;
+        this.windowLatency += latency;
+        this.windowMaxInflight = Math.max(this.windowMaxInflight, inflight);
+        if (this.windowSamples < this.limit) {
+            return;
+        }
+
+        // Use the average latency of window to smooth the mixed requests
+        double avgLatency = (double) this.windowLatency / this.windowSamples;
+        if (this.noLoadLatency <= 0.0 || avgLatency < this.noLoadLatency) {
+            this.noLoadLatency = avgLatency;
+        } else {
+            this.noLoadLatency += (avgLatency - this.noLoadLatency) *
+                                  NOLOAD_LATENCY_DRIFT;
+        }
+
+        if (avgLatency > this.noLoadLatency * LATENCY_TOLERANCE) {
+            this.limit = Math.max(this.minLimit,
+                                  this.limit * DECREASE_RATIO);
+        } else if (this.windowMaxInflight * 2 >= this.limit) {
+            // Only increase the limit if it's close to be used up
+            this.limit = Math.min(this.maxLimit, this.limit + 1.0);
+        }
+        this.resetWindow();
+    }
+
+    private void resetWindow() {
+        this.windowSamples = 0;
+        this.windowLatency = 0L;
+        this.windowMaxInflight = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s{limit=%s, inflight=%s, queued=%s}",
+                             this.name, this.limit(), this.inflight,
+                             this.queued);
+    }
+}
@@ -19,22 +19,69 @@
 
 package com.baidu.hugegraph.define;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.config.ServerOptions;
+
 public final class WorkLoad {
 
+    public enum Kind {
+
+        READ,
+
+        WRITE,
+
+        // Traversers and gremlin
+        TRAVERSAL
+    }
+
     private final AtomicInteger load;
+    private final Map<Kind, ConcurrencyLimiter> limiters;
 
     public WorkLoad() {
         this(0);
     }
 
     public WorkLoad(int load) {
-        this.load = new AtomicInteger(load);
+        this(new AtomicInteger(load));
     }
 
     public WorkLoad(AtomicInteger load) {
         this.load = load;
+        this.limiters = new EnumMap<>(Kind.class);
+    }
+
+    public WorkLoad(HugeConfig config) {
+        this();
+
+        if (!config.get(ServerOptions.REQUEST_LIMITER)) {
+            return;
+        }
+        int maxWorkerThreads = config.get(ServerOptions.MAX_WORKER_THREADS);
+        // There will be a thread doesn't work, dedicated to statistics
+        int total = maxWorkerThreads - 1;
+        int writeRatio = config.get(ServerOptions.WRITE_THREADS_RATIO);
+        int traversalRatio = config.get(ServerOptions.TRAVERSAL_THREADS_RATIO);
+        int maxQueued = config.get(ServerOptions.MAX_QUEUED_REQUESTS);
+        boolean adaptive = config.get(ServerOptions.ADAPTIVE_LIMIT);
+
+        this.addLimiter(Kind.READ, total, maxQueued, adaptive);
+        this.addLimiter(Kind.WRITE, total * writeRatio / 100,
+                        maxQueued, adaptive);
+        this.addLimiter(Kind.TRAVERSAL, total * traversalRatio / 100,
+                        maxQueued, adaptive);
+    }
+
+    private void addLimiter(Kind kind, int limit, int maxQueued,
+                            boolean adaptive) {
+        // Ensure at least one thread for each kind of requests
+        limit = Math.max(limit, 1);
+        String name = kind.name().toLowerCase();
+        this.limiters.put(kind, new ConcurrencyLimiter(name, limit,
+                                                       maxQueued, adaptive));
     }
 
     public AtomicInteger get() {
@@ -48,4 +95,13 @@ public final class WorkLoad {
     public int decrementAndGet() {
         return this.load.decrementAndGet();
     }
+
+    /**
+     * Get the limiter of the kind of requests
+     * @param kind the kind of requests
+     * @return the limiter, null if not limited
+     */
+    public ConcurrencyLimiter limiter(Kind kind) {
+        return this.limiters.get(kind);
+    }
 }
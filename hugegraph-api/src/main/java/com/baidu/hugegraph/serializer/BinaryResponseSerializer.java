@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeProperty;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.util.StringEncoding;
+
+/**
+ * Serialize ids, vertices, edges and paths of rest responses into a compact
+ * binary format (not to be confused with the backend BinarySerializer), every
+ * record is written to the response once it's fetched from the iterator,
+ * so the whole response is never buffered in the server.
+ *
+ * The response is a sequence of length-prefixed records ended with an empty
+ * record, and followed by the page state if paging:
+ *   response   := record* vint(0) [page]
+ *   record     := vint(length) bytes
+ *   page       := vint(length) bytes (length 0 means no more pages)
+ * The record of id, vertex, edge and path is encoded by BytesBuffer:
+ *   id         := writeId(id)
+ *   vertex     := id label properties
+ *   edge       := id label outV outVLabel inV inVLabel properties
+ *   path       := vint(size) id*
+ *   properties := vint(size) (key dataType cardinality value)*
+ */
+public class BinaryResponseSerializer {
+
+    private static final int RECORD_SIZE = 64;
+
+    private static final BinaryResponseSerializer INSTANCE =
+                   new BinaryResponseSerializer();
+
+    private BinaryResponseSerializer() {
+    }
+
+    public static BinaryResponseSerializer instance() {
+        return INSTANCE;
+    }
+
+    public StreamingOutput writeIds(Collection<Id> ids) {
+        return this.writeIterator("ids", ids.iterator(), false,
+                                  BytesBuffer::writeId);
+    }
+
+    public StreamingOutput writeVertices(Iterator<Vertex> vertices,
+                                         boolean paging) {
+        return this.writeIterator("vertices", vertices, paging,
+                                  BinaryResponseSerializer::writeVertex);
+    }
+
+    public StreamingOutput writeEdges(Iterator<Edge> edges, boolean paging) {
+        return this.writeIterator("edges", edges, paging,
+                                  BinaryResponseSerializer::writeEdge);
+    }
+
+    public StreamingOutput writePaths(Collection<HugeTraverser.Path> paths) {
+        return this.writeIterator("paths", paths.iterator(), false,
+                                  BinaryResponseSerializer::writePath);
+    }
+
+    private <T> StreamingOutput writeIterator(String label, Iterator<T> iter,
+                                              boolean paging,
+                                              BiConsumer<BytesBuffer, T> func) {
+        return out -> {
+            try {
+                while (iter.hasNext()) {
+                    BytesBuffer buffer = BytesBuffer.allocate(RECORD_SIZE);
+                    func.accept(buffer, iter.next());
+                    writeRecord(out, buffer.bytes());
+                }
+                // Write an empty record as the end of records
+                writeRecord(out, new byte[0]);
+
+                if (paging) {
+                    String page = JsonSerializer.page(iter);
+                    writeRecord(out, page == null ? new byte[0] :
+                                     StringEncoding.encode(page));
+                }
+            } catch (IOException | HugeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new HugeException("Failed to serialize %s", e, label);
+            } finally {
+                try {
+                    CloseableIterator.closeIterator(iter);
+                } catch (Exception e) {
+                    throw new HugeException("Failed to close for %s",
+                                            e, label);
+                }
+            }
+        };
+    }
+
+    private static void writeRecord(OutputStream out, byte[] bytes)
+                                    throws IOException {
+        BytesBuffer length = BytesBuffer.allocate(5);
+        length.writeVInt(bytes.length);
+        out.write(length.bytes());
+        out.write(bytes);
+    }
+
+    private static void writeVertex(BytesBuffer buffer, Vertex v) {
+        HugeVertex vertex = (HugeVertex) v;
+        buffer.writeId(vertex.id());
+        buffer.writeString(vertex.label());
+        writeProperties(buffer, vertex.getFilledProperties());
+    }
+
+    private static void writeEdge(BytesBuffer buffer, Edge e) {
+        HugeEdge edge = (HugeEdge) e;
+        buffer.writeId(edge.id());
+        buffer.writeString(edge.label());
+
+        HugeVertex outVertex = (HugeVertex) edge.outVertex();
+        HugeVertex inVertex = (HugeVertex) edge.inVertex();
+        buffer.writeId(outVertex.id());
+        buffer.writeString(outVertex.label());
+        buffer.writeId(inVertex.id());
+        buffer.writeString(inVertex.label());
+
+        writeProperties(buffer, edge.getFilledProperties());
+    }
+
+    private static void writePath(BytesBuffer buffer,
+                                  HugeTraverser.Path path) {
+        List<Id> vertices = path.vertices();
+        buffer.writeVInt(vertices.size());
+        for (Id vertex : vertices) {
+            buffer.writeId(vertex);
+        }
+    }
+
+    private static void writeProperties(BytesBuffer buffer,
+                                        Map<Id, HugeProperty<?>> props) {
+        buffer.writeVInt(props.size());
+        for (HugeProperty<?> prop : props.values()) {
+            PropertyKey pkey = prop.propertyKey();
+            buffer.writeString(pkey.name());
+            buffer.write(pkey.dataType().code());
+            buffer.write(pkey.cardinality().code());
+            buffer.writeProperty(pkey, prop.value());
+        }
+    }
+}
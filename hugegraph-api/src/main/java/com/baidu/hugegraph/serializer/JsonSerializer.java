@@ -20,12 +20,16 @@
 package com.baidu.hugegraph.serializer;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -79,6 +83,24 @@ public class JsonSerializer implements Serializer {
     private String writeIterator(String label, Iterator<?> iter,
                                  boolean paging) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(LBUF_SIZE)) {
+            this.writeIterator(out, label, iter, paging);
+            return out.toString(API.CHARSET);
+        } catch (HugeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HugeException("Failed to serialize %s", e, label);
+        }
+    }
+
+    private StreamingOutput streamIterator(String label, Iterator<?> iter,
+                                           boolean paging) {
+        return out -> this.writeIterator(out, label, iter, paging);
+    }
+
+    private void writeIterator(OutputStream out, String label,
+                               Iterator<?> iter, boolean paging)
+                               throws IOException {
+        try {
             out.write("{".getBytes(API.CHARSET));
 
             out.write(String.format("\"%s\":[", label).getBytes(API.CHARSET));
@@ -97,15 +119,7 @@ public class JsonSerializer implements Serializer {
 
             // Write page
             if (paging) {
-                String page;
-                if (iter instanceof GraphTraversal<?, ?>) {
-                    page = TraversalUtil.page((GraphTraversal<?, ?>) iter);
-                } else if (iter instanceof Metadatable) {
-                    page = PageInfo.pageInfo(iter);
-                } else {
-                    throw new HugeException("Invalid paging iterator: %s",
-                                            iter.getClass());
-                }
+                String page = page(iter);
                 if (page != null) {
                     page = String.format(",\"page\": \"%s\"", page);
                 } else {
@@ -115,8 +129,7 @@ public class JsonSerializer implements Serializer {
             }
 
             out.write("}".getBytes(API.CHARSET));
-            return out.toString(API.CHARSET);
-        } catch (HugeException e) {
+        } catch (IOException | HugeException e) {
             throw e;
         } catch (Exception e) {
             throw new HugeException("Failed to serialize %s", e, label);
@@ -129,6 +142,17 @@ public class JsonSerializer implements Serializer {
         }
     }
 
+    protected static String page(Iterator<?> iter) {
+        if (iter instanceof GraphTraversal<?, ?>) {
+            return TraversalUtil.page((GraphTraversal<?, ?>) iter);
+        } else if (iter instanceof Metadatable) {
+            return PageInfo.pageInfo(iter);
+        } else {
+            throw new HugeException("Invalid paging iterator: %s",
+                                    iter.getClass());
+        }
+    }
+
     @Override
     public String writePropertyKey(PropertyKey propertyKey) {
         return JsonUtil.toJson(propertyKey);
@@ -191,6 +215,12 @@ public class JsonSerializer implements Serializer {
         return this.writeIterator("vertices", vertices, paging);
     }
 
+    @Override
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging) {
+        return this.streamIterator("vertices", vertices, paging);
+    }
+
     @Override
     public String writeEdge(Edge edge) {
         return JsonUtil.toJson(edge);
@@ -201,6 +231,11 @@ public class JsonSerializer implements Serializer {
         return this.writeIterator("edges", edges, paging);
     }
 
+    @Override
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging) {
+        return this.streamIterator("edges", edges, paging);
+    }
+
     @Override
     public String writePaths(String name, Collection<HugeTraverser.Path> paths,
                              boolean withCrossPoint,
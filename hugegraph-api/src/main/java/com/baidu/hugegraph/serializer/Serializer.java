@@ -24,6 +24,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -62,10 +64,15 @@ public interface Serializer {
 
     public String writeVertices(Iterator<Vertex> vertices, boolean paging);
 
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging);
+
     public String writeEdge(Edge e);
 
     public String writeEdges(Iterator<Edge> edges, boolean paging);
 
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging);
+
     public String writePaths(String name, Collection<HugeTraverser.Path> paths,
                              boolean withCrossPoint, Iterator<Vertex> vertices);
 
@@ -60,7 +60,7 @@ public class ApplicationConfig extends ResourceConfig {
         register(new GraphManagerFactory(conf));
 
         // Register WorkLoad to context
-        register(new WorkLoadFactory());
+        register(new WorkLoadFactory(conf));
 
         // Let @Metric annotations work
         MetricRegistry registry = MetricManager.INSTANCE.getRegistry();
@@ -141,8 +141,8 @@ public class ApplicationConfig extends ResourceConfig {
 
         private final WorkLoad load;
 
-        public WorkLoadFactory() {
-            this.load = new WorkLoad();
+        public WorkLoadFactory(HugeConfig conf) {
+            this.load = new WorkLoad(conf);
         }
 
         @Override
@@ -93,10 +93,11 @@ public final class ApiVersion {
      * [0.43] Issue-270 & 398: support shard-index and vertex + sortke prefix,
      *        and split range to rangeInt, rangeFloat, rangeLong and rangeDouble
      * [0.44] Issue-633: Support unique index
+     * [0.45] Add statistics RESTful API of labels and indexes
      */
 
     // The second parameter of Version.of() is for IDE running without JAR
-    public static final Version VERSION = Version.of(ApiVersion.class, "0.44");
+    public static final Version VERSION = Version.of(ApiVersion.class, "0.45");
 
     public static final void check() {
         // Check version of hugegraph-core. Firstly do check from version 0.3
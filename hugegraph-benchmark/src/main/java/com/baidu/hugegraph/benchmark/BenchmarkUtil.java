@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.store.BackendProviderFactory;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.OptionSpace;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.util.E;
+
+public final class BenchmarkUtil {
+
+    public static final String BACKEND_MEMORY = "memory";
+    public static final String BACKEND_ROCKSDB = "rocksdb";
+
+    public static final String PERSON = "person";
+    public static final String KNOWS = "knows";
+
+    // Fixed seed to generate the same graph for each run to be comparable
+    public static final long SEED = 20171017L;
+
+    private static final String STORE = "benchmark";
+    private static final int COMMIT_BATCH = 500;
+    // The probability to link a new vertex to an uniformly chosen vertex
+    private static final double UNIFORM_LINK = 0.2D;
+
+    private static boolean registered = false;
+
+    public static synchronized void registerRocksDB() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+
+        OptionSpace.register("rocksdb",
+                "com.baidu.hugegraph.backend.store.rocksdb.RocksDBOptions");
+        BackendProviderFactory.register("rocksdb",
+                "com.baidu.hugegraph.backend.store.rocksdb.RocksDBStoreProvider");
+    }
+
+    public static HugeGraph openGraph(String backend) {
+        BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(CoreOptions.STORE.name(), STORE);
+        conf.setProperty(CoreOptions.BACKEND.name(), backend);
+
+        switch (backend) {
+            case BACKEND_MEMORY:
+                conf.setProperty(CoreOptions.SERIALIZER.name(), "text");
+                break;
+            case BACKEND_ROCKSDB:
+                registerRocksDB();
+                String dataPath;
+                try {
+                    dataPath = Files.createTempDirectory("hugegraph-benchmark")
+                                    .toString();
+                } catch (IOException e) {
+                    throw new HugeException("Failed to create data path", e);
+                }
+                conf.setProperty(CoreOptions.SERIALIZER.name(), "binary");
+                conf.setProperty("rocksdb.data_path", dataPath);
+                conf.setProperty("rocksdb.wal_path", dataPath);
+                break;
+            default:
+                throw new AssertionError(String.format(
+                          "Unsupported benchmark backend '%s'", backend));
+        }
+
+        HugeGraph graph = HugeFactory.open(conf);
+        graph.initBackend();
+        return graph;
+    }
+
+    public static void closeGraph(HugeGraph graph) {
+        String dataPath = null;
+        if (BACKEND_ROCKSDB.equals(graph.backend())) {
+            dataPath = graph.configuration().getString("rocksdb.data_path");
+        }
+        try {
+            graph.clearBackend();
+            graph.close();
+        } finally {
+            if (dataPath != null) {
+                FileUtils.deleteQuietly(new File(dataPath));
+            }
+        }
+    }
+
+    public static void initSchema(HugeGraph graph) {
+        SchemaManager schema = graph.schema();
+        schema.propertyKey("name").asText().ifNotExist().create();
+        schema.propertyKey("age").asInt().ifNotExist().create();
+        schema.propertyKey("city").asText().ifNotExist().create();
+        schema.propertyKey("weight").asDouble().ifNotExist().create();
+        schema.propertyKey("date").asDate().ifNotExist().create();
+
+        schema.vertexLabel(PERSON)
+              .properties("name", "age", "city")
+              .useCustomizeNumberId()
+              .nullableKeys("age", "city")
+              .ifNotExist().create();
+        schema.edgeLabel(KNOWS)
+              .sourceLabel(PERSON).targetLabel(PERSON)
+              .properties("weight", "date")
+              .nullableKeys("date")
+              .ifNotExist().create();
+    }
+
+    /**
+     * Generate a graph whose degrees follow the power law by preferential
+     * attachment, each new vertex links to `degree` existing vertices.
+     * @return the vertex ids, ordered from the largest degree (roughly)
+     */
+    public static List<Id> loadPowerLawGraph(HugeGraph graph, int vertices,
+                                             int degree) {
+        E.checkArgument(vertices > 0 && degree > 0,
+                        "The vertices and degree must be > 0");
+        initSchema(graph);
+
+        Random random = new Random(SEED);
+        List<Vertex> added = new ArrayList<>(vertices);
+        // Each edge contributes both of its ends, so that vertices are
+        // picked with probability proportional to their degrees
+        List<Vertex> ends = new ArrayList<>(vertices * degree * 2);
+        int count = 0;
+        for (int i = 0; i < vertices; i++) {
+            Vertex source = graph.addVertex(T.label, PERSON, T.id, i,
+                                            "name", "p" + i,
+                                            "age", random.nextInt(100),
+                                            "city", "c" + random.nextInt(50));
+            for (int j = 0; j < degree && !added.isEmpty(); j++) {
+                Vertex target;
+                if (ends.isEmpty() || random.nextDouble() < UNIFORM_LINK) {
+                    target = added.get(random.nextInt(added.size()));
+                } else {
+                    target = ends.get(random.nextInt(ends.size()));
+                }
+                source.addEdge(KNOWS, target, "weight", random.nextDouble());
+                ends.add(source);
+                ends.add(target);
+                if (++count % COMMIT_BATCH == 0) {
+                    graph.tx().commit();
+                }
+            }
+            added.add(source);
+        }
+        graph.tx().commit();
+
+        // The earliest vertices are the hubs of preferential attachment
+        List<Id> ids = new ArrayList<>(added.size());
+        for (Vertex vertex : added) {
+            ids.add(((HugeVertex) vertex).id());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BytesBufferBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private int[] ints;
+    private long[] longs;
+    private String[] strings;
+    private Id[] ids;
+
+    private BytesBuffer buffer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkUtil.SEED);
+        this.ints = new int[SIZE];
+        this.longs = new long[SIZE];
+        this.strings = new String[SIZE];
+        this.ids = new Id[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            // Mix small and large values to cover all the vint lengths
+            this.ints[i] = random.nextInt() >>> random.nextInt(32);
+            this.longs[i] = random.nextLong() >>> random.nextInt(64);
+            this.strings[i] = "name-" + random.nextInt();
+            this.ids[i] = i % 2 == 0 ? IdGenerator.of(this.longs[i]) :
+                                       IdGenerator.of(this.strings[i]);
+        }
+        this.buffer = BytesBuffer.allocate(SIZE * 32);
+    }
+
+    @Benchmark
+    public void writeReadVInt(Blackhole bh) {
+        BytesBuffer buffer = BytesBuffer.wrap(this.buffer.array());
+        for (int value : this.ints) {
+            buffer.writeVInt(value);
+        }
+        buffer.flip();
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(buffer.readVInt());
+        }
+    }
+
+    @Benchmark
+    public void writeReadVLong(Blackhole bh) {
+        BytesBuffer buffer = BytesBuffer.wrap(this.buffer.array());
+        for (long value : this.longs) {
+            buffer.writeVLong(value);
+        }
+        buffer.flip();
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(buffer.readVLong());
+        }
+    }
+
+    @Benchmark
+    public void writeReadString(Blackhole bh) {
+        BytesBuffer buffer = BytesBuffer.wrap(this.buffer.array());
+        for (String value : this.strings) {
+            buffer.writeString(value);
+        }
+        buffer.flip();
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(buffer.readString());
+        }
+    }
+
+    @Benchmark
+    public void writeReadId(Blackhole bh) {
+        BytesBuffer buffer = BytesBuffer.wrap(this.buffer.array());
+        for (Id value : this.ids) {
+            buffer.writeId(value);
+        }
+        buffer.flip();
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(buffer.readId());
+        }
+    }
+
+    @Benchmark
+    public byte[] writeGrowing() {
+        // Start from a small buffer to measure the cost of expanding
+        BytesBuffer buffer = BytesBuffer.allocate(16);
+        for (String value : this.strings) {
+            buffer.writeString(value);
+        }
+        return buffer.bytes();
+    }
+}
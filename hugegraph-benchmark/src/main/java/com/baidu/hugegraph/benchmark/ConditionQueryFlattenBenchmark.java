@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.ConditionQueryFlatten;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionQueryFlattenBenchmark {
+
+    private static final int IN_VALUES = 10;
+
+    private ConditionQuery andQuery;
+    private ConditionQuery inQuery;
+    private ConditionQuery orQuery;
+    private ConditionQuery rangeQuery;
+
+    @Setup
+    public void setup() {
+        Id label = IdGenerator.of(1L);
+        Id name = IdGenerator.of(1L);
+        Id age = IdGenerator.of(2L);
+        Id city = IdGenerator.of(3L);
+
+        this.andQuery = new ConditionQuery(HugeType.VERTEX);
+        this.andQuery.eq(HugeKeys.LABEL, label);
+        this.andQuery.query(Condition.eq(name, "marko"));
+        this.andQuery.query(Condition.eq(age, 29));
+        this.andQuery.query(Condition.eq(city, "Beijing"));
+
+        List<Object> names = new ArrayList<>(IN_VALUES);
+        List<Object> cities = new ArrayList<>(IN_VALUES);
+        for (int i = 0; i < IN_VALUES; i++) {
+            names.add("name-" + i);
+            cities.add("city-" + i);
+        }
+        this.inQuery = new ConditionQuery(HugeType.VERTEX);
+        this.inQuery.eq(HugeKeys.LABEL, label);
+        this.inQuery.query(Condition.in(name, names));
+        this.inQuery.query(Condition.in(city, cities));
+
+        this.orQuery = new ConditionQuery(HugeType.VERTEX);
+        this.orQuery.query(Condition.eq(name, "marko")
+                                    .or(Condition.eq(name, "vadas")));
+        this.orQuery.query(Condition.eq(age, 29).and(
+                           Condition.eq(city, "Beijing")
+                                    .or(Condition.eq(city, "Hongkong"))));
+
+        this.rangeQuery = new ConditionQuery(HugeType.VERTEX);
+        this.rangeQuery.eq(HugeKeys.LABEL, label);
+        this.rangeQuery.query(Condition.gt(age, 10));
+        this.rangeQuery.query(Condition.gte(age, 18));
+        this.rangeQuery.query(Condition.lt(age, 60));
+        this.rangeQuery.query(Condition.lte(age, 50));
+        this.rangeQuery.query(Condition.neq(age, 30));
+    }
+
+    @Benchmark
+    public List<ConditionQuery> flattenAnd() {
+        return ConditionQueryFlatten.flatten(this.andQuery);
+    }
+
+    @Benchmark
+    public List<ConditionQuery> flattenIn() {
+        return ConditionQueryFlatten.flatten(this.inQuery);
+    }
+
+    @Benchmark
+    public List<ConditionQuery> flattenOr() {
+        return ConditionQueryFlatten.flatten(this.orQuery);
+    }
+
+    @Benchmark
+    public List<ConditionQuery> flattenRange() {
+        return ConditionQueryFlatten.flatten(this.rangeQuery);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.type.define.Directions;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KoutBenchmark {
+
+    private static final int SOURCES = 64;
+    private static final long DEGREE = Long.parseLong(
+                                       HugeTraverser.DEFAULT_DEGREE);
+
+    @Param({BenchmarkUtil.BACKEND_MEMORY, BenchmarkUtil.BACKEND_ROCKSDB})
+    private String backend;
+
+    @Param({"10000"})
+    private int vertices;
+
+    // The average out degree of the generated graph
+    @Param({"10"})
+    private int degree;
+
+    @Param({"1", "2", "3"})
+    private int depth;
+
+    private HugeGraph graph;
+    private HugeTraverser traverser;
+    private Id hub;
+    private Id[] sources;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.graph = BenchmarkUtil.openGraph(this.backend);
+        List<Id> ids = BenchmarkUtil.loadPowerLawGraph(this.graph,
+                                                       this.vertices,
+                                                       this.degree);
+        this.traverser = new HugeTraverser(this.graph);
+
+        this.hub = ids.get(0);
+        Random random = new Random(BenchmarkUtil.SEED);
+        this.sources = new Id[SOURCES];
+        for (int i = 0; i < SOURCES; i++) {
+            this.sources[i] = ids.get(random.nextInt(ids.size()));
+        }
+        this.next = 0;
+    }
+
+    @TearDown
+    public void teardown() {
+        BenchmarkUtil.closeGraph(this.graph);
+    }
+
+    @Benchmark
+    public Set<Id> koutFromHub() {
+        return this.kout(this.hub);
+    }
+
+    @Benchmark
+    public Set<Id> koutFromRandom() {
+        Id source = this.sources[this.next++ & (SOURCES - 1)];
+        return this.kout(source);
+    }
+
+    private Set<Id> kout(Id source) {
+        return this.traverser.kout(source, Directions.BOTH,
+                                   BenchmarkUtil.KNOWS, this.depth, true,
+                                   DEGREE, HugeTraverser.NO_LIMIT,
+                                   HugeTraverser.NO_LIMIT);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.backend.cache.RamCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RamCacheBenchmark {
+
+    // The count of pre-generated accesses, must be power of 2
+    private static final int ACCESSES = 1 << 20;
+    // The larger the skew is, the hotter the hot keys are
+    private static final double SKEW = 3.0D;
+
+    @Param({"10000", "1000000"})
+    private int capacity;
+
+    private RamCache cache;
+    private Id[] keys;
+    private int[] accesses;
+    private Function<Id, Object> fetcher;
+
+    @Setup
+    public void setup() {
+        this.cache = new RamCache(this.capacity);
+
+        // Twice the capacity of keys, so that the cold ones will be evicted
+        this.keys = new Id[this.capacity * 2];
+        for (int i = 0; i < this.keys.length; i++) {
+            this.keys[i] = IdGenerator.of(i);
+        }
+
+        Random random = new Random(BenchmarkUtil.SEED);
+        this.accesses = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            double skewed = Math.pow(random.nextDouble(), SKEW);
+            this.accesses[i] = (int) (skewed * this.keys.length);
+        }
+
+        for (int i = 0; i < this.capacity; i++) {
+            this.cache.update(this.keys[this.accesses[i]], i);
+        }
+        this.fetcher = id -> id;
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index = 0;
+
+        public int next() {
+            return this.index++ & (ACCESSES - 1);
+        }
+    }
+
+    @Benchmark
+    public Object get(Cursor cursor) {
+        return this.cache.get(this.key(cursor));
+    }
+
+    @Benchmark
+    public Object getOrFetch(Cursor cursor) {
+        return this.cache.getOrFetch(this.key(cursor), this.fetcher);
+    }
+
+    @Benchmark
+    public void update(Cursor cursor) {
+        Id key = this.key(cursor);
+        this.cache.update(key, key);
+    }
+
+    private Id key(Cursor cursor) {
+        return this.keys[this.accesses[cursor.next()]];
+    }
+}
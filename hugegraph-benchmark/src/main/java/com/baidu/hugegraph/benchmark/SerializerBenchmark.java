@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeVertex;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    private HugeGraph graph;
+    private BinarySerializer serializer;
+
+    private HugeVertex vertex;
+    private HugeEdge edge;
+    private BackendEntry vertexEntry;
+    private BackendEntry edgeEntry;
+
+    @Setup
+    public void setup() {
+        this.graph = BenchmarkUtil.openGraph(BenchmarkUtil.BACKEND_MEMORY);
+        BenchmarkUtil.initSchema(this.graph);
+        this.serializer = new BinarySerializer();
+
+        // The elements are never committed, they are just serialized
+        this.vertex = (HugeVertex) this.graph.addVertex(
+                      T.label, BenchmarkUtil.PERSON, T.id, 1,
+                      "name", "marko", "age", 29, "city", "Beijing");
+        HugeVertex other = (HugeVertex) this.graph.addVertex(
+                           T.label, BenchmarkUtil.PERSON, T.id, 2,
+                           "name", "vadas", "age", 27, "city", "Hongkong");
+        this.edge = this.vertex.addEdge(
+                    BenchmarkUtil.KNOWS, other,
+                    "weight", 0.5D, "date", new Date());
+
+        this.vertexEntry = this.serializer.writeVertex(this.vertex);
+        this.edgeEntry = this.serializer.writeEdge(this.edge);
+    }
+
+    @TearDown
+    public void teardown() {
+        this.graph.tx().rollback();
+        BenchmarkUtil.closeGraph(this.graph);
+    }
+
+    @Benchmark
+    public BackendEntry writeVertex() {
+        return this.serializer.writeVertex(this.vertex);
+    }
+
+    @Benchmark
+    public HugeVertex readVertex() {
+        return this.serializer.readVertex(this.graph, this.vertexEntry);
+    }
+
+    @Benchmark
+    public Object readVertexWithProperties() {
+        // The properties are deserialized lazily until they are accessed
+        HugeVertex vertex = this.serializer.readVertex(this.graph,
+                                                       this.vertexEntry);
+        return vertex.getProperties();
+    }
+
+    @Benchmark
+    public BackendEntry writeEdge() {
+        return this.serializer.writeEdge(this.edge);
+    }
+
+    @Benchmark
+    public HugeVertex readEdge() {
+        // The edge is read as an adjacent edge of its owner vertex
+        return this.serializer.readVertex(this.graph, this.edgeEntry);
+    }
+}
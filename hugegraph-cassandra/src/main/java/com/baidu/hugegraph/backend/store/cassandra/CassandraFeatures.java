@@ -80,6 +80,11 @@ public class CassandraFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsAggregateQuery() {
+        return true;
+    }
+
     @Override
     public boolean supportsDeleteEdgeByLabel() {
         return true;
@@ -19,38 +19,68 @@
 
 package com.baidu.hugegraph.backend.store.cassandra;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.store.BackendSession;
 import com.baidu.hugegraph.backend.store.BackendSessionPool;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.util.E;
+import com.datastax.driver.core.AtomicMonotonicTimestampGenerator;
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Cluster.Builder;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolOptions.Compression;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
+import com.datastax.driver.core.policies.TokenAwarePolicy;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class CassandraSessionPool extends BackendSessionPool {
 
     private static final int SECOND = 1000;
+    private static final int MAX_REQUESTS_IN_FLIGHT = 1024;
+    private static final int MAX_QUERIES_IN_FLIGHT = 128;
+    private static final int MAX_BATCH_SIZE_PER_PARTITION = 100;
 
     private Cluster cluster;
     private String keyspace;
+    // Prepared statements can be shared by all sessions of the cluster
+    private final Map<String, PreparedStatement> statements;
 
     public CassandraSessionPool(HugeConfig config, String keyspace,
                                 String store) {
         super(config, keyspace + "/" + store);
         this.cluster = null;
         this.keyspace = keyspace;
+        this.statements = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -91,6 +121,20 @@ public class CassandraSessionPool extends BackendSessionPool {
         String compression = config.get(CassandraOptions.CASSANDRA_COMPRESSION);
         builder.withCompression(Compression.valueOf(compression.toUpperCase()));
 
+        /*
+         * Route each statement to a replica of its partition, which works
+         * for statements with routing key like bound prepared statements
+         */
+        builder.withLoadBalancingPolicy(new TokenAwarePolicy(
+                DCAwareRoundRobinPolicy.builder().build()));
+        /*
+         * The statements of a commit are sent concurrently, the increasing
+         * client timestamps in sending order decide which one wins
+         */
+        builder.withTimestampGenerator(
+                new AtomicMonotonicTimestampGenerator());
+
+        this.statements.clear();
         this.cluster = builder.build();
     }
 
@@ -122,6 +166,7 @@ public class CassandraSessionPool extends BackendSessionPool {
         if (this.cluster != null && !this.cluster.isClosed()) {
             this.cluster.close();
         }
+        this.statements.clear();
     }
 
     public final void checkClusterConnected() {
@@ -151,7 +196,7 @@ public class CassandraSessionPool extends BackendSessionPool {
 
         public Session() {
             this.session = null;
-            this.batch = new BatchStatement(); // LOGGED
+            this.batch = new BatchStatement(); // Just a container
         }
 
         public BatchStatement add(Statement statement) {
@@ -164,35 +209,111 @@ public class CassandraSessionPool extends BackendSessionPool {
         }
 
         @Override
-        public ResultSet commit() {
-            ResultSet rs = this.session.execute(this.batch);
-            // Clear batch if execute() successfully (retained if failed)
+        public Integer commit() {
+            Collection<Statement> statements = this.batch.getStatements();
+            int count = statements.size();
+            Configuration conf = cluster().getConfiguration();
+            List<Statement> batches = groupByPartition(
+                                      statements,
+                                      conf.getProtocolOptions()
+                                          .getProtocolVersion(),
+                                      conf.getCodecRegistry());
+            List<ResultSetFuture> results = new ArrayList<>(batches.size());
+            RuntimeException error = null;
+            try {
+                this.executeAsync(batches, MAX_REQUESTS_IN_FLIGHT, results);
+            } catch (RuntimeException e) {
+                // The rest batches are not sent, wait for the sent ones
+                error = e;
+            }
+
+            /*
+             * Wait for all sent batches done, the batches of some partitions
+             * may have been applied even if others failed, so only the failed
+             * and unsent batches are retained for retry
+             */
+            List<Statement> failedBatches = new ArrayList<>();
+            for (int i = 0; i < batches.size(); i++) {
+                if (i < results.size()) {
+                    try {
+                        results.get(i).getUninterruptibly();
+                        continue;
+                    } catch (RuntimeException e) {
+                        if (error == null) {
+                            error = e;
+                        }
+                    }
+                }
+                failedBatches.add(batches.get(i));
+            }
+
             this.batch.clear();
-            return rs;
+            if (error == null) {
+                return count;
+            }
+            for (Statement failed : failedBatches) {
+                // The statements of BatchStatement will be added one by one
+                this.batch.add(failed);
+            }
+            throw new BackendException("Failed to commit %s of %s batches " +
+                                       "(%s statements not applied)", error,
+                                       failedBatches.size(), batches.size(),
+                                       this.batch.size());
         }
 
-        public void commitAsync() {
-            Collection<Statement> statements = this.batch.getStatements();
-
-            int count = 0;
-            int processors = Math.min(statements.size(), 1023);
-            List<ResultSetFuture> results = new ArrayList<>(processors + 1);
-            for (Statement s : statements) {
-                ResultSetFuture future = this.session.executeAsync(s);
+        /**
+         * Execute statements asynchronously in order, at most maxInFlight
+         * requests are in flight, a new one is sent once any one is done.
+         * The futures are added to results, which contains the sent ones if
+         * an exception is thrown when sending
+         */
+        private void executeAsync(List<? extends Statement> statements,
+                                  int maxInFlight,
+                                  List<ResultSetFuture> results) {
+            Semaphore permits = new Semaphore(maxInFlight);
+            for (Statement statement : statements) {
+                permits.acquireUninterruptibly();
+                ResultSetFuture future;
+                try {
+                    future = this.session.executeAsync(statement);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                future.addListener(permits::release,
+                                   MoreExecutors.directExecutor());
                 results.add(future);
+            }
+        }
 
-                if (++count > processors) {
-                    results.forEach(ResultSetFuture::getUninterruptibly);
-                    results.clear();
-                    count = 0;
+        /**
+         * Bind values to the prepared statement of cql, the statement is
+         * prepared once and shared by all sessions. The values are converted
+         * to the types of columns, since prepared statements are strictly
+         * typed (like int column with Long value) unlike inlined literals.
+         */
+        public BoundStatement bind(String cql, List<?> values) {
+            Map<String, PreparedStatement> cache;
+            cache = CassandraSessionPool.this.statements;
+            PreparedStatement prepared = cache.get(cql);
+            if (prepared == null) {
+                prepared = this.session.prepare(cql);
+                PreparedStatement old = cache.putIfAbsent(cql, prepared);
+                if (old != null) {
+                    prepared = old;
                 }
             }
-            for (ResultSetFuture future : results) {
-                future.getUninterruptibly();
-            }
 
-            // Clear batch if execute() successfully (retained if failed)
-            this.batch.clear();
+            ColumnDefinitions variables = prepared.getVariables();
+            E.checkArgument(variables.size() == values.size(),
+                            "The count of values %s doesn't match with " +
+                            "variables %s of '%s'",
+                            values.size(), variables.size(), cql);
+            Object[] objects = new Object[values.size()];
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = convert(variables.getType(i), values.get(i));
+            }
+            return prepared.bind(objects);
         }
 
         public ResultSet query(Statement statement) {
@@ -200,6 +321,42 @@ public class CassandraSessionPool extends BackendSessionPool {
             return this.execute(statement);
         }
 
+        public ResultSetFuture queryAsync(Statement statement) {
+            assert !this.hasChanges();
+            return this.session.executeAsync(statement);
+        }
+
+        /**
+         * Send the queries asynchronously, at most MAX_QUERIES_IN_FLIGHT
+         * queries are in flight to avoid overflowing the request queue of
+         * the driver, the call is blocked until the rest ones are sent
+         */
+        public List<ResultSetFuture> queryAsync(
+                                     List<? extends Statement> statements) {
+            assert !this.hasChanges();
+            List<ResultSetFuture> results = new ArrayList<>(statements.size());
+            this.executeAsync(statements, MAX_QUERIES_IN_FLIGHT, results);
+            return results;
+        }
+
+        /**
+         * Send the queries asynchronously like queryAsync(), the rest pages
+         * of each results are fetched asynchronously too if fetchAll, so
+         * that the results can be iterated without blocking once done
+         */
+        public List<CompletableFuture<ResultSet>> fetchAsync(
+                                                  List<? extends Statement>
+                                                  statements,
+                                                  boolean fetchAll) {
+            List<ResultSetFuture> futures = this.queryAsync(statements);
+            List<CompletableFuture<ResultSet>> results;
+            results = new ArrayList<>(futures.size());
+            for (ResultSetFuture future : futures) {
+                results.add(fetchPages(future, fetchAll));
+            }
+            return results;
+        }
+
         public ResultSet execute(Statement statement) {
             return this.session.execute(statement);
         }
@@ -262,4 +419,132 @@ public class CassandraSessionPool extends BackendSessionPool {
             return CassandraSessionPool.this.cluster.getMetadata();
         }
     }
+
+    /**
+     * Group the statements of the same partition into UNLOGGED batches,
+     * each batch is applied by the replicas of the partition atomically
+     * without the overhead of batch log. The statements without routing
+     * key (the partition is unknown) are executed one by one, and the
+     * pending batches are flushed before them, so the statements of the
+     * same row are kept in order.
+     * NOTE: the statements of different partitions are not atomic.
+     */
+    protected static List<Statement> groupByPartition(
+                                     Collection<Statement> statements,
+                                     ProtocolVersion version,
+                                     CodecRegistry codecs) {
+        List<Statement> results = new ArrayList<>();
+        Map<ByteBuffer, BatchStatement> batches = new LinkedHashMap<>();
+        for (Statement statement : statements) {
+            ByteBuffer key = statement.getRoutingKey(version, codecs);
+            if (key == null) {
+                flushBatches(batches, results);
+                results.add(statement);
+                continue;
+            }
+            BatchStatement batch = batches.get(key);
+            if (batch == null) {
+                batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+                batches.put(key, batch);
+            }
+            batch.add(statement);
+            if (batch.size() >= MAX_BATCH_SIZE_PER_PARTITION) {
+                results.add(batch);
+                batches.remove(key);
+            }
+        }
+        flushBatches(batches, results);
+        return results;
+    }
+
+    private static CompletableFuture<ResultSet> fetchPages(
+                   ListenableFuture<ResultSet> future, boolean fetchAll) {
+        CompletableFuture<ResultSet> result = new CompletableFuture<>();
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet rs) {
+                if (!fetchAll || rs.isFullyFetched()) {
+                    result.complete(rs);
+                    return;
+                }
+                // The fetched rows are appended to the same results
+                fetchPages(rs.fetchMoreResults(), true).whenComplete((r, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(rs);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private static void flushBatches(Map<ByteBuffer, BatchStatement> batches,
+                                     List<Statement> results) {
+        for (BatchStatement batch : batches.values()) {
+            // Execute the single statement directly instead of batch
+            results.add(batch.size() == 1 ?
+                        batch.getStatements().iterator().next() : batch);
+        }
+        batches.clear();
+    }
+
+    protected static Object convert(DataType type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        List<DataType> args = type.getTypeArguments();
+        switch (type.getName()) {
+            case TINYINT:
+                return ((Number) value).byteValue();
+            case SMALLINT:
+                return ((Number) value).shortValue();
+            case INT:
+                return ((Number) value).intValue();
+            case BIGINT:
+            case COUNTER:
+                return ((Number) value).longValue();
+            case VARINT:
+                if (value instanceof BigInteger) {
+                    return value;
+                }
+                return BigInteger.valueOf(((Number) value).longValue());
+            case FLOAT:
+                return ((Number) value).floatValue();
+            case DOUBLE:
+                return ((Number) value).doubleValue();
+            case DECIMAL:
+                if (value instanceof BigDecimal) {
+                    return value;
+                }
+                return new BigDecimal(value.toString());
+            case LIST:
+                List<Object> list = new ArrayList<>();
+                for (Object e : (Collection<?>) value) {
+                    list.add(convert(args.get(0), e));
+                }
+                return list;
+            case SET:
+                Set<Object> set = new LinkedHashSet<>();
+                for (Object e : (Collection<?>) value) {
+                    set.add(convert(args.get(0), e));
+                }
+                return set;
+            case MAP:
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    map.put(convert(args.get(0), e.getKey()),
+                            convert(args.get(1), e.getValue()));
+                }
+                return map;
+            default:
+                return value;
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -32,7 +33,9 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.store.AbstractBackendStore;
 import com.baidu.hugegraph.backend.store.BackendAction;
 import com.baidu.hugegraph.backend.store.BackendEntry;
@@ -40,6 +43,7 @@ import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
@@ -238,10 +242,52 @@ public abstract class CassandraStore
     public Iterator<BackendEntry> query(Query query) {
         this.checkSessionConnected();
 
+        if (query instanceof BatchQuery) {
+            return this.queryBatch((BatchQuery) query);
+        }
         CassandraTable table = this.table(CassandraTable.tableType(query));
         return table.query(this.sessions.session(), query);
     }
 
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        this.checkSessionConnected();
+
+        if (query instanceof BatchQuery) {
+            List<CompletableFuture<Iterator<BackendEntry>>> futures;
+            futures = new ArrayList<>();
+            Map<HugeType, BatchQuery> batches;
+            batches = ((BatchQuery) query).groupBy(CassandraTable::tableType);
+            for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+                CassandraTable table = this.table(e.getKey());
+                futures.add(table.queryAsync(this.sessions.session(),
+                                             e.getValue()));
+            }
+            return QueryResults.concatAsync(futures);
+        }
+        CassandraTable table = this.table(CassandraTable.tableType(query));
+        return table.queryAsync(this.sessions.session(), query);
+    }
+
+    @Override
+    public Number queryNumber(Query query) {
+        this.checkSessionConnected();
+
+        CassandraTable table = this.table(CassandraTable.tableType(query));
+        return table.queryNumber(this.sessions.session(), query);
+    }
+
+    private Iterator<BackendEntry> queryBatch(BatchQuery query) {
+        ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+        Map<HugeType, BatchQuery> batches;
+        batches = query.groupBy(CassandraTable::tableType);
+        for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+            CassandraTable table = this.table(e.getKey());
+            rs.extend(table.query(this.sessions.session(), e.getValue()));
+        }
+        return rs;
+    }
+
     @Override
     public BackendFeatures features() {
         return FEATURES;
@@ -559,6 +605,20 @@ public abstract class CassandraStore
             CassandraSessionPool.Session session = super.sessions.session();
             return this.counters.getCounter(session, type);
         }
+
+        @Override
+        public void increaseCounter(String name, long increment) {
+            this.checkSessionConnected();
+            CassandraSessionPool.Session session = super.sessions.session();
+            this.counters.increaseCounter(session, name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            this.checkSessionConnected();
+            CassandraSessionPool.Session session = super.sessions.session();
+            return this.counters.getCounter(session, name);
+        }
     }
 
     public static class CassandraGraphStore extends CassandraStore {
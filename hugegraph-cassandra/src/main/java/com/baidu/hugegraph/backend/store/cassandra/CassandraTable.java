@@ -26,22 +26,30 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.page.PageState;
+import com.baidu.hugegraph.backend.query.Aggregate;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.Query.Order;
+import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendTable;
 import com.baidu.hugegraph.backend.store.Shard;
 import com.baidu.hugegraph.exception.NotFoundException;
 import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.iterator.FlatMapperIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.CopyUtil;
@@ -49,9 +57,15 @@ import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Host;
 import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Token;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TokenRange;
+import com.datastax.driver.core.VersionNumber;
 import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.PagingStateException;
 import com.datastax.driver.core.querybuilder.Clause;
@@ -73,9 +87,19 @@ public abstract class CassandraTable
 
     private static final Logger LOG = Log.logger(CassandraStore.class);
     private static final int MAX_ELEMENTS_IN_CLAUSE = 65535;
+    private static final VersionNumber PER_PARTITION_LIMIT_VERSION =
+                                       VersionNumber.parse("3.6.0");
+
+    // The cql templates of prepared statements, keyed by columns
+    private final Map<List<HugeKeys>, String> insertTemplates;
+    private String deleteTemplate;
+    private String selectTemplate;
 
     public CassandraTable(String table) {
         super(table);
+        this.insertTemplates = new ConcurrentHashMap<>();
+        this.deleteTemplate = null;
+        this.selectTemplate = null;
     }
 
     @Override
@@ -94,6 +118,10 @@ public abstract class CassandraTable
     @Override
     public Iterator<BackendEntry> query(CassandraSessionPool.Session session,
                                         Query query) {
+        if (query instanceof BatchQuery) {
+            return this.queryByBatch(session, (BatchQuery) query);
+        }
+
         ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
 
         if (query.limit() == 0 && query.limit() != Query.NO_LIMIT) {
@@ -101,6 +129,10 @@ public abstract class CassandraTable
             return rs;
         }
 
+        if (this.isQueryByKeys(query)) {
+            return this.queryByKeys(session, query);
+        }
+
         List<Select> selections = this.query2Select(this.table(), query);
         try {
             for (Select selection : selections) {
@@ -117,9 +149,254 @@ public abstract class CassandraTable
         return rs;
     }
 
+    /**
+     * Whether to query rows by the full primary key of each id, which
+     * uses the prepared statement of select-by-key
+     */
+    protected boolean isQueryByKeys(Query query) {
+        if (query.ids().isEmpty() || !query.conditions().isEmpty() ||
+            query.aggregate() != null || query.paging() ||
+            query.limit() != Query.NO_LIMIT || query.offset() != 0L) {
+            return false;
+        }
+        int keys = this.idColumnName().size();
+        for (Id id : query.ids()) {
+            if (this.idColumnValue(id).size() != keys) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Query each key by a bound statement of select-by-key in parallel,
+     * which is routed to the replica of the key instead of sending an IN
+     * clause across partitions to a coordinator. The number of queries in
+     * flight is limited by the session.
+     */
+    protected Iterator<BackendEntry> queryByKeys(
+                                     CassandraSessionPool.Session session,
+                                     Query query) {
+        List<ResultSetFuture> futures;
+        try {
+            futures = session.queryAsync(this.keyStatements(session, query));
+        } catch (DriverException e) {
+            throw new BackendException("Failed to query [%s]", e, query);
+        }
+        return new FlatMapperIterator<>(futures.iterator(), future -> {
+            try {
+                return this.results2Entries(query,
+                                            future.getUninterruptibly());
+            } catch (DriverException e) {
+                throw new BackendException("Failed to query [%s]", e, query);
+            }
+        });
+    }
+
+    private List<Statement> keyStatements(CassandraSessionPool.Session session,
+                                          Query query) {
+        String cql = this.selectTemplate();
+        List<Statement> statements = new ArrayList<>(query.ids().size());
+        for (Id id : query.ids()) {
+            List<Object> values = this.idColumnValue(id);
+            statements.add(session.bind(cql, values));
+        }
+        return statements;
+    }
+
+    /**
+     * Query by executeAsync() of driver, the future is done after all pages
+     * of the results are fetched (only the current page if query in paging)
+     * without blocking any thread, the sub-queries of batch are sent in
+     * parallel instead of being merged
+     */
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(
+                                         CassandraSessionPool.Session session,
+                                         Query query) {
+        List<CompletableFuture<Iterator<BackendEntry>>> futures;
+        if (query instanceof BatchQuery) {
+            futures = new ArrayList<>();
+            for (Query q : ((BatchQuery) query).queries()) {
+                futures.add(this.queryAsync(session, q));
+            }
+            return QueryResults.concatAsync(futures);
+        }
+
+        if (query.limit() == 0 && query.limit() != Query.NO_LIMIT) {
+            LOG.debug("Return empty result(limit=0) for query {}", query);
+            return CompletableFuture.completedFuture(
+                   QueryResults.emptyIterator());
+        }
+
+        List<CompletableFuture<ResultSet>> results;
+        try {
+            List<? extends Statement> statements;
+            if (this.isQueryByKeys(query)) {
+                statements = this.keyStatements(session, query);
+            } else {
+                statements = this.query2Select(this.table(), query);
+            }
+            results = session.fetchAsync(statements, !query.paging());
+        } catch (DriverException e) {
+            throw new BackendException("Failed to query [%s]", e, query);
+        }
+
+        futures = new ArrayList<>(results.size());
+        for (CompletableFuture<ResultSet> result : results) {
+            futures.add(result.handle((rs, e) -> {
+                if (e != null) {
+                    throw new BackendException("Failed to query [%s]",
+                                               e, query);
+                }
+                return this.results2Entries(query, rs);
+            }));
+        }
+        return QueryResults.concatAsync(futures);
+    }
+
+    public Number queryNumber(CassandraSessionPool.Session session,
+                              Query query) {
+        Aggregate aggregate = query.aggregateNotNull();
+        if (!aggregate.countAll()) {
+            throw new NotSupportException("aggregate %s", aggregate);
+        }
+
+        if (query instanceof BatchQuery) {
+            Iterator<Number> results = new MapperIterator<>(
+                    ((BatchQuery) query).queries().iterator(),
+                    q -> this.queryNumber(session, q));
+            return aggregate.reduce(results);
+        }
+
+        // Count all by each token range in parallel to avoid timeout
+        List<Select> selections = query.empty() ?
+                                  this.tokenRangeCountSelects(session) :
+                                  this.query2Select(this.table(), query);
+        List<Number> results = new ArrayList<>(selections.size());
+        try {
+            List<ResultSetFuture> futures = session.queryAsync(selections);
+            for (ResultSetFuture future : futures) {
+                Row row = future.getUninterruptibly().one();
+                results.add(row == null ? aggregate.func().defaultValue() :
+                            row.getLong(0));
+            }
+        } catch (DriverException e) {
+            LOG.debug("Failed to query [{}], detail statement: {}",
+                      query, selections, e);
+            throw new BackendException("Failed to query [%s]", e, query);
+        }
+
+        LOG.debug("Return {} for query {}", results, query);
+        return aggregate.reduce(results.iterator());
+    }
+
+    protected List<Select> tokenRangeCountSelects(
+                           CassandraSessionPool.Session session) {
+        String[] cols = this.pkColumnName().stream()
+                                           .map(pk -> formatKey(pk))
+                                           .toArray(String[]::new);
+        String token = QueryBuilder.token(cols);
+
+        List<Select> selects = new ArrayList<>();
+        for (TokenRange range : session.metadata().getTokenRanges()) {
+            for (TokenRange subRange : range.unwrap()) {
+                Select select = QueryBuilder.select().countAll()
+                                            .from(this.table());
+                Token start = subRange.getStart();
+                Token end = subRange.getEnd();
+                select.where(QueryBuilder.gt(token, start.getValue()));
+                // The min token as the end means to the max token
+                if (end.compareTo(start) > 0) {
+                    select.where(QueryBuilder.lte(token, end.getValue()));
+                }
+                selects.add(select);
+            }
+        }
+        return selects;
+    }
+
+    protected Iterator<BackendEntry> queryByBatch(
+                                     CassandraSessionPool.Session session,
+                                     BatchQuery query) {
+        if (query.resultType().isEdge() &&
+            query.size() <= MAX_ELEMENTS_IN_CLAUSE) {
+            /*
+             * Query edges of multi vertices by IN clause of partition key,
+             * the sub-queries with the same limit can be merged only if the
+             * limit can be applied to each partition by PER PARTITION LIMIT
+             */
+            boolean perPartitionLimit = supportPerPartitionLimit(session);
+            ConditionQuery merged = query.mergeIn(HugeKeys.OWNER_VERTEX,
+                                                  perPartitionLimit);
+            if (merged != null && merged.limit() == Query.NO_LIMIT) {
+                return this.query(session, merged);
+            }
+            if (merged != null && merged.limit() > 0L &&
+                merged.limit() <= Integer.MAX_VALUE) {
+                return this.queryPerPartitionLimit(session, merged);
+            }
+        }
+        /*
+         * NOTE: the other batches (like vertices and indexes, which are not
+         * partitioned by the merged key) are still queried one by one
+         */
+        return new FlatMapperIterator<>(query.queries().iterator(),
+                                        q -> this.query(session, q));
+    }
+
+    /**
+     * Query the merged query with its limit applied to each partition
+     */
+    protected Iterator<BackendEntry> queryPerPartitionLimit(
+                                     CassandraSessionPool.Session session,
+                                     ConditionQuery query) {
+        int limit = (int) query.limit();
+        ConditionQuery unlimited = query.copy();
+        unlimited.limit(Query.NO_LIMIT);
+
+        ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+        List<Select> selections = this.query2Select(this.table(), unlimited);
+        try {
+            for (Select selection : selections) {
+                selection.perPartitionLimit(limit);
+                ResultSet results = session.query(selection);
+                rs.extend(this.results2Entries(unlimited, results));
+            }
+        } catch (DriverException e) {
+            LOG.debug("Failed to query [{}], detail statement: {}",
+                      query, selections, e);
+            throw new BackendException("Failed to query [%s]", e, query);
+        }
+        return rs;
+    }
+
+    /**
+     * PER PARTITION LIMIT is supported since Cassandra 3.6
+     */
+    private static boolean supportPerPartitionLimit(
+                           CassandraSessionPool.Session session) {
+        for (Host host : session.metadata().getAllHosts()) {
+            VersionNumber version = host.getCassandraVersion();
+            if (version == null ||
+                version.compareTo(PER_PARTITION_LIMIT_VERSION) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected List<Select> query2Select(String table, Query query) {
-        // Set table
-        Select select = QueryBuilder.select().from(table);
+        // Set table, and select the aggregate value if needed
+        Select select;
+        if (query.aggregate() != null) {
+            // NOTE: only count all is supported, the ids can't be cloned
+            E.checkArgument(query.aggregate().countAll() &&
+                            query.ids().isEmpty(),
+                            "Not support aggregate query %s", query);
+            select = QueryBuilder.select().countAll().from(table);
+        } else {
+            select = QueryBuilder.select().from(table);
+        }
 
         // NOTE: Cassandra does not support query.offset()
         if (query.offset() != 0) {
@@ -392,13 +669,17 @@ public abstract class CassandraTable
     public void insert(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
         assert entry.columns().size() > 0;
-        Insert insert = QueryBuilder.insertInto(this.table());
-
-        for (Map.Entry<HugeKeys, Object> c : entry.columns().entrySet()) {
-            insert.value(formatKey(c.getKey()), c.getValue());
-        }
+        List<HugeKeys> names = new ArrayList<>(entry.columns().keySet());
+        String cql = this.insertTemplates.computeIfAbsent(names, keys -> {
+            Insert insert = QueryBuilder.insertInto(this.table());
+            for (HugeKeys key : keys) {
+                insert.value(formatKey(key), QueryBuilder.bindMarker());
+            }
+            return insert.toString();
+        });
 
-        session.add(insert);
+        List<Object> values = new ArrayList<>(entry.columns().values());
+        session.add(session.bind(cql, values));
     }
 
     /**
@@ -499,21 +780,18 @@ public abstract class CassandraTable
     public void delete(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
         List<HugeKeys> idNames = this.idColumnName();
-        Delete delete = QueryBuilder.delete().from(this.table());
+        List<Object> idValues;
 
         if (entry.columns().isEmpty()) {
             // Delete just by id
-            List<Long> idValues = this.idColumnValue(entry);
+            idValues = new ArrayList<>(this.idColumnValue(entry));
             assert idNames.size() == idValues.size();
-
-            for (int i = 0, n = idNames.size(); i < n; i++) {
-                delete.where(formatEQ(idNames.get(i), idValues.get(i)));
-            }
         } else {
             // Delete just by column keys(must be id columns)
+            idValues = new ArrayList<>(idNames.size());
             for (HugeKeys idName : idNames) {
                 // TODO: should support other filters (like containsKey)
-                delete.where(formatEQ(idName, entry.column(idName)));
+                idValues.add(entry.column(idName));
             }
             /*
              * TODO: delete by id + keys(like index element-ids -- it seems
@@ -521,7 +799,31 @@ public abstract class CassandraTable
              */
         }
 
-        session.add(delete);
+        session.add(session.bind(this.deleteTemplate(), idValues));
+    }
+
+    protected String deleteTemplate() {
+        if (this.deleteTemplate == null) {
+            Delete delete = QueryBuilder.delete().from(this.table());
+            for (HugeKeys idName : this.idColumnName()) {
+                delete.where(QueryBuilder.eq(formatKey(idName),
+                                             QueryBuilder.bindMarker()));
+            }
+            this.deleteTemplate = delete.toString();
+        }
+        return this.deleteTemplate;
+    }
+
+    protected String selectTemplate() {
+        if (this.selectTemplate == null) {
+            Select select = QueryBuilder.select().from(this.table());
+            for (HugeKeys idName : this.idColumnName()) {
+                select.where(QueryBuilder.eq(formatKey(idName),
+                                             QueryBuilder.bindMarker()));
+            }
+            this.selectTemplate = select.toString();
+        }
+        return this.selectTemplate;
     }
 
     protected void createTable(CassandraSessionPool.Session session,
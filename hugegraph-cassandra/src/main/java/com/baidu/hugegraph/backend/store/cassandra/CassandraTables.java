@@ -87,7 +87,17 @@ public class CassandraTables {
 
         public long getCounter(CassandraSessionPool.Session session,
                                HugeType type) {
-            Clause where = formatEQ(HugeKeys.SCHEMA_TYPE, type.name());
+            return this.getCounter(session, type.name());
+        }
+
+        public void increaseCounter(CassandraSessionPool.Session session,
+                                    HugeType type, long increment) {
+            this.increaseCounter(session, type.name(), increment);
+        }
+
+        public long getCounter(CassandraSessionPool.Session session,
+                               String name) {
+            Clause where = formatEQ(HugeKeys.SCHEMA_TYPE, name);
             Select select = QueryBuilder.select(formatKey(HugeKeys.ID))
                                         .from(TABLE);
             select.where(where);
@@ -100,10 +110,10 @@ public class CassandraTables {
         }
 
         public void increaseCounter(CassandraSessionPool.Session session,
-                                    HugeType type, long increment) {
+                                    String name, long increment) {
             Update update = QueryBuilder.update(TABLE);
             update.with(QueryBuilder.incr(formatKey(HugeKeys.ID), increment));
-            update.where(formatEQ(HugeKeys.SCHEMA_TYPE, type.name()));
+            update.where(formatEQ(HugeKeys.SCHEMA_TYPE, name));
             session.execute(update);
         }
     }
@@ -236,8 +246,11 @@ public class CassandraTables {
 
         public static final String TABLE = HugeType.VERTEX.string();
 
+        private String insertTemplate;
+
         public Vertex(String store) {
             super(joinTableName(store, TABLE));
+            this.insertTemplate = null;
         }
 
         @Override
@@ -268,13 +281,19 @@ public class CassandraTables {
             E.checkState(properties != null,
                          "The properties of inserting vertex can't be null");
 
-            Update update = QueryBuilder.update(table());
-            update.with(QueryBuilder.set(formatKey(HugeKeys.LABEL), label));
-            update.with(QueryBuilder.putAll(formatKey(HugeKeys.PROPERTIES),
-                                            properties));
-            update.where(formatEQ(HugeKeys.ID, id));
+            if (this.insertTemplate == null) {
+                Update update = QueryBuilder.update(table());
+                update.with(QueryBuilder.set(formatKey(HugeKeys.LABEL),
+                                             QueryBuilder.bindMarker()));
+                update.with(QueryBuilder.putAll(formatKey(HugeKeys.PROPERTIES),
+                                                QueryBuilder.bindMarker()));
+                update.where(QueryBuilder.eq(formatKey(HugeKeys.ID),
+                                             QueryBuilder.bindMarker()));
+                this.insertTemplate = update.toString();
+            }
 
-            session.add(update);
+            session.add(session.bind(this.insertTemplate,
+                                     Arrays.asList(label, properties, id)));
         }
     }
 
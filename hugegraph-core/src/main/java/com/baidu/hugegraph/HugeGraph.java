@@ -23,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -42,6 +44,7 @@ import com.baidu.hugegraph.analyzer.AnalyzerFactory;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.cache.CachedGraphTransaction;
 import com.baidu.hugegraph.backend.cache.CachedSchemaTransaction;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.AbstractSerializer;
@@ -49,7 +52,9 @@ import com.baidu.hugegraph.backend.serializer.SerializerFactory;
 import com.baidu.hugegraph.backend.store.BackendProviderFactory;
 import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
+import com.baidu.hugegraph.backend.tx.GraphStatistics;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.backend.tx.GroupCommitter;
 import com.baidu.hugegraph.backend.tx.SchemaTransaction;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
@@ -64,10 +69,12 @@ import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeFeatures;
 import com.baidu.hugegraph.task.TaskManager;
 import com.baidu.hugegraph.task.TaskScheduler;
+import com.baidu.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.ExecutorUtil;
 import com.baidu.hugegraph.util.LockUtil;
 import com.baidu.hugegraph.util.Log;
 import com.baidu.hugegraph.variables.HugeVariables;
@@ -87,7 +94,8 @@ public class HugeGraph implements GremlinGraph {
                                         .getStrategies(Graph.class)
                                         .clone();
         strategies.addStrategies(HugeVertexStepStrategy.instance(),
-                                 HugeGraphStepStrategy.instance());
+                                 HugeGraphStepStrategy.instance(),
+                                 HugeCountStepStrategy.instance());
         TraversalStrategies.GlobalCache.registerStrategies(HugeGraph.class,
                                                            strategies);
 
@@ -97,6 +105,11 @@ public class HugeGraph implements GremlinGraph {
         }));
     }
 
+    // The workers to expand frontier vertices of traversers in parallel
+    private static final String TRAVERSER_WORKER = "traverser-worker-%s-%%d";
+    private static final int TRAVERSER_WORKERS =
+                         Runtime.getRuntime().availableProcessors() * 2;
+
     private volatile boolean closed;
     private volatile GraphMode mode;
 
@@ -109,6 +122,9 @@ public class HugeGraph implements GremlinGraph {
     private final EventHub indexEventHub;
     private final RateLimiter rateLimiter;
     private final TaskManager taskManager;
+    private final GroupCommitter groupCommitter;
+    private final GraphStatistics statistics;
+    private final ExecutorService traverserExecutor;
 
     private final HugeFeatures features;
 
@@ -146,6 +162,17 @@ public class HugeGraph implements GremlinGraph {
             throw new HugeException(message);
         }
 
+        this.groupCommitter = GroupCommitter.create(configuration,
+                                                    this.loadGraphStore());
+
+        this.statistics = new GraphStatistics(
+                          configuration.get(CoreOptions.QUERY_STATISTICS));
+
+        // The threads are created on demand
+        String worker = String.format(TRAVERSER_WORKER, this.name);
+        this.traverserExecutor = ExecutorUtil.newFixedThreadPool(
+                                 TRAVERSER_WORKERS, worker);
+
         this.tx = new TinkerpopTransaction(this);
 
         this.taskManager.addScheduler(this);
@@ -198,6 +225,18 @@ public class HugeGraph implements GremlinGraph {
         return this.rateLimiter;
     }
 
+    public GroupCommitter groupCommitter() {
+        return this.groupCommitter;
+    }
+
+    public GraphStatistics statistics() {
+        return this.statistics;
+    }
+
+    public ExecutorService traverserExecutor() {
+        return this.traverserExecutor;
+    }
+
     @Override
     public void initBackend() {
         this.loadSchemaStore().open(this.configuration);
@@ -206,6 +245,7 @@ public class HugeGraph implements GremlinGraph {
         try {
             this.storeProvider.init();
             this.storeProvider.initSystemInfo(this);
+            this.statistics.init(this.loadSchemaStore());
         } finally {
             this.loadGraphStore().close();
             this.loadSystemStore().close();
@@ -224,6 +264,7 @@ public class HugeGraph implements GremlinGraph {
         this.loadGraphStore().open(this.configuration);
         try {
             this.storeProvider.clear();
+            this.statistics.clear();
         } finally {
             this.loadGraphStore().close();
             this.loadSystemStore().close();
@@ -239,6 +280,7 @@ public class HugeGraph implements GremlinGraph {
 
         this.storeProvider.truncate();
         this.storeProvider.initSystemInfo(this);
+        this.statistics.init(this.loadSchemaStore());
 
         LOG.info("Graph '{}' has been truncated", this.name);
     }
@@ -411,6 +453,10 @@ public class HugeGraph implements GremlinGraph {
         return this.graphTransaction().queryVertices(query);
     }
 
+    public CompletableFuture<Iterator<Vertex>> verticesAsync(Query query) {
+        return this.graphTransaction().queryVerticesAsync(query);
+    }
+
     @Override
     public Iterator<Edge> edges(Object... objects) {
         if (objects.length == 0) {
@@ -423,6 +469,18 @@ public class HugeGraph implements GremlinGraph {
         return this.graphTransaction().queryEdges(query);
     }
 
+    public CompletableFuture<Iterator<Edge>> edgesAsync(Query query) {
+        return this.graphTransaction().queryEdgesAsync(query);
+    }
+
+    public Iterator<EdgeId> edgeIds(Query query) {
+        return this.graphTransaction().queryEdgeIds(query);
+    }
+
+    public Number queryNumber(Query query) {
+        return this.graphTransaction().queryNumber(query);
+    }
+
     public Iterator<Vertex> adjacentVertices(Iterator<Edge> edges) {
         return this.graphTransaction().queryAdjacentVertices(edges);
     }
@@ -492,6 +550,8 @@ public class HugeGraph implements GremlinGraph {
 
         LOG.info("Close graph {}", this);
         this.taskManager.closeScheduler(this);
+        // The queued and running expansions fail after the store closed
+        this.traverserExecutor.shutdown();
         try {
             this.closeTx();
         } finally {
@@ -768,6 +828,8 @@ public class HugeGraph implements GremlinGraph {
                 txs = new Txs(openSchemaTransaction(), openSystemTransaction(),
                               openGraphTransaction());
                 this.transactions.set(txs);
+                // Load the persisted statistics once the stores are opened
+                HugeGraph.this.statistics.load(txs.schemaTx);
             }
             return txs;
         }
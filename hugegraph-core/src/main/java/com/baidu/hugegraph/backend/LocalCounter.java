@@ -30,9 +30,11 @@ import com.baidu.hugegraph.type.HugeType;
 public class LocalCounter {
 
     private final Map<HugeType, AtomicLong> counters;
+    private final Map<String, AtomicLong> namedCounters;
 
     public LocalCounter() {
         this.counters = new ConcurrentHashMap<>();
+        this.namedCounters = new ConcurrentHashMap<>();
     }
 
     public synchronized Id nextId(HugeType type) {
@@ -73,7 +75,18 @@ public class LocalCounter {
         this.counters.put(type, value);
     }
 
+    public long getCounter(String name) {
+        AtomicLong counter = this.namedCounters.get(name);
+        return counter == null ? 0L : counter.get();
+    }
+
+    public void increaseCounter(String name, long increment) {
+        this.namedCounters.computeIfAbsent(name, k -> new AtomicLong(0L))
+                          .addAndGet(increment);
+    }
+
     public void reset() {
         this.counters.clear();
+        this.namedCounters.clear();
     }
 }
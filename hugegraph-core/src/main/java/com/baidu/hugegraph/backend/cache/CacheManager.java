@@ -28,6 +28,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.util.Log;
 
 public class CacheManager {
@@ -36,6 +38,11 @@ public class CacheManager {
 
     private static CacheManager INSTANCE = new CacheManager();
 
+    // The available cache types
+    public static final String RAM_CACHE = "ram";
+    public static final String TINYLFU_CACHE = "tinylfu";
+    public static final String OFFHEAP_CACHE = "offheap";
+
     // Check the cache expiration every 30s by default
     private static final long TIMER_TICK_PERIOD = 30;
     // Log if tick cost time > 1000ms
@@ -96,9 +103,31 @@ public class CacheManager {
     }
 
     public Cache cache(String name, int capacity) {
+        return this.cache(name, capacity, RAM_CACHE);
+    }
+
+    public Cache cache(String name, int capacity, String type) {
         if (!this.caches.containsKey(name)) {
-            this.caches.putIfAbsent(name, new RamCache(capacity));
+            this.caches.putIfAbsent(name, newCache(type, capacity));
         }
         return this.caches.get(name);
     }
+
+    public Cache offheapCache(HugeGraph graph, String name, long capacity) {
+        if (!this.caches.containsKey(name)) {
+            this.caches.putIfAbsent(name, new OffheapCache(graph, capacity));
+        }
+        return this.caches.get(name);
+    }
+
+    private static Cache newCache(String type, int capacity) {
+        switch (type) {
+            case RAM_CACHE:
+                return new RamCache(capacity);
+            case TINYLFU_CACHE:
+                return new TinyLfuCache(capacity);
+            default:
+                throw new NotSupportException("cache type '%s'", type);
+        }
+    }
 }
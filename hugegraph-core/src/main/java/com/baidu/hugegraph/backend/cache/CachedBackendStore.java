@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.backend.cache;
 
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Query;
@@ -126,6 +127,16 @@ public class CachedBackendStore implements BackendStore {
         return this.store.getCounter(type);
     }
 
+    @Override
+    public void increaseCounter(String name, long increment) {
+        this.store.increaseCounter(name, increment);
+    }
+
+    @Override
+    public long getCounter(String name) {
+        return this.store.getCounter(name);
+    }
+
     @Override
     public void mutate(BackendMutation mutation) {
         // TODO: invalid cache, or set expire time at least
@@ -152,6 +163,16 @@ public class CachedBackendStore implements BackendStore {
         }
     }
 
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        return this.store.queryAsync(query);
+    }
+
+    @Override
+    public Number queryNumber(Query query) {
+        return this.store.queryNumber(query);
+    }
+
     /**
      * Query as an Id for cache
      */
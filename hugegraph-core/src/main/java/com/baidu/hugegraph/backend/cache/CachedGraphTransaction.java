@@ -21,13 +21,19 @@ package com.baidu.hugegraph.backend.cache;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.cache.CachedBackendStore.QueryId;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendMutation;
@@ -37,10 +43,13 @@ import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.event.EventHub;
 import com.baidu.hugegraph.event.EventListener;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.schema.IndexLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.Events;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -60,13 +69,19 @@ public final class CachedGraphTransaction extends GraphTransaction {
 
         HugeConfig conf = graph.configuration();
 
-        int capacity = conf.get(CoreOptions.VERTEX_CACHE_CAPACITY);
+        String type = conf.get(CoreOptions.VERTEX_CACHE_TYPE);
+        long capacity = type.equals(CacheManager.OFFHEAP_CACHE) ?
+                        conf.get(CoreOptions.VERTEX_CACHE_OFFHEAP_SIZE) :
+                        conf.get(CoreOptions.VERTEX_CACHE_CAPACITY);
         int expire = conf.get(CoreOptions.VERTEX_CACHE_EXPIRE);
-        this.verticesCache = this.cache("vertex", capacity, expire);
+        this.verticesCache = this.cache("vertex", type, capacity, expire);
 
-        capacity = conf.get(CoreOptions.EDGE_CACHE_CAPACITY);
+        type = conf.get(CoreOptions.EDGE_CACHE_TYPE);
+        capacity = type.equals(CacheManager.OFFHEAP_CACHE) ?
+                   conf.get(CoreOptions.EDGE_CACHE_OFFHEAP_SIZE) :
+                   conf.get(CoreOptions.EDGE_CACHE_CAPACITY);
         expire = conf.get(CoreOptions.EDGE_CACHE_EXPIRE);
-        this.edgesCache = this.cache("edge", capacity, expire);
+        this.edgesCache = this.cache("edge", type, capacity, expire);
 
         this.listenChanges();
     }
@@ -80,9 +95,17 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
     }
 
-    private Cache cache(String prefix, int capacity, long expire) {
+    private Cache cache(String prefix, String type,
+                        long capacity, long expire) {
         String name = prefix + "-" + super.graph().name();
-        Cache cache = CacheManager.instance().cache(name, capacity);
+        CacheManager manager = CacheManager.instance();
+        Cache cache;
+        if (type.equals(CacheManager.OFFHEAP_CACHE)) {
+            // NOTE: the capacity of off-heap cache is counted in bytes
+            cache = manager.offheapCache(super.graph(), name, capacity);
+        } else {
+            cache = manager.cache(name, (int) capacity, type);
+        }
         cache.expire(expire);
         return cache;
     }
@@ -151,6 +174,42 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
     }
 
+    @Override
+    protected CompletableFuture<Iterator<HugeVertex>>
+              queryVerticesFromBackendAsync(Query query) {
+        if (query.ids().isEmpty() || !query.conditions().isEmpty()) {
+            return super.queryVerticesFromBackendAsync(query);
+        }
+
+        IdQuery newQuery = new IdQuery(HugeType.VERTEX, query);
+        List<HugeVertex> vertices = new ArrayList<>(query.ids().size());
+        for (Id vertexId : query.ids()) {
+            Object vertex = this.verticesCache.get(vertexId);
+            if (vertex != null) {
+                vertices.add((HugeVertex) vertex);
+            } else {
+                newQuery.query(vertexId);
+            }
+        }
+        if (newQuery.empty()) {
+            return CompletableFuture.completedFuture(vertices.iterator());
+        }
+        if (vertices.isEmpty()) {
+            // Just use the origin query if find none from the cache
+            newQuery = (IdQuery) query;
+        }
+        return super.queryVerticesFromBackendAsync(newQuery).thenApply(rs -> {
+            // The vertices are cached when iterating in the owner thread
+            Iterator<HugeVertex> fetched = new MapperIterator<>(rs, vertex -> {
+                // The cached vertex may be accessed by multiple threads
+                vertex.parseProperties();
+                this.verticesCache.update(vertex.id(), vertex);
+                return vertex;
+            });
+            return new ExtendableIterator<>(vertices.iterator(), fetched);
+        });
+    }
+
     private Iterator<HugeVertex> queryVerticesByIds(IdQuery query) {
         IdQuery newQuery = new IdQuery(HugeType.VERTEX, query);
         List<HugeVertex> vertices = new ArrayList<>(query.ids().size());
@@ -170,6 +229,8 @@ public final class CachedGraphTransaction extends GraphTransaction {
             Iterator<HugeVertex> rs = super.queryVerticesFromBackend(newQuery);
             while (rs.hasNext()) {
                 HugeVertex vertex = rs.next();
+                // The cached vertex may be accessed by multiple threads
+                vertex.parseProperties();
                 vertices.add(vertex);
                 this.verticesCache.update(vertex.id(), vertex);
             }
@@ -183,20 +244,147 @@ public final class CachedGraphTransaction extends GraphTransaction {
             // Query all edges or query edges in paging, don't cache it
             return super.queryEdgesFromBackend(query);
         }
+        if (query instanceof BatchQuery) {
+            return this.queryEdgesByBatch((BatchQuery) query);
+        }
 
-        Id id = new QueryId(query);
-        @SuppressWarnings("unchecked")
-        List<HugeEdge> edges = (List<HugeEdge>) this.edgesCache.get(id);
+        List<HugeEdge> edges = this.cachedEdges(query);
         if (edges == null) {
             // Iterator can't be cached, caching list instead
             edges = ImmutableList.copyOf(super.queryEdgesFromBackend(query));
-            if (edges.size() <= MAX_CACHE_EDGES_PER_QUERY) {
-                this.edgesCache.update(id, edges);
-            }
+            this.cacheEdges(query, edges);
         }
         return edges.iterator();
     }
 
+    /**
+     * Query edges asynchronously, only the edges of a single query are
+     * cached like querying synchronously, the batch queries are not cached
+     */
+    @Override
+    protected CompletableFuture<Iterator<HugeEdge>>
+              queryEdgesFromBackendAsync(Query query) {
+        if (query.empty() || query.paging() || query instanceof BatchQuery) {
+            return super.queryEdgesFromBackendAsync(query);
+        }
+
+        List<HugeEdge> cached = this.cachedEdges(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.iterator());
+        }
+        return super.queryEdgesFromBackendAsync(query).thenApply(rs -> {
+            // The edges are cached when iterating in the owner thread
+            return lazyIterator(() -> {
+                List<HugeEdge> edges = ImmutableList.copyOf(rs);
+                this.cacheEdges(query, edges);
+                return edges.iterator();
+            });
+        });
+    }
+
+    private Iterator<HugeEdge> queryEdgesByBatch(BatchQuery query) {
+        BatchQuery newQuery = new BatchQuery(query.resultType());
+        newQuery.copyBasic(query);
+        ExtendableIterator<HugeEdge> results = new ExtendableIterator<>();
+        for (Query subQuery : query.queries()) {
+            List<HugeEdge> edges = this.cachedEdges(subQuery);
+            if (edges != null) {
+                results.extend(edges.iterator());
+            } else {
+                newQuery.add(subQuery);
+            }
+        }
+        if (newQuery.empty()) {
+            return results;
+        }
+
+        /*
+         * The missed sub-queries are queried from backend in one batch, then
+         * the mixed results are split by owner vertex to cache each sub-query
+         */
+        List<HugeEdge> edges = ImmutableList.copyOf(
+                               super.queryEdgesFromBackend(newQuery));
+        Map<Id, List<HugeEdge>> edgesOfOwners = new HashMap<>();
+        for (HugeEdge edge : edges) {
+            edgesOfOwners.computeIfAbsent(edge.ownerVertex().id(),
+                                          k -> new ArrayList<>())
+                         .add(edge);
+        }
+        for (Query subQuery : newQuery.queries()) {
+            if (!(subQuery instanceof ConditionQuery)) {
+                continue;
+            }
+            Id owner = ((ConditionQuery) subQuery).condition(
+                                                   HugeKeys.OWNER_VERTEX);
+            if (owner == null) {
+                continue;
+            }
+            List<HugeEdge> matched = new ArrayList<>();
+            for (HugeEdge edge : edgesOfOwners.getOrDefault(
+                                 owner, ImmutableList.of())) {
+                if (subQuery.test(edge)) {
+                    matched.add(edge);
+                }
+            }
+            this.cacheEdges(subQuery, ImmutableList.copyOf(matched));
+        }
+        results.extend(edges.iterator());
+        return results;
+    }
+
+    /**
+     * Get the edge ids from the cached edges if hit, the missed queries are
+     * queried from backend without building edges and are not cached
+     */
+    @Override
+    protected Iterator<EdgeId> queryEdgeIdsFromBackend(Query query) {
+        if (query.empty() || query.paging()) {
+            return super.queryEdgeIdsFromBackend(query);
+        }
+        if (!(query instanceof BatchQuery)) {
+            List<HugeEdge> edges = this.cachedEdges(query);
+            if (edges == null) {
+                return super.queryEdgeIdsFromBackend(query);
+            }
+            return new MapperIterator<>(edges.iterator(), HugeEdge::id);
+        }
+
+        BatchQuery newQuery = new BatchQuery(query.resultType());
+        newQuery.copyBasic(query);
+        ExtendableIterator<EdgeId> results = new ExtendableIterator<>();
+        for (Query subQuery : ((BatchQuery) query).queries()) {
+            List<HugeEdge> edges = this.cachedEdges(subQuery);
+            if (edges != null) {
+                results.extend(new MapperIterator<>(edges.iterator(),
+                                                    HugeEdge::id));
+            } else {
+                newQuery.add(subQuery);
+            }
+        }
+        if (!newQuery.empty()) {
+            results.extend(super.queryEdgeIdsFromBackend(newQuery));
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HugeEdge> cachedEdges(Query query) {
+        if (query.paging()) {
+            return null;
+        }
+        return (List<HugeEdge>) this.edgesCache.get(new QueryId(query));
+    }
+
+    private void cacheEdges(Query query, List<HugeEdge> edges) {
+        if (edges.size() > MAX_CACHE_EDGES_PER_QUERY) {
+            return;
+        }
+        // The cached edges may be accessed by multiple threads
+        for (HugeEdge edge : edges) {
+            edge.parseProperties();
+        }
+        this.edgesCache.update(new QueryId(query), edges);
+    }
 
     @Override
     protected void commitMutation2Backend(BackendMutation... mutations) {
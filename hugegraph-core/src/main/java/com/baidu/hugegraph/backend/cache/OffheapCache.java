@@ -0,0 +1,582 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry;
+import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
+import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * An off-heap cache for vertices and edges, the values are serialized into
+ * binary entries by BinarySerializer and stored in direct buffers, which
+ * are deserialized into new elements on every hit.
+ *
+ * The space is split into segments, each segment is a ring buffer and the
+ * oldest entries will be overwritten(evicted) when it's full.
+ *
+ * NOTE: the capacity is counted in bytes, the size is counted in number of
+ * items like other caches, and the used bytes can be got by usedBytes()
+ */
+public class OffheapCache implements Cache {
+
+    public static final long MB = RamCache.MB;
+    public static final long DEFAULT_SIZE = 256 * MB;
+
+    // The max size of a direct buffer (ByteBuffer is indexed by int)
+    private static final long MAX_SEGMENT_SIZE = 1024 * MB;
+    private static final long MIN_SEGMENT_SIZE = 1 * MB;
+
+    private static final byte VALUE_VERTEX = 1;
+    private static final byte VALUE_EDGES = 2;
+
+    private static final Logger LOG = Log.logger(Cache.class);
+
+    private final HugeGraph graph;
+    private final BinarySerializer serializer;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder miss = new LongAdder();
+
+    // Default expire time(ms)
+    private volatile long expire = 0L;
+
+    private final long capacity;
+    private final Segment[] segments;
+
+    public OffheapCache(HugeGraph graph) {
+        this(graph, DEFAULT_SIZE);
+    }
+
+    public OffheapCache(HugeGraph graph, long capacity) {
+        if (capacity < 0L) {
+            capacity = 0L;
+        }
+        this.graph = graph;
+        this.serializer = new BinarySerializer();
+        this.capacity = capacity;
+
+        int segmentsNum = Runtime.getRuntime().availableProcessors();
+        // Each segment should be able to hold an element with a few edges
+        segmentsNum = (int) Math.max(1L, Math.min(segmentsNum,
+                                                  capacity / MIN_SEGMENT_SIZE));
+        // Each segment is backed by one direct buffer
+        long required = (capacity + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE;
+        segmentsNum = (int) Math.max(segmentsNum, required);
+
+        this.segments = new Segment[segmentsNum];
+        for (int i = 0; i < segmentsNum; i++) {
+            this.segments[i] = new Segment((int) (capacity / segmentsNum));
+        }
+    }
+
+    private Segment segment(Id id) {
+        int hash = id.hashCode();
+        hash ^= (hash >>> 16);
+        return this.segments[(hash & Integer.MAX_VALUE) % this.segments.length];
+    }
+
+    @Watched(prefix = "offheapcache")
+    private final Object access(Id id) {
+        assert id != null;
+        byte[] bytes = this.segment(id).read(id, this.expire);
+        if (bytes == null) {
+            return null;
+        }
+        return this.decode(bytes);
+    }
+
+    @Watched(prefix = "offheapcache")
+    private final void write(Id id, Object value) {
+        assert id != null;
+        assert this.capacity > 0L;
+        byte[] bytes = this.encode(value);
+        if (!this.segment(id).write(id, bytes) && LOG.isDebugEnabled()) {
+            LOG.debug("OffheapCache skipped '{}' due to too large {} bytes",
+                      id, bytes.length);
+        }
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public Object get(Id id) {
+        if (id == null) {
+            return null;
+        }
+        Object value = this.access(id);
+        if (value == null) {
+            this.miss.increment();
+        } else {
+            this.hits.increment();
+        }
+        return value;
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public Object getOrFetch(Id id, Function<Id, Object> fetcher) {
+        if (id == null) {
+            return null;
+        }
+        Object value = this.access(id);
+        if (value == null) {
+            this.miss.increment();
+            // Do fetch and update the cache
+            value = fetcher.apply(id);
+            this.update(id, value);
+        } else {
+            this.hits.increment();
+        }
+        return value;
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public void update(Id id, Object value) {
+        if (id == null || value == null || this.capacity <= 0L) {
+            return;
+        }
+        this.write(id, value);
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public void updateIfAbsent(Id id, Object value) {
+        if (id == null || value == null || this.capacity <= 0L ||
+            this.segment(id).contains(id)) {
+            return;
+        }
+        this.write(id, value);
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public void updateIfPresent(Id id, Object value) {
+        if (id == null || value == null || this.capacity <= 0L ||
+            !this.segment(id).contains(id)) {
+            return;
+        }
+        this.write(id, value);
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public void invalidate(Id id) {
+        if (id == null) {
+            return;
+        }
+        this.segment(id).remove(id);
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public void traverse(Consumer<Object> consumer) {
+        E.checkNotNull(consumer, "consumer");
+        for (Segment segment : this.segments) {
+            segment.traverse(bytes -> consumer.accept(this.decode(bytes)));
+        }
+    }
+
+    @Watched(prefix = "offheapcache")
+    @Override
+    public void clear() {
+        for (Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public void expire(long seconds) {
+        // Convert the unit from seconds to milliseconds
+        this.expire = seconds * 1000;
+    }
+
+    @Override
+    public long expire() {
+        return this.expire;
+    }
+
+    @Override
+    public long tick() {
+        long expireTime = this.expire;
+        if (expireTime <= 0) {
+            return 0L;
+        }
+
+        long expireItems = 0;
+        long current = now();
+        for (Segment segment : this.segments) {
+            expireItems += segment.expire(current - expireTime);
+        }
+
+        if (expireItems > 0) {
+            LOG.debug("Cache expired {} items cost {}ms (size {}, expire {}ms)",
+                      expireItems, now() - current, this.size(), expireTime);
+        }
+        return expireItems;
+    }
+
+    @Override
+    public long capacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public long size() {
+        long size = 0L;
+        for (Segment segment : this.segments) {
+            size += segment.items();
+        }
+        return size;
+    }
+
+    public long usedBytes() {
+        long bytes = 0L;
+        for (Segment segment : this.segments) {
+            bytes += segment.used();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long miss() {
+        return this.miss.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffheapCache{capacity=%s, size=%s, " +
+                             "usedBytes=%s}", this.capacity, this.size(),
+                             this.usedBytes());
+    }
+
+    private byte[] encode(Object value) {
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.DEFAULT_CAPACITY);
+        if (value instanceof HugeVertex) {
+            HugeVertex vertex = (HugeVertex) value;
+            buffer.write(VALUE_VERTEX);
+            this.writeEntry(buffer, this.serializer.writeVertex(vertex));
+        } else if (value instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<HugeEdge> edges = (List<HugeEdge>) value;
+            buffer.write(VALUE_EDGES);
+            buffer.writeVInt(edges.size());
+            for (HugeEdge edge : edges) {
+                // Write owner vertex id, then the edge column
+                Id ownerId = edge.ownerVertex().id();
+                buffer.writeBytes(BytesBuffer.allocate(1 + ownerId.length())
+                                             .writeId(ownerId).bytes());
+                BackendEntry entry = this.serializer.writeEdge(edge);
+                assert entry.columnsSize() == 1;
+                this.writeColumns(buffer, entry.columns());
+            }
+        } else {
+            throw new NotSupportException("caching value of type %s " +
+                                          "in off-heap cache",
+                                          value.getClass().getSimpleName());
+        }
+        return buffer.bytes();
+    }
+
+    private Object decode(byte[] bytes) {
+        BytesBuffer buffer = BytesBuffer.wrap(bytes);
+        byte type = buffer.read();
+        if (type == VALUE_VERTEX) {
+            BackendEntry entry = this.readEntry(buffer, HugeType.VERTEX);
+            return this.serializer.readVertex(this.graph, entry);
+        }
+        assert type == VALUE_EDGES : type;
+        int size = buffer.readVInt();
+        List<HugeEdge> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BackendEntry entry = this.readEntry(buffer, HugeType.EDGE);
+            HugeVertex owner = this.serializer.readVertex(this.graph, entry);
+            assert owner.getEdges().size() == 1;
+            edges.add(owner.getEdges().iterator().next());
+        }
+        return edges;
+    }
+
+    private void writeEntry(BytesBuffer buffer, BackendEntry entry) {
+        buffer.writeBytes(entry.id().asBytes());
+        this.writeColumns(buffer, entry.columns());
+    }
+
+    private void writeColumns(BytesBuffer buffer,
+                              Collection<BackendColumn> columns) {
+        buffer.writeVInt(columns.size());
+        for (BackendColumn column : columns) {
+            buffer.writeBytes(column.name);
+            buffer.writeBytes(column.value);
+        }
+    }
+
+    private BackendEntry readEntry(BytesBuffer buffer, HugeType type) {
+        BinaryBackendEntry entry = new BinaryBackendEntry(type,
+                                                          buffer.readBytes());
+        int columns = buffer.readVInt();
+        for (int i = 0; i < columns; i++) {
+            entry.column(buffer.readBytes(), buffer.readBytes());
+        }
+        return entry;
+    }
+
+    private static final long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * A ring buffer based on a direct buffer, entries are appended at the
+     * tail and the oldest ones are evicted from the head when it's full.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock;
+        private final ByteBuffer buffer;
+        private final int size;
+
+        private final Map<Id, Slot> slots;
+        private final ArrayDeque<Slot> fifo;
+
+        // The logic offsets of the oldest live byte and the next write
+        private long head;
+        private long tail;
+
+        public Segment(int size) {
+            this.lock = new ReentrantLock();
+            this.buffer = ByteBuffer.allocateDirect(size);
+            this.size = size;
+            this.slots = new HashMap<>();
+            this.fifo = new ArrayDeque<>();
+            this.head = 0L;
+            this.tail = 0L;
+        }
+
+        public boolean contains(Id id) {
+            this.lock.lock();
+            try {
+                return this.slots.containsKey(id);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public byte[] read(Id id, long expire) {
+            this.lock.lock();
+            try {
+                Slot slot = this.slots.get(id);
+                if (slot == null) {
+                    return null;
+                }
+                if (expire > 0L && now() - slot.time > expire) {
+                    this.remove(slot);
+                    return null;
+                }
+                return this.read(slot);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public boolean write(Id id, byte[] bytes) {
+            int length = bytes.length;
+            if (length > this.size) {
+                return false;
+            }
+
+            this.lock.lock();
+            try {
+                Slot old = this.slots.get(id);
+                if (old != null) {
+                    this.remove(old);
+                }
+
+                // Skip the rest space if it can't hold the whole entry
+                int position = (int) (this.tail % this.size);
+                if (position + length > this.size) {
+                    this.tail += this.size - position;
+                    position = 0;
+                }
+
+                // Evict the oldest entries until there is enough space
+                while (this.tail + length - this.head > this.size) {
+                    Slot evicted = this.fifo.poll();
+                    if (evicted == null) {
+                        this.head = this.tail;
+                        break;
+                    }
+                    this.head = evicted.offset + evicted.length;
+                    if (!evicted.removed) {
+                        this.slots.remove(evicted.key);
+                    }
+                }
+                if (this.fifo.isEmpty()) {
+                    this.head = this.tail;
+                }
+
+                ByteBuffer target = this.buffer.duplicate();
+                target.position(position);
+                target.put(bytes);
+
+                Slot slot = new Slot(id, this.tail, length);
+                this.tail += length;
+                this.fifo.add(slot);
+                this.slots.put(id, slot);
+                return true;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public void remove(Id id) {
+            this.lock.lock();
+            try {
+                Slot slot = this.slots.get(id);
+                if (slot != null) {
+                    this.remove(slot);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public void traverse(Consumer<byte[]> consumer) {
+            List<byte[]> values;
+            this.lock.lock();
+            try {
+                values = new ArrayList<>(this.slots.size());
+                for (Slot slot : this.slots.values()) {
+                    values.add(this.read(slot));
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            // Consume out of the lock
+            values.forEach(consumer);
+        }
+
+        public long expire(long deadline) {
+            this.lock.lock();
+            try {
+                List<Slot> expired = new ArrayList<>();
+                for (Slot slot : this.slots.values()) {
+                    if (slot.time < deadline) {
+                        expired.add(slot);
+                    }
+                }
+                for (Slot slot : expired) {
+                    this.remove(slot);
+                }
+                return expired.size();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public void clear() {
+            this.lock.lock();
+            try {
+                this.slots.clear();
+                this.fifo.clear();
+                this.head = this.tail;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public long used() {
+            this.lock.lock();
+            try {
+                return this.tail - this.head;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public long items() {
+            this.lock.lock();
+            try {
+                return this.slots.size();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private byte[] read(Slot slot) {
+            byte[] bytes = new byte[slot.length];
+            ByteBuffer source = this.buffer.duplicate();
+            source.position((int) (slot.offset % this.size));
+            source.get(bytes);
+            return bytes;
+        }
+
+        private void remove(Slot slot) {
+            // NOTE: the space will be reclaimed when the head passes over it
+            slot.removed = true;
+            this.slots.remove(slot.key);
+        }
+    }
+
+    private static final class Slot {
+
+        private final Id key;
+        private final long offset;
+        private final int length;
+        private final long time;
+        private boolean removed;
+
+        public Slot(Id key, long offset, int length) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+            this.time = now();
+            this.removed = false;
+        }
+    }
+}
@@ -0,0 +1,731 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * A segmented W-TinyLFU cache, the keys are spread into segments, and each
+ * segment holds a small window LRU, a main SLRU (probation + protected) and
+ * a count-min frequency sketch which decides whether a victim of the window
+ * could be admitted into the main space.
+ *
+ * NOTE: reads never block, they look up the concurrent map directly and
+ * just try to record the access in the owner segment, the access would be
+ * dropped if the segment is being modified by other threads.
+ */
+public class TinyLfuCache implements Cache {
+
+    public static final int DEFAULT_SIZE = RamCache.DEFAULT_SIZE;
+    public static final int MAX_INIT_CAP = RamCache.MAX_INIT_CAP;
+
+    // The min capacity of each segment (except there is only one segment)
+    private static final int MIN_SEGMENT_CAPACITY = 1024;
+    private static final int MAX_SEGMENTS = 256;
+
+    // The percent of window space and protected space
+    private static final double WINDOW_PERCENT = 0.01D;
+    private static final double PROTECTED_PERCENT = 0.8D;
+
+    private static final Logger LOG = Log.logger(Cache.class);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder miss = new LongAdder();
+
+    // Default expire time(ms)
+    private volatile long expire = 0L;
+
+    // NOTE: the count in number of items, not in bytes
+    private final int capacity;
+
+    private final ConcurrentMap<Id, Node> map;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    public TinyLfuCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TinyLfuCache(int capacity) {
+        if (capacity < 0) {
+            capacity = 0;
+        }
+        this.capacity = capacity;
+
+        int initialCapacity = capacity >= RamCache.MB ? capacity >> 10 : 256;
+        if (initialCapacity > MAX_INIT_CAP) {
+            initialCapacity = MAX_INIT_CAP;
+        }
+        this.map = new ConcurrentHashMap<>(initialCapacity);
+
+        int maxSegments = ceilingPowerOfTwo(
+                          Runtime.getRuntime().availableProcessors() * 4);
+        maxSegments = Math.min(maxSegments, MAX_SEGMENTS);
+        int segmentsNum = 1;
+        while (segmentsNum < maxSegments &&
+               capacity / (segmentsNum << 1) >= MIN_SEGMENT_CAPACITY) {
+            segmentsNum <<= 1;
+        }
+        this.segments = new Segment[segmentsNum];
+        this.segmentMask = segmentsNum - 1;
+        // Spread the remainder to the first segments
+        int remainder = capacity % segmentsNum;
+        for (int i = 0; i < segmentsNum; i++) {
+            int segmentCapacity = capacity / segmentsNum;
+            if (i < remainder) {
+                segmentCapacity++;
+            }
+            this.segments[i] = new Segment(this.map, segmentCapacity);
+        }
+    }
+
+    private Segment segment(int hash) {
+        return this.segments[(hash >>> 16) & this.segmentMask];
+    }
+
+    @Watched(prefix = "lfucache")
+    private final Object access(Id id) {
+        assert id != null;
+        Node node = this.map.get(id);
+        if (node == null) {
+            return null;
+        }
+        assert id.equals(node.key);
+        this.segment(node.hash).afterRead(node);
+        return node.value;
+    }
+
+    @Watched(prefix = "lfucache")
+    private final void write(Id id, Object value) {
+        assert id != null;
+        assert this.capacity > 0;
+        int hash = spread(id.hashCode());
+        this.segment(hash).write(id, hash, value);
+    }
+
+    @Watched(prefix = "lfucache")
+    private final void remove(Id id) {
+        if (id == null) {
+            return;
+        }
+        int hash = spread(id.hashCode());
+        this.segment(hash).remove(id);
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public Object get(Id id) {
+        if (id == null) {
+            return null;
+        }
+        Object value = this.access(id);
+        if (value == null) {
+            this.miss.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("TinyLfuCache missed '{}' (miss={}, hits={})",
+                          id, this.miss(), this.hits());
+            }
+        } else {
+            this.hits.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("TinyLfuCache cached '{}' (hits={}, miss={})",
+                          id, this.hits(), this.miss());
+            }
+        }
+        return value;
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public Object getOrFetch(Id id, Function<Id, Object> fetcher) {
+        if (id == null) {
+            return null;
+        }
+        Object value = this.access(id);
+        if (value == null) {
+            this.miss.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("TinyLfuCache missed '{}' (miss={}, hits={})",
+                          id, this.miss(), this.hits());
+            }
+            // Do fetch and update the cache
+            value = fetcher.apply(id);
+            this.update(id, value);
+        } else {
+            this.hits.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("TinyLfuCache cached '{}' (hits={}, miss={})",
+                          id, this.hits(), this.miss());
+            }
+        }
+        return value;
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public void update(Id id, Object value) {
+        if (id == null || value == null || this.capacity <= 0) {
+            return;
+        }
+        this.write(id, value);
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public void updateIfAbsent(Id id, Object value) {
+        if (id == null || value == null ||
+            this.capacity <= 0 || this.map.containsKey(id)) {
+            return;
+        }
+        this.write(id, value);
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public void updateIfPresent(Id id, Object value) {
+        if (id == null || value == null ||
+            this.capacity <= 0 || !this.map.containsKey(id)) {
+            return;
+        }
+        this.write(id, value);
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public void invalidate(Id id) {
+        if (id == null || !this.map.containsKey(id)) {
+            return;
+        }
+        this.remove(id);
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public void traverse(Consumer<Object> consumer) {
+        E.checkNotNull(consumer, "consumer");
+        this.map.values().forEach(node -> consumer.accept(node.value));
+    }
+
+    @Watched(prefix = "lfucache")
+    @Override
+    public void clear() {
+        if (this.capacity <= 0 || this.map.isEmpty()) {
+            return;
+        }
+        // Clear segment by segment, there is no any global lock
+        for (Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public void expire(long seconds) {
+        // Convert the unit from seconds to milliseconds
+        this.expire = seconds * 1000;
+    }
+
+    @Override
+    public long expire() {
+        return this.expire;
+    }
+
+    @Override
+    public long tick() {
+        long expireTime = this.expire;
+        if (expireTime <= 0) {
+            return 0L;
+        }
+
+        int expireItems = 0;
+        long current = now();
+        for (Node node : this.map.values()) {
+            if (current - node.time > expireTime) {
+                // Remove item while iterating map (it must be ConcurrentMap)
+                if (this.segment(node.hash).remove(node)) {
+                    expireItems++;
+                }
+            }
+        }
+
+        if (expireItems > 0) {
+            LOG.debug("Cache expired {} items cost {}ms (size {}, expire {}ms)",
+                      expireItems, now() - current, this.size(), expireTime);
+        }
+        return expireItems;
+    }
+
+    @Override
+    public long capacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public long size() {
+        return this.map.size();
+    }
+
+    @Override
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long miss() {
+        return this.miss.sum();
+    }
+
+    @Override
+    public String toString() {
+        return this.map.toString();
+    }
+
+    private static final long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static int spread(int hash) {
+        // Apply a supplemental hash function to defend against poor hash
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        if (x <= 1) {
+            return 1;
+        }
+        return 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(x - 1));
+    }
+
+    private static final class Segment {
+
+        private final ConcurrentMap<Id, Node> map;
+        private final ReentrantLock lock;
+
+        private final int capacity;
+        private final int maxWindow;
+        private final int maxProtected;
+
+        private final NodeQueue window;
+        private final NodeQueue probation;
+        private final NodeQueue protect;
+        private final FrequencySketch sketch;
+
+        private int size;
+
+        public Segment(ConcurrentMap<Id, Node> map, int capacity) {
+            this.map = map;
+            this.lock = new ReentrantLock();
+
+            this.capacity = capacity;
+            this.maxWindow = Math.max(1, (int) (capacity * WINDOW_PERCENT));
+            int maxMain = Math.max(0, capacity - this.maxWindow);
+            this.maxProtected = (int) (maxMain * PROTECTED_PERCENT);
+
+            this.window = new NodeQueue(Node.WINDOW);
+            this.probation = new NodeQueue(Node.PROBATION);
+            this.protect = new NodeQueue(Node.PROTECTED);
+            this.sketch = new FrequencySketch(capacity);
+
+            this.size = 0;
+        }
+
+        public void afterRead(Node node) {
+            // Drop the access record if the segment is busy
+            if (!this.lock.tryLock()) {
+                return;
+            }
+            try {
+                if (node.queue != Node.NONE) {
+                    this.onAccess(node);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public void write(Id id, int hash, Object value) {
+            this.lock.lock();
+            try {
+                Node node = this.map.get(id);
+                if (node != null) {
+                    assert node.queue != Node.NONE;
+                    node.value = value;
+                    node.time = now();
+                    this.onAccess(node);
+                    return;
+                }
+
+                node = new Node(id, hash, value);
+                this.sketch.increment(hash);
+                this.window.add(node);
+                this.map.put(id, node);
+                this.size++;
+                this.sketch.ensureCapacity(this.size);
+
+                this.evict();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public void remove(Id id) {
+            this.lock.lock();
+            try {
+                Node node = this.map.get(id);
+                if (node != null) {
+                    this.unlink(node);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public boolean remove(Node node) {
+            this.lock.lock();
+            try {
+                if (node.queue == Node.NONE) {
+                    // The node has been removed by other threads
+                    return false;
+                }
+                this.unlink(node);
+                return true;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        public void clear() {
+            this.lock.lock();
+            try {
+                this.clear(this.window);
+                this.clear(this.probation);
+                this.clear(this.protect);
+                assert this.size == 0 : this.size;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private void clear(NodeQueue queue) {
+            Node node;
+            while ((node = queue.first()) != null) {
+                this.unlink(node);
+            }
+        }
+
+        private void onAccess(Node node) {
+            this.sketch.increment(node.hash);
+            switch (node.queue) {
+                case Node.WINDOW:
+                    this.window.moveToTail(node);
+                    break;
+                case Node.PROBATION:
+                    // Promote to the protected space
+                    this.probation.remove(node);
+                    this.protect.add(node);
+                    if (this.protect.size() > this.maxProtected) {
+                        // Demote the oldest protected one to probation
+                        this.probation.add(this.protect.poll());
+                    }
+                    break;
+                case Node.PROTECTED:
+                    this.protect.moveToTail(node);
+                    break;
+                default:
+                    throw new AssertionError("Unexpected queue: " + node.queue);
+            }
+        }
+
+        private void evict() {
+            // Move the oldest one of the window into probation as candidate
+            if (this.window.size() > this.maxWindow) {
+                this.probation.add(this.window.poll());
+            }
+
+            while (this.size > this.capacity) {
+                Node victim = this.probation.first();
+                Node candidate = this.probation.last();
+                if (victim == null) {
+                    // The main space is empty, evict from protected or window
+                    victim = this.protect.first();
+                    if (victim == null) {
+                        victim = this.window.first();
+                    }
+                    this.evict(victim);
+                    continue;
+                }
+                if (victim == candidate) {
+                    this.evict(victim);
+                    continue;
+                }
+                // Admit the candidate only if it's more frequently used
+                int candidateFreq = this.sketch.frequency(candidate.hash);
+                int victimFreq = this.sketch.frequency(victim.hash);
+                this.evict(candidateFreq > victimFreq ? victim : candidate);
+            }
+        }
+
+        private void evict(Node node) {
+            assert node != null;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("TinyLfuCache evicted '{}' (capacity={})",
+                          node.key, this.capacity);
+            }
+            this.unlink(node);
+        }
+
+        private void unlink(Node node) {
+            switch (node.queue) {
+                case Node.WINDOW:
+                    this.window.remove(node);
+                    break;
+                case Node.PROBATION:
+                    this.probation.remove(node);
+                    break;
+                case Node.PROTECTED:
+                    this.protect.remove(node);
+                    break;
+                default:
+                    throw new AssertionError("Unexpected queue: " + node.queue);
+            }
+            node.queue = Node.NONE;
+            this.map.remove(node.key, node);
+            this.size--;
+        }
+    }
+
+    private static final class Node {
+
+        private static final byte NONE = 0;
+        private static final byte WINDOW = 1;
+        private static final byte PROBATION = 2;
+        private static final byte PROTECTED = 3;
+
+        private final Id key;
+        private final int hash;
+        private volatile Object value;
+        private volatile long time;
+
+        // Guarded by the lock of owner segment
+        private byte queue;
+        private Node prev;
+        private Node next;
+
+        public Node(Id key, int hash, Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.time = now();
+            this.queue = NONE;
+        }
+
+        @Override
+        public String toString() {
+            return this.key.toString();
+        }
+    }
+
+    /**
+     * An access-ordered doubly linked queue with a sentinel node,
+     * NOTE: it's not thread safe, must be guarded by the segment lock.
+     */
+    private static final class NodeQueue {
+
+        private final byte type;
+        private final Node sentinel;
+        private int size;
+
+        public NodeQueue(byte type) {
+            this.type = type;
+            this.sentinel = new Node(null, 0, null);
+            this.sentinel.prev = this.sentinel;
+            this.sentinel.next = this.sentinel;
+            this.size = 0;
+        }
+
+        public int size() {
+            return this.size;
+        }
+
+        public Node first() {
+            Node first = this.sentinel.next;
+            return first == this.sentinel ? null : first;
+        }
+
+        public Node last() {
+            Node last = this.sentinel.prev;
+            return last == this.sentinel ? null : last;
+        }
+
+        public Node poll() {
+            Node first = this.first();
+            if (first != null) {
+                this.remove(first);
+            }
+            return first;
+        }
+
+        public void add(Node node) {
+            assert node.queue == Node.NONE && node.prev == null;
+            Node last = this.sentinel.prev;
+            node.prev = last;
+            node.next = this.sentinel;
+            last.next = node;
+            this.sentinel.prev = node;
+            node.queue = this.type;
+            this.size++;
+        }
+
+        public void remove(Node node) {
+            assert node.queue == this.type;
+            unlinkNode(node);
+            node.prev = node.next = null;
+            node.queue = Node.NONE;
+            this.size--;
+        }
+
+        public void moveToTail(Node node) {
+            assert node.queue == this.type;
+            if (this.sentinel.prev == node) {
+                return;
+            }
+            unlinkNode(node);
+            Node last = this.sentinel.prev;
+            node.prev = last;
+            node.next = this.sentinel;
+            last.next = node;
+            this.sentinel.prev = node;
+        }
+
+        private static void unlinkNode(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+    }
+
+    /**
+     * A count-min sketch with 4-bit counters to estimate the access frequency
+     * of keys, all counters are halved periodically to keep it fresh.
+     * NOTE: it's not thread safe, must be guarded by the segment lock.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+                0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        // The initial length of table, it will grow with the segment size
+        private static final int INIT_TABLE_SIZE = 16;
+
+        private final int maxTableSize;
+        private long[] table;
+        private int tableMask;
+        private int sampleSize;
+        private int additions;
+
+        public FrequencySketch(int capacity) {
+            this.maxTableSize = ceilingPowerOfTwo(Math.max(capacity,
+                                                           INIT_TABLE_SIZE));
+            this.resize(Math.min(INIT_TABLE_SIZE, this.maxTableSize));
+        }
+
+        public void ensureCapacity(int size) {
+            if (size <= this.table.length ||
+                this.table.length >= this.maxTableSize) {
+                return;
+            }
+            // NOTE: the old frequencies will be discarded after resized
+            this.resize(Math.min(this.table.length << 1, this.maxTableSize));
+        }
+
+        private void resize(int tableSize) {
+            this.table = new long[tableSize];
+            this.tableMask = tableSize - 1;
+            this.sampleSize = 10 * tableSize;
+            this.additions = 0;
+        }
+
+        public int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = this.indexOf(hash, i);
+                int offset = (start + i) << 2;
+                int count = (int) ((this.table[index] >>> offset) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        public void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = this.indexOf(hash, i);
+                added |= this.incrementAt(index, start + i);
+            }
+            if (added && ++this.additions >= this.sampleSize) {
+                this.reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((this.table[index] & mask) != mask) {
+                this.table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            // Halve all the counters
+            int odds = 0;
+            for (int i = 0; i < this.table.length; i++) {
+                odds += Long.bitCount(this.table[i] & ONE_MASK);
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.additions = (this.additions - (odds >>> 2)) >>> 1;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & this.tableMask;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.baidu.hugegraph.backend.query.Condition.Relation;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * A batch of sub-queries with the same result type, which will be sent to
+ * the backend store in one call, so that the store can execute them by a
+ * multi-get (like multi-seek, multi-scan or IN clause) instead of a round
+ * trip per sub-query. Each sub-query keeps its own offset and limit.
+ */
+public class BatchQuery extends Query {
+
+    private List<Query> queries;
+
+    public BatchQuery(HugeType resultType) {
+        super(resultType);
+        this.queries = new ArrayList<>();
+        // The capacity is limited by each sub-query instead of the batch
+        this.capacity(NO_CAPACITY);
+    }
+
+    public BatchQuery add(Query query) {
+        E.checkArgument(query.resultType() == this.resultType(),
+                        "Can't add query of %s to batch query of %s",
+                        query.resultType(), this.resultType());
+        E.checkArgument(!(query instanceof BatchQuery),
+                        "Can't add batch query to batch query");
+        this.queries.add(query);
+        return this;
+    }
+
+    public List<Query> queries() {
+        return Collections.unmodifiableList(this.queries);
+    }
+
+    public int size() {
+        return this.queries.size();
+    }
+
+    /**
+     * Group the sub-queries by the specified classifier, like table type
+     * @param classifier the function to get the key of each sub-query
+     * @return the sub batch queries in the order of their first occurrence
+     */
+    public <K> Map<K, BatchQuery> groupBy(Function<Query, K> classifier) {
+        Map<K, BatchQuery> batches = InsertionOrderUtil.newMap();
+        for (Query query : this.queries) {
+            K key = classifier.apply(query);
+            BatchQuery batch = batches.get(key);
+            if (batch == null) {
+                batch = new BatchQuery(this.resultType());
+                batch.copyBasic(this);
+                batches.put(key, batch);
+            }
+            batch.add(query);
+        }
+        return batches;
+    }
+
+    /**
+     * Merge all the sub-queries into one condition query with IN condition
+     * of the specified key, it's only allowed when all the sub-queries are
+     * condition queries without offset/limit/paging, and they are different
+     * only in the EQ condition of the key.
+     * @param key the key of the EQ condition to merge
+     * @return the merged query, or null if the sub-queries can't be merged
+     */
+    public ConditionQuery mergeIn(HugeKeys key) {
+        return this.mergeIn(key, false);
+    }
+
+    /**
+     * Merge all the sub-queries into one condition query with IN condition
+     * of the specified key like mergeIn(key), and the sub-queries with the
+     * same limit can be merged if perKeyLimit is true, then the limit of the
+     * merged query must be applied to each value of the key by the caller,
+     * like PER PARTITION LIMIT of Cassandra.
+     * @param key the key of the EQ condition to merge
+     * @param perKeyLimit whether the sub-queries with limit can be merged
+     * @return the merged query, or null if the sub-queries can't be merged
+     */
+    public ConditionQuery mergeIn(HugeKeys key, boolean perKeyLimit) {
+        ConditionQuery merged = null;
+        Set<Condition> others = null;
+        Object serialKey = null;
+        List<Object> values = new ArrayList<>(this.queries.size());
+        List<Object> serialValues = new ArrayList<>(this.queries.size());
+
+        for (Query query : this.queries) {
+            if (!(query instanceof ConditionQuery) ||
+                !query.ids().isEmpty() || query.offset() != 0L ||
+                (!perKeyLimit && query.limit() != Query.NO_LIMIT) ||
+                query.paging()) {
+                return null;
+            }
+            Relation matched = null;
+            Set<Condition> conditions = new LinkedHashSet<>();
+            for (Condition condition : query.conditions()) {
+                if (condition.isRelation() &&
+                    ((Relation) condition).key() == key &&
+                    ((Relation) condition).relation() ==
+                    Condition.RelationType.EQ) {
+                    if (matched != null) {
+                        return null;
+                    }
+                    matched = (Relation) condition;
+                } else {
+                    conditions.add(condition);
+                }
+            }
+            if (matched == null) {
+                return null;
+            }
+            if (merged == null) {
+                merged = (ConditionQuery) query;
+                others = conditions;
+                serialKey = matched.serialKey();
+            } else if (!others.equals(conditions) ||
+                       !merged.orders().equals(query.orders()) ||
+                       merged.limit() != query.limit()) {
+                return null;
+            }
+            values.add(matched.value());
+            serialValues.add(matched.serialValue());
+        }
+        if (merged == null) {
+            return null;
+        }
+
+        merged = merged.copy();
+        Relation in = (Relation) Condition.in(key, values);
+        in.serialKey(serialKey);
+        in.serialValue(serialValues);
+        others.add(in);
+        merged.resetConditions(others);
+        return merged;
+    }
+
+    @Override
+    public boolean empty() {
+        return this.queries.isEmpty();
+    }
+
+    @Override
+    public boolean test(HugeElement element) {
+        for (Query query : this.queries) {
+            if (query.test(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public BatchQuery copy() {
+        BatchQuery query = (BatchQuery) super.copy();
+        query.queries = new ArrayList<>(this.queries);
+        return query;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof BatchQuery)) {
+            return false;
+        }
+        return super.equals(object) &&
+               this.queries.equals(((BatchQuery) object).queries);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.queries.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s in batch of %s", super.toString(),
+                             this.queries);
+    }
+}
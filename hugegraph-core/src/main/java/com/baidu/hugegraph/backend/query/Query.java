@@ -26,6 +26,7 @@ import java.util.Set;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.Aggregate.AggregateFunc;
 import com.baidu.hugegraph.exception.LimitExceedException;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.type.HugeType;
@@ -53,6 +54,7 @@ public class Query implements Cloneable {
     private long capacity;
     private boolean showHidden;
     private boolean showDeleting;
+    private Aggregate aggregate;
 
     private Query originQuery;
 
@@ -74,6 +76,7 @@ public class Query implements Cloneable {
 
         this.showHidden = false;
         this.showDeleting = false;
+        this.aggregate = null;
     }
 
     public void copyBasic(Query query) {
@@ -84,6 +87,7 @@ public class Query implements Cloneable {
         this.capacity = query.capacity();
         this.showHidden = query.showHidden();
         this.showDeleting = query.showDeleting();
+        this.aggregate = query.aggregate();
         if (query.orders != null) {
             this.orders(query.orders);
         }
@@ -253,6 +257,24 @@ public class Query implements Cloneable {
         this.showDeleting = showDeleting;
     }
 
+    public Aggregate aggregate() {
+        return this.aggregate;
+    }
+
+    public Aggregate aggregateNotNull() {
+        E.checkArgument(this.aggregate != null,
+                        "The aggregate must be set for number query");
+        return this.aggregate;
+    }
+
+    public void aggregate(AggregateFunc func, String property) {
+        this.aggregate = new Aggregate(func, property);
+    }
+
+    public void aggregate(Aggregate aggregate) {
+        this.aggregate = aggregate;
+    }
+
     public Set<Id> ids() {
         return ImmutableSet.of();
     }
@@ -318,6 +340,9 @@ public class Query implements Cloneable {
         if (!this.orders().isEmpty()) {
             pairs.put("order by", this.orders());
         }
+        if (this.aggregate != null) {
+            pairs.put("aggregate", this.aggregate);
+        }
 
         StringBuilder sb = new StringBuilder(64);
         sb.append("Query for ").append(this.resultType);
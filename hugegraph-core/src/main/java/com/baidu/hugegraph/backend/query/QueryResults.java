@@ -26,12 +26,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.iterator.FlatMapperIterator;
 import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.iterator.Metadatable;
@@ -169,6 +171,22 @@ public class QueryResults {
         return qr[0];
     }
 
+    /**
+     * Concat the results of futures in order, it's done after all are done
+     */
+    public static <T> CompletableFuture<Iterator<T>> concatAsync(
+                      List<CompletableFuture<Iterator<T>>> futures) {
+        CompletableFuture<?>[] all = futures.toArray(
+                                     new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(all).thenApply(v -> {
+            ExtendableIterator<T> results = new ExtendableIterator<>();
+            for (CompletableFuture<Iterator<T>> future : futures) {
+                results.extend(future.join());
+            }
+            return results;
+        });
+    }
+
     public static QueryResults empty() {
         return EMPTY;
     }
@@ -19,12 +19,19 @@
 
 package com.baidu.hugegraph.backend.serializer;
 
+import java.util.Iterator;
+
+import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.iterator.MapperIterator;
+import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.HugeType;
 
 public abstract class AbstractSerializer
@@ -46,6 +53,16 @@ public abstract class AbstractSerializer
     public Query writeQuery(Query query) {
         HugeType type = query.resultType();
 
+        // Serialize each sub-query of batch query
+        if (query instanceof BatchQuery) {
+            BatchQuery result = new BatchQuery(type);
+            result.copyBasic(query);
+            for (Query subQuery : ((BatchQuery) query).queries()) {
+                result.add(this.writeQuery(subQuery));
+            }
+            return result;
+        }
+
         // Serialize edge condition query (TODO: add VEQ(for EOUT/EIN))
         if (type.isEdge() && !query.conditions().isEmpty()) {
             if (!query.ids().isEmpty()) {
@@ -76,4 +93,16 @@ public abstract class AbstractSerializer
 
         return query;
     }
+
+    /**
+     * Read the ids of edges in an entry without the edge properties, the
+     * default implementation deserializes the edges, it's expected to be
+     * overridden if the edge id can be decoded from the entry directly.
+     */
+    public Iterator<EdgeId> readEdgeIds(HugeGraph graph, BackendEntry entry) {
+        HugeVertex vertex = this.readVertex(graph, entry);
+        assert vertex != null;
+        return new MapperIterator<>(vertex.getEdges().iterator(),
+                                    edge -> edge.id());
+    }
 }
@@ -92,8 +92,8 @@ public class BinaryInlineSerializer extends BinarySerializer {
         VertexLabel label = vertex.graph().vertexLabel(buffer.readId());
         vertex.vertexLabel(label);
 
-        // Parse properties
-        this.parseProperties(buffer, vertex);
+        // Parse properties on demand
+        this.parseLazyProperties(buffer, vertex);
     }
 
     @Override
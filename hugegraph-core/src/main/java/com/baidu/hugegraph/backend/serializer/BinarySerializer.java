@@ -19,7 +19,10 @@
 
 package com.baidu.hugegraph.backend.serializer;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -209,6 +212,14 @@ public class BinarySerializer extends AbstractSerializer {
         }
     }
 
+    protected void parseLazyProperties(BytesBuffer buffer,
+                                       HugeElement owner) {
+        // The properties are deserialized on demand, see formatProperties()
+        ByteBuffer bytes = buffer.asByteBuffer();
+        owner.lazyProperties(new LazyProperties(owner.graph(), bytes.array(),
+                                                bytes.position()));
+    }
+
     protected byte[] formatEdgeName(HugeEdge edge) {
         // owner-vertex + dir + edge-label + sort-values + other-vertex
         return BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID)
@@ -288,10 +299,15 @@ public class BinarySerializer extends AbstractSerializer {
         //Id id = buffer.readId();
 
         // Parse edge properties
-        this.parseProperties(buffer, edge);
+        this.parseLazyProperties(buffer, edge);
     }
 
     protected void parseColumn(BackendColumn col, HugeVertex vertex) {
+        this.parseColumn(col, vertex, null);
+    }
+
+    protected void parseColumn(BackendColumn col, HugeVertex vertex,
+                               LazyProperties props) {
         BytesBuffer buffer = BytesBuffer.wrap(col.name);
         Id id = this.keyWithIdPrefix ? buffer.readId() : vertex.id();
         E.checkState(buffer.remaining() > 0, "Missing column type");
@@ -299,7 +315,13 @@ public class BinarySerializer extends AbstractSerializer {
         // Parse property
         if (type == HugeType.PROPERTY.code()) {
             Id pkeyId = buffer.readId();
-            this.parseProperty(pkeyId, BytesBuffer.wrap(col.value), vertex);
+            if (props != null) {
+                // Deserialize the value on demand
+                props.add(pkeyId, col.value, 0);
+            } else {
+                this.parseProperty(pkeyId, BytesBuffer.wrap(col.value),
+                                   vertex);
+            }
         }
         // Parse edge
         else if (type == HugeType.EDGE_IN.code() ||
@@ -405,8 +427,12 @@ public class BinarySerializer extends AbstractSerializer {
         HugeVertex vertex = new HugeVertex(graph, id, label);
 
         // Parse all properties and edges of a Vertex
+        LazyProperties props = new LazyProperties(graph);
         for (BackendColumn col : entry.columns()) {
-            this.parseColumn(col, vertex);
+            this.parseColumn(col, vertex, props);
+        }
+        if (props.size() > 0) {
+            vertex.lazyProperties(props);
         }
 
         return vertex;
@@ -430,6 +456,34 @@ public class BinarySerializer extends AbstractSerializer {
         throw new NotImplementedException("Unsupported readEdge()");
     }
 
+    @Override
+    public Iterator<EdgeId> readEdgeIds(HugeGraph graph,
+                                        BackendEntry bytesEntry) {
+        if (!this.keyWithIdPrefix) {
+            // The owner vertex is not in the column name
+            return super.readEdgeIds(graph, bytesEntry);
+        }
+        BinaryBackendEntry entry = this.convertEntry(bytesEntry);
+
+        // Decode the edge ids from column names, the values are not touched
+        List<EdgeId> ids = new ArrayList<>(entry.columnsSize());
+        for (BackendColumn col : entry.columns()) {
+            // owner-vertex + dir + edge-label + sort-values + other-vertex
+            BytesBuffer buffer = BytesBuffer.wrap(col.name);
+            Id ownerVertexId = buffer.readId();
+            byte type = buffer.read();
+            if (type != HugeType.EDGE_OUT.code() &&
+                type != HugeType.EDGE_IN.code()) {
+                // Skip the columns of vertex if exist
+                continue;
+            }
+            ids.add(new EdgeId(ownerVertexId, EdgeId.directionFromCode(type),
+                               buffer.readId(), buffer.readStringWithEnding(),
+                               buffer.readId()));
+        }
+        return ids.iterator();
+    }
+
     @Override
     public BackendEntry writeIndex(HugeIndex index) {
         BinaryBackendEntry entry;
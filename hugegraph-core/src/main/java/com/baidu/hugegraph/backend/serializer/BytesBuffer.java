@@ -503,6 +503,21 @@ public final class BytesBuffer {
         return values;
     }
 
+    public BytesBuffer skipProperty(PropertyKey pkey) {
+        if (pkey.cardinality() == Cardinality.SINGLE) {
+            this.skipProperty(pkey.dataType());
+            return this;
+        }
+
+        assert pkey.cardinality() == Cardinality.LIST ||
+               pkey.cardinality() == Cardinality.SET;
+        int size = this.readVInt();
+        for (int i = 0; i < size; i++) {
+            this.skipProperty(pkey.dataType());
+        }
+        return this;
+    }
+
     public BytesBuffer writeId(Id id) {
         return this.writeId(id, false);
     }
@@ -858,4 +873,36 @@ public final class BytesBuffer {
                 return KryoUtil.fromKryoWithType(this.readBytes());
         }
     }
+
+    private void skipProperty(DataType dataType) {
+        // Skip the value without decoding it, keep sync with readProperty()
+        switch (dataType) {
+            case BOOLEAN:
+            case BYTE:
+            case INT:
+                this.readVInt();
+                break;
+            case FLOAT:
+                this.skip(FLOAT_LEN);
+                break;
+            case LONG:
+            case DATE:
+                this.readVLong();
+                break;
+            case DOUBLE:
+                this.skip(DOUBLE_LEN);
+                break;
+            case UUID:
+                this.skip(LONG_LEN * 2);
+                break;
+            default:
+                // TEXT, BLOB and the kryo values are all prefixed by length
+                this.skip(this.readVInt());
+                break;
+        }
+    }
+
+    private void skip(int length) {
+        this.buffer.position(this.buffer.position() + length);
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.serializer;
+
+import java.util.Arrays;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * The raw properties of an element read from backend, each of them is
+ * deserialized on the first access of it.
+ *
+ * The properties are either serialized together like formatProperties() of
+ * BinarySerializer does, which are indexed on demand by skipping the values
+ * without decoding them, or added one by one with the value of each column.
+ * NOTE: the index is built without any lock, it's not thread safe, so each
+ * element (including the cloned ones) should own its lazy properties.
+ */
+public final class LazyProperties {
+
+    private static final int INIT_CAPACITY = 4;
+
+    private final HugeGraph graph;
+
+    // The properties serialized together, null if indexed or not exist
+    private byte[] bytes;
+    private int offset;
+
+    // The index of properties, i-th value is at positions[i] of arrays[i]
+    private Id[] keys;
+    private byte[][] arrays;
+    private int[] positions;
+    private int size;
+
+    public LazyProperties(HugeGraph graph) {
+        this(graph, null, 0);
+    }
+
+    public LazyProperties(HugeGraph graph, byte[] bytes, int offset) {
+        this.graph = graph;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.keys = null;
+        this.arrays = null;
+        this.positions = null;
+        this.size = 0;
+    }
+
+    public void add(Id key, byte[] array, int position) {
+        E.checkState(this.bytes == null,
+                     "Can't add property to serialized properties");
+        this.ensureCapacity(this.size + 1);
+        this.keys[this.size] = key;
+        this.arrays[this.size] = array;
+        this.positions[this.size] = position;
+        this.size++;
+    }
+
+    public LazyProperties copy() {
+        LazyProperties props = new LazyProperties(this.graph, this.bytes,
+                                                  this.offset);
+        if (this.keys != null) {
+            props.keys = this.keys.clone();
+            props.arrays = this.arrays.clone();
+            props.positions = this.positions.clone();
+        }
+        props.size = this.size;
+        return props;
+    }
+
+    public int size() {
+        this.index();
+        return this.size;
+    }
+
+    public Id key(int i) {
+        this.index();
+        assert i >= 0 && i < this.size : i;
+        return this.keys[i];
+    }
+
+    public int indexOf(Id key) {
+        this.index();
+        for (int i = 0; i < this.size; i++) {
+            if (this.keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Object value(int i) {
+        this.index();
+        assert i >= 0 && i < this.size : i;
+        byte[] array = this.arrays[i];
+        int position = this.positions[i];
+        BytesBuffer buffer = BytesBuffer.wrap(array, position,
+                                              array.length - position);
+        return buffer.readProperty(this.graph.propertyKey(this.keys[i]));
+    }
+
+    private void index() {
+        if (this.bytes == null) {
+            return;
+        }
+        byte[] bytes = this.bytes;
+        BytesBuffer buffer = BytesBuffer.wrap(bytes, this.offset,
+                                              bytes.length - this.offset);
+        int count = buffer.readVInt();
+        assert count >= 0;
+        this.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            Id key = IdGenerator.of(buffer.readVInt());
+            PropertyKey pkey = this.graph.propertyKey(key);
+            this.keys[i] = key;
+            this.arrays[i] = bytes;
+            this.positions[i] = buffer.asByteBuffer().position();
+            buffer.skipProperty(pkey);
+        }
+        this.size = count;
+        this.bytes = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (this.keys == null) {
+            capacity = Math.max(capacity, INIT_CAPACITY);
+            this.keys = new Id[capacity];
+            this.arrays = new byte[capacity][];
+            this.positions = new int[capacity];
+        } else if (capacity > this.keys.length) {
+            capacity = Math.max(capacity, this.keys.length << 1);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.arrays = Arrays.copyOf(this.arrays, capacity);
+            this.positions = Arrays.copyOf(this.positions, capacity);
+        }
+    }
+}
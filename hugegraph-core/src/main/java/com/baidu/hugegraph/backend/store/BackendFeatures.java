@@ -47,6 +47,8 @@ public interface BackendFeatures {
 
     public boolean supportsQuerySortByInputIds();
 
+    public boolean supportsAggregateQuery();
+
     public boolean supportsDeleteEdgeByLabel();
 
     public boolean supportsUpdateVertexProperty();
@@ -19,12 +19,23 @@
 
 package com.baidu.hugegraph.backend.store;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 
+import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.util.Log;
@@ -33,16 +44,25 @@ public abstract class BackendSessionPool {
 
     private static final Logger LOG = Log.logger(BackendSessionPool.class);
 
+    private static final String QUERY_WORKER = "query-worker-%s-%%d";
+    private static final long QUERY_WORKER_CLOSE_TIMEOUT = 10L;
+
     private final HugeConfig config;
     private final String name;
     private final ThreadLocal<BackendSession> threadLocalSession;
     private final AtomicInteger sessionCount;
 
+    // The sessions of query workers, which are not counted in sessionCount
+    private final ThreadLocal<BackendSession> workerSession;
+    private volatile ExecutorService queryExecutor;
+
     public BackendSessionPool(HugeConfig config, String name) {
         this.config = config;
         this.name = name;
         this.threadLocalSession = new ThreadLocal<>();
         this.sessionCount = new AtomicInteger(0);
+        this.workerSession = new ThreadLocal<>();
+        this.queryExecutor = null;
     }
 
     public HugeConfig config() {
@@ -116,12 +136,139 @@ public abstract class BackendSessionPool {
         return Pair.of(this.sessionCount.decrementAndGet(), ref);
     }
 
+    /**
+     * Execute a query by a worker thread of the bounded query executor, the
+     * worker holds its own session which isn't shared with the threads of
+     * transactions. The entries are fetched entirely by the worker, so that
+     * the results don't refer to the session when the future is done.
+     */
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(
+           Function<BackendSession, Iterator<BackendEntry>> query) {
+        CompletableFuture<Iterator<BackendEntry>> future;
+        future = new CompletableFuture<>();
+        Runnable task = () -> {
+            Iterator<BackendEntry> results = null;
+            try {
+                results = query.apply(this.workerSession());
+                List<BackendEntry> entries = new ArrayList<>();
+                while (results.hasNext()) {
+                    entries.add(results.next());
+                }
+                future.complete(entries.iterator());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                if (results instanceof AutoCloseable) {
+                    try {
+                        ((AutoCloseable) results).close();
+                    } catch (Exception e) {
+                        LOG.warn("Failed to close the results of query", e);
+                    }
+                }
+            }
+        };
+        try {
+            this.queryExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new BackendException(
+                   "The query executor of %s has been closed", e, this));
+        }
+        return future;
+    }
+
+    /**
+     * The bounded executor of asynchronous queries, it's also used by the
+     * backends which send queries asynchronously by themselves to complete
+     * the futures out of their IO threads
+     */
+    protected final ExecutorService queryExecutor() {
+        ExecutorService executor = this.queryExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (this) {
+            if (this.queryExecutor == null) {
+                if (this.closed()) {
+                    throw new RejectedExecutionException(String.format(
+                              "The session pool %s has been closed", this));
+                }
+                int threads = this.config.get(
+                              CoreOptions.STORE_ASYNC_QUERY_THREADS);
+                // The worker closes its session when the executor shutdown
+                ThreadFactory factory = new BasicThreadFactory.Builder()
+                        .namingPattern(String.format(QUERY_WORKER, this.name))
+                        .wrappedFactory(r -> new Thread(() -> {
+                            try {
+                                r.run();
+                            } finally {
+                                this.closeWorkerSession();
+                            }
+                        }))
+                        .daemon(true)
+                        .build();
+                this.queryExecutor = Executors.newFixedThreadPool(threads,
+                                                                  factory);
+            }
+            return this.queryExecutor;
+        }
+    }
+
+    private BackendSession workerSession() {
+        BackendSession session = this.workerSession.get();
+        if (session == null) {
+            session = this.newSession();
+            assert session != null;
+            this.workerSession.set(session);
+        } else {
+            this.detectSession(session);
+        }
+        return session;
+    }
+
+    private void closeWorkerSession() {
+        BackendSession session = this.workerSession.get();
+        if (session == null) {
+            return;
+        }
+        this.workerSession.remove();
+        try {
+            session.detach();
+            session.close();
+        } catch (Throwable e) {
+            LOG.warn("Failed to close the session of query worker: {}",
+                     this, e);
+        }
+    }
+
+    private void closeQueryExecutor() {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = this.queryExecutor;
+            this.queryExecutor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        // The queued queries are still executed before the workers exit
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(QUERY_WORKER_CLOSE_TIMEOUT,
+                                           TimeUnit.SECONDS)) {
+                LOG.warn("The asynchronous queries of {} are not done in " +
+                         "{}s when closing", this, QUERY_WORKER_CLOSE_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public void close() {
         Pair<Integer, Integer> result = Pair.of(-1, -1);
         try {
             result = this.closeSession();
         } finally {
             if (result.getLeft() == 0) {
+                this.closeQueryExecutor();
                 this.doClose();
             }
         }
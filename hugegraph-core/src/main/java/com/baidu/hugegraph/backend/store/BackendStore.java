@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.backend.store;
 
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
@@ -56,6 +57,20 @@ public interface BackendStore {
     // Query data
     public Iterator<BackendEntry> query(Query query);
 
+    /*
+     * Query data asynchronously, the future is done after all the entries
+     * are fetched. It's queried in the caller thread by default, the stores
+     * override it with asynchronous drivers or a bounded query executor.
+     */
+    public default CompletableFuture<Iterator<BackendEntry>> queryAsync(
+                                                             Query query) {
+        return CompletableFuture.supplyAsync(() -> this.query(query),
+                                             Runnable::run);
+    }
+
+    // Query aggregate number of data, like count()
+    public Number queryNumber(Query query);
+
     // Transaction
     public void beginTx();
     public void commitTx();
@@ -110,6 +125,18 @@ public interface BackendStore {
     // Get current counter for a specific type
     public long getCounter(HugeType type);
 
+    // Increase the counter of a specific name, like the graph statistics
+    public default void increaseCounter(String name, long increment) {
+        throw new UnsupportedOperationException(String.format(
+                  "%s.increaseCounter()", this.getClass().getSimpleName()));
+    }
+
+    // Get current counter of a specific name
+    public default long getCounter(String name) {
+        throw new UnsupportedOperationException(String.format(
+                  "%s.getCounter()", this.getClass().getSimpleName()));
+    }
+
     static enum TxState {
         BEGIN, COMMITTING, COMMITT_FAIL, ROLLBACKING, ROLLBACK_FAIL, CLEAN
     }
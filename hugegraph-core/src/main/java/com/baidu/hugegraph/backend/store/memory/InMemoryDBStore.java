@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.LocalCounter;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.TextBackendEntry;
 import com.baidu.hugegraph.backend.store.AbstractBackendStore;
@@ -39,6 +40,8 @@ import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendSession;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.Log;
 
@@ -100,6 +103,9 @@ public abstract class InMemoryDBStore
 
     @Override
     public Iterator<BackendEntry> query(Query query) {
+        if (query instanceof BatchQuery) {
+            return this.queryBatch((BatchQuery) query);
+        }
         InMemoryDBTable table = this.table(InMemoryDBTable.tableType(query));
         Iterator<BackendEntry> rs = table.query(null, query);
         LOG.debug("[store {}] has result({}) for query: {}",
@@ -107,6 +113,23 @@ public abstract class InMemoryDBStore
         return rs;
     }
 
+    private Iterator<BackendEntry> queryBatch(BatchQuery query) {
+        ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+        Map<HugeType, BatchQuery> batches;
+        batches = query.groupBy(InMemoryDBTable::tableType);
+        for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+            InMemoryDBTable table = this.table(e.getKey());
+            rs.extend(table.query(null, e.getValue()));
+        }
+        return rs;
+    }
+
+    @Override
+    public Number queryNumber(Query query) {
+        // Edges are grouped by owner vertex, so entries can't be counted
+        throw new NotSupportException("queryNumber() by InMemoryDBStore");
+    }
+
     @Override
     public void mutate(BackendMutation mutation) {
         for (Iterator<BackendAction> it = mutation.mutation(); it.hasNext();) {
@@ -252,6 +275,16 @@ public abstract class InMemoryDBStore
             return this.counter.getCounter(type);
         }
 
+        @Override
+        public void increaseCounter(String name, long increment) {
+            this.counter.increaseCounter(name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            return this.counter.getCounter(name);
+        }
+
         @Override
         public void clear() {
             this.counter.reset();
@@ -381,6 +414,11 @@ public abstract class InMemoryDBStore
             return true;
         }
 
+        @Override
+        public boolean supportsAggregateQuery() {
+            return false;
+        }
+
         @Override
         public boolean supportsDeleteEdgeByLabel() {
             return false;
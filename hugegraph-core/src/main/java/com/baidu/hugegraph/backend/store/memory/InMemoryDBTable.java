@@ -29,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.IdPrefixQuery;
 import com.baidu.hugegraph.backend.query.IdRangeQuery;
@@ -39,6 +40,7 @@ import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendSession;
 import com.baidu.hugegraph.backend.store.BackendTable;
 import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
@@ -112,6 +114,14 @@ public class InMemoryDBTable extends BackendTable<BackendSession,
 
     @Override
     public Iterator<BackendEntry> query(BackendSession session, Query query) {
+        if (query instanceof BatchQuery) {
+            ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+            for (Query subQuery : ((BatchQuery) query).queries()) {
+                rs.extend(this.query(session, subQuery));
+            }
+            return rs;
+        }
+
         if (query.paging()) {
             throw new NotSupportException("paging by InMemoryDBStore");
         }
@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.backend.tx;
 
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 
@@ -57,6 +58,7 @@ public abstract class AbstractTransaction implements Transaction {
     private final BackendStore store;
 
     private BackendMutation mutation;
+    private GroupCommitter groupCommitter;
 
     protected final AbstractSerializer serializer;
 
@@ -68,6 +70,7 @@ public abstract class AbstractTransaction implements Transaction {
         this.serializer = this.graph.serializer();
 
         this.store = store;
+        this.groupCommitter = null;
         this.reset();
 
         store.open(graph.configuration());
@@ -90,15 +93,7 @@ public abstract class AbstractTransaction implements Transaction {
     @Watched(prefix = "tx")
     public QueryResults query(Query query) {
         LOG.debug("Transaction query: {}", query);
-        /*
-         * NOTE: it's dangerous if an IdQuery/ConditionQuery is empty
-         * check if the query is empty and its class is not the Query itself
-         */
-        if (query.empty() && !query.getClass().equals(Query.class)) {
-            throw new BackendException("Query without any id or condition");
-        }
-
-        Query squery = this.serializer.writeQuery(query);
+        Query squery = this.writeQuery(query);
 
         this.beforeRead();
         try {
@@ -108,6 +103,49 @@ public abstract class AbstractTransaction implements Transaction {
         }
     }
 
+    @Watched(prefix = "tx")
+    public CompletableFuture<QueryResults> queryAsync(Query query) {
+        LOG.debug("Transaction queryAsync: {}", query);
+        Query squery = this.writeQuery(query);
+
+        this.beforeRead();
+        try {
+            return this.store.queryAsync(squery).thenApply(results -> {
+                return new QueryResults(results, query);
+            });
+        } finally {
+            // The entries are fetched entirely by the store, not read later
+            this.afterRead();
+        }
+    }
+
+    @Watched(prefix = "tx")
+    public Number queryNumber(Query query) {
+        LOG.debug("Transaction queryNumber: {}", query);
+        E.checkArgument(query.aggregate() != null,
+                        "The aggregate must be set for number query: %s",
+                        query);
+        Query squery = this.writeQuery(query);
+
+        this.beforeRead();
+        try {
+            return this.store.queryNumber(squery);
+        } finally {
+            this.afterRead();
+        }
+    }
+
+    private Query writeQuery(Query query) {
+        /*
+         * NOTE: it's dangerous if an IdQuery/ConditionQuery is empty
+         * check if the query is empty and its class is not the Query itself
+         */
+        if (query.empty() && !query.getClass().equals(Query.class)) {
+            throw new BackendException("Query without any id or condition");
+        }
+        return this.serializer.writeQuery(query);
+    }
+
     @Watched(prefix = "tx")
     public BackendEntry query(HugeType type, Id id) {
         IdQuery q = new IdQuery(type, id);
@@ -229,6 +267,12 @@ public abstract class AbstractTransaction implements Transaction {
         return this.mutation;
     }
 
+    protected void groupCommitter(GroupCommitter committer) {
+        E.checkArgument(committer == null || committer.store() == this.store,
+                        "The group committer must be of the same store");
+        this.groupCommitter = committer;
+    }
+
     protected void commit2Backend() {
         BackendMutation mutation = this.prepareCommit();
         assert !mutation.isEmpty();
@@ -240,11 +284,15 @@ public abstract class AbstractTransaction implements Transaction {
         this.committing2Backend = true;
 
         // If an exception occurred, catch in the upper layer and rollback
-        this.store.beginTx();
-        for (BackendMutation mutation : mutations) {
-            this.store.mutate(mutation);
+        if (this.groupCommitter != null) {
+            this.groupCommitter.commit(mutations);
+        } else {
+            this.store.beginTx();
+            for (BackendMutation mutation : mutations) {
+                this.store.mutate(mutation);
+            }
+            this.store.commitTx();
         }
-        this.store.commitTx();
 
         this.committing2Backend = false;
     }
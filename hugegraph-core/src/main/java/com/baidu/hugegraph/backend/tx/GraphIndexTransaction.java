@@ -54,8 +54,10 @@ import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.Condition.RelationType;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.ConditionQueryFlatten;
+import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.AbstractSerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.exception.NoIndexException;
 import com.baidu.hugegraph.exception.NotSupportException;
@@ -82,6 +84,7 @@ import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.LockUtil;
 import com.baidu.hugegraph.util.LongEncoding;
 import com.baidu.hugegraph.util.NumericUtil;
+import com.baidu.hugegraph.util.collection.IdSet;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -91,12 +94,65 @@ public class GraphIndexTransaction extends AbstractTransaction {
     private static final String INDEX_NULL_SYM = "\u0001";
 
     private final Analyzer textAnalyzer;
+    private final GraphStatistics statistics;
+    // The statistics changes to be applied after committed
+    private GraphStatistics.Changes statisticsChanges;
+    // Whether to count the index of the overridden element out only
+    private boolean overriding;
+    // Whether to remove the left index which has been counted out
+    private boolean removingLeftIndex;
 
     public GraphIndexTransaction(HugeGraph graph, BackendStore store) {
         super(graph, store);
 
         this.textAnalyzer = graph.analyzer();
         assert this.textAnalyzer != null;
+        this.statistics = graph.statistics();
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        this.statisticsChanges = new GraphStatistics.Changes();
+    }
+
+    @Override
+    protected void commitMutation2Backend(BackendMutation... mutations) {
+        super.commitMutation2Backend(mutations);
+        this.commitStatistics();
+    }
+
+    protected void commitStatistics() {
+        this.statistics.apply(this.statisticsChanges);
+        this.statisticsChanges = new GraphStatistics.Changes();
+    }
+
+    protected void updateLabelStatistics(HugeElement element,
+                                         boolean removed) {
+        if (this.statistics.enabled()) {
+            this.statisticsChanges.updateLabel(element, removed);
+        }
+    }
+
+    /**
+     * Count the index entries of an element in backend out of statistics
+     * since it's overridden by the transaction, the entries are not removed
+     * and they would be removed as left index if not appended again
+     */
+    protected void updateOverriddenStatistics(HugeElement element) {
+        if (!this.statistics.enabled()) {
+            return;
+        }
+        this.overriding = true;
+        try {
+            if (element.type().isVertex()) {
+                this.updateVertexIndex((HugeVertex) element, true);
+            } else {
+                this.updateEdgeIndex((HugeEdge) element, true);
+            }
+        } finally {
+            this.overriding = false;
+        }
     }
 
     protected Id asyncRemoveIndexLeft(ConditionQuery query,
@@ -266,6 +322,13 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     private void updateIndex(IndexLabel indexLabel, Object propValue,
                              Id elementId, boolean removed) {
+        if (this.overriding) {
+            assert removed;
+            this.statisticsChanges.overrideIndex(indexLabel, propValue,
+                                                 elementId);
+            return;
+        }
+
         HugeIndex index = new HugeIndex(indexLabel);
         index.fieldValues(propValue);
         index.elementIds(elementId);
@@ -275,6 +338,11 @@ public class GraphIndexTransaction extends AbstractTransaction {
         } else {
             this.doAppend(this.serializer.writeIndex(index));
         }
+
+        if (this.statistics.enabled() && !this.removingLeftIndex) {
+            this.statisticsChanges.updateIndex(indexLabel, propValue,
+                                               elementId, removed);
+        }
     }
 
     private boolean existUniqueValue(IndexLabel indexLabel,
@@ -354,8 +422,47 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    /**
+     * Count the elements of a label by the label index, the index entries
+     * are counted by backend store and the element ids are not collected
+     * @param query condition query only by label, with aggregate
+     * @return      the number of elements of the label
+     */
+    @Watched(prefix = "index")
+    public Number queryNumberByLabel(ConditionQuery query) {
+        E.checkArgument(query.allSysprop() && query.conditions().size() == 1,
+                        "Expect query only by label, but got %s", query);
+        ConditionQuery indexQuery = this.constructLabelIndexQuery(query);
+        indexQuery.aggregate(query.aggregateNotNull());
+
+        IndexLabel il = IndexLabel.label(query.resultType());
+        LockUtil.Locks locks = new LockUtil.Locks(this.graph().name());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, il.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, il.id());
+            return super.queryNumber(indexQuery);
+        } finally {
+            locks.unlock();
+        }
+    }
+
     @Watched(prefix = "index")
     private List<IdHolder> queryByLabel(ConditionQuery query) {
+        IndexLabel il = IndexLabel.label(query.resultType());
+        ConditionQuery indexQuery = this.constructLabelIndexQuery(query);
+        // Set offset and limit to avoid redundant element ids
+        indexQuery.page(query.pageWithoutCheck());
+        indexQuery.limit(query.limit());
+        indexQuery.offset(query.offset());
+        indexQuery.capacity(query.capacity());
+
+        IdHolder idHolder = this.doIndexQuery(il, indexQuery);
+        List<IdHolder> holders = new IdHolderList(query.paging());
+        holders.add(idHolder);
+        return holders;
+    }
+
+    private ConditionQuery constructLabelIndexQuery(ConditionQuery query) {
         HugeType queryType = query.resultType();
         IndexLabel il = IndexLabel.label(queryType);
         Id label = query.condition(HugeKeys.LABEL);
@@ -383,16 +490,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
         indexQuery = new ConditionQuery(indexType , query);
         indexQuery.eq(HugeKeys.INDEX_LABEL_ID, il.id());
         indexQuery.eq(HugeKeys.FIELD_VALUES, label);
-        // Set offset and limit to avoid redundant element ids
-        indexQuery.page(query.pageWithoutCheck());
-        indexQuery.limit(query.limit());
-        indexQuery.offset(query.offset());
-        indexQuery.capacity(query.capacity());
-
-        IdHolder idHolder = this.doIndexQuery(il, indexQuery);
-        List<IdHolder> holders = new IdHolderList(query.paging());
-        holders.add(idHolder);
-        return holders;
+        return indexQuery;
     }
 
     @Watched(prefix = "index")
@@ -415,18 +513,17 @@ public class GraphIndexTransaction extends AbstractTransaction {
         IdHolderList holders = new IdHolderList(paging);
         long idsSize = 0;
         for (MatchedIndex index : indexes) {
-            if (paging && index.indexLabels().size() > 1) {
-                throw new NotSupportException("joint index query in paging");
-            }
-
             if (index.containsSearchIndex()) {
+                if (paging && index.indexLabels().size() > 1) {
+                    throw new NotSupportException("joint index query " +
+                                                  "in paging");
+                }
                 // Do search-index query
                 holders.addAll(this.doSearchIndex(query, index));
             } else {
                 // Do secondary-index, range-index or shard-index query
                 IndexQueries queries = index.constructIndexQueries(query);
-                assert !paging || queries.size() <= 1;
-                IdHolder holder = this.doSingleOrJointIndex(queries);
+                IdHolder holder = this.doSingleOrJointIndex(queries, query);
                 holders.add(holder);
             }
 
@@ -447,7 +544,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
         for (ConditionQuery q : ConditionQueryFlatten.flatten(query)) {
             IndexQueries queries = index.constructIndexQueries(q);
             assert !query.paging() || queries.size() <= 1;
-            IdHolder holder = this.doSingleOrJointIndex(queries);
+            // NOTE: all ids are needed to sort by matched count, no limit
+            IdHolder holder = this.doSingleOrJointIndex(queries, null);
             // NOTE: ids will be merged into one IdHolder if not in paging
             holders.add(holder);
         }
@@ -455,11 +553,12 @@ public class GraphIndexTransaction extends AbstractTransaction {
     }
 
     @Watched(prefix = "index")
-    private IdHolder doSingleOrJointIndex(IndexQueries queries) {
+    private IdHolder doSingleOrJointIndex(IndexQueries queries,
+                                          ConditionQuery query) {
         if (queries.size() == 1) {
             return this.doSingleOrCompositeIndex(queries);
         } else {
-            return this.doJointIndex(queries);
+            return this.doJointIndex(queries, query);
         }
     }
 
@@ -472,21 +571,123 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return this.doIndexQuery(indexLabel, query);
     }
 
+    /**
+     * Intersect the ids of joint indexes in streaming way: the ids of the
+     * leading indexes are intersected into a compact id set one by one,
+     * then iterate the ids of the last index and keep the ids in the set.
+     * So the last index is never materialized, and the iteration stops once
+     * the limit of query is reached, which also makes paging possible.
+     * @param queries   the index queries to be intersected
+     * @param query     the origin query with limit and page, null means
+     *                  fetching all the ids without paging
+     * @return          the IdHolder of intersected ids
+     */
     @Watched(prefix = "index")
-    private IdHolder doJointIndex(IndexQueries queries) {
-        Set<Id> intersectIds = null;
-        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
-            Set<Id> ids = this.doIndexQuery(e.getKey(), e.getValue()).ids();
-            if (intersectIds == null) {
-                intersectIds = ids;
-            } else {
-                CollectionUtil.intersectWithModify(intersectIds, ids);
+    private IdHolder doJointIndex(IndexQueries queries, ConditionQuery query) {
+        List<Map.Entry<IndexLabel, ConditionQuery>> entries;
+        entries = new ArrayList<>(queries.entrySet());
+        /*
+         * The range indexes are usually broader than the secondary indexes,
+         * let them be iterated later to keep the intersected set small
+         */
+        entries.sort((e1, e2) -> {
+            return Boolean.compare(e1.getKey().indexType().isRange(),
+                                   e2.getKey().indexType().isRange());
+        });
+        /*
+         * Prefer the estimated number of ids if all the indexes have
+         * statistics, the most selective index is intersected firstly
+         * and the least selective one is iterated at last
+         */
+        Map<IndexLabel, Long> estimated = new HashMap<>();
+        for (Map.Entry<IndexLabel, ConditionQuery> e : entries) {
+            long number = this.statistics.estimate(e.getKey(), e.getValue());
+            if (number == GraphStatistics.UNKNOWN) {
+                estimated = null;
+                break;
             }
+            estimated.put(e.getKey(), number);
+        }
+        if (estimated != null) {
+            Map<IndexLabel, Long> numbers = estimated;
+            entries.sort((e1, e2) -> {
+                return Long.compare(numbers.get(e1.getKey()),
+                                    numbers.get(e2.getKey()));
+            });
+        }
+        Map.Entry<IndexLabel, ConditionQuery> last;
+        last = entries.remove(entries.size() - 1);
+        IndexLabel lastLabel = last.getKey();
+        ConditionQuery lastQuery = last.getValue();
+
+        if (query == null || !query.paging()) {
+            Set<Id> filter = this.doJointIndexQuery(entries);
+            if (filter.isEmpty()) {
+                return new IdHolder(InsertionOrderUtil.newSet());
+            }
+            long limit = query == null ? Query.NO_LIMIT : query.total();
+            PageIds pageIds = this.doIndexQueryOnce(lastLabel, lastQuery,
+                                                    filter, limit);
+            return new IdHolder(InsertionOrderUtil.newSet(pageIds.ids()));
+        }
+
+        // The intersected set is computed once for all pages of the query
+        Set<?>[] filter = new Set<?>[1];
+        lastQuery.page(query.page());
+        return new IdHolder(lastQuery, (q) -> {
+            if (filter[0] == null) {
+                filter[0] = this.doJointIndexQuery(entries);
+            }
+            @SuppressWarnings("unchecked")
+            Set<Id> ids = (Set<Id>) filter[0];
+            return this.doJointIndexQueryPage(lastLabel, q, ids);
+        });
+    }
+
+    private Set<Id> doJointIndexQuery(
+                    List<Map.Entry<IndexLabel, ConditionQuery>> entries) {
+        Set<Id> intersectIds = null;
+        for (Map.Entry<IndexLabel, ConditionQuery> e : entries) {
+            PageIds pageIds = this.doIndexQueryOnce(e.getKey(), e.getValue(),
+                                                    intersectIds,
+                                                    Query.NO_LIMIT);
+            // Keep ids in primitive set if possible to reduce memory
+            intersectIds = new IdSet();
+            intersectIds.addAll(pageIds.ids());
             if (intersectIds.isEmpty()) {
                 break;
             }
         }
-        return new IdHolder(intersectIds);
+        assert intersectIds != null;
+        return intersectIds;
+    }
+
+    private PageIds doJointIndexQueryPage(IndexLabel indexLabel,
+                                          ConditionQuery query,
+                                          Set<Id> filter) {
+        long limit = query.limit();
+        Set<Id> ids = InsertionOrderUtil.newSet();
+        if (filter.isEmpty()) {
+            return new PageIds(ids, PageState.EMPTY);
+        }
+
+        ConditionQuery pageQuery = query.copy();
+        PageState pageState = PageState.EMPTY;
+        String page = query.page();
+        do {
+            /*
+             * Fetch no more than the remaining size of index entries each
+             * time, so that the page position is exactly after the last id
+             */
+            pageQuery.page(page);
+            pageQuery.limit(limit - ids.size());
+            PageIds pageIds = this.doIndexQueryOnce(indexLabel, pageQuery,
+                                                    filter, Query.NO_LIMIT);
+            ids.addAll(pageIds.ids());
+            pageState = pageIds.pageState();
+            page = pageIds.page();
+        } while (ids.size() < limit && page != null);
+        return new PageIds(ids, pageState);
     }
 
     @Watched(prefix = "index")
@@ -501,6 +702,52 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    /**
+     * Query index and only keep the element ids in filter
+     * @param indexLabel    the index label to query
+     * @param query         the index query
+     * @param filter        the ids to keep, null means keep all
+     * @param limit         the max number of ids to keep
+     * @return              the kept ids and the page state of the query
+     */
+    @Watched(prefix = "index")
+    private PageIds doIndexQueryOnce(IndexLabel indexLabel,
+                                     ConditionQuery query,
+                                     Set<Id> filter, long limit) {
+        LockUtil.Locks locks = new LockUtil.Locks(this.graph().name());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, indexLabel.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, indexLabel.id());
+
+            Set<Id> ids = InsertionOrderUtil.newSet();
+            Iterator<BackendEntry> entries = super.query(query).iterator();
+            outer:
+            while (entries.hasNext()) {
+                HugeIndex index = this.serializer.readIndex(graph(), query,
+                                                            entries.next());
+                for (Id id : index.elementIds()) {
+                    if (filter != null && !filter.contains(id)) {
+                        continue;
+                    }
+                    ids.add(id);
+                    if (limit != Query.NO_LIMIT && ids.size() >= limit) {
+                        break outer;
+                    }
+                }
+            }
+            /*
+             * NOTE: the entries is not a Metadatable object if there is
+             * no data or memory backend is used
+             */
+            if (!query.paging() || !(entries instanceof Metadatable)) {
+                return new PageIds(ids, PageState.EMPTY);
+            }
+            return new PageIds(ids, PageInfo.pageState(entries));
+        } finally {
+            locks.unlock();
+        }
+    }
+
     @Watched(prefix = "index")
     private PageIds doIndexQueryOnce(IndexLabel indexLabel,
                                      ConditionQuery query) {
@@ -599,7 +846,10 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
         // Try to match single or composite index
         Set<IndexLabel> matchedILs = matchSingleOrCompositeIndex(query, ils);
-        if (matchedILs.isEmpty()) {
+        if (matchedILs.size() > 1) {
+            matchedILs = ImmutableSet.of(this.mostSelectiveIndex(query,
+                                                                 matchedILs));
+        } else if (matchedILs.isEmpty()) {
             // Try joint indexes
             matchedILs = matchJointIndexes(query, ils);
         }
@@ -664,6 +914,36 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return this.textAnalyzer.segment(text);
     }
 
+    /**
+     * Choose the index which is estimated to match the least ids by the
+     * statistics, choose the first one if any index has no statistics
+     * @param query         the query to match the index labels
+     * @param indexLabels   the candidate index labels matched the query
+     * @return              the most selective index label
+     */
+    private IndexLabel mostSelectiveIndex(ConditionQuery query,
+                                          Set<IndexLabel> indexLabels) {
+        assert !indexLabels.isEmpty();
+        IndexLabel first = indexLabels.iterator().next();
+        IndexLabel selected = null;
+        long minEstimated = Long.MAX_VALUE;
+        for (IndexLabel indexLabel : indexLabels) {
+            ConditionQuery indexQuery = constructQuery(query, indexLabel);
+            if (indexQuery == null) {
+                continue;
+            }
+            long estimated = this.statistics.estimate(indexLabel, indexQuery);
+            if (estimated == GraphStatistics.UNKNOWN) {
+                return first;
+            }
+            if (estimated < minEstimated) {
+                minEstimated = estimated;
+                selected = indexLabel;
+            }
+        }
+        return selected != null ? selected : first;
+    }
+
     private boolean needIndexForLabel() {
         return !this.store().features().supportsQueryByLabel();
     }
@@ -674,6 +954,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
         boolean reqiureRange = query.hasRangeCondition();
         boolean reqiureSearch = query.hasSearchCondition();
         Set<Id> queryPropKeys = query.userpropKeys();
+        Set<IndexLabel> matchedILs = InsertionOrderUtil.newSet();
         for (IndexLabel indexLabel : indexLabels) {
             List<Id> indexFields = indexLabel.indexFields();
             // Try to match fields
@@ -697,9 +978,9 @@ public class GraphIndexTransaction extends AbstractTransaction {
             if (reqiureRange && !indexType.isNumeric()) {
                 continue;
             }
-            return ImmutableSet.of(indexLabel);
+            matchedILs.add(indexLabel);
         }
-        return ImmutableSet.of();
+        return matchedILs;
     }
 
     /**
@@ -1202,6 +1483,9 @@ public class GraphIndexTransaction extends AbstractTransaction {
     public void removeIndex(IndexLabel indexLabel) {
         HugeIndex index = new HugeIndex(indexLabel);
         this.doRemove(this.serializer.writeIndex(index));
+        if (this.statistics.enabled()) {
+            this.statisticsChanges.clearIndex(indexLabel);
+        }
     }
 
     private static class MatchedIndex {
@@ -1325,6 +1609,17 @@ public class GraphIndexTransaction extends AbstractTransaction {
                                         "and EDGE to remove left index, " +
                                         "but got: '%s'", element.type());
             }
+            // The left index has been counted out when it's overridden
+            this.tx.removingLeftIndex = true;
+            try {
+                return this.doRemoveIndexLeft(query, element);
+            } finally {
+                this.tx.removingLeftIndex = false;
+            }
+        }
+
+        private long doRemoveIndexLeft(ConditionQuery query,
+                                       HugeElement element) {
             long rCount = 0;
             long sCount = 0;
             for (ConditionQuery cq: ConditionQueryFlatten.flatten(query)) {
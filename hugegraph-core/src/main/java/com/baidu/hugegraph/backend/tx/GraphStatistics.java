@@ -0,0 +1,1242 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.tx;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.schema.EdgeLabel;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.SchemaElement;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.Log;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * The statistics of vertex/edge labels and index labels of a graph, they
+ * are updated incrementally after the transactions are committed, and used
+ * by the index query planner to estimate how many ids an index query hits.
+ * The statistics are persisted in the named counters of the schema store
+ * after they are updated, and loaded when the graph is opened, they are
+ * complete if collected since the backend is initialized or truncated. The
+ * statistics of an index label are partial until it is seeded by a full
+ * rebuild, and the partial ones are never used to estimate.
+ * NOTE: the distinct counts are never decreased by deletions, and all the
+ * statistics become partial if the graph is opened with them disabled.
+ */
+public final class GraphStatistics {
+
+    public static final long UNKNOWN = -1L;
+
+    private static final Logger LOG = Log.logger(GraphStatistics.class);
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private static final String COUNTER_PREFIX = "~statistics";
+    // Marked if the graph is opened with the statistics disabled
+    private static final String COUNTER_STALE = COUNTER_PREFIX + ":stale";
+
+    private final boolean enabled;
+    private volatile Date since;
+    // Whether the statistics are collected since the graph is empty
+    private volatile boolean complete;
+    private volatile Summary summary;
+
+    private final ConcurrentMap<Id, LabelStatistics> vertexLabels;
+    private final ConcurrentMap<Id, LabelStatistics> edgeLabels;
+    private final ConcurrentMap<Id, IndexStatistics> indexLabels;
+
+    // The store to persist the statistics, null if they are not loaded
+    private volatile BackendStore store;
+    private volatile boolean loaded;
+
+    public GraphStatistics(boolean enabled) {
+        this.enabled = enabled;
+        this.since = new Date();
+        this.complete = false;
+        this.summary = new Summary();
+        this.vertexLabels = new ConcurrentHashMap<>();
+        this.edgeLabels = new ConcurrentHashMap<>();
+        this.indexLabels = new ConcurrentHashMap<>();
+        this.store = null;
+        this.loaded = false;
+    }
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public boolean complete() {
+        return this.complete;
+    }
+
+    public LabelStatistics vertexLabel(Id label) {
+        return this.vertexLabels.get(label);
+    }
+
+    public LabelStatistics edgeLabel(Id label) {
+        return this.edgeLabels.get(label);
+    }
+
+    public IndexStatistics indexLabel(Id indexLabel) {
+        return this.indexLabels.get(indexLabel);
+    }
+
+    /**
+     * Load the statistics persisted in the schema store, it's called when
+     * the transactions of a thread are opened and only loads once, the
+     * statistics are kept in memory only until it's loaded successfully
+     */
+    public void load(SchemaTransaction schema) {
+        if (this.loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (this.loaded) {
+                return;
+            }
+            BackendStore store = schema.store();
+            try {
+                if (this.enabled) {
+                    this.load(schema, store);
+                } else {
+                    // The changes are not collected, mark the persisted stale
+                    setCounter(store, COUNTER_STALE, 1L);
+                }
+                this.loaded = true;
+            } catch (Exception e) {
+                LOG.warn("Failed to load the statistics of graph '{}'",
+                         schema.graph().name(), e);
+            }
+        }
+    }
+
+    private void load(SchemaTransaction schema, BackendStore store) {
+        Summary summary = new Summary();
+        summary.load(store);
+
+        Map<Id, LabelStatistics> vertexLabels = new ConcurrentHashMap<>();
+        for (VertexLabel label : schema.getVertexLabels()) {
+            LabelStatistics stats = new LabelStatistics(label.id(), false);
+            if (statistical(label) && stats.load(store)) {
+                vertexLabels.put(label.id(), stats);
+            }
+        }
+        Map<Id, LabelStatistics> edgeLabels = new ConcurrentHashMap<>();
+        for (EdgeLabel label : schema.getEdgeLabels()) {
+            LabelStatistics stats = new LabelStatistics(label.id(), true);
+            if (statistical(label) && stats.load(store)) {
+                edgeLabels.put(label.id(), stats);
+            }
+        }
+        Map<Id, IndexStatistics> indexLabels = new ConcurrentHashMap<>();
+        for (IndexLabel label : schema.getIndexLabels()) {
+            IndexStatistics stats = new IndexStatistics(label.id(), false);
+            if (statistical(label) && stats.load(store)) {
+                indexLabels.put(label.id(), stats);
+            }
+        }
+
+        this.summary = summary;
+        this.vertexLabels.clear();
+        this.vertexLabels.putAll(vertexLabels);
+        this.edgeLabels.clear();
+        this.edgeLabels.putAll(edgeLabels);
+        this.indexLabels.clear();
+        this.indexLabels.putAll(indexLabels);
+        this.store = store;
+
+        if (store.getCounter(COUNTER_STALE) != 0L) {
+            // The changes while disabled are lost, rebuild to seed again
+            this.complete = false;
+            for (IndexStatistics stats : indexLabels.values()) {
+                stats.seeded = false;
+            }
+            this.persist(this.indexLabels.values());
+            this.persist(Collections.singleton(this.summary));
+            setCounter(store, COUNTER_STALE, 0L);
+        }
+    }
+
+    /**
+     * Reset the statistics after the backend is initialized or truncated,
+     * they are complete since then and persisted in the schema store
+     */
+    public synchronized void init(BackendStore store) {
+        this.clear();
+        if (!this.enabled) {
+            return;
+        }
+        this.store = store;
+        this.loaded = true;
+        this.persist(Collections.singleton(this.summary));
+    }
+
+    public void apply(Changes changes) {
+        if (!this.enabled || changes.isEmpty()) {
+            return;
+        }
+        Set<Persistent> updated = Collections.newSetFromMap(
+                                  new IdentityHashMap<>());
+        for (Id indexLabel : changes.clearedIndexes) {
+            // The cleared index is partial until the rebuild is finished
+            IndexStatistics stats = new IndexStatistics(indexLabel, false);
+            IndexStatistics old = this.indexLabels.put(indexLabel, stats);
+            if (old != null) {
+                // Reset the persisted statistics of the cleared index
+                stats.inherit(old);
+            }
+            updated.add(stats);
+        }
+        for (HugeElement element : changes.addedElements) {
+            updated.add(this.updateLabel(element, true));
+        }
+        for (HugeElement element : changes.removedElements) {
+            updated.add(this.updateLabel(element, false));
+        }
+        for (IndexChange change : changes.indexChanges.values()) {
+            int delta = change.delta();
+            if (delta == 0) {
+                continue;
+            }
+            IndexStatistics stats = this.indexLabels.computeIfAbsent(
+                                    change.indexLabel.id(),
+                                    k -> new IndexStatistics(k, this.complete));
+            stats.update(change.value, delta < 0);
+            updated.add(stats);
+        }
+        this.persist(updated);
+    }
+
+    private LabelStatistics updateLabel(HugeElement element, boolean added) {
+        Id label = element.schemaLabel().id();
+        boolean edge = element.type().isEdge();
+        ConcurrentMap<Id, LabelStatistics> labels;
+        labels = edge ? this.edgeLabels : this.vertexLabels;
+        LabelStatistics stats = labels.computeIfAbsent(label, k -> {
+            return new LabelStatistics(k, edge);
+        });
+        stats.update(element, added);
+        return stats;
+    }
+
+    /**
+     * Mark the statistics of the index labels complete, it's called after
+     * all the index entries of them are rebuilt since cleared
+     */
+    public void seed(Collection<Id> indexLabels) {
+        if (!this.enabled) {
+            return;
+        }
+        List<IndexStatistics> updated = new ArrayList<>(indexLabels.size());
+        for (Id indexLabel : indexLabels) {
+            IndexStatistics stats = this.indexLabels.computeIfAbsent(
+                                    indexLabel,
+                                    k -> new IndexStatistics(k, false));
+            stats.seeded = true;
+            updated.add(stats);
+        }
+        this.persist(updated);
+    }
+
+    /**
+     * Estimate the number of element ids matched by an index query
+     * @param indexLabel    the index label to be queried
+     * @param query         the index query of the index label
+     * @return              the estimated number, or UNKNOWN if there are
+     *                      no statistics or only partial statistics of the
+     *                      index label
+     */
+    public long estimate(IndexLabel indexLabel, ConditionQuery query) {
+        IndexStatistics stats = this.indexLabels.get(indexLabel.id());
+        if (stats == null || !stats.seeded || stats.entries() <= 0L) {
+            return UNKNOWN;
+        }
+        List<Condition.Relation> relations = new ArrayList<>();
+        for (Condition.Relation r : query.relations()) {
+            if (r.key() == HugeKeys.FIELD_VALUES) {
+                relations.add(r);
+            }
+        }
+        boolean equal = relations.size() == 1 &&
+                        relations.get(0).relation() ==
+                        Condition.RelationType.EQ;
+        if (equal || !indexLabel.indexType().isRange()) {
+            // NOTE: prefix of shard index is estimated as a single value
+            return stats.entriesPerValue();
+        }
+        return stats.estimateRange(relations);
+    }
+
+    /**
+     * Reset the statistics after the graph data is cleared, they are
+     * complete since then, and loaded again after the backend is inited
+     */
+    public synchronized void clear() {
+        this.vertexLabels.clear();
+        this.edgeLabels.clear();
+        this.indexLabels.clear();
+        this.since = new Date();
+        this.complete = true;
+        // The counters are cleared with the schema store
+        this.summary = new Summary();
+        this.store = null;
+        this.loaded = false;
+    }
+
+    private void persist(Collection<? extends Persistent> statistics) {
+        BackendStore store = this.store;
+        if (store == null) {
+            return;
+        }
+        for (Persistent stats : statistics) {
+            try {
+                stats.persist(store);
+            } catch (Exception e) {
+                LOG.warn("Failed to persist the statistics '{}'",
+                         stats.prefix, e);
+            }
+        }
+    }
+
+    public Map<String, Object> asMap(HugeGraph graph) {
+        SchemaTransaction schema = graph.schemaTransaction();
+        Map<String, Object> vertexLabels = InsertionOrderUtil.newMap();
+        for (Map.Entry<Id, LabelStatistics> e : this.vertexLabels.entrySet()) {
+            SchemaElement label = schema.getVertexLabel(e.getKey());
+            if (label != null) {
+                vertexLabels.put(label.name(), e.getValue().asMap());
+            }
+        }
+        Map<String, Object> edgeLabels = InsertionOrderUtil.newMap();
+        for (Map.Entry<Id, LabelStatistics> e : this.edgeLabels.entrySet()) {
+            SchemaElement label = schema.getEdgeLabel(e.getKey());
+            if (label != null) {
+                edgeLabels.put(label.name(), e.getValue().asMap());
+            }
+        }
+        Map<String, Object> indexLabels = InsertionOrderUtil.newMap();
+        for (Map.Entry<Id, IndexStatistics> e : this.indexLabels.entrySet()) {
+            SchemaElement label = schema.getIndexLabel(e.getKey());
+            if (label != null) {
+                indexLabels.put(label.name(), e.getValue().asMap());
+            }
+        }
+
+        Map<String, Object> results = InsertionOrderUtil.newMap();
+        results.put("enabled", this.enabled);
+        results.put("since", this.since);
+        results.put("complete", this.complete);
+        results.put("vertex_labels", vertexLabels);
+        results.put("edge_labels", edgeLabels);
+        results.put("index_labels", indexLabels);
+        return results;
+    }
+
+    private static boolean statistical(SchemaElement schema) {
+        return !schema.system() && !schema.hidden();
+    }
+
+    private static void setCounter(BackendStore store, String name,
+                                   long value) {
+        long delta = value - store.getCounter(name);
+        if (delta != 0L) {
+            store.increaseCounter(name, delta);
+        }
+    }
+
+    /**
+     * The statistics persisted in the named counters, each value is kept in
+     * the range of int since the counters of some backends are INT, and it
+     * is persisted by increasing the delta from the value persisted last
+     * time, so there should be only one writer of the graph statistics.
+     */
+    private abstract static class Persistent {
+
+        private final String prefix;
+        private final long[] stored;
+
+        public Persistent(String prefix, int size) {
+            this.prefix = prefix;
+            this.stored = new long[size];
+        }
+
+        protected abstract long[] values();
+
+        protected abstract void restore(long[] values);
+
+        protected final int size() {
+            return this.stored.length;
+        }
+
+        private String counter(int index) {
+            return this.prefix + ":" + index;
+        }
+
+        void persist(BackendStore store) {
+            synchronized (this.stored) {
+                long[] values = this.values();
+                assert values.length == this.stored.length;
+                for (int i = 0; i < values.length; i++) {
+                    long delta = values[i] - this.stored[i];
+                    if (delta != 0L) {
+                        store.increaseCounter(this.counter(i), delta);
+                        this.stored[i] = values[i];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Load the persisted values, return false if nothing is persisted
+         */
+        boolean load(BackendStore store) {
+            synchronized (this.stored) {
+                boolean exists = false;
+                for (int i = 0; i < this.stored.length; i++) {
+                    this.stored[i] = store.getCounter(this.counter(i));
+                    exists |= this.stored[i] != 0L;
+                }
+                if (exists) {
+                    this.restore(this.stored.clone());
+                }
+                return exists;
+            }
+        }
+
+        /**
+         * Take over the persisted values of the replaced statistics
+         */
+        void inherit(Persistent old) {
+            synchronized (this.stored) {
+                synchronized (old.stored) {
+                    System.arraycopy(old.stored, 0, this.stored, 0,
+                                     this.stored.length);
+                }
+            }
+        }
+
+        protected static void writeLong(long[] values, int offset,
+                                        long value) {
+            values[offset] = (int) (value >>> Integer.SIZE);
+            values[offset + 1] = (int) value;
+        }
+
+        protected static long readLong(long[] values, int offset) {
+            return (values[offset] << Integer.SIZE) |
+                   (values[offset + 1] & 0xffffffffL);
+        }
+
+        protected static void writeDouble(long[] values, int offset,
+                                          double value) {
+            writeLong(values, offset, Double.doubleToLongBits(value));
+        }
+
+        protected static double readDouble(long[] values, int offset) {
+            return Double.longBitsToDouble(readLong(values, offset));
+        }
+    }
+
+    private final class Summary extends Persistent {
+
+        public Summary() {
+            super(COUNTER_PREFIX + ":graph", 3);
+        }
+
+        @Override
+        protected long[] values() {
+            long[] values = new long[3];
+            values[0] = GraphStatistics.this.complete ? 1L : 0L;
+            writeLong(values, 1, GraphStatistics.this.since.getTime());
+            return values;
+        }
+
+        @Override
+        protected void restore(long[] values) {
+            GraphStatistics.this.complete = values[0] != 0L;
+            GraphStatistics.this.since = new Date(readLong(values, 1));
+        }
+    }
+
+    public static final class LabelStatistics extends Persistent {
+
+        private final AtomicLong count;
+        // The distinct source/target vertices of edge label
+        private final DistinctSketch sources;
+        private final DistinctSketch targets;
+        // The degree histogram of source/target vertices of edge label
+        private final DegreeSample outDegrees;
+        private final DegreeSample inDegrees;
+
+        private LabelStatistics(Id label, boolean edge) {
+            super(COUNTER_PREFIX + (edge ? ":el:" : ":vl:") + label.asString(),
+                  edge ? 1 + 2 * DistinctSketch.SLOTS +
+                         2 * DegreeSample.SLOTS : 1);
+            this.count = new AtomicLong(0L);
+            this.sources = edge ? new DistinctSketch() : null;
+            this.targets = edge ? new DistinctSketch() : null;
+            this.outDegrees = edge ? new DegreeSample() : null;
+            this.inDegrees = edge ? new DegreeSample() : null;
+        }
+
+        private void update(HugeElement element, boolean added) {
+            this.count.addAndGet(added ? 1L : -1L);
+            if (this.sources == null) {
+                return;
+            }
+            HugeEdge edge = (HugeEdge) element;
+            Id source = edge.sourceVertex().id();
+            Id target = edge.targetVertex().id();
+            if (added) {
+                this.sources.add(source);
+                this.targets.add(target);
+            }
+            this.outDegrees.update(source, added ? 1L : -1L);
+            this.inDegrees.update(target, added ? 1L : -1L);
+        }
+
+        public long count() {
+            return this.count.get();
+        }
+
+        public double averageOutDegree() {
+            return this.averageDegree(this.sources);
+        }
+
+        public double averageInDegree() {
+            return this.averageDegree(this.targets);
+        }
+
+        private double averageDegree(DistinctSketch vertices) {
+            if (vertices == null) {
+                return 0D;
+            }
+            long size = vertices.cardinality();
+            return size == 0L ? 0D : (double) this.count() / size;
+        }
+
+        /**
+         * The estimated number of source vertices of each degree range, the
+         * key is the lower bound 2^n of the degree range [2^n, 2^(n+1))
+         */
+        public Map<Long, Long> outDegrees() {
+            return this.outDegrees == null ? Collections.emptyMap() :
+                                             this.outDegrees.histogram();
+        }
+
+        public Map<Long, Long> inDegrees() {
+            return this.inDegrees == null ? Collections.emptyMap() :
+                                            this.inDegrees.histogram();
+        }
+
+        @Override
+        protected long[] values() {
+            long[] values = new long[this.size()];
+            values[0] = this.count();
+            if (this.sources != null) {
+                int offset = 1;
+                this.sources.write(values, offset);
+                this.targets.write(values, offset += DistinctSketch.SLOTS);
+                this.outDegrees.write(values, offset += DistinctSketch.SLOTS);
+                this.inDegrees.write(values, offset + DegreeSample.SLOTS);
+            }
+            return values;
+        }
+
+        @Override
+        protected void restore(long[] values) {
+            this.count.set(values[0]);
+            if (this.sources != null) {
+                int offset = 1;
+                this.sources.read(values, offset);
+                this.targets.read(values, offset += DistinctSketch.SLOTS);
+                this.outDegrees.read(values, offset += DistinctSketch.SLOTS);
+                this.inDegrees.read(values, offset + DegreeSample.SLOTS);
+            }
+        }
+
+        public Map<String, Object> asMap() {
+            Map<String, Object> results = InsertionOrderUtil.newMap();
+            results.put("count", this.count());
+            if (this.sources != null) {
+                results.put("source_vertices", this.sources.cardinality());
+                results.put("target_vertices", this.targets.cardinality());
+                results.put("avg_out_degree", this.averageOutDegree());
+                results.put("avg_in_degree", this.averageInDegree());
+                results.put("out_degrees", this.outDegrees());
+                results.put("in_degrees", this.inDegrees());
+            }
+            return results;
+        }
+    }
+
+    public static final class IndexStatistics extends Persistent {
+
+        private static final int SLOTS = 6 + ValueHistogram.SLOTS +
+                                         DistinctSketch.SLOTS;
+
+        private final AtomicLong entries;
+        private final DistinctSketch values;
+        // The value range and histogram of range index
+        private double min;
+        private double max;
+        private final ValueHistogram histogram;
+        // Whether all the index entries are counted
+        private volatile boolean seeded;
+
+        private IndexStatistics(Id indexLabel, boolean seeded) {
+            super(COUNTER_PREFIX + ":il:" + indexLabel.asString(), SLOTS);
+            this.seeded = seeded;
+            this.entries = new AtomicLong(0L);
+            this.values = new DistinctSketch();
+            this.min = Double.NaN;
+            this.max = Double.NaN;
+            this.histogram = new ValueHistogram();
+        }
+
+        public boolean seeded() {
+            return this.seeded;
+        }
+
+        public long entries() {
+            return this.entries.get();
+        }
+
+        public long distinctValues() {
+            return Math.max(this.values.cardinality(), 1L);
+        }
+
+        public long entriesPerValue() {
+            long entries = this.entries();
+            long distinct = this.distinctValues();
+            return Math.max((entries + distinct - 1L) / distinct, 1L);
+        }
+
+        /**
+         * The number of values in each bucket of range index, the key is
+         * the lower bound of the bucket, and the empty buckets are skipped
+         */
+        public synchronized Map<Double, Long> histogram() {
+            return this.histogram.asMap();
+        }
+
+        private void update(Object value, boolean removed) {
+            if (removed) {
+                this.entries.decrementAndGet();
+                if (value instanceof Number) {
+                    double number = ((Number) value).doubleValue();
+                    synchronized (this) {
+                        this.histogram.remove(number);
+                    }
+                }
+                return;
+            }
+            this.entries.incrementAndGet();
+            this.values.add(value);
+            if (value instanceof Number) {
+                double number = ((Number) value).doubleValue();
+                synchronized (this) {
+                    if (Double.isNaN(this.min) || number < this.min) {
+                        this.min = number;
+                    }
+                    if (Double.isNaN(this.max) || number > this.max) {
+                        this.max = number;
+                    }
+                    this.histogram.add(number);
+                }
+            }
+        }
+
+        /**
+         * Estimate the ids of a range query by the histogram of values,
+         * assuming that the values are uniformly distributed in a bucket
+         */
+        private long estimateRange(List<Condition.Relation> relations) {
+            long entries = this.entries();
+            double low = Double.NEGATIVE_INFINITY;
+            double high = Double.POSITIVE_INFINITY;
+            for (Condition.Relation r : relations) {
+                if (!(r.value() instanceof Number)) {
+                    return entries;
+                }
+                double value = ((Number) r.value()).doubleValue();
+                switch (r.relation()) {
+                    case GT:
+                    case GTE:
+                        low = Math.max(low, value);
+                        break;
+                    case LT:
+                    case LTE:
+                        high = Math.min(high, value);
+                        break;
+                    default:
+                        return entries;
+                }
+            }
+            if (high < low) {
+                return 1L;
+            }
+            double matched;
+            synchronized (this) {
+                if (this.histogram.empty()) {
+                    return entries;
+                }
+                matched = this.histogram.estimate(low, high);
+            }
+            return Math.max(Math.round(matched), 1L);
+        }
+
+        @Override
+        protected synchronized long[] values() {
+            long[] values = new long[SLOTS];
+            values[0] = this.entries();
+            values[1] = this.seeded ? 1L : 0L;
+            if (!this.histogram.empty()) {
+                writeDouble(values, 2, this.min);
+                writeDouble(values, 4, this.max);
+            }
+            this.histogram.write(values, 6);
+            this.values.write(values, 6 + ValueHistogram.SLOTS);
+            return values;
+        }
+
+        @Override
+        protected synchronized void restore(long[] values) {
+            this.entries.set(values[0]);
+            this.seeded = values[1] != 0L;
+            this.histogram.read(values, 6);
+            if (!this.histogram.empty()) {
+                this.min = readDouble(values, 2);
+                this.max = readDouble(values, 4);
+            }
+            this.values.read(values, 6 + ValueHistogram.SLOTS);
+        }
+
+        public Map<String, Object> asMap() {
+            Map<String, Object> results = InsertionOrderUtil.newMap();
+            results.put("seeded", this.seeded);
+            results.put("entries", this.entries());
+            results.put("distinct_values", this.values.cardinality());
+            synchronized (this) {
+                if (!Double.isNaN(this.min)) {
+                    results.put("min", this.min);
+                    results.put("max", this.max);
+                }
+                if (!this.histogram.empty()) {
+                    results.put("histogram", this.histogram.asMap());
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * The statistics changes of a transaction, which are applied to the
+     * graph statistics after the transaction is committed successfully.
+     * NOTE: it's not thread safe, each transaction owns its changes.
+     */
+    public static final class Changes {
+
+        private final List<HugeElement> addedElements;
+        private final List<HugeElement> removedElements;
+        // The last change of each index entry, an entry may be changed
+        // multiple times in a transaction like updating properties
+        private final Map<IndexEntry, IndexChange> indexChanges;
+        private final List<Id> clearedIndexes;
+
+        public Changes() {
+            this.addedElements = new ArrayList<>();
+            this.removedElements = new ArrayList<>();
+            this.indexChanges = InsertionOrderUtil.newMap();
+            this.clearedIndexes = new ArrayList<>();
+        }
+
+        public boolean isEmpty() {
+            return this.addedElements.isEmpty() &&
+                   this.removedElements.isEmpty() &&
+                   this.indexChanges.isEmpty() &&
+                   this.clearedIndexes.isEmpty();
+        }
+
+        public void updateLabel(HugeElement element, boolean removed) {
+            assert element.type().isVertex() || element.type().isEdge();
+            if (!statistical(element.schemaLabel())) {
+                return;
+            }
+            if (removed) {
+                this.removedElements.add(element);
+            } else {
+                this.addedElements.add(element);
+            }
+        }
+
+        public void updateIndex(IndexLabel indexLabel, Object value,
+                                Id elementId, boolean removed) {
+            if (!statistical(indexLabel)) {
+                return;
+            }
+            IndexEntry entry = new IndexEntry(indexLabel.id(), value,
+                                              elementId);
+            IndexChange change = this.indexChanges.get(entry);
+            if (change == null) {
+                // The entry exists before if it's removed firstly
+                change = new IndexChange(indexLabel, value, removed);
+                this.indexChanges.put(entry, change);
+            }
+            change.present = !removed;
+        }
+
+        /**
+         * Record an index entry of the element overridden by transaction,
+         * it exists in backend, and it's left as the left index to be
+         * removed lazily if not appended again by the new element
+         */
+        public void overrideIndex(IndexLabel indexLabel, Object value,
+                                  Id elementId) {
+            if (!statistical(indexLabel)) {
+                return;
+            }
+            IndexEntry entry = new IndexEntry(indexLabel.id(), value,
+                                              elementId);
+            if (!this.indexChanges.containsKey(entry)) {
+                IndexChange change = new IndexChange(indexLabel, value, true);
+                change.present = false;
+                this.indexChanges.put(entry, change);
+            }
+        }
+
+        public void clearIndex(IndexLabel indexLabel) {
+            this.clearedIndexes.add(indexLabel.id());
+            // The changes before clearing are discarded
+            this.indexChanges.keySet().removeIf(e -> {
+                return e.indexLabel.equals(indexLabel.id());
+            });
+        }
+    }
+
+    private static final class IndexEntry {
+
+        private final Id indexLabel;
+        private final Object value;
+        private final Id elementId;
+
+        public IndexEntry(Id indexLabel, Object value, Id elementId) {
+            this.indexLabel = indexLabel;
+            this.value = value;
+            this.elementId = elementId;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof IndexEntry)) {
+                return false;
+            }
+            IndexEntry other = (IndexEntry) object;
+            return this.indexLabel.equals(other.indexLabel) &&
+                   Objects.equals(this.value, other.value) &&
+                   Objects.equals(this.elementId, other.elementId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.indexLabel, this.value, this.elementId);
+        }
+    }
+
+    private static final class IndexChange {
+
+        private final IndexLabel indexLabel;
+        private final Object value;
+        // Whether the entry exists before and after the transaction
+        private final boolean existed;
+        private boolean present;
+
+        public IndexChange(IndexLabel indexLabel, Object value,
+                           boolean existed) {
+            this.indexLabel = indexLabel;
+            this.value = value;
+            this.existed = existed;
+            this.present = existed;
+        }
+
+        public int delta() {
+            return (this.present ? 1 : 0) - (this.existed ? 1 : 0);
+        }
+    }
+
+    /**
+     * A HyperLogLog sketch to estimate the number of distinct values with
+     * 2^10 registers, the standard error is about 3.2%. The 6-bit registers
+     * are persisted in 205 int slots, 5 registers per slot.
+     */
+    private static final class DistinctSketch {
+
+        private static final int P = 10;
+        private static final int M = 1 << P;
+        private static final double ALPHA = 0.7213D / (1D + 1.079D / M);
+
+        private static final int BITS = 6;
+        private static final int PER_SLOT = 5;
+        private static final int SLOTS = (M + PER_SLOT - 1) / PER_SLOT;
+
+        private final byte[] registers;
+
+        public DistinctSketch() {
+            this.registers = new byte[M];
+        }
+
+        public void add(Object value) {
+            byte[] bytes;
+            if (value instanceof Id) {
+                bytes = ((Id) value).asBytes();
+            } else {
+                bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            }
+            long hash = HASH.hashBytes(bytes).asLong();
+            int index = (int) (hash >>> (Long.SIZE - P));
+            // The position of the leftmost 1-bit in the remaining bits
+            long rest = (hash << P) | (1L << (P - 1));
+            byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+            synchronized (this) {
+                if (rank > this.registers[index]) {
+                    this.registers[index] = rank;
+                }
+            }
+        }
+
+        public synchronized long cardinality() {
+            double sum = 0D;
+            int zeros = 0;
+            for (byte register : this.registers) {
+                sum += 1D / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            double estimate = ALPHA * M * M / sum;
+            if (estimate <= 2.5D * M && zeros > 0) {
+                // Use linear counting for small cardinality
+                estimate = M * Math.log((double) M / zeros);
+            }
+            return Math.round(estimate);
+        }
+
+        public synchronized void write(long[] values, int offset) {
+            for (int i = 0; i < SLOTS; i++) {
+                long slot = 0L;
+                for (int j = 0; j < PER_SLOT && i * PER_SLOT + j < M; j++) {
+                    slot |= (long) this.registers[i * PER_SLOT + j] <<
+                            (j * BITS);
+                }
+                values[offset + i] = slot;
+            }
+        }
+
+        public synchronized void read(long[] values, int offset) {
+            for (int i = 0; i < SLOTS; i++) {
+                long slot = values[offset + i];
+                for (int j = 0; j < PER_SLOT && i * PER_SLOT + j < M; j++) {
+                    this.registers[i * PER_SLOT + j] = (byte)
+                            ((slot >>> (j * BITS)) & ((1 << BITS) - 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * A sample of the vertices with their exact degrees, a vertex is sampled
+     * if the top `level` bits of its hash are 0, and the level is increased
+     * to evict about half of the samples when it's full, so that a sampled
+     * vertex stands for 2^level vertices in the degree histogram.
+     */
+    private static final class DegreeSample {
+
+        private static final int SIZE = 32;
+        private static final int SLOTS = 1 + 2 * SIZE;
+
+        private int level;
+        private final int[] hashes;
+        // The degree of each sampled vertex, 0 means the slot is free
+        private final long[] degrees;
+
+        public DegreeSample() {
+            this.level = 0;
+            this.hashes = new int[SIZE];
+            this.degrees = new long[SIZE];
+        }
+
+        public synchronized void update(Id vertex, long delta) {
+            int hash = HASH.hashBytes(vertex.asBytes()).asInt();
+            if (!this.sampled(hash)) {
+                return;
+            }
+            int free = -1;
+            for (int i = 0; i < SIZE; i++) {
+                if (this.degrees[i] == 0L) {
+                    if (free < 0) {
+                        free = i;
+                    }
+                } else if (this.hashes[i] == hash) {
+                    this.degrees[i] = Math.max(this.degrees[i] + delta, 0L);
+                    return;
+                }
+            }
+            if (delta <= 0L) {
+                return;
+            }
+            while (free < 0 && this.level < Integer.SIZE - 1) {
+                this.level++;
+                for (int i = 0; i < SIZE; i++) {
+                    if (this.degrees[i] > 0L && !this.sampled(this.hashes[i])) {
+                        this.degrees[i] = 0L;
+                        if (free < 0) {
+                            free = i;
+                        }
+                    }
+                }
+                if (!this.sampled(hash)) {
+                    return;
+                }
+            }
+            if (free >= 0) {
+                this.hashes[free] = hash;
+                this.degrees[free] = delta;
+            }
+        }
+
+        private boolean sampled(int hash) {
+            return this.level == 0 ||
+                   hash >>> (Integer.SIZE - this.level) == 0;
+        }
+
+        public synchronized Map<Long, Long> histogram() {
+            Map<Long, Long> histogram = new TreeMap<>();
+            long weight = 1L << this.level;
+            for (long degree : this.degrees) {
+                if (degree > 0L) {
+                    long bucket = Long.highestOneBit(degree);
+                    histogram.merge(bucket, weight, Long::sum);
+                }
+            }
+            return histogram;
+        }
+
+        public synchronized void write(long[] values, int offset) {
+            values[offset] = this.level;
+            for (int i = 0; i < SIZE; i++) {
+                boolean used = this.degrees[i] > 0L;
+                values[offset + 1 + 2 * i] = used ? this.hashes[i] : 0L;
+                values[offset + 2 + 2 * i] = this.degrees[i];
+            }
+        }
+
+        public synchronized void read(long[] values, int offset) {
+            this.level = (int) values[offset];
+            for (int i = 0; i < SIZE; i++) {
+                this.hashes[i] = (int) values[offset + 1 + 2 * i];
+                this.degrees[i] = values[offset + 2 + 2 * i];
+            }
+        }
+    }
+
+    /**
+     * An equi-width histogram of the values of range index, the buckets are
+     * merged in pairs to double the width if a value is out of the range,
+     * so that the range of values needn't be known in advance.
+     * NOTE: it's not thread safe, guarded by the owner index statistics.
+     */
+    private static final class ValueHistogram {
+
+        private static final int BUCKETS = 32;
+        private static final int SLOTS = 4 + BUCKETS;
+
+        // The lower bound of buckets, NaN if there is no value
+        private double low;
+        // The width of each bucket, 0 if all the values are the same
+        private double width;
+        private final long[] counts;
+        private long total;
+
+        public ValueHistogram() {
+            this.counts = new long[BUCKETS];
+            this.reset();
+        }
+
+        private void reset() {
+            this.low = Double.NaN;
+            this.width = 0D;
+            this.total = 0L;
+            Arrays.fill(this.counts, 0L);
+        }
+
+        public boolean empty() {
+            return this.total <= 0L;
+        }
+
+        public void add(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return;
+            }
+            if (this.empty()) {
+                this.reset();
+                this.low = value;
+            } else if (this.width == 0D && value != this.low) {
+                /*
+                 * Spread the lower half of buckets between the same values
+                 * and new one, so that the higher one is inside the buckets
+                 */
+                double same = this.low;
+                long count = this.counts[0];
+                this.counts[0] = 0L;
+                this.low = Math.min(same, value);
+                double high = Math.max(same, value);
+                this.width = Math.max((high - this.low) / (BUCKETS / 2),
+                                      Double.MIN_VALUE);
+                this.counts[this.index(same)] += count;
+            }
+            while (this.width > 0D && value < this.low &&
+                   !Double.isInfinite(this.width * 2)) {
+                // Expand downward, the old buckets are in the upper half
+                for (int i = BUCKETS - 1; i >= BUCKETS / 2; i--) {
+                    int j = (i - BUCKETS / 2) * 2;
+                    this.counts[i] = this.counts[j] + this.counts[j + 1];
+                }
+                Arrays.fill(this.counts, 0, BUCKETS / 2, 0L);
+                this.low -= BUCKETS * this.width;
+                this.width *= 2;
+            }
+            while (this.width > 0D && value >= this.high() &&
+                   !Double.isInfinite(this.width * 2)) {
+                // Expand upward, the old buckets are in the lower half
+                for (int i = 0; i < BUCKETS / 2; i++) {
+                    this.counts[i] = this.counts[2 * i] +
+                                     this.counts[2 * i + 1];
+                }
+                Arrays.fill(this.counts, BUCKETS / 2, BUCKETS, 0L);
+                this.width *= 2;
+            }
+            this.counts[this.index(value)]++;
+            this.total++;
+        }
+
+        public void remove(double value) {
+            if (this.empty() || Double.isNaN(value) ||
+                Double.isInfinite(value)) {
+                return;
+            }
+            int index = this.index(value);
+            if (this.counts[index] > 0L) {
+                this.counts[index]--;
+                if (--this.total == 0L) {
+                    this.reset();
+                }
+            }
+        }
+
+        private double high() {
+            return this.low + BUCKETS * this.width;
+        }
+
+        private int index(double value) {
+            if (this.width == 0D) {
+                return 0;
+            }
+            int index = (int) ((value - this.low) / this.width);
+            return Math.max(Math.min(index, BUCKETS - 1), 0);
+        }
+
+        /**
+         * Estimate the number of values in range [low, high]
+         */
+        public double estimate(double low, double high) {
+            if (this.width == 0D) {
+                return low <= this.low && this.low <= high ? this.total : 0D;
+            }
+            double count = 0D;
+            for (int i = 0; i < BUCKETS; i++) {
+                double start = this.low + i * this.width;
+                double overlap = Math.min(high, start + this.width) -
+                                 Math.max(low, start);
+                if (overlap > 0D) {
+                    count += this.counts[i] * Math.min(overlap / this.width,
+                                                       1D);
+                }
+            }
+            return count;
+        }
+
+        public Map<Double, Long> asMap() {
+            Map<Double, Long> buckets = InsertionOrderUtil.newMap();
+            for (int i = 0; i < BUCKETS; i++) {
+                if (this.counts[i] > 0L) {
+                    buckets.put(this.low + i * this.width, this.counts[i]);
+                }
+            }
+            return buckets;
+        }
+
+        public void write(long[] values, int offset) {
+            if (!this.empty()) {
+                Persistent.writeDouble(values, offset, this.low);
+                Persistent.writeDouble(values, offset + 2, this.width);
+            }
+            System.arraycopy(this.counts, 0, values, offset + 4, BUCKETS);
+        }
+
+        public void read(long[] values, int offset) {
+            this.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                this.counts[i] = values[offset + 4 + i];
+                this.total += this.counts[i];
+            }
+            if (this.empty()) {
+                this.reset();
+            } else {
+                this.low = Persistent.readDouble(values, offset);
+                this.width = Persistent.readDouble(values, offset + 2);
+            }
+        }
+    }
+}
@@ -28,9 +28,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -38,6 +40,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
@@ -48,6 +51,8 @@ import com.baidu.hugegraph.backend.id.SplicingIdGenerator;
 import com.baidu.hugegraph.backend.page.IdHolder;
 import com.baidu.hugegraph.backend.page.PageInfo;
 import com.baidu.hugegraph.backend.page.QueryList;
+import com.baidu.hugegraph.backend.query.Aggregate;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.ConditionQueryFlatten;
@@ -61,6 +66,7 @@ import com.baidu.hugegraph.backend.tx.GraphIndexTransaction.OptimizedType;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.exception.LimitExceedException;
+import com.baidu.hugegraph.exception.NoIndexException;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.iterator.FilterIterator;
 import com.baidu.hugegraph.iterator.FlatMapperIterator;
@@ -109,6 +115,9 @@ public class GraphTransaction extends IndexableTransaction {
     private Map<Id, HugeEdge> updatedEdges;
     private Set<HugeProperty<?>> updatedOldestProps; // Oldest props
 
+    // The elements which exist in backend and are overridden by the tx
+    private Set<Id> overriddenElements;
+
     private LockUtil.LocksTable locksTable;
 
     private final boolean checkVertexExist;
@@ -122,6 +131,12 @@ public class GraphTransaction extends IndexableTransaction {
         this.indexTx = new GraphIndexTransaction(graph, store);
         assert !this.indexTx.autoCommit();
 
+        // Only the graph store commits in group, exclude the system store
+        GroupCommitter committer = graph.groupCommitter();
+        if (committer != null && committer.store() == store) {
+            this.groupCommitter(committer);
+        }
+
         final HugeConfig conf = graph.configuration();
         this.checkVertexExist = conf.get(
                                 CoreOptions.VERTEX_CHECK_CUSTOMIZED_ID_EXIST);
@@ -156,6 +171,8 @@ public class GraphTransaction extends IndexableTransaction {
         this.updatedOldestProps = InsertionOrderUtil.newSet();
         this.addedProps = InsertionOrderUtil.newSet();
         this.removedProps = InsertionOrderUtil.newSet();
+
+        this.overriddenElements = new HashSet<>();
     }
 
     @Override
@@ -207,6 +224,11 @@ public class GraphTransaction extends IndexableTransaction {
     @Watched(prefix = "tx")
     @Override
     protected BackendMutation prepareCommit() {
+        // Count the overridden elements out of the statistics
+        if (this.graph().statistics().enabled()) {
+            this.prepareOverridden();
+        }
+
         // Serialize and add updates into super.deletions
         if (this.removedVertices.size() > 0 || this.removedEdges.size() > 0) {
             this.prepareDeletions(this.removedVertices, this.removedEdges);
@@ -224,6 +246,13 @@ public class GraphTransaction extends IndexableTransaction {
         return this.mutation();
     }
 
+    @Override
+    protected void commitMutation2Backend(BackendMutation... mutations) {
+        super.commitMutation2Backend(mutations);
+        // Apply the statistics changes of index tx after committed
+        this.indexTx.commitStatistics();
+    }
+
     protected void prepareAdditions(Map<Id, HugeVertex> addedVertices,
                                     Map<Id, HugeEdge> addedEdges) {
         if (this.checkVertexExist) {
@@ -238,6 +267,10 @@ public class GraphTransaction extends IndexableTransaction {
             // Update index of vertex(only include props)
             this.indexTx.updateVertexIndex(v, false);
             this.indexTx.updateLabelIndex(v, false);
+            // The overridden vertex exists already
+            if (!this.overriddenElements.contains(v.id())) {
+                this.indexTx.updateLabelStatistics(v, false);
+            }
         }
 
         // Do edge update
@@ -254,6 +287,68 @@ public class GraphTransaction extends IndexableTransaction {
             // Update index of edge
             this.indexTx.updateEdgeIndex(e, false);
             this.indexTx.updateLabelIndex(e, false);
+            // The overridden edge exists already
+            if (!this.overriddenElements.contains(e.id())) {
+                this.indexTx.updateLabelStatistics(e, false);
+            }
+        }
+    }
+
+    private void prepareOverridden() {
+        Set<Id> vertexIds = InsertionOrderUtil.newSet();
+        for (HugeVertex v : this.addedVertices.values()) {
+            // The vertex with automatic id is always a new one
+            if (!v.schemaLabel().hidden() &&
+                !v.schemaLabel().idStrategy().isAutomatic()) {
+                vertexIds.add(v.id());
+            }
+        }
+        for (HugeVertex v : this.updatedVertices.values()) {
+            if (!v.schemaLabel().hidden()) {
+                vertexIds.add(v.id());
+            }
+        }
+        // The removed elements are counted out by the deletions
+        vertexIds.removeAll(this.removedVertices.keySet());
+
+        Set<Id> edgeIds = InsertionOrderUtil.newSet();
+        for (HugeEdge e : this.addedEdges.values()) {
+            if (!e.schemaLabel().hidden()) {
+                edgeIds.add(e.id());
+            }
+        }
+        for (HugeEdge e : this.updatedEdges.values()) {
+            if (!e.schemaLabel().hidden()) {
+                edgeIds.add(e.id());
+            }
+        }
+        edgeIds.removeAll(this.removedEdges.keySet());
+
+        /*
+         * Query the old elements from backend directly instead of the
+         * cache, since the cached elements may be updated in the tx
+         */
+        if (!vertexIds.isEmpty()) {
+            IdQuery query = new IdQuery(HugeType.VERTEX, vertexIds);
+            Iterator<BackendEntry> entries = this.query(query).iterator();
+            while (entries.hasNext()) {
+                HugeVertex vertex = this.serializer.readVertex(graph(),
+                                                               entries.next());
+                this.overriddenElements.add(vertex.id());
+                this.indexTx.updateOverriddenStatistics(vertex);
+            }
+        }
+        if (!edgeIds.isEmpty()) {
+            IdQuery query = new IdQuery(HugeType.EDGE, edgeIds);
+            Iterator<BackendEntry> entries = this.query(query).iterator();
+            while (entries.hasNext()) {
+                HugeVertex vertex = this.serializer.readVertex(graph(),
+                                                               entries.next());
+                for (HugeEdge edge : vertex.getEdges()) {
+                    this.overriddenElements.add(edge.id());
+                    this.indexTx.updateOverriddenStatistics(edge);
+                }
+            }
         }
     }
 
@@ -283,6 +378,7 @@ public class GraphTransaction extends IndexableTransaction {
             this.doRemove(this.serializer.writeVertex(v.prepareRemoved()));
             this.indexTx.updateVertexIndex(v, true);
             this.indexTx.updateLabelIndex(v, true);
+            this.indexTx.updateLabelStatistics(v, true);
         }
 
         // Remove edges
@@ -290,6 +386,7 @@ public class GraphTransaction extends IndexableTransaction {
             // Update edge index
             this.indexTx.updateEdgeIndex(e, true);
             this.indexTx.updateLabelIndex(e, true);
+            this.indexTx.updateLabelStatistics(e, true);
             // Remove edge of OUT and IN
             e = e.prepareRemoved();
             this.doRemove(this.serializer.writeEdge(e));
@@ -382,6 +479,9 @@ public class GraphTransaction extends IndexableTransaction {
 
     @Override
     public QueryResults query(Query query) {
+        if (query instanceof BatchQuery) {
+            return this.queryBatch((BatchQuery) query);
+        }
         if (!(query instanceof ConditionQuery)) {
             return super.query(query);
         }
@@ -405,6 +505,67 @@ public class GraphTransaction extends IndexableTransaction {
         return !queries.empty() ? queries.fetch() : QueryResults.empty();
     }
 
+    /**
+     * Query asynchronously, only the sysprop-queries and batches of them are
+     * sent to backend asynchronously, the index-queries are done in the
+     * caller thread and the returned future is done already.
+     */
+    @Override
+    public CompletableFuture<QueryResults> queryAsync(Query query) {
+        if (query instanceof BatchQuery) {
+            BatchQuery queries = this.optimizeBatch((BatchQuery) query);
+            if (queries.empty()) {
+                return CompletableFuture.completedFuture(QueryResults.empty());
+            }
+            return super.queryAsync(queries);
+        }
+        if (!(query instanceof ConditionQuery)) {
+            return super.queryAsync(query);
+        }
+
+        List<ConditionQuery> queries = ConditionQueryFlatten.flatten(
+                                       (ConditionQuery) query);
+        Query q;
+        if (queries.size() == 1 &&
+            (q = this.optimizeQuery(queries.get(0))) != null) {
+            if (q.empty()) {
+                return CompletableFuture.completedFuture(QueryResults.empty());
+            }
+            return super.queryAsync(q);
+        }
+        return CompletableFuture.supplyAsync(() -> this.query(query),
+                                             Runnable::run);
+    }
+
+    private QueryResults queryBatch(BatchQuery batch) {
+        BatchQuery queries = this.optimizeBatch(batch);
+        return !queries.empty() ? super.query(queries) : QueryResults.empty();
+    }
+
+    private BatchQuery optimizeBatch(BatchQuery batch) {
+        BatchQuery queries = new BatchQuery(batch.resultType());
+        queries.copyBasic(batch);
+        for (Query query : batch.queries()) {
+            if (!(query instanceof ConditionQuery)) {
+                queries.add(query);
+                continue;
+            }
+            for (ConditionQuery cq : ConditionQueryFlatten.flatten(
+                                     (ConditionQuery) query)) {
+                Query q = this.optimizeQuery(cq);
+                // Index query can't be batched, only sysprop-query allowed
+                if (q == null) {
+                    throw new BackendException(
+                              "Not supported batch query by index: %s", cq);
+                }
+                if (!q.empty()) {
+                    queries.add(q);
+                }
+            }
+        }
+        return queries;
+    }
+
     @Watched(prefix = "graph")
     public HugeVertex addVertex(Object... keyValues) {
         return this.addVertex(this.constructVertex(true, keyValues));
@@ -554,7 +715,31 @@ public class GraphTransaction extends IndexableTransaction {
                         "there are uncommitted delete records.");
 
         Iterator<HugeVertex> results = this.queryVerticesFromBackend(query);
+        return this.filterVertices(query, results);
+    }
+
+    /**
+     * Query vertices asynchronously, the future is done after the entries
+     * are fetched from backend. The vertices are deserialized and joined
+     * with the records of this transaction lazily when iterating, so the
+     * results should be iterated in the owner thread of this transaction.
+     */
+    public CompletableFuture<Iterator<Vertex>> queryVerticesAsync(
+                                               Query query) {
+        E.checkArgument(this.removedVertices.isEmpty() ||
+                        query.limit() == Query.NO_LIMIT,
+                        "It's not allowed to query with limit when " +
+                        "there are uncommitted delete records.");
+        E.checkArgument(!query.paging(),
+                        "Can't query in paging asynchronously: %s", query);
+
+        return this.queryVerticesFromBackendAsync(query).thenApply(rs -> {
+            return lazyIterator(() -> this.filterVertices(query, rs));
+        });
+    }
 
+    private Iterator<Vertex> filterVertices(Query query,
+                                            Iterator<HugeVertex> results) {
         // Filter unused or incorrect records
         results = new FilterIterator<>(results, vertex -> {
             assert vertex.schemaLabel() != VertexLabel.NONE;
@@ -583,8 +768,18 @@ public class GraphTransaction extends IndexableTransaction {
 
     protected Iterator<HugeVertex> queryVerticesFromBackend(Query query) {
         assert query.resultType().isVertex();
+        return this.readVertices(this.query(query));
+    }
 
-        QueryResults results = this.query(query);
+    protected CompletableFuture<Iterator<HugeVertex>>
+              queryVerticesFromBackendAsync(Query query) {
+        assert query.resultType().isVertex();
+        return this.queryAsync(query).thenApply(results -> {
+            return lazyIterator(() -> this.readVertices(results));
+        });
+    }
+
+    private Iterator<HugeVertex> readVertices(QueryResults results) {
         Iterator<BackendEntry> entries = results.iterator();
 
         Iterator<HugeVertex> vertices = new MapperIterator<>(entries, entry -> {
@@ -701,7 +896,30 @@ public class GraphTransaction extends IndexableTransaction {
                         "there are uncommitted delete records.");
 
         Iterator<HugeEdge> results = this.queryEdgesFromBackend(query);
+        return this.filterEdges(query, results);
+    }
 
+    /**
+     * Query edges asynchronously, the future is done after the entries are
+     * fetched from backend. The edges are deserialized and joined with the
+     * records of this transaction lazily when iterating, so the results
+     * should be iterated in the owner thread of this transaction.
+     */
+    public CompletableFuture<Iterator<Edge>> queryEdgesAsync(Query query) {
+        E.checkArgument(this.removedEdges.isEmpty() ||
+                        query.limit() == Query.NO_LIMIT,
+                        "It's not allowed to query with limit when " +
+                        "there are uncommitted delete records.");
+        E.checkArgument(!query.paging(),
+                        "Can't query in paging asynchronously: %s", query);
+
+        return this.queryEdgesFromBackendAsync(query).thenApply(rs -> {
+            return lazyIterator(() -> this.filterEdges(query, rs));
+        });
+    }
+
+    private Iterator<Edge> filterEdges(Query query,
+                                       Iterator<HugeEdge> results) {
         // TODO: any unconsidered case, maybe the query with OR condition?
         boolean withDuplicatedEdge = false;
         Set<Id> returnedEdges = withDuplicatedEdge ? new HashSet<>() : null;
@@ -747,8 +965,18 @@ public class GraphTransaction extends IndexableTransaction {
 
     protected Iterator<HugeEdge> queryEdgesFromBackend(Query query) {
         assert query.resultType().isEdge();
+        return this.readEdges(query, this.query(query));
+    }
 
-        QueryResults results = this.query(query);
+    protected CompletableFuture<Iterator<HugeEdge>>
+              queryEdgesFromBackendAsync(Query query) {
+        assert query.resultType().isEdge();
+        return this.queryAsync(query).thenApply(results -> {
+            return lazyIterator(() -> this.readEdges(query, results));
+        });
+    }
+
+    private Iterator<HugeEdge> readEdges(Query query, QueryResults results) {
         Iterator<BackendEntry> entries = results.iterator();
 
         Iterator<HugeEdge> edges = new FlatMapperIterator<>(entries, entry -> {
@@ -769,6 +997,218 @@ public class GraphTransaction extends IndexableTransaction {
         return edges;
     }
 
+    /**
+     * Query the ids of edges, which are decoded from the keys of edges if
+     * the serializer supports, that's enough to get the adjacent vertices.
+     * The edges are queried fully if the query has conditions of properties
+     * or there are uncommitted records of vertices/edges in this transaction.
+     */
+    @Watched(prefix = "graph")
+    public Iterator<EdgeId> queryEdgeIds(Query query) {
+        assert query.resultType().isEdge();
+        if (!this.canQueryEdgeIds(query)) {
+            return new MapperIterator<>(this.queryEdges(query), edge -> {
+                return ((HugeEdge) edge).id();
+            });
+        }
+
+        Iterator<EdgeId> ids = this.queryEdgeIdsFromBackend(query);
+        return new FilterIterator<>(ids, id -> {
+            EdgeLabel label = this.graph().edgeLabel(id.edgeLabelId());
+            // Filter hidden results
+            if (!query.showHidden() && Graph.Hidden.isHidden(label.name())) {
+                return false;
+            }
+            // Filter edges of deleting edge label
+            return label.status() != SchemaStatus.DELETING ||
+                   query.showDeleting();
+        });
+    }
+
+    protected Iterator<EdgeId> queryEdgeIdsFromBackend(Query query) {
+        assert query.resultType().isEdge();
+
+        QueryResults results = this.query(query);
+        return new FlatMapperIterator<>(results.iterator(), entry -> {
+            return this.serializer.readEdgeIds(graph(), entry);
+        });
+    }
+
+    private boolean canQueryEdgeIds(Query query) {
+        // The edges must be joined with the records of this transaction
+        if (this.edgesInTxSize() > 0 || !this.removedVertices.isEmpty()) {
+            return false;
+        }
+        if (query instanceof BatchQuery) {
+            for (Query q : ((BatchQuery) query).queries()) {
+                if (!this.canQueryEdgeIds(q)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // The edge ids are enough only if the query is by sysprop
+        return query instanceof ConditionQuery && query.ids().isEmpty() &&
+               ((ConditionQuery) query).allSysprop();
+    }
+
+    /**
+     * Query the number of vertices/edges like count(), which is aggregated
+     * by the backend store if it supports, so that the elements are not
+     * fetched and deserialized. Only the number of all elements, of some
+     * labels or by system properties is aggregated, the elements are
+     * counted one by one if there are uncommitted records in this
+     * transaction, or the query is by ids, by index, with range or paging.
+     */
+    @Override
+    @Watched(prefix = "graph")
+    public Number queryNumber(Query query) {
+        HugeType type = query.resultType();
+        E.checkArgument(type.isVertex() || type.isEdge(),
+                        "Can only query number of vertices or edges, " +
+                        "but got %s", type);
+        Aggregate aggregate = query.aggregateNotNull();
+        E.checkArgument(aggregate.countAll(),
+                        "Not support aggregate %s", aggregate);
+
+        if (!this.canQueryNumber(query)) {
+            return this.countElements(query);
+        }
+        try {
+            if (!(query instanceof ConditionQuery)) {
+                return this.queryNumberOfAll(query);
+            }
+            List<ConditionQuery> queries = ConditionQueryFlatten.flatten(
+                                           (ConditionQuery) query);
+            if (queries.size() > 1 && !disjointByLabel(queries)) {
+                // The flattened queries may match the same element
+                return this.countElements(query);
+            }
+            long count = 0L;
+            for (ConditionQuery cq : queries) {
+                count += this.queryNumberByCondition(cq);
+            }
+            return count;
+        } catch (NoIndexException e) {
+            // The label index of some label is disabled
+            LOG.debug("Count elements one by one for query {}: {}",
+                      query, e.getMessage());
+            return this.countElements(query);
+        }
+    }
+
+    private boolean canQueryNumber(Query query) {
+        if (this.hasUpdates()) {
+            // The elements must be joined with the records of this tx
+            return false;
+        }
+        if (!this.store().features().supportsAggregateQuery()) {
+            return false;
+        }
+        if (query.paging() || query.offset() != 0L ||
+            query.limit() != Query.NO_LIMIT) {
+            return false;
+        }
+        return query.ids().isEmpty() && (query.getClass() == Query.class ||
+                                         query instanceof ConditionQuery);
+    }
+
+    private long queryNumberOfAll(Query query) {
+        long count = super.queryNumber(query).longValue();
+
+        // Exclude the elements of hidden labels and deleting labels
+        List<? extends SchemaLabel> labels;
+        if (query.resultType().isVertex()) {
+            labels = this.graph().schemaTransaction().getVertexLabels();
+        } else {
+            labels = this.graph().schemaTransaction().getEdgeLabels();
+        }
+        for (SchemaLabel label : labels) {
+            if (!query.showHidden() && Graph.Hidden.isHidden(label.name()) ||
+                !query.showDeleting() &&
+                label.status() == SchemaStatus.DELETING) {
+                ConditionQuery cq = new ConditionQuery(query.resultType());
+                cq.eq(HugeKeys.LABEL, label.id());
+                cq.showHidden(true);
+                cq.showDeleting(true);
+                cq.aggregate(query.aggregate());
+                count -= this.queryNumberByCondition(cq);
+            }
+        }
+        return count;
+    }
+
+    private long queryNumberByCondition(ConditionQuery query) {
+        Id label = query.condition(HugeKeys.LABEL);
+        if (label != null) {
+            SchemaLabel schemaLabel = query.resultType().isVertex() ?
+                                      this.graph().vertexLabel(label) :
+                                      this.graph().edgeLabel(label);
+            if (!query.showHidden() &&
+                Graph.Hidden.isHidden(schemaLabel.name()) ||
+                !query.showDeleting() &&
+                schemaLabel.status() == SchemaStatus.DELETING) {
+                return 0L;
+            }
+        }
+
+        Query q = this.optimizeQuery(query);
+        if (q == null) {
+            if (query.allSysprop() && query.conditions().size() == 1) {
+                // Count the label index
+                assert label != null;
+                return this.indexTx.queryNumberByLabel(query).longValue();
+            }
+            /*
+             * The ids queried by secondary/range/search index may be
+             * duplicated or contain the left index, they must be checked
+             * with the elements
+             */
+            return this.countElements(query);
+        }
+        if (q instanceof ConditionQuery && q.ids().isEmpty() &&
+            ((ConditionQuery) q).allSysprop()) {
+            // Count by sysprops like label, or sort-keys of edges
+            return super.queryNumber(q).longValue();
+        }
+        // Like querying by primary-keys
+        return this.countElements(query);
+    }
+
+    /**
+     * Get the iterator from the supplier when it's iterated the first time
+     */
+    protected static <T> Iterator<T> lazyIterator(
+                                     Supplier<Iterator<T>> supplier) {
+        return new FlatMapperIterator<>(ImmutableList.of(supplier).iterator(),
+                                        Supplier::get);
+    }
+
+    private static boolean disjointByLabel(List<ConditionQuery> queries) {
+        // The queries of different labels never match the same element
+        Set<Id> labels = new HashSet<>();
+        for (ConditionQuery query : queries) {
+            if (query.conditions().size() != 1) {
+                return false;
+            }
+            Id label = query.condition(HugeKeys.LABEL);
+            if (label == null || !labels.add(label)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long countElements(Query query) {
+        Query origin = query.copy();
+        origin.aggregate(null);
+        if (query.resultType().isVertex()) {
+            return IteratorUtils.count(this.queryVertices(origin));
+        } else {
+            return IteratorUtils.count(this.queryEdges(origin));
+        }
+    }
+
     @Watched(prefix = "graph")
     public <V> void addVertexProperty(HugeVertexProperty<V> prop) {
         // NOTE: this method can also be used to update property
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.tx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.store.BackendMutation;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Coalesce the mutations committed by concurrent transactions into one
+ * backend transaction, to share the cost of the backend commit (like the
+ * WAL sync of RocksDB) among them.
+ *
+ * The first committer of a group becomes the leader, it waits for the
+ * previous group to finish (and for an optional window), then commits the
+ * mutations of all members in its own session, the other members just wait
+ * for the result. The mutations of a transaction are never split across
+ * groups, so each transaction is still atomic, and if the group fails,
+ * all the members fail and rollback as before.
+ */
+public final class GroupCommitter {
+
+    private static final Logger LOG = Log.logger(GroupCommitter.class);
+
+    private final BackendStore store;
+    private final long windowNanos;
+    private final int maxSize;
+
+    private final ReentrantLock commitLock;
+    private Group pending;
+
+    public GroupCommitter(BackendStore store, long windowMs, int maxSize) {
+        E.checkNotNull(store, "store");
+        E.checkArgument(windowMs >= 0L,
+                        "The group commit window can't be negative: %s",
+                        windowMs);
+        E.checkArgument(maxSize > 0,
+                        "The group commit max size must be > 0, but got %s",
+                        maxSize);
+        this.store = store;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxSize = maxSize;
+        this.commitLock = new ReentrantLock();
+        this.pending = null;
+    }
+
+    public static GroupCommitter create(HugeConfig config,
+                                        BackendStore store) {
+        if (!config.get(CoreOptions.STORE_GROUP_COMMIT)) {
+            return null;
+        }
+        long window = config.get(CoreOptions.STORE_GROUP_COMMIT_WINDOW);
+        int maxSize = config.get(CoreOptions.STORE_GROUP_COMMIT_MAX_SIZE);
+        return new GroupCommitter(store, window, maxSize);
+    }
+
+    public BackendStore store() {
+        return this.store;
+    }
+
+    @Watched(prefix = "tx")
+    public void commit(BackendMutation... mutations) {
+        int size = 0;
+        for (BackendMutation mutation : mutations) {
+            size += mutation.size();
+        }
+
+        Group group;
+        boolean leader;
+        synchronized (this) {
+            group = this.pending;
+            leader = group == null || !group.tryJoin(size, this.maxSize);
+            if (leader) {
+                group = new Group();
+                group.tryJoin(size, this.maxSize);
+                this.pending = group;
+            }
+            group.add(mutations);
+        }
+
+        if (leader) {
+            this.lead(group);
+        } else {
+            group.await();
+        }
+    }
+
+    private void lead(Group group) {
+        if (this.windowNanos > 0L) {
+            // Give the concurrent transactions a chance to join this group
+            group.awaitFull(this.windowNanos);
+        }
+
+        /*
+         * Wait for the previous group to finish, the new coming transactions
+         * keep joining this group meanwhile
+         */
+        this.commitLock.lock();
+        try {
+            synchronized (this) {
+                if (this.pending == group) {
+                    this.pending = null;
+                }
+            }
+            List<BackendMutation> mutations = group.mutations();
+            LOG.debug("Group commit {} mutation(s) of {} transaction(s)",
+                      group.size(), group.members());
+            try {
+                // If an exception occurred, the members will rollback
+                this.store.beginTx();
+                for (BackendMutation mutation : mutations) {
+                    this.store.mutate(mutation);
+                }
+                this.store.commitTx();
+            } catch (Throwable e) {
+                group.done(e);
+                throw e;
+            }
+            group.done(null);
+        } finally {
+            this.commitLock.unlock();
+        }
+    }
+
+    private static class Group {
+
+        private final List<BackendMutation> mutations;
+        private int size;
+        private int members;
+
+        private boolean closed;
+        private boolean done;
+        private Throwable error;
+
+        public Group() {
+            this.mutations = new ArrayList<>();
+            this.size = 0;
+            this.members = 0;
+            this.closed = false;
+            this.done = false;
+            this.error = null;
+        }
+
+        public synchronized boolean tryJoin(int size, int maxSize) {
+            // The first member is always accepted even if it's too large
+            if (this.closed ||
+                (this.members > 0 && this.size + size > maxSize)) {
+                this.closed = true;
+                this.notifyAll();
+                return false;
+            }
+            this.size += size;
+            this.members++;
+            return true;
+        }
+
+        public synchronized void add(BackendMutation... mutations) {
+            assert !this.closed;
+            Collections.addAll(this.mutations, mutations);
+        }
+
+        public synchronized List<BackendMutation> mutations() {
+            this.closed = true;
+            return new ArrayList<>(this.mutations);
+        }
+
+        public synchronized int size() {
+            return this.size;
+        }
+
+        public synchronized int members() {
+            return this.members;
+        }
+
+        public synchronized void awaitFull(long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            boolean interrupted = false;
+            long remaining;
+            while (!this.closed &&
+                   (remaining = deadline - System.nanoTime()) > 0L) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public synchronized void done(Throwable error) {
+            this.error = error;
+            this.done = true;
+            this.notifyAll();
+        }
+
+        public synchronized void await() {
+            /*
+             * The mutations have been taken over by the leader and can't be
+             * withdrawn, so wait for the result even if interrupted
+             */
+            boolean interrupted = false;
+            while (!this.done) {
+                try {
+                    this.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (this.error != null) {
+                throw new BackendException("Failed to commit in group",
+                                           this.error);
+            }
+        }
+    }
+}
@@ -20,10 +20,12 @@
 package com.baidu.hugegraph.config;
 
 import static com.baidu.hugegraph.backend.tx.GraphTransaction.COMMIT_BATCH;
+import static com.baidu.hugegraph.config.OptionChecker.allowValues;
 import static com.baidu.hugegraph.config.OptionChecker.disallowEmpty;
 import static com.baidu.hugegraph.config.OptionChecker.rangeInt;
 
 import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.util.Bytes;
 
 public class CoreOptions extends OptionHolder {
 
@@ -115,6 +117,35 @@ public class CoreOptions extends OptionHolder {
                     10L
             );
 
+    public static final ConfigOption<Integer> TASK_WORKER_THREADS =
+            new ConfigOption<>(
+                    "task.worker_threads",
+                    "The number of threads of each graph to execute tasks, " +
+                    "the queued tasks with higher priority run first.",
+                    rangeInt(1, 256),
+                    4
+            );
+
+    public static final ConfigOption<Integer> TASK_REBUILD_INDEX_THREADS =
+            new ConfigOption<>(
+                    "task.rebuild_index_threads",
+                    "The number of threads to rebuild index by shards in " +
+                    "parallel, only take effect if the backend supports " +
+                    "scanning by shard.",
+                    rangeInt(1, 256),
+                    4
+            );
+
+    public static final ConfigOption<Long> TASK_REBUILD_INDEX_SPLIT_SIZE =
+            new ConfigOption<>(
+                    "task.rebuild_index_split_size",
+                    "The size in bytes of each shard when rebuilding index " +
+                    "by shards, the finished shards are recorded in task " +
+                    "to resume rebuilding after restarted.",
+                    rangeInt(1L * Bytes.MB, Long.MAX_VALUE),
+                    64L * Bytes.MB
+            );
+
     public static final ConfigOption<Long> CONNECTION_DETECT_INTERVAL =
             new ConfigOption<>(
                     "store.connection_detect_interval",
@@ -126,6 +157,45 @@ public class CoreOptions extends OptionHolder {
                     600L
             );
 
+    public static final ConfigOption<Boolean> STORE_GROUP_COMMIT =
+            new ConfigOption<>(
+                    "store.group_commit",
+                    "Whether to coalesce the mutations of concurrent " +
+                    "graph transactions into one backend commit.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Long> STORE_GROUP_COMMIT_WINDOW =
+            new ConfigOption<>(
+                    "store.group_commit_window",
+                    "The time in milliseconds to wait for more transactions " +
+                    "to join a commit group, value 0 means only grouping " +
+                    "the transactions arrived while the previous group " +
+                    "is committing.",
+                    rangeInt(0L, 1000L),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> STORE_GROUP_COMMIT_MAX_SIZE =
+            new ConfigOption<>(
+                    "store.group_commit_max_size",
+                    "The max number of mutated items of a commit group.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    5000
+            );
+
+    public static final ConfigOption<Integer> STORE_ASYNC_QUERY_THREADS =
+            new ConfigOption<>(
+                    "store.async_query_threads",
+                    "The number of threads of each backend session pool to " +
+                    "execute asynchronous queries, only take effect if the " +
+                    "backend has no asynchronous driver, the exceeding " +
+                    "queries are queued.",
+                    rangeInt(1, 256),
+                    8
+            );
+
     public static final ConfigOption<String> VERTEX_DEFAULT_LABEL =
             new ConfigOption<>(
                     "vertex.default_label",
@@ -196,6 +266,26 @@ public class CoreOptions extends OptionHolder {
                     (1000 * 1000 * 10)
             );
 
+    public static final ConfigOption<String> VERTEX_CACHE_TYPE =
+            new ConfigOption<>(
+                    "vertex.cache_type",
+                    "The type of vertex cache, 'ram' is the lru cache, " +
+                    "'tinylfu' is the segmented lock-free w-tinylfu cache, " +
+                    "'offheap' is the size-bounded off-heap cache which " +
+                    "stores the serialized vertexs.",
+                    allowValues("ram", "tinylfu", "offheap"),
+                    "ram"
+            );
+
+    public static final ConfigOption<Long> VERTEX_CACHE_OFFHEAP_SIZE =
+            new ConfigOption<>(
+                    "vertex.cache_offheap_size",
+                    "The max cache size(bytes) of vertex cache, only " +
+                    "used when vertex.cache_type is 'offheap'.",
+                    rangeInt(1L * Bytes.MB, Long.MAX_VALUE),
+                    (256L * Bytes.MB)
+            );
+
     public static final ConfigOption<Integer> VERTEX_CACHE_EXPIRE =
             new ConfigOption<>(
                     "vertex.cache_expire",
@@ -212,6 +302,26 @@ public class CoreOptions extends OptionHolder {
                     (1000 * 1000 * 1)
             );
 
+    public static final ConfigOption<String> EDGE_CACHE_TYPE =
+            new ConfigOption<>(
+                    "edge.cache_type",
+                    "The type of edge cache, 'ram' is the lru cache, " +
+                    "'tinylfu' is the segmented lock-free w-tinylfu cache, " +
+                    "'offheap' is the size-bounded off-heap cache which " +
+                    "stores the serialized edges.",
+                    allowValues("ram", "tinylfu", "offheap"),
+                    "ram"
+            );
+
+    public static final ConfigOption<Long> EDGE_CACHE_OFFHEAP_SIZE =
+            new ConfigOption<>(
+                    "edge.cache_offheap_size",
+                    "The max cache size(bytes) of edge cache, only " +
+                    "used when edge.cache_type is 'offheap'.",
+                    rangeInt(1L * Bytes.MB, Long.MAX_VALUE),
+                    (128L * Bytes.MB)
+            );
+
     public static final ConfigOption<Integer> EDGE_CACHE_EXPIRE =
             new ConfigOption<>(
                     "edge.cache_expire",
@@ -228,6 +338,16 @@ public class CoreOptions extends OptionHolder {
                     500
             );
 
+    public static final ConfigOption<Boolean> QUERY_STATISTICS =
+            new ConfigOption<>(
+                    "query.statistics",
+                    "Whether to collect the statistics of labels and " +
+                    "indexes when committing, which are used to choose " +
+                    "the most selective index for query.",
+                    disallowEmpty(),
+                    true
+            );
+
     public static final ConfigOption<Long> SNOWFLAKE_WORKER_ID =
             new ConfigOption<>(
                     "snowflake.worker_id",
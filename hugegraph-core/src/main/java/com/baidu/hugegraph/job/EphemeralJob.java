@@ -27,6 +27,12 @@ public abstract class EphemeralJob<T> extends TaskCallable<T> {
 
     public abstract T execute() throws Exception;
 
+    @Override
+    public int priority() {
+        // Ephemeral jobs are short, don't queue them behind the long jobs
+        return PRIORITY_HIGH;
+    }
+
     @Override
     public T call() throws Exception {
         return this.execute();
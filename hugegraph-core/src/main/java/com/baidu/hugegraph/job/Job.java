@@ -67,7 +67,7 @@ public abstract class Job<T> extends TaskCallable<T> {
         }
     }
 
-    private void save() {
+    protected void save() {
         HugeTask<T> task = this.task();
         task.updateTime(new Date());
         this.scheduler().save(task);
@@ -19,17 +19,35 @@
 
 package com.baidu.hugegraph.job.schema;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.store.BackendFeatures;
+import com.baidu.hugegraph.backend.store.Shard;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.backend.tx.SchemaTransaction;
+import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
 import com.baidu.hugegraph.schema.SchemaElement;
@@ -38,11 +56,18 @@ import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.SchemaStatus;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.ExecutorUtil;
+import com.baidu.hugegraph.util.JsonUtil;
 import com.baidu.hugegraph.util.LockUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 public class RebuildIndexCallable extends SchemaCallable {
 
+    private static final String WORKER = "rebuild-index-worker-%d";
+
     @Override
     public String type() {
         return SchemaCallable.REBUILD_INDEX;
@@ -109,18 +134,38 @@ public class RebuildIndexCallable extends SchemaCallable {
                 schemaTx.updateSchemaStatus(il, SchemaStatus.REBUILDING);
             }
 
-            this.removeIndex(indexLabelIds);
-            /*
-             * Note: Here must commit index transaction firstly.
-             * Because remove index convert to (id like <?>:personByCity):
-             * `delete from index table where label = ?`,
-             * But append index will convert to (id like Beijing:personByCity):
-             * `update index element_ids += xxx where field_value = ?
-             * and index_label_name = ?`,
-             * They have different id lead to it can't compare and optimize
-             */
-            graphTx.commit();
-            if (label.type() == HugeType.VERTEX_LABEL) {
+            Checkpoint checkpoint = Checkpoint.fromJson(this.task().input());
+            // The statistics of the finished shards are lost if resumed
+            boolean resumed = checkpoint != null;
+            if (checkpoint == null) {
+                this.removeIndex(indexLabelIds);
+                /*
+                 * Note: Here must commit index transaction firstly.
+                 * Because remove index convert to
+                 * (id like <?>:personByCity):
+                 * `delete from index table where label = ?`,
+                 * But append index will convert to
+                 * (id like Beijing:personByCity):
+                 * `update index element_ids += xxx where field_value = ?
+                 * and index_label_name = ?`,
+                 * They have different id lead to it can't compare and optimize
+                 */
+                graphTx.commit();
+
+                List<Shard> shards = this.splits(label);
+                if (shards != null) {
+                    // Record shards before rebuilding to resume if restarted
+                    checkpoint = new Checkpoint(shards);
+                    this.task().input(checkpoint.toJson());
+                    this.save();
+                }
+            }
+
+            if (checkpoint != null) {
+                this.rebuildIndexByShards(label, indexLabelIds, checkpoint);
+                // Clear the checkpoint since all shards are finished
+                this.task().input(null);
+            } else if (label.type() == HugeType.VERTEX_LABEL) {
                 @SuppressWarnings("unchecked")
                 Consumer<Vertex> consumer = (Consumer<Vertex>) indexUpdater;
                 graphTx.traverseVerticesByLabel((VertexLabel) label,
@@ -133,6 +178,9 @@ public class RebuildIndexCallable extends SchemaCallable {
                                              consumer, false);
             }
             graphTx.commit();
+            if (!resumed) {
+                this.graph().statistics().seed(indexLabelIds);
+            }
 
             for (IndexLabel il : ils) {
                 schemaTx.updateSchemaStatus(il, SchemaStatus.CREATED);
@@ -142,6 +190,149 @@ public class RebuildIndexCallable extends SchemaCallable {
         }
     }
 
+    private List<Shard> splits(SchemaLabel label) {
+        GraphTransaction graphTx = this.graph().graphTransaction();
+        BackendFeatures features = graphTx.store().features();
+        if (!features.supportsScanToken() &&
+            !features.supportsScanKeyRange()) {
+            return null;
+        }
+        long splitSize = this.graph().configuration()
+                             .get(CoreOptions.TASK_REBUILD_INDEX_SPLIT_SIZE);
+        return graphTx.metadata(scanType(label), "splits", splitSize);
+    }
+
+    private void rebuildIndexByShards(SchemaLabel label,
+                                      Collection<Id> indexLabelIds,
+                                      Checkpoint checkpoint) {
+        Queue<Integer> pendings = new ConcurrentLinkedQueue<>(
+                                  checkpoint.unfinished());
+        if (pendings.isEmpty()) {
+            return;
+        }
+        int threads = this.graph().configuration()
+                          .get(CoreOptions.TASK_REBUILD_INDEX_THREADS);
+        threads = Math.min(threads, pendings.size());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        /*
+         * Each worker takes shards from the queue until all shards are
+         * finished, and closes its thread-local tx before exit
+         */
+        Runnable worker = () -> {
+            try {
+                Integer shard;
+                while (error.get() == null &&
+                       (shard = pendings.poll()) != null) {
+                    this.rebuildIndex(label, indexLabelIds,
+                                      checkpoint.shard(shard));
+                    this.finishShard(checkpoint, shard);
+                }
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            } finally {
+                this.graph().closeTx();
+            }
+        };
+
+        ExecutorService executor = ExecutorUtil.newFixedThreadPool(
+                                   threads, WORKER);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Throwable e) {
+            // Let workers exit if cancelled or any worker failed
+            error.compareAndSet(null, e);
+        } finally {
+            // Interrupt the running workers and wait for them to close tx
+            executor.shutdownNow();
+            awaitTermination(executor, error);
+        }
+
+        Throwable e = error.get();
+        if (e != null) {
+            throw new HugeException("Failed to rebuild index of '%s' " +
+                                    "by shards", e, label.name());
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor,
+                                         AtomicReference<Throwable> error) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                // The workers exit soon after interrupted, see rebuildIndex()
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+                break;
+            } catch (InterruptedException e) {
+                error.compareAndSet(null, e);
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rebuildIndex(SchemaLabel label, Collection<Id> indexLabelIds,
+                              Shard shard) {
+        // NOTE: the tx is thread-local, each worker owns its tx
+        GraphTransaction graphTx = this.graph().graphTransaction();
+
+        ConditionQuery query = new ConditionQuery(scanType(label));
+        query.scan(shard.start(), shard.end());
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        if (label.hidden()) {
+            query.showHidden(true);
+        }
+
+        Iterator<? extends Element> elements;
+        if (label.type() == HugeType.VERTEX_LABEL) {
+            elements = graphTx.queryVertices(query);
+        } else {
+            assert label.type() == HugeType.EDGE_LABEL;
+            elements = graphTx.queryEdges(query);
+        }
+        while (elements.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new HugeException("Interrupted while rebuilding " +
+                                        "index of '%s' by shards",
+                                        label.name());
+            }
+            HugeElement element = (HugeElement) elements.next();
+            // The shard contains elements of all labels
+            if (!label.equals(element.schemaLabel())) {
+                continue;
+            }
+            for (Id id : indexLabelIds) {
+                graphTx.updateIndex(id, element);
+                graphTx.commitIfGtSize(GraphTransaction.COMMIT_BATCH);
+            }
+        }
+        graphTx.commit();
+    }
+
+    private void finishShard(Checkpoint checkpoint, int shard) {
+        synchronized (checkpoint) {
+            checkpoint.finish(shard);
+            this.task().input(checkpoint.toJson());
+            // Save the checkpoint at intervals by updating progress
+            this.updateProgress(checkpoint.progress());
+        }
+    }
+
+    private static HugeType scanType(SchemaLabel label) {
+        // Scan the out edges to visit each edge once
+        return label.type() == HugeType.VERTEX_LABEL ?
+               HugeType.VERTEX : HugeType.EDGE_OUT;
+    }
+
     private void removeIndex(Collection<Id> indexLabelIds) {
         SchemaTransaction schemaTx = this.graph().schemaTransaction();
         GraphTransaction graphTx = this.graph().graphTransaction();
@@ -175,4 +366,77 @@ public class RebuildIndexCallable extends SchemaCallable {
                           "Invalid HugeType '%s' for rebuild", type));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The checkpoint of rebuilding index by shards, it's recorded as the
+     * input of task, and the rebuilding resumes from the unfinished shards
+     * when the task is restored. Rebuilding a shard again is harmless since
+     * updating index is idempotent.
+     */
+    private static class Checkpoint {
+
+        private static final String SHARDS = "shards";
+        private static final String FINISHED = "finished";
+
+        private final List<Shard> shards;
+        private final Set<Integer> finished;
+
+        public Checkpoint(List<Shard> shards) {
+            this(shards, new TreeSet<>());
+        }
+
+        private Checkpoint(List<Shard> shards, Set<Integer> finished) {
+            this.shards = shards;
+            this.finished = finished;
+        }
+
+        public Shard shard(int index) {
+            return this.shards.get(index);
+        }
+
+        public void finish(int index) {
+            this.finished.add(index);
+        }
+
+        public List<Integer> unfinished() {
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < this.shards.size(); i++) {
+                if (!this.finished.contains(i)) {
+                    indexes.add(i);
+                }
+            }
+            return indexes;
+        }
+
+        public int progress() {
+            return this.finished.size() * 100 / this.shards.size();
+        }
+
+        public String toJson() {
+            List<List<String>> shards = new ArrayList<>(this.shards.size());
+            for (Shard shard : this.shards) {
+                shards.add(ImmutableList.of(shard.start(), shard.end()));
+            }
+            return JsonUtil.toJson(ImmutableMap.of(SHARDS, shards,
+                                                   FINISHED, this.finished));
+        }
+
+        @SuppressWarnings("unchecked")
+        public static Checkpoint fromJson(String json) {
+            if (json == null) {
+                return null;
+            }
+            Map<String, Object> map = JsonUtil.fromJson(json, Map.class);
+            List<List<String>> ranges = (List<List<String>>) map.get(SHARDS);
+            E.checkState(ranges != null,
+                         "Invalid checkpoint of rebuilding index: %s", json);
+            List<Shard> shards = new ArrayList<>(ranges.size());
+            for (List<String> range : ranges) {
+                shards.add(new Shard(range.get(0), range.get(1), 0L));
+            }
+            Set<Integer> finished = new TreeSet<>(
+                                    (List<Integer>) map.get(FINISHED));
+            return new Checkpoint(shards, finished);
+        }
+    }
+}
@@ -21,6 +21,12 @@ public abstract class SchemaCallable extends Job<Object> {
 
     private static final String SPLITOR = ":";
 
+    @Override
+    public int priority() {
+        // Schema jobs may scan the whole graph, let the short jobs run first
+        return PRIORITY_LOW;
+    }
+
     protected HugeType schemaType() {
         String name = this.task().name();
         String[] parts = name.split(SPLITOR, 3);
@@ -39,6 +39,7 @@ import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.backend.serializer.LazyProperties;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.PropertyKey;
@@ -64,6 +65,11 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     protected boolean removed;
     protected boolean fresh;
     protected boolean propLoaded;
+    /*
+     * The properties not deserialized yet, all of them are also not in
+     * `properties` except the ones parsed by parseProperty()
+     */
+    private LazyProperties lazyProperties;
 
     public HugeElement(final HugeGraph graph, Id id) {
         E.checkArgument(graph != null, "HugeElement graph can't be null");
@@ -73,6 +79,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         this.removed = false;
         this.fresh = false;
         this.propLoaded = true;
+        this.lazyProperties = null;
     }
 
     public abstract SchemaLabel schemaLabel();
@@ -116,16 +123,25 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         this.fresh = false;
     }
 
+    public void lazyProperties(LazyProperties properties) {
+        E.checkState(this.properties.isEmpty(),
+                     "Can't set lazy properties of element with properties");
+        this.lazyProperties = properties;
+    }
+
     public Map<Id, HugeProperty<?>> getProperties() {
+        this.parseProperties();
         return Collections.unmodifiableMap(this.properties);
     }
 
     public Map<Id, HugeProperty<?>> getFilledProperties() {
         this.ensureFilledProperties(true);
+        this.parseProperties();
         return Collections.unmodifiableMap(this.properties);
     }
 
     public Map<Id, Object> getPropertiesMap() {
+        this.parseProperties();
         Map<Id, Object> props = new HashMap<>();
         for (Map.Entry<Id, HugeProperty<?>> entry :
              this.properties.entrySet()) {
@@ -136,11 +152,13 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     @SuppressWarnings("unchecked")
     public <V> HugeProperty<V> getProperty(Id key) {
+        this.parseProperty(key);
         return (HugeProperty<V>) this.properties.get(key);
     }
 
     @SuppressWarnings("unchecked")
     public <V> V getPropertyValue(Id key) {
+        this.parseProperty(key);
         HugeProperty<?> prop = this.properties.get(key);
         if (prop == null) {
             return null;
@@ -149,19 +167,28 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public boolean hasProperty(Id key) {
+        if (this.lazyProperties != null &&
+            this.lazyProperties.indexOf(key) >= 0) {
+            return true;
+        }
         return this.properties.containsKey(key);
     }
 
     public boolean hasProperties() {
-        return this.properties.size() > 0;
+        return this.sizeOfProperties() > 0;
     }
 
     public int sizeOfProperties() {
+        if (this.lazyProperties != null) {
+            // The parsed properties are also counted in lazy properties
+            return this.lazyProperties.size();
+        }
         return this.properties.size();
     }
 
     @Watched(prefix = "element")
     public <V> HugeProperty<?> setProperty(HugeProperty<V> prop) {
+        this.parseProperties();
         if (this.properties == EMPTY) {
             this.properties = new HashMap<>();
         }
@@ -173,6 +200,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public <V> HugeProperty<?> removeProperty(Id key) {
+        this.parseProperties();
         return this.properties.remove(key);
     }
 
@@ -242,14 +270,65 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     public void resetProperties() {
         this.properties = new HashMap<>();
+        this.lazyProperties = null;
         this.propLoaded = false;
     }
 
     public void copyProperties(HugeElement element) {
+        element.parseProperties();
         this.properties = new HashMap<>(element.properties);
+        this.lazyProperties = null;
         this.propLoaded = true;
     }
 
+    /**
+     * Deserialize all the lazy properties, it's needed before the element
+     * is shared by multiple threads (like cached) or the properties changed
+     */
+    @Watched(prefix = "element")
+    public void parseProperties() {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy == null) {
+            return;
+        }
+        this.lazyProperties = null;
+        for (int i = 0, size = lazy.size(); i < size; i++) {
+            Id key = lazy.key(i);
+            if (!this.properties.containsKey(key)) {
+                this.putProperty(key, lazy.value(i));
+            }
+        }
+    }
+
+    private void parseProperty(Id key) {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy == null || this.properties.containsKey(key)) {
+            return;
+        }
+        int i = lazy.indexOf(key);
+        if (i >= 0) {
+            this.putProperty(key, lazy.value(i));
+        }
+    }
+
+    private void putProperty(Id key, Object value) {
+        PropertyKey pkey = this.graph.propertyKey(key);
+        if (this.properties == EMPTY) {
+            this.properties = new HashMap<>();
+        }
+        this.properties.put(key, this.newProperty(pkey, value));
+    }
+
+    @Override
+    protected HugeElement clone() throws CloneNotSupportedException {
+        HugeElement element = (HugeElement) super.clone();
+        if (this.lazyProperties != null) {
+            // Don't share the lazy properties since they are indexed lazily
+            element.lazyProperties = this.lazyProperties.copy();
+        }
+        return element;
+    }
+
     public HugeElement copyAsFresh() {
         HugeElement elem = this.copy();
         elem.fresh = true;
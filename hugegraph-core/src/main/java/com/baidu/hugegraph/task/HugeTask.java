@@ -37,6 +37,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.slf4j.Logger;
 
+import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.type.define.SerialEnum;
@@ -64,6 +65,9 @@ public class HugeTask<V> extends FutureTask<V> {
     private volatile String input;
     private volatile String result;
 
+    // The order of submitting to the executor, used to sort the queued tasks
+    private volatile long sequence;
+
     public HugeTask(Id id, Id parent, String callable, String input) {
         this(id, parent, TaskCallable.fromClass(callable));
         this.input = input;
@@ -90,6 +94,7 @@ public class HugeTask<V> extends FutureTask<V> {
         this.retries = 0;
         this.input = null;
         this.result = null;
+        this.sequence = 0L;
     }
 
     public Id id() {
@@ -117,6 +122,10 @@ public class HugeTask<V> extends FutureTask<V> {
         return this.status;
     }
 
+    public int priority() {
+        return this.callable.priority();
+    }
+
     public void type(String type) {
         this.type = type;
     }
@@ -269,14 +278,16 @@ public class HugeTask<V> extends FutureTask<V> {
                 this.result = String.format(
                               "Cancelled due to dependent task '%s' cancelled",
                               dependency);
-                this.done();
+                // Complete the future to wake up the waiters, it calls done()
+                super.cancel(false);
                 return false;
             } else if (task.status() == TaskStatus.FAILED) {
                 this.status(TaskStatus.FAILED);
                 this.result = String.format(
                               "Failed due to dependent task '%s' failed",
                               dependency);
-                this.done();
+                // Complete the future to wake up the waiters, it calls done()
+                super.setException(new HugeException(this.result));
                 return false;
             }
         }
@@ -291,6 +302,14 @@ public class HugeTask<V> extends FutureTask<V> {
         this.status = status;
     }
 
+    protected void sequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    protected long sequence() {
+        return this.sequence;
+    }
+
     protected void property(String key, Object value) {
         E.checkNotNull(key, "property key");
         switch (key) {
@@ -27,6 +27,10 @@ import com.baidu.hugegraph.util.E;
 
 public abstract class TaskCallable<V> implements Callable<V> {
 
+    public static final int PRIORITY_LOW = 1;
+    public static final int PRIORITY_NORMAL = 5;
+    public static final int PRIORITY_HIGH = 10;
+
     private TaskScheduler scheduler = null;
     private HugeTask<V> task = null;
 
@@ -34,6 +38,15 @@ public abstract class TaskCallable<V> implements Callable<V> {
         // pass
     }
 
+    /**
+     * The queued tasks with higher priority will be executed first,
+     * subclasses may override this method
+     * @return the priority of the task
+     */
+    public int priority() {
+        return PRIORITY_NORMAL;
+    }
+
     protected void done() {
         // Do nothing, subclasses may override this method
     }
@@ -20,65 +20,141 @@
 package com.baidu.hugegraph.task;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.ExecutorUtil;
+import com.baidu.hugegraph.util.Log;
 
 public class TaskManager {
 
-    public static final String TASK_WORKER = "task-worker-%d";
-    public static final String TASK_DB_WORKER = "task-db-worker-%d";
+    private static final Logger LOG = Log.logger(TaskManager.class);
 
-    private static final int THREADS = 4;
-    private static final TaskManager MANAGER = new TaskManager(THREADS);
+    public static final String TASK_WORKER = "task-worker-%s-%%d";
+    public static final String TASK_DB_WORKER = "task-db-worker-%s-%%d";
 
-    private final Map<HugeGraph, TaskScheduler> schedulers;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final TaskManager MANAGER = new TaskManager();
 
-    private final ExecutorService taskExecutor;
-    private final ExecutorService dbExecutor;
+    /*
+     * The queued tasks are sorted by priority, and the tasks with the same
+     * priority are sorted in submitted order. The runnables submitted by
+     * manager itself like close-tx are not tasks, let them run first.
+     */
+    private static final Comparator<Runnable> TASK_ORDER = (r1, r2) -> {
+        if (!(r1 instanceof HugeTask) || !(r2 instanceof HugeTask)) {
+            return Boolean.compare(r1 instanceof HugeTask,
+                                   r2 instanceof HugeTask);
+        }
+        HugeTask<?> task1 = (HugeTask<?>) r1;
+        HugeTask<?> task2 = (HugeTask<?>) r2;
+        int cmp = Integer.compare(task2.priority(), task1.priority());
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Long.compare(task1.sequence(), task2.sequence());
+    };
+
+    private final Map<HugeGraph, TaskScheduler> schedulers;
+    // The executors of closed schedulers which may be still terminating
+    private final List<ExecutorService> closedExecutors;
 
     public static TaskManager instance() {
         return MANAGER;
     }
 
-    private TaskManager(int pool) {
-        this.schedulers = new HashMap<>();
-
-        // For execute tasks
-        this.taskExecutor = ExecutorUtil.newFixedThreadPool(pool, TASK_WORKER);
-        // For save/query task state, just one thread is ok
-        this.dbExecutor = ExecutorUtil.newFixedThreadPool(1, TASK_DB_WORKER);
+    private TaskManager() {
+        this.schedulers = new ConcurrentHashMap<>();
+        this.closedExecutors = new ArrayList<>();
     }
 
     public void addScheduler(HugeGraph graph) {
         E.checkArgumentNotNull(graph, "The graph can't be null");
-        ExecutorService task = this.taskExecutor;
-        ExecutorService db = this.dbExecutor;
+        int threads = graph.configuration()
+                           .get(CoreOptions.TASK_WORKER_THREADS);
+        /*
+         * Each graph owns the executors, so the long tasks of a graph
+         * won't block the tasks of other graphs.
+         * For execute tasks, the queued tasks are sorted by priority
+         */
+        /*
+         * For save/query task state, just one thread is ok, and the task tx
+         * can only be accessed by one thread
+         */
+        String name = String.format(TASK_DB_WORKER, graph.name());
+        ExecutorService db = ExecutorUtil.newFixedThreadPool(1, name);
+
+        name = String.format(TASK_WORKER, graph.name());
+        ThreadFactory factory = new BasicThreadFactory.Builder()
+                                                      .namingPattern(name)
+                                                      .build();
+        BlockingQueue<Runnable> queue = new PriorityBlockingQueue<>(
+                                        QUEUE_CAPACITY, TASK_ORDER);
+        ExecutorService task = new ThreadPoolExecutor(threads, threads,
+                                                      0L, TimeUnit.SECONDS,
+                                                      queue, factory) {
+            @Override
+            protected void terminated() {
+                // The running tasks may save task state until terminated
+                db.shutdown();
+            }
+        };
         this.schedulers.put(graph, new TaskScheduler(graph, task, db));
     }
 
     public void closeScheduler(HugeGraph graph) {
         TaskScheduler scheduler = this.schedulers.get(graph);
-        if (scheduler != null && scheduler.close()) {
+        if (scheduler == null) {
+            return;
+        }
+        /*
+         * The running tasks may still access the task tx and graph tx, wait
+         * for them done (or cancelled after timeout) before closing the txs
+         */
+        long timeout = graph.configuration()
+                            .get(CoreOptions.TASK_WAIT_TIMEOUT);
+        if (!scheduler.drainTasks(timeout)) {
+            LOG.warn("The task workers of graph '{}' are still running " +
+                     "after timeout, close the task tx anyway", graph.name());
+        }
+        if (scheduler.close()) {
             this.schedulers.remove(graph);
         }
-        if (!this.taskExecutor.isTerminated()) {
-            this.closeTaskTx(graph);
+        if (!scheduler.taskExecutor().isTerminated()) {
+            this.closeTaskTx(graph, scheduler.taskExecutor());
+        }
+        synchronized (this.closedExecutors) {
+            // Prune the executors terminated since closed, like graph dropped
+            this.closedExecutors.removeIf(ExecutorService::isTerminated);
+            /*
+             * The queued tasks will still be executed before terminated,
+             * and the db executor will be shutdown after terminated
+             */
+            scheduler.taskExecutor().shutdown();
+            this.closedExecutors.add(scheduler.taskExecutor());
+            this.closedExecutors.add(scheduler.dbExecutor());
         }
     }
 
-    private void closeTaskTx(HugeGraph graph) {
+    private void closeTaskTx(HugeGraph graph, ExecutorService executor) {
+        final int threads = ((ThreadPoolExecutor) executor).getCorePoolSize();
         final Map<Thread, Integer> threadsTimes = new ConcurrentHashMap<>();
         final List<Callable<Void>> tasks = new ArrayList<>();
 
@@ -92,23 +168,23 @@ public class TaskManager {
                 // Let other threads run
                 Thread.yield();
             } else {
-                assert times < THREADS;
-                assert threadsTimes.size() < THREADS;
-                E.checkState(tasks.size() == THREADS,
+                assert times < threads;
+                assert threadsTimes.size() < threads;
+                E.checkState(tasks.size() == threads,
                              "Bad tasks size: %s", tasks.size());
                 // Let another thread run and wait for it
-                this.taskExecutor.invokeAny(tasks.subList(0, 1));
+                executor.invokeAny(tasks.subList(0, 1));
             }
             threadsTimes.put(current, ++times);
             return null;
         };
 
         // NOTE: expect each thread to perform a close operation
-        for (int i = 0; i < THREADS; i++) {
+        for (int i = 0; i < threads; i++) {
             tasks.add(closeTx);
         }
         try {
-            this.taskExecutor.invokeAll(tasks);
+            executor.invokeAll(tasks);
         } catch (Exception e) {
             throw new HugeException("Exception when closing task tx", e);
         }
@@ -122,28 +198,28 @@ public class TaskManager {
         assert this.schedulers.isEmpty() : this.schedulers.size();
 
         Throwable ex = null;
-        boolean terminated = this.taskExecutor.isTerminated();
+        boolean terminated = true;
         final TimeUnit unit = TimeUnit.SECONDS;
 
-        if (!this.taskExecutor.isShutdown()) {
-            this.taskExecutor.shutdown();
-            try {
-                terminated = this.taskExecutor.awaitTermination(timeout, unit);
-            } catch (Throwable e) {
-                ex = e;
+        synchronized (this.closedExecutors) {
+            // NOTE: the task executor is followed by its db executor
+            for (ExecutorService executor : this.closedExecutors) {
+                try {
+                    terminated = executor.awaitTermination(timeout, unit);
+                } catch (Throwable e) {
+                    ex = e;
+                    terminated = false;
+                }
+                if (!terminated) {
+                    break;
+                }
             }
-        }
-
-        if (terminated && !this.dbExecutor.isShutdown()) {
-            this.dbExecutor.shutdown();
-            try {
-                terminated = this.dbExecutor.awaitTermination(timeout, unit);
-            } catch (Throwable e) {
-                ex = e;
+            if (terminated) {
+                this.closedExecutors.clear();
             }
         }
 
-        if (!terminated) {
+        if (!terminated && ex == null) {
             ex = new TimeoutException(timeout + "s");
         }
         if (ex != null) {
@@ -151,8 +227,14 @@ public class TaskManager {
         }
     }
 
-    public int workerPoolSize() {
-        return ((ThreadPoolExecutor) this.taskExecutor).getCorePoolSize();
+    public int totalWorkerPoolSize() {
+        // The sum of the worker pool sizes of all graphs
+        int size = 0;
+        for (TaskScheduler scheduler : this.schedulers.values()) {
+            ExecutorService executor = scheduler.taskExecutor();
+            size += ((ThreadPoolExecutor) executor).getCorePoolSize();
+        }
+        return size;
     }
 
     public int pendingTasks() {
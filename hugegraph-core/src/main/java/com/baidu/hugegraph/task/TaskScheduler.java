@@ -25,15 +25,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.tinkerpop.gremlin.structure.Graph.Hidden;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
@@ -58,17 +64,23 @@ import com.baidu.hugegraph.type.define.DataType;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Events;
+import com.baidu.hugegraph.util.Log;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 public class TaskScheduler {
 
+    private static final Logger LOG = Log.logger(TaskScheduler.class);
+
     private final HugeGraph graph;
     private final ExecutorService taskExecutor;
     private final ExecutorService dbExecutor;
 
     private final EventListener eventListener;
     private final Map<Id, HugeTask<?>> tasks;
+    // Notified once a task is removed from `tasks`
+    private final Object tasksRemoved;
+    private final AtomicLong sequence;
 
     private volatile TaskTransaction taskTx;
 
@@ -88,6 +100,8 @@ public class TaskScheduler {
         this.dbExecutor = dbExecutor;
 
         this.tasks = new ConcurrentHashMap<>();
+        this.tasksRemoved = new Object();
+        this.sequence = new AtomicLong(0L);
 
         this.taskTx = null;
 
@@ -102,6 +116,14 @@ public class TaskScheduler {
         return this.tasks.size();
     }
 
+    protected ExecutorService taskExecutor() {
+        return this.taskExecutor;
+    }
+
+    protected ExecutorService dbExecutor() {
+        return this.dbExecutor;
+    }
+
     private TaskTransaction tx() {
         // NOTE: only the owner thread can access task tx
         if (this.taskTx == null) {
@@ -171,7 +193,13 @@ public class TaskScheduler {
         this.tasks.put(task.id(), task);
         task.callable().scheduler(this);
         task.callable().task(task);
-        return this.taskExecutor.submit(task);
+        task.sequence(this.sequence.incrementAndGet());
+        /*
+         * Execute the task itself instead of a wrapper of it, so that the
+         * queued tasks can be sorted by priority, and the task is the future
+         */
+        this.taskExecutor.execute(task);
+        return task;
     }
 
     public <V> void cancel(HugeTask<V> task) {
@@ -185,6 +213,12 @@ public class TaskScheduler {
     protected void remove(Id id) {
         HugeTask<?> task = this.tasks.remove(id);
         assert task == null || task.completed();
+        if (task != null) {
+            // Wake up the threads waiting for all tasks completed
+            synchronized (this.tasksRemoved) {
+                this.tasksRemoved.notifyAll();
+            }
+        }
     }
 
     public <V> void save(HugeTask<V> task) {
@@ -305,19 +339,25 @@ public class TaskScheduler {
 
     public <V> HugeTask<V> waitUntilTaskCompleted(Id id, long seconds)
                                                   throws TimeoutException {
-        long passes = seconds * 1000 / QUERY_INTERVAL;
-        for (long pass = 0;; pass++) {
+        long deadline = System.currentTimeMillis() + seconds * 1000L;
+        while (true) {
+            @SuppressWarnings("unchecked")
+            HugeTask<V> running = (HugeTask<V>) this.tasks.get(id);
+            if (running != null) {
+                // Wait for the future of the task running in this scheduler
+                waitFuture(running, deadline);
+            }
             HugeTask<V> task = this.task(id);
             if (task.completed()) {
                 return task;
             }
-            if (pass >= passes) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0L) {
                 break;
             }
-            try {
-                Thread.sleep(QUERY_INTERVAL);
-            } catch (InterruptedException ignored) {
-                // Ignore InterruptedException
+            if (running == null || running.isDone()) {
+                // The task is not running in this scheduler, query it later
+                sleep(Math.min(remaining, QUERY_INTERVAL));
             }
         }
         throw new TimeoutException(String.format(
@@ -326,20 +366,27 @@ public class TaskScheduler {
 
     public void waitUntilAllTasksCompleted(long seconds)
                                            throws TimeoutException {
-        long passes = seconds * 1000 / QUERY_INTERVAL;
+        long deadline = System.currentTimeMillis() + seconds * 1000L;
         int taskSize = 0;
-        for (long pass = 0;; pass++) {
-            taskSize = this.pendingTasks();
-            if (taskSize == 0) {
-                return;
-            }
-            if (pass >= passes) {
-                break;
-            }
-            try {
-                Thread.sleep(QUERY_INTERVAL);
-            } catch (InterruptedException ignored) {
-                // Ignore InterruptedException
+        synchronized (this.tasksRemoved) {
+            while (true) {
+                // NOTE: check the size while holding the lock to avoid
+                // missing the notification of removing the last task
+                taskSize = this.pendingTasks();
+                if (taskSize == 0) {
+                    return;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0L) {
+                    break;
+                }
+                try {
+                    // Wait until a task is completed and removed from memory
+                    this.tasksRemoved.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
         }
         throw new TimeoutException(String.format(
@@ -347,6 +394,56 @@ public class TaskScheduler {
                   taskSize, seconds));
     }
 
+    /**
+     * Wait for the queued and running tasks completed before closing, the
+     * incomplete ones are cancelled after timeout, then wait for the workers
+     * to leave them (like saving the task state) until timeout again.
+     * Return false if some workers are still running.
+     */
+    protected boolean drainTasks(long seconds) {
+        try {
+            this.waitUntilAllTasksCompleted(seconds);
+        } catch (TimeoutException e) {
+            LOG.warn("Cancel the incomplete tasks of graph '{}': {}",
+                     this.graph.name(), e.getMessage());
+            for (HugeTask<?> task : this.tasks.values()) {
+                this.cancel(task);
+            }
+        }
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) this.taskExecutor;
+        long deadline = System.currentTimeMillis() + seconds * 1000L;
+        while (executor.getActiveCount() > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            sleep(QUERY_INTERVAL);
+        }
+        return true;
+    }
+
+    private static void waitFuture(Future<?> future, long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0L) {
+            return;
+        }
+        try {
+            future.get(remaining, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | TimeoutException ignored) {
+            // Let the caller check the deadline
+        } catch (ExecutionException | CancellationException ignored) {
+            // The task is completed even if failed or cancelled
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignored) {
+            // Ignore InterruptedException
+        }
+    }
+
     private <V> Iterator<HugeTask<V>> queryTask(String key, Object value,
                                                 long limit) {
         return this.queryTask(ImmutableMap.of(key, value), limit);
@@ -25,10 +25,16 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -41,19 +47,23 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.iterator.FilterIterator;
 import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.schema.SchemaLabel;
-import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.collection.IdSet;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 
 public class HugeTraverser {
 
@@ -75,6 +85,9 @@ public class HugeTraverser {
 
     public static final long NO_LIMIT = -1L;
 
+    // The max number of source vertices to query edges in one batch
+    private static final int EDGES_BATCH = 100;
+
     public HugeTraverser(HugeGraph graph) {
         this.graph = graph;
     }
@@ -86,6 +99,13 @@ public class HugeTraverser {
     public Set<Id> kout(Id sourceV, Directions dir, String label,
                         int depth, boolean nearest,
                         long degree, long capacity, long limit) {
+        return this.kout(sourceV, dir, label, depth, nearest,
+                         degree, capacity, limit, false);
+    }
+
+    public Set<Id> kout(Id sourceV, Directions dir, String label,
+                        int depth, boolean nearest, long degree,
+                        long capacity, long limit, boolean parallel) {
         E.checkNotNull(sourceV, "source vertex id");
         E.checkNotNull(dir, "direction");
         checkPositive(depth, "k-out max_depth");
@@ -102,10 +122,10 @@ public class HugeTraverser {
 
         Id labelId = this.getEdgeLabelId(label);
 
-        Set<Id> latest = newSet();
+        Set<Id> latest = newIdSet();
         latest.add(sourceV);
 
-        Set<Id> all = newSet();
+        Set<Id> all = newIdSet();
         all.add(sourceV);
 
         long remaining = capacity == NO_LIMIT ?
@@ -118,11 +138,11 @@ public class HugeTraverser {
             }
             if (nearest) {
                 latest = this.adjacentVertices(latest, dir, labelId, all,
-                                               degree, remaining);
+                                               degree, remaining, parallel);
                 all.addAll(latest);
             } else {
                 latest = this.adjacentVertices(latest, dir, labelId, null,
-                                               degree, remaining);
+                                               degree, remaining, parallel);
             }
             if (capacity != NO_LIMIT) {
                 // Update 'remaining' value to record remaining capacity
@@ -142,6 +162,13 @@ public class HugeTraverser {
     public Set<Id> kneighbor(Id sourceV, Directions dir,
                              String label, int depth,
                              long degree, long limit) {
+        return this.kneighbor(sourceV, dir, label, depth,
+                              degree, limit, false);
+    }
+
+    public Set<Id> kneighbor(Id sourceV, Directions dir,
+                             String label, int depth,
+                             long degree, long limit, boolean parallel) {
         E.checkNotNull(sourceV, "source vertex id");
         E.checkNotNull(dir, "direction");
         checkPositive(depth, "k-neighbor max_depth");
@@ -150,16 +177,16 @@ public class HugeTraverser {
 
         Id labelId = this.getEdgeLabelId(label);
 
-        Set<Id> latest = newSet();
+        Set<Id> latest = newIdSet();
         latest.add(sourceV);
 
-        Set<Id> all = newSet();
+        Set<Id> all = newIdSet();
         all.add(sourceV);
 
         while (depth-- > 0) {
             long remaining = limit == NO_LIMIT ? NO_LIMIT : limit - all.size();
             latest = this.adjacentVertices(latest, dir, labelId, all,
-                                           degree, remaining);
+                                           degree, remaining, parallel);
             all.addAll(latest);
             if (limit != NO_LIMIT && all.size() >= limit) {
                 break;
@@ -171,18 +198,23 @@ public class HugeTraverser {
 
     private Set<Id> adjacentVertices(Set<Id> vertices, Directions dir,
                                      Id label, Set<Id> excluded,
-                                     long degree, long limit) {
+                                     long degree, long limit,
+                                     boolean parallel) {
         if (limit == 0) {
             return ImmutableSet.of();
         }
+        if (parallel && vertices.size() > 1) {
+            return this.adjacentVerticesParallel(vertices, dir, label,
+                                                 excluded, degree, limit);
+        }
 
-        Set<Id> neighbors = newSet();
-        for (Id source : vertices) {
-            Iterator<Edge> edges = this.edgesOfVertex(source, dir,
-                                                      label, degree);
+        Set<Id> neighbors = newIdSet();
+        // Query the edges of a batch of vertices in one backend call
+        for (List<Id> sources : Iterables.partition(vertices, EDGES_BATCH)) {
+            Iterator<EdgeId> edges = this.edgeIdsOfVertices(sources, dir,
+                                                            label, degree);
             while (edges.hasNext()) {
-                HugeEdge e = (HugeEdge) edges.next();
-                Id target = e.id().otherVertexId();
+                Id target = edges.next().otherVertexId();
                 if (excluded != null && excluded.contains(target)) {
                     continue;
                 }
@@ -195,17 +227,148 @@ public class HugeTraverser {
         return neighbors;
     }
 
+    /**
+     * Expand the frontier vertices by the worker pool of graph, each worker
+     * queries the edges of a batch of vertices by one batch query with its
+     * own transaction (and backend session). The neighbors of the batches
+     * are merged in the order of batches, so the results are the same as
+     * the serial one even if the limit is reached.
+     */
+    private Set<Id> adjacentVerticesParallel(Set<Id> vertices, Directions dir,
+                                             Id label, Set<Id> excluded,
+                                             long degree, long limit) {
+        // NOTE: `excluded` is read-only during expanding
+        ExecutorService executor = this.graph.traverserExecutor();
+        int workers = ((ThreadPoolExecutor) executor).getCorePoolSize();
+        int batchSize = (vertices.size() + workers - 1) / workers;
+        batchSize = Math.min(batchSize, EDGES_BATCH);
+
+        // Let the running batches stop early instead of interrupting them
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        List<Future<Set<Id>>> futures = new ArrayList<>();
+        for (List<Id> sources : Iterables.partition(vertices, batchSize)) {
+            futures.add(executor.submit(() -> {
+                try {
+                    return this.adjacentVerticesOfBatch(sources, dir, label,
+                                                        excluded, degree,
+                                                        limit, stopped);
+                } finally {
+                    // Release the transaction of current worker thread
+                    this.graph.closeTx();
+                }
+            }));
+        }
+
+        Set<Id> neighbors = newIdSet();
+        try {
+            for (Future<Set<Id>> future : futures) {
+                for (Id neighbor : waitFuture(future)) {
+                    neighbors.add(neighbor);
+                    if (reachLimit(neighbors, limit)) {
+                        return neighbors;
+                    }
+                }
+            }
+        } finally {
+            // Stop the batches not needed any more if reach limit
+            stopped.set(true);
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return neighbors;
+    }
+
+    private Set<Id> adjacentVerticesOfBatch(List<Id> sources, Directions dir,
+                                            Id label, Set<Id> excluded,
+                                            long degree, long limit,
+                                            AtomicBoolean stopped) {
+        /*
+         * Keep the order of neighbors to merge them like the serial one,
+         * a batch contributes at most `limit` distinct neighbors.
+         */
+        Set<Id> neighbors = new LinkedHashSet<>();
+        Iterator<EdgeId> edges = this.edgeIdsOfVertices(sources, dir,
+                                                        label, degree);
+        while (!stopped.get() && edges.hasNext()) {
+            Id target = edges.next().otherVertexId();
+            if (excluded != null && excluded.contains(target)) {
+                continue;
+            }
+            neighbors.add(target);
+            if (reachLimit(neighbors, limit)) {
+                break;
+            }
+        }
+        return neighbors;
+    }
+
+    private static boolean reachLimit(Set<Id> neighbors, long limit) {
+        return limit != NO_LIMIT && neighbors.size() >= limit;
+    }
+
+    private static <T> T waitFuture(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted while expanding vertices", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HugeException("Failed to expand vertices", cause);
+        }
+    }
+
     protected Iterator<Id> adjacentVertices(Id source, Directions dir,
                                             Id label, long limit) {
-        Iterator<Edge> edges = this.edgesOfVertex(source, dir, label, limit);
-        return new MapperIterator<>(edges, e -> {
-            HugeEdge edge = (HugeEdge) e;
-            return edge.id().otherVertexId();
-        });
+        Iterator<EdgeId> edges = this.edgeIdsOfVertex(source, dir,
+                                                      label, limit);
+        return new MapperIterator<>(edges, EdgeId::otherVertexId);
     }
 
     protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
                                            Id label, long limit) {
+        return this.graph.edges(edgesQuery(source, dir, label, limit));
+    }
+
+    /**
+     * Query the edge ids of a vertex instead of the edges, which are decoded
+     * from the keys of edges without the properties and endpoints if the
+     * backend supports, use it if just the adjacent vertices are needed.
+     */
+    protected Iterator<EdgeId> edgeIdsOfVertex(Id source, Directions dir,
+                                               Id label, long limit) {
+        return this.graph.edgeIds(edgesQuery(source, dir, label, limit));
+    }
+
+    /**
+     * Query the edge ids of multiple vertices by one batch query, the backend
+     * store may execute it by multi-get. The degree is applied to each
+     * source vertex like edgeIdsOfVertex() does.
+     */
+    protected Iterator<EdgeId> edgeIdsOfVertices(Collection<Id> sources,
+                                                 Directions dir, Id label,
+                                                 long degree) {
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        for (Id source : sources) {
+            batch.add(edgesQuery(source, dir, label, degree));
+        }
+        Iterator<EdgeId> edges = this.graph.edgeIds(batch);
+        if (degree == NO_LIMIT) {
+            return edges;
+        }
+
+        // Both directions of a vertex are queried separately, limit them
+        Map<Id, Long> degrees = new HashMap<>(sources.size());
+        return new FilterIterator<>(edges, e -> {
+            return degrees.merge(e.ownerVertexId(), 1L, Long::sum) <= degree;
+        });
+    }
+
+    private static Query edgesQuery(Id source, Directions dir,
+                                    Id label, long limit) {
         Id[] labels = {};
         if (label != null) {
             labels = new Id[]{label};
@@ -215,7 +378,7 @@ public class HugeTraverser {
         if (limit != NO_LIMIT) {
             query.limit(limit);
         }
-        return this.graph.edges(query);
+        return query;
     }
 
     protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
@@ -298,6 +461,11 @@ public class HugeTraverser {
         return new HashSet<>();
     }
 
+    protected static Set<Id> newIdSet() {
+        // Keep number ids in primitive set to reduce memory of boxed ids
+        return new IdSet();
+    }
+
     protected static <K, V> Map<K, V> newMap() {
         return new HashMap<>();
     }
@@ -21,7 +21,6 @@ package com.baidu.hugegraph.traversal.algorithm;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +36,7 @@ import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.OrderLimitMap;
+import com.baidu.hugegraph.util.collection.IdDoubleMap;
 
 public class NeighborRankTraverser extends HugeTraverser {
 
@@ -68,7 +68,7 @@ public class NeighborRankTraverser extends HugeTraverser {
 
         for (Step step : steps) {
             Ranks lastLayerRanks = ranks.get(ranks.size() - 1);
-            Map<Id, Double> sameLayerIncrRanks = new HashMap<>();
+            IdDoubleMap sameLayerIncrRanks = new IdDoubleMap();
             List<Adjacencies> adjacencies = new ArrayList<>();
             MultivaluedMap<Id, Node> newVertices = newMultivalueMap();
             // Traversal vertices of previous level
@@ -79,7 +79,7 @@ public class NeighborRankTraverser extends HugeTraverser {
                                                      step.degree);
 
                 Adjacencies adjacenciesV = new Adjacencies(vertex);
-                Set<Id> sameLayerNodesV = new HashSet<>();
+                Set<Id> sameLayerNodesV = newIdSet();
                 Map<Integer, Set<Id>> prevLayerNodesV = new HashMap<>();
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
@@ -166,7 +166,8 @@ public class NeighborRankTraverser extends HugeTraverser {
         for (int i = ranks.size() - 2; i > 0; i--) {
             Ranks prevLayerRanks = ranks.get(i);
             if (prevLayerRanks.containsKey(target)) {
-                Set<Id> nodes = prevLayerNodes.computeIfAbsent(i, HashSet::new);
+                Set<Id> nodes = prevLayerNodes.computeIfAbsent(
+                                i, k -> newIdSet());
                 nodes.add(target);
                 return true;
             }
@@ -175,10 +176,9 @@ public class NeighborRankTraverser extends HugeTraverser {
     }
 
     private void mergeSameLayerIncrRanks(Set<Id> sameLayerNodesV, double incr,
-                                         Map<Id, Double> sameLayerIncrRanks) {
+                                         IdDoubleMap sameLayerIncrRanks) {
         for (Id node : sameLayerNodesV) {
-            double oldRank = sameLayerIncrRanks.getOrDefault(node, 0.0);
-            sameLayerIncrRanks.put(node, oldRank + incr);
+            sameLayerIncrRanks.add(node, incr);
         }
     }
 
@@ -28,11 +28,9 @@ import java.util.Set;
 
 import javax.ws.rs.core.MultivaluedMap;
 
-import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
-import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 import com.google.common.collect.ImmutableList;
@@ -118,15 +116,15 @@ public class PathsTraverser extends HugeTraverser {
         public List<Path> forward(Directions direction) {
             List<Path> paths = new ArrayList<>();
             MultivaluedMap<Id, Node> newVertices = newMultivalueMap();
-            Iterator<Edge> edges;
+            Iterator<Id> targets;
             // Traversal vertices of previous level
             for (Map.Entry<Id, List<Node>> entry : this.sources.entrySet()) {
                 Id vid = entry.getKey();
-                edges = edgesOfVertex(vid, direction, this.label, this.degree);
+                targets = adjacentVertices(vid, direction, this.label,
+                                           this.degree);
 
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                while (targets.hasNext()) {
+                    Id target = targets.next();
 
                     for (Node n : entry.getValue()) {
                         // If have loop, skip target
@@ -167,15 +165,15 @@ public class PathsTraverser extends HugeTraverser {
         public List<Path> backward(Directions direction) {
             List<Path> paths = new ArrayList<>();
             MultivaluedMap<Id, Node> newVertices = newMultivalueMap();
-            Iterator<Edge> edges;
+            Iterator<Id> targets;
             // Traversal vertices of previous level
             for (Map.Entry<Id, List<Node>> entry : this.targets.entrySet()) {
                 Id vid = entry.getKey();
-                edges = edgesOfVertex(vid, direction, this.label, this.degree);
+                targets = adjacentVertices(vid, direction, this.label,
+                                           this.degree);
 
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                while (targets.hasNext()) {
+                    Id target = targets.next();
 
                     for (Node n : entry.getValue()) {
                         // If have loop, skip target
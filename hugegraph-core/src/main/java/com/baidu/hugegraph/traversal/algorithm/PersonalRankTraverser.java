@@ -19,8 +19,6 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +34,7 @@ import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.collection.IdDoubleMap;
 
 public class PersonalRankTraverser extends HugeTraverser {
 
@@ -56,24 +55,24 @@ public class PersonalRankTraverser extends HugeTraverser {
         E.checkArgumentNotNull(source, "The source vertex id can't be null");
         E.checkArgumentNotNull(label, "The edge label can't be null");
 
-        Map<Id, Double> ranks = new HashMap<>();
+        IdDoubleMap ranks = new IdDoubleMap();
         ranks.put(source, 1.0);
 
         Id labelId = this.graph().edgeLabel(label).id();
         Directions dir = this.getStartDirection(source, label);
 
-        Set<Id> outSeeds = new HashSet<>();
-        Set<Id> inSeeds = new HashSet<>();
+        Set<Id> outSeeds = newIdSet();
+        Set<Id> inSeeds = newIdSet();
         if (dir == Directions.OUT) {
             outSeeds.add(source);
         } else {
             inSeeds.add(source);
         }
 
-        Set<Id> rootAdjacencies = new HashSet<>();
+        Set<Id> rootAdjacencies = newIdSet();
         for (long i = 0; i < this.maxDepth; i++) {
-            Map<Id, Double> newRanks = this.calcNewRanks(outSeeds, inSeeds,
-                                                         labelId, ranks);
+            IdDoubleMap newRanks = this.calcNewRanks(outSeeds, inSeeds,
+                                                     labelId, ranks);
             ranks = this.compensateRoot(source, newRanks);
             if (i == 0) {
                 rootAdjacencies.addAll(ranks.keySet());
@@ -90,15 +89,16 @@ public class PersonalRankTraverser extends HugeTraverser {
         return ranks;
     }
 
-    private Map<Id, Double> calcNewRanks(Set<Id> outSeeds, Set<Id> inSeeds,
-                                         Id label, Map<Id, Double> ranks) {
-        Map<Id, Double> newRanks = new HashMap<>();
+    private IdDoubleMap calcNewRanks(Set<Id> outSeeds, Set<Id> inSeeds,
+                                     Id label, IdDoubleMap ranks) {
+        IdDoubleMap newRanks = new IdDoubleMap();
         BiFunction<Set<Id>, Directions, Set<Id>> neighborIncrRanks;
         neighborIncrRanks = (seeds, dir) -> {
-            Set<Id> tmpSeeds = new HashSet<>();
+            Set<Id> tmpSeeds = newIdSet();
             for (Id seed : seeds) {
-                Double oldRank = ranks.get(seed);
-                E.checkState(oldRank != null, "Expect rank of seed exists");
+                E.checkState(ranks.containsKey(seed),
+                             "Expect rank of seed exists");
+                double oldRank = ranks.get(seed, 0.0);
 
                 Iterator<Id> iter = this.adjacentVertices(seed, dir, label,
                                                           this.degree);
@@ -115,8 +115,7 @@ public class PersonalRankTraverser extends HugeTraverser {
                 for (Id neighbor : neighbors) {
                     tmpSeeds.add(neighbor);
                     // Assign an initial value when firstly update neighbor rank
-                    double rank = newRanks.getOrDefault(neighbor, 0.0);
-                    newRanks.put(neighbor, rank + incrRank);
+                    newRanks.add(neighbor, incrRank);
                 }
             }
             return tmpSeeds;
@@ -130,10 +129,8 @@ public class PersonalRankTraverser extends HugeTraverser {
         return newRanks;
     }
 
-    private Map<Id, Double> compensateRoot(Id root, Map<Id, Double> newRanks) {
-        double rank = newRanks.getOrDefault(root, 0.0);
-        rank += (1 - this.alpha);
-        newRanks.put(root, rank);
+    private IdDoubleMap compensateRoot(Id root, IdDoubleMap newRanks) {
+        newRanks.add(root, 1 - this.alpha);
         return newRanks;
     }
 
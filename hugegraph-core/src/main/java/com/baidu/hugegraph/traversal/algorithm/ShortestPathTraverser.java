@@ -25,13 +25,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.QueryResults;
-import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 import com.google.common.collect.ImmutableList;
@@ -129,12 +128,11 @@ public class ShortestPathTraverser extends HugeTraverser {
             long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
             // Traversal vertices of previous level
             for (Node v : this.sources.values()) {
-                Iterator<Edge> edges = edgesOfVertex(v.id(), this.direction,
-                                                     this.label, degree);
-                edges = this.skipSuperNodeIfNeeded(edges);
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                Iterator<Id> targets = adjacentVertices(v.id(), this.direction,
+                                                        this.label, degree);
+                targets = this.skipSuperNodeIfNeeded(targets);
+                while (targets.hasNext()) {
+                    Id target = targets.next();
 
                     // If cross point exists, shortest path found, concat them
                     if (this.targets.containsKey(target)) {
@@ -174,12 +172,11 @@ public class ShortestPathTraverser extends HugeTraverser {
             Directions opposite = this.direction.opposite();
             // Traversal vertices of previous level
             for (Node v : this.targets.values()) {
-                Iterator<Edge> edges = edgesOfVertex(v.id(), opposite,
-                                                     this.label, degree);
-                edges = this.skipSuperNodeIfNeeded(edges);
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                Iterator<Id> targets = adjacentVertices(v.id(), opposite,
+                                                        this.label, degree);
+                targets = this.skipSuperNodeIfNeeded(targets);
+                while (targets.hasNext()) {
+                    Id target = targets.next();
 
                     // If cross point exists, shortest path found, concat them
                     if (this.sources.containsKey(target)) {
@@ -210,28 +207,29 @@ public class ShortestPathTraverser extends HugeTraverser {
             return PATH_NONE;
         }
 
-        private Iterator<Edge> skipSuperNodeIfNeeded(Iterator<Edge> edges) {
+        private Iterator<Id> skipSuperNodeIfNeeded(Iterator<Id> vertices) {
             if (this.skipDegree <= 0L) {
-                return edges;
+                return vertices;
             }
-            List<Edge> edgeList = new ArrayList<>();
-            for (int i = 1; edges.hasNext(); i++) {
+            List<Id> vertexList = new ArrayList<>();
+            for (int i = 1; vertices.hasNext(); i++) {
                 if (i <= this.degree) {
-                    edgeList.add(edges.next());
+                    vertexList.add(vertices.next());
                 }
                 if (i >= this.skipDegree) {
                     return QueryResults.emptyIterator();
                 }
             }
-            return edgeList.iterator();
+            return vertexList.iterator();
         }
 
         private boolean superNode(Id vertex, Directions direction) {
             if (this.skipDegree <= 0L) {
                 return false;
             }
-            Iterator<Edge> edges = edgesOfVertex(vertex, direction,
-                                                 this.label, this.skipDegree);
+            Iterator<EdgeId> edges = edgeIdsOfVertex(vertex, direction,
+                                                     this.label,
+                                                     this.skipDegree);
             return IteratorUtils.count(edges) >= this.skipDegree;
         }
     }
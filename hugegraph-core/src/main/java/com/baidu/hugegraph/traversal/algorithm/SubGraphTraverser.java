@@ -20,7 +20,6 @@
 package com.baidu.hugegraph.traversal.algorithm;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -28,12 +27,10 @@ import java.util.Set;
 
 import javax.ws.rs.core.MultivaluedMap;
 
-import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
-import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 
@@ -82,10 +79,10 @@ public class SubGraphTraverser extends HugeTraverser {
         return paths;
     }
 
-    private static boolean hasMultiEdges(List<Edge> edges, Id target) {
+    private static boolean hasMultiEdges(List<Id> adjacencies, Id target) {
         int count = 0;
-        for (Edge edge : edges) {
-            if (((HugeEdge) edge).id().otherVertexId().equals(target)) {
+        for (Id adjacency : adjacencies) {
+            if (adjacency.equals(target)) {
                 if (++count > 1) {
                     return true;
                 }
@@ -99,7 +96,7 @@ public class SubGraphTraverser extends HugeTraverser {
 
         private final Id source;
         private MultivaluedMap<Id, Node> sources = newMultivalueMap();
-        private Set<Id> accessedVertices = newSet();
+        private Set<Id> accessedVertices = newIdSet();
 
         private final Id label;
         private int depth;
@@ -132,16 +129,17 @@ public class SubGraphTraverser extends HugeTraverser {
         public List<Path> forward(Directions direction) {
             List<Path> paths = new ArrayList<>();
             MultivaluedMap<Id, Node> newVertices = newMultivalueMap();
-            Iterator<Edge> edges;
+            Iterator<Id> targets;
             // Traversal vertices of previous level
             for (Map.Entry<Id, List<Node>> entry : this.sources.entrySet()) {
                 Id vid = entry.getKey();
-                // Record edgeList to determine if multiple edges exist
-                List<Edge> edgeList = IteratorUtils.list(edgesOfVertex(
-                                      vid, direction, this.label, this.degree));
-                edges = edgeList.iterator();
+                // Record adjacencies to determine if multiple edges exist
+                List<Id> adjacencies = IteratorUtils.list(adjacentVertices(
+                                       vid, direction, this.label,
+                                       this.degree));
+                targets = adjacencies.iterator();
 
-                if (!edges.hasNext()) {
+                if (!targets.hasNext()) {
                     // Reach the end, rays found
                     if (this.rings) {
                         continue;
@@ -157,11 +155,10 @@ public class SubGraphTraverser extends HugeTraverser {
                 }
 
                 int neighborCount = 0;
-                Set<Id> currentNeighbors = new HashSet<>();
-                while (edges.hasNext()) {
+                Set<Id> currentNeighbors = newIdSet();
+                while (targets.hasNext()) {
                     neighborCount++;
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                    Id target = targets.next();
                     // Avoid deduplicate path
                     if (currentNeighbors.contains(target)) {
                         continue;
@@ -179,7 +176,7 @@ public class SubGraphTraverser extends HugeTraverser {
                         // Rays found if it's fake ring like:
                         // path is pattern: A->B<-A && A is only neighbor of B
                         boolean uniqueEdge = neighborCount == 1 &&
-                                             !edges.hasNext();
+                                             !targets.hasNext();
                         boolean bothBack = target.equals(node.parent().id()) &&
                                            direction == Directions.BOTH;
                         if (!this.rings && bothBack && uniqueEdge) {
@@ -200,7 +197,7 @@ public class SubGraphTraverser extends HugeTraverser {
                                     ringsFound = true;
                                 } else if (direction != Directions.BOTH) {
                                     ringsFound = true;
-                                } else if (hasMultiEdges(edgeList, target)) {
+                                } else if (hasMultiEdges(adjacencies, target)) {
                                     ringsFound = true;
                                 }
                             }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.optimize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy.ProviderOptimizationStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+public final class HugeCountStepStrategy
+             extends AbstractTraversalStrategy<ProviderOptimizationStrategy>
+             implements ProviderOptimizationStrategy {
+
+    private static final long serialVersionUID = -3910433925919057771L;
+
+    private static final HugeCountStepStrategy INSTANCE;
+
+    static {
+        INSTANCE = new HugeCountStepStrategy();
+    }
+
+    private HugeCountStepStrategy() {
+        // pass
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        TraversalUtil.convAllHasSteps(traversal);
+
+        // Extract the first CountGlobalStep
+        List<CountGlobalStep> steps = TraversalHelper.getStepsOfClass(
+                                      CountGlobalStep.class, traversal);
+        if (steps.isEmpty()) {
+            return;
+        }
+        CountGlobalStep<?> countStep = steps.get(0);
+
+        // Find the start HugeGraphStep before count()
+        List<Step<?, ?>> originSteps = new ArrayList<>();
+        originSteps.add(countStep);
+        HugeGraphStep<?, ? extends Element> graphStep = null;
+        Step<?, ?> step = countStep.getPreviousStep();
+        while (step != null && !(step instanceof EmptyStep)) {
+            if (step instanceof HugeGraphStep) {
+                graphStep = (HugeGraphStep<?, ? extends Element>) step;
+                break;
+            }
+            if (!(step instanceof IdentityStep ||
+                  step instanceof NoOpBarrierStep) ||
+                !step.getLabels().isEmpty()) {
+                return;
+            }
+            originSteps.add(step);
+            step = step.getPreviousStep();
+        }
+        if (graphStep == null || !graphStep.isStartStep() ||
+            !(graphStep.getPreviousStep() instanceof EmptyStep)) {
+            return;
+        }
+        originSteps.add(graphStep);
+
+        // Replace g.V()...count() with HugeCountStep
+        HugeCountStep<?> newStep = new HugeCountStep<>(traversal, graphStep);
+        countStep.getLabels().forEach(newStep::addLabel);
+        for (Step<?, ?> origin : originSteps) {
+            traversal.removeStep(origin);
+        }
+        traversal.addStep(0, newStep);
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return Collections.singleton(HugeGraphStepStrategy.class);
+    }
+
+    public static HugeCountStepStrategy instance() {
+        return INSTANCE;
+    }
+}
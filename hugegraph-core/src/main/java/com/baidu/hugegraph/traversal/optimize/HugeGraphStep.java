@@ -29,9 +29,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.query.Aggregate.AggregateFunc;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.QueryResults;
@@ -83,17 +85,7 @@ public final class HugeGraphStep<S, E extends Element>
                                               graph.vertices(this.ids));
         }
 
-        Query query = null;
-        if (this.hasContainers.isEmpty()) {
-            // Query all
-            query = new Query(HugeType.VERTEX);
-        } else {
-            ConditionQuery q = new ConditionQuery(HugeType.VERTEX);
-            query = TraversalUtil.fillConditionQuery(this.hasContainers,
-                                                     q, graph);
-        }
-
-        query = this.injectQueryInfo(query);
+        Query query = this.makeQuery(graph, HugeType.VERTEX);
 
         @SuppressWarnings("unchecked")
         Iterator<E> result = (Iterator<E>) graph.vertices(query);
@@ -110,22 +102,46 @@ public final class HugeGraphStep<S, E extends Element>
                                               graph.edges(this.ids));
         }
 
-        Query query = null;
+        Query query = this.makeQuery(graph, HugeType.EDGE);
+
+        @SuppressWarnings("unchecked")
+        Iterator<E> result = (Iterator<E>) graph.edges(query);
+        return result;
+    }
+
+    public long count() {
+        // g.V().hasId(EMPTY_LIST) will set ids to null
+        if (this.ids == null) {
+            return 0L;
+        }
+        boolean queryVertex = this.returnsVertex();
+        if (this.ids.length > 0) {
+            return IteratorUtils.count(queryVertex ?
+                                       this.vertices() : this.edges());
+        }
+
+        HugeGraph graph = (HugeGraph) this.getTraversal().getGraph().get();
+        HugeType type = queryVertex ? HugeType.VERTEX : HugeType.EDGE;
+        Query query = this.makeQuery(graph, type);
+        query.aggregate(AggregateFunc.COUNT, null);
 
+        LOG.debug("HugeGraphStep.count(): {}", this);
+        return graph.queryNumber(query).longValue();
+    }
+
+    private Query makeQuery(HugeGraph graph, HugeType type) {
+        Query query = null;
         if (this.hasContainers.isEmpty()) {
-            /* Query all */
-            query = new Query(HugeType.EDGE);
+            // Query all
+            query = new Query(type);
         } else {
-            ConditionQuery q = new ConditionQuery(HugeType.EDGE);
+            ConditionQuery q = new ConditionQuery(type);
             query = TraversalUtil.fillConditionQuery(this.hasContainers,
                                                      q, graph);
         }
 
         query = this.injectQueryInfo(query);
-
-        @SuppressWarnings("unchecked")
-        Iterator<E> result = (Iterator<E>) graph.edges(query);
-        return result;
+        return query;
     }
 
     @Override
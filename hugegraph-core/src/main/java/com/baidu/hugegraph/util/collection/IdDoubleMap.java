@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+
+/**
+ * A map from vertex id to double value like rank, the entries of number ids
+ * are kept in a primitive map and others are kept in a HashMap.
+ * NOTE: it's not thread-safe, and the iterator of entries doesn't support
+ * remove(), please use remove(key) instead.
+ */
+public class IdDoubleMap extends AbstractMap<Id, Double> {
+
+    private final LongDoubleHashMap numberIds;
+    private final Map<Id, Double> otherIds;
+
+    public IdDoubleMap() {
+        this.numberIds = new LongDoubleHashMap();
+        this.otherIds = new HashMap<>();
+    }
+
+    public double get(Id id, double defaultValue) {
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.get(id.asLong(), defaultValue);
+        }
+        return this.otherIds.getOrDefault(id, defaultValue);
+    }
+
+    public void put(Id id, double value) {
+        if (id.type() == Id.IdType.LONG) {
+            this.numberIds.put(id.asLong(), value);
+        } else {
+            this.otherIds.put(id, value);
+        }
+    }
+
+    /**
+     * Add the increment to the value of the id, the value is regarded as
+     * 0 if the id doesn't exist
+     * @return the new value of the id
+     */
+    public double add(Id id, double increment) {
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.add(id.asLong(), increment);
+        }
+        return this.otherIds.merge(id, increment, Double::sum);
+    }
+
+    @Override
+    public int size() {
+        return this.numberIds.size() + this.otherIds.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.numberIds.isEmpty() && this.otherIds.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) key;
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.containsKey(id.asLong());
+        }
+        return this.otherIds.containsKey(id);
+    }
+
+    @Override
+    public Double get(Object key) {
+        if (!(key instanceof Id)) {
+            return null;
+        }
+        Id id = (Id) key;
+        if (id.type() == Id.IdType.LONG) {
+            long number = id.asLong();
+            if (!this.numberIds.containsKey(number)) {
+                return null;
+            }
+            return this.numberIds.get(number, 0.0);
+        }
+        return this.otherIds.get(id);
+    }
+
+    @Override
+    public Double put(Id id, Double value) {
+        Double old = this.get(id);
+        this.put(id, value.doubleValue());
+        return old;
+    }
+
+    @Override
+    public Double remove(Object key) {
+        Double old = this.get(key);
+        if (old != null) {
+            Id id = (Id) key;
+            if (id.type() == Id.IdType.LONG) {
+                this.numberIds.remove(id.asLong());
+            } else {
+                this.otherIds.remove(id);
+            }
+        }
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        this.numberIds.clear();
+        this.otherIds.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<Id, Double>> entrySet() {
+        return new AbstractSet<Map.Entry<Id, Double>>() {
+
+            @Override
+            public int size() {
+                return IdDoubleMap.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<Id, Double>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Id, Double>> {
+
+        private final PrimitiveIterator.OfLong numbers;
+        private final Iterator<Map.Entry<Id, Double>> others;
+
+        public EntryIterator() {
+            this.numbers = IdDoubleMap.this.numberIds.keys();
+            this.others = IdDoubleMap.this.otherIds.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.numbers.hasNext() || this.others.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Id, Double> next() {
+            if (this.numbers.hasNext()) {
+                long number = this.numbers.nextLong();
+                double value = IdDoubleMap.this.numberIds.get(number, 0.0);
+                return new SimpleImmutableEntry<>(IdGenerator.of(number),
+                                                  value);
+            }
+            if (this.others.hasNext()) {
+                return this.others.next();
+            }
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+
+/**
+ * A set of vertex ids, the number ids are kept in a primitive long set and
+ * other ids are kept in a HashSet, so it's compact for the graph whose
+ * vertices are all with number ids, and still works with mixed ids.
+ * NOTE: it's not thread-safe, and the iterator doesn't support remove().
+ */
+public class IdSet extends AbstractSet<Id> {
+
+    private final LongHashSet numberIds;
+    private final Set<Id> otherIds;
+
+    public IdSet() {
+        this.numberIds = new LongHashSet();
+        this.otherIds = new HashSet<>();
+    }
+
+    @Override
+    public int size() {
+        return this.numberIds.size() + this.otherIds.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.numberIds.isEmpty() && this.otherIds.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) object;
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.contains(id.asLong());
+        }
+        return this.otherIds.contains(id);
+    }
+
+    @Override
+    public boolean add(Id id) {
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.add(id.asLong());
+        }
+        return this.otherIds.add(id);
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) object;
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.remove(id.asLong());
+        }
+        return this.otherIds.remove(id);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> objects) {
+        boolean changed = false;
+        for (Object object : objects) {
+            changed |= this.remove(object);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        this.numberIds.clear();
+        this.otherIds.clear();
+    }
+
+    @Override
+    public Iterator<Id> iterator() {
+        return new Iterator<Id>() {
+
+            private final PrimitiveIterator.OfLong numbers =
+                          IdSet.this.numberIds.iterator();
+            private final Iterator<Id> others = IdSet.this.otherIds.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return this.numbers.hasNext() || this.others.hasNext();
+            }
+
+            @Override
+            public Id next() {
+                if (this.numbers.hasNext()) {
+                    return IdGenerator.of(this.numbers.nextLong());
+                }
+                if (this.others.hasNext()) {
+                    return this.others.next();
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+}
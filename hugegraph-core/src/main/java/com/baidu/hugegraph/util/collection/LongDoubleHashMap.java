@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A map from primitive long to primitive double without boxing, which is
+ * used to keep the ranks or weights of a large number of vertices.
+ * NOTE: it's not thread-safe.
+ */
+public class LongDoubleHashMap extends LongHashTable {
+
+    private double[] values;
+    private double zeroValue;
+
+    public LongDoubleHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongDoubleHashMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return this.containsZero;
+        }
+        return this.slot(key) >= 0;
+    }
+
+    public double get(long key, double defaultValue) {
+        if (key == EMPTY) {
+            return this.containsZero ? this.zeroValue : defaultValue;
+        }
+        int slot = this.slot(key);
+        return slot >= 0 ? this.values[slot] : defaultValue;
+    }
+
+    /**
+     * Put the value of the key
+     * @return true if the key is newly added, false if it's updated
+     */
+    public boolean put(long key, double value) {
+        if (key == EMPTY) {
+            boolean added = !this.containsZero;
+            this.containsZero = true;
+            this.zeroValue = value;
+            return added;
+        }
+        int slot = this.slot(key);
+        if (slot >= 0) {
+            this.values[slot] = value;
+            return false;
+        }
+        slot = -slot - 1;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.assigned();
+        return true;
+    }
+
+    /**
+     * Add the increment to the value of the key, the value is regarded as
+     * 0 if the key doesn't exist
+     * @return the new value of the key
+     */
+    public double add(long key, double increment) {
+        if (key == EMPTY) {
+            this.zeroValue = this.containsZero ?
+                             this.zeroValue + increment : increment;
+            this.containsZero = true;
+            return this.zeroValue;
+        }
+        int slot = this.slot(key);
+        if (slot >= 0) {
+            return this.values[slot] += increment;
+        }
+        slot = -slot - 1;
+        this.keys[slot] = key;
+        this.values[slot] = increment;
+        this.assigned();
+        return increment;
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean removed = this.containsZero;
+            this.containsZero = false;
+            this.zeroValue = 0.0;
+            return removed;
+        }
+        int slot = this.slot(key);
+        if (slot < 0) {
+            return false;
+        }
+        this.removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Iterate the keys, the map can't be modified during iterating except
+     * updating values of existing keys
+     */
+    public PrimitiveIterator.OfLong keys() {
+        return new PrimitiveIterator.OfLong() {
+
+            private boolean zero = LongDoubleHashMap.this.containsZero;
+            private int next = LongDoubleHashMap.this.nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.zero || this.next >= 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (this.zero) {
+                    this.zero = false;
+                    return EMPTY;
+                }
+                if (this.next < 0) {
+                    throw new NoSuchElementException();
+                }
+                long key = LongDoubleHashMap.this.keys[this.next];
+                this.next = LongDoubleHashMap.this.nextSlot(this.next + 1);
+                return key;
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.zeroValue = 0.0;
+    }
+
+    @Override
+    protected void allocateValues(int capacity) {
+        this.values = new double[capacity];
+    }
+
+    @Override
+    protected Object values() {
+        return this.values;
+    }
+
+    @Override
+    protected void copyValue(Object oldValues, int from, int to) {
+        this.values[to] = ((double[]) oldValues)[from];
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        this.values[to] = this.values[from];
+    }
+}
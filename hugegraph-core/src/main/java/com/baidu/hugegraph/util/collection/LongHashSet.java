@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A set of primitive long without boxing, it costs about 10~20 bytes per
+ * element instead of about 50 bytes of HashSet<Long>.
+ * NOTE: it's not thread-safe.
+ */
+public class LongHashSet extends LongHashTable {
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            boolean added = !this.containsZero;
+            this.containsZero = true;
+            return added;
+        }
+        int slot = this.slot(key);
+        if (slot >= 0) {
+            return false;
+        }
+        this.keys[-slot - 1] = key;
+        this.assigned();
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return this.containsZero;
+        }
+        return this.slot(key) >= 0;
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean removed = this.containsZero;
+            this.containsZero = false;
+            return removed;
+        }
+        int slot = this.slot(key);
+        if (slot < 0) {
+            return false;
+        }
+        this.removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Iterate the elements, the set can't be modified during iterating
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private boolean zero = LongHashSet.this.containsZero;
+            private int next = LongHashSet.this.nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.zero || this.next >= 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (this.zero) {
+                    this.zero = false;
+                    return EMPTY;
+                }
+                if (this.next < 0) {
+                    throw new NoSuchElementException();
+                }
+                long key = LongHashSet.this.keys[this.next];
+                this.next = LongHashSet.this.nextSlot(this.next + 1);
+                return key;
+            }
+        };
+    }
+
+    @Override
+    protected void allocateValues(int capacity) {
+        // Only keys
+    }
+
+    @Override
+    protected Object values() {
+        return null;
+    }
+
+    @Override
+    protected void copyValue(Object oldValues, int from, int to) {
+        // Only keys
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        // Only keys
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.Arrays;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * The base of open-addressing hash tables keyed by primitive long, which
+ * resolves collisions by linear probing and removes keys by backward-shift
+ * deletion (no tombstones). The key 0 is used as the empty slot marker, so
+ * it's stored out of the table by a flag.
+ * NOTE: it's not thread-safe.
+ */
+abstract class LongHashTable {
+
+    protected static final int DEFAULT_CAPACITY = 16;
+    protected static final long EMPTY = 0L;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final double LOAD_FACTOR = 0.75;
+
+    protected long[] keys;
+    protected boolean containsZero;
+    protected int assigned;
+    protected int mask;
+    private int resizeAt;
+
+    protected LongHashTable(int expectedSize) {
+        E.checkArgument(expectedSize >= 0,
+                        "The expected size must be >= 0, but got %s",
+                        expectedSize);
+        this.allocate(capacityOf(expectedSize));
+    }
+
+    public int size() {
+        return this.assigned + (this.containsZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, EMPTY);
+        this.assigned = 0;
+        this.containsZero = false;
+    }
+
+    /**
+     * Find the slot of a non-zero key
+     * @return the slot index if the key exists, otherwise (-insertion - 1)
+     */
+    protected final int slot(long key) {
+        assert key != EMPTY;
+        int mask = this.mask;
+        long[] keys = this.keys;
+        int i = mix(key) & mask;
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    /**
+     * Should be called after a key (and its value) is put into an empty
+     * slot, to expand the table if needed
+     */
+    protected final void assigned() {
+        if (++this.assigned >= this.resizeAt) {
+            this.resize(this.keys.length << 1);
+        }
+    }
+
+    /**
+     * Remove the key of specified slot and shift the following keys of
+     * the same probe chain backward to fill the gap
+     */
+    protected final void removeSlot(int slot) {
+        int mask = this.mask;
+        long[] keys = this.keys;
+        int gap = slot;
+        int i = (gap + 1) & mask;
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            int ideal = mix(k) & mask;
+            // Move the key if the gap is in the range [ideal, i)
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                this.moveValue(i, gap);
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        this.assigned--;
+    }
+
+    /**
+     * Find the next non-empty slot starting from the specified slot
+     * @return the slot index, or -1 if reach the end of the table
+     */
+    protected final int nextSlot(int from) {
+        long[] keys = this.keys;
+        for (int i = from; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected abstract void allocateValues(int capacity);
+
+    protected abstract Object values();
+
+    protected abstract void copyValue(Object oldValues, int from, int to);
+
+    protected abstract void moveValue(int from, int to);
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Math.min(capacity - 1,
+                                 (int) Math.ceil(capacity * LOAD_FACTOR));
+        this.allocateValues(capacity);
+    }
+
+    private void resize(int capacity) {
+        E.checkState(capacity <= MAX_CAPACITY && capacity > 0,
+                     "The hash table can't hold more than %s keys",
+                     this.assigned);
+        long[] oldKeys = this.keys;
+        Object oldValues = this.values();
+        this.allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = -this.slot(key) - 1;
+                this.keys[slot] = key;
+                this.copyValue(oldValues, i, slot);
+            }
+        }
+    }
+
+    private static int capacityOf(int expectedSize) {
+        long capacity = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1L;
+        capacity = Math.max(DEFAULT_CAPACITY, capacity);
+        E.checkArgument(capacity <= MAX_CAPACITY,
+                        "The expected size is too large: %s", expectedSize);
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    private static int mix(long key) {
+        // Fibonacci hashing, spread the consecutive ids to distant slots
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -60,6 +60,11 @@ public class HbaseFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsAggregateQuery() {
+        return true;
+    }
+
     @Override
     public boolean supportsQueryWithOrderBy() {
         return true;
@@ -72,4 +72,41 @@ public class HbaseOptions extends OptionHolder {
                     rangeInt(1, 1000),
                     64
             );
+
+    public static final ConfigOption<Integer> HBASE_SCAN_CACHING =
+            new ConfigOption<>(
+                    "hbase.scan_caching",
+                    "The number of rows fetched per rpc when scanning " +
+                    "vertex or edge tables, 0 means the HBase default.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
+    public static final ConfigOption<Integer> HBASE_INDEX_SCAN_CACHING =
+            new ConfigOption<>(
+                    "hbase.index_scan_caching",
+                    "The number of rows fetched per rpc when scanning " +
+                    "index tables, 0 means the HBase default.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    1000
+            );
+
+    public static final ConfigOption<Integer> HBASE_PARALLEL_SCAN_THRESHOLD =
+            new ConfigOption<>(
+                    "hbase.parallel_scan_threshold",
+                    "The min number of row prefixes of a query to be " +
+                    "scanned by regions, whose first batches are " +
+                    "prefetched in parallel, 0 means disabled.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    100
+            );
+
+    public static final ConfigOption<Integer> HBASE_SCAN_THREADS =
+            new ConfigOption<>(
+                    "hbase.scan_threads",
+                    "The number of threads used to open the region " +
+                    "scanners and prefetch their first batches.",
+                    rangeInt(1, 1000),
+                    8
+            );
 }
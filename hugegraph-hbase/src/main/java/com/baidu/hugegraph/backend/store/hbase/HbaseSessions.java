@@ -19,17 +19,29 @@
 
 package com.baidu.hugegraph.backend.store.hbase;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.Cell;
@@ -43,25 +55,33 @@ import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.TableNotEnabledException;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.AsyncConnection;
+import org.apache.hadoop.hbase.client.AsyncTable;
 import org.apache.hadoop.hbase.client.ColumnFamilyDescriptorBuilder;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.client.TableDescriptorBuilder;
+import org.apache.hadoop.hbase.client.coprocessor.LongColumnInterpreter;
+import org.apache.hadoop.hbase.coprocessor.ColumnInterpreter;
 import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.FilterList.Operator;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.PrefixFilter;
 import org.apache.hadoop.hbase.util.VersionInfo;
+import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
@@ -71,17 +91,44 @@ import com.baidu.hugegraph.backend.store.BackendSessionPool;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.ExecutorUtil;
+import com.baidu.hugegraph.util.Log;
 import com.baidu.hugegraph.util.StringEncoding;
 import com.baidu.hugegraph.util.VersionUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 
 public class HbaseSessions extends BackendSessionPool {
 
+    private static final Logger LOG = Log.logger(HbaseSessions.class);
+
+    private static final String SCAN_WORKER = "hbase-scan-worker-%s-%%d";
+
+    /*
+     * The AggregationClient of hbase-endpoint is called by reflection if
+     * it's in classpath, which counts rows by the coprocessor on servers
+     */
+    private static final String AGGREGATION_CLIENT =
+            "org.apache.hadoop.hbase.client.coprocessor.AggregationClient";
+    private static final String AGGREGATE_ENDPOINT =
+            "org.apache.hadoop.hbase.coprocessor.AggregateImplementation";
+    private static final Method ROW_COUNT = rowCountMethod();
+
     private final String namespace;
     private Connection hbase;
+    // The connection of AsyncTable, which is connected on the first use
+    private CompletableFuture<AsyncConnection> asyncHbase;
+    private ExecutorService scanExecutor;
+    // Whether a table loads the coprocessor to count rows
+    private final Map<String, Boolean> aggregatableTables;
+    private Closeable aggregationClient;
 
     public HbaseSessions(HugeConfig config, String namespace, String store) {
         super(config, namespace + "/" + store);
         this.namespace = namespace;
+        this.aggregatableTables = new ConcurrentHashMap<>();
+        this.aggregationClient = null;
+        this.asyncHbase = null;
     }
 
     private Table table(String table) throws IOException {
@@ -90,6 +137,88 @@ public class HbaseSessions extends BackendSessionPool {
         return this.hbase.getTable(tableName);
     }
 
+    /**
+     * Get the AsyncTable whose futures are completed by the query executor
+     * instead of the RPC threads of HBase
+     */
+    private CompletableFuture<AsyncTable<?>> asyncTable(String table) {
+        TableName tableName = TableName.valueOf(this.namespace, table);
+        ExecutorService executor = this.queryExecutor();
+        return this.asyncHbase().thenApply(conn -> {
+            return conn.getTable(tableName, executor);
+        });
+    }
+
+    private synchronized CompletableFuture<AsyncConnection> asyncHbase() {
+        E.checkState(this.hbase != null, "HBase connection is not opened");
+        if (this.asyncHbase == null) {
+            this.asyncHbase = ConnectionFactory.createAsyncConnection(
+                              this.hbase.getConfiguration());
+        }
+        return this.asyncHbase;
+    }
+
+    private byte[][] regionStartKeys(String table) throws IOException {
+        E.checkState(this.hbase != null, "HBase connection is not opened");
+        TableName tableName = TableName.valueOf(this.namespace, table);
+        try (RegionLocator locator = this.hbase.getRegionLocator(tableName)) {
+            return locator.getStartKeys();
+        }
+    }
+
+    private boolean aggregatable(String table) {
+        if (ROW_COUNT == null) {
+            return false;
+        }
+        Boolean aggregatable = this.aggregatableTables.get(table);
+        if (aggregatable == null) {
+            try (Table htable = this.table(table)) {
+                aggregatable = htable.getDescriptor()
+                                     .hasCoprocessor(AGGREGATE_ENDPOINT);
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+            this.aggregatableTables.put(table, aggregatable);
+        }
+        return aggregatable;
+    }
+
+    private long rowCount(String table, Scan scan) {
+        try (Table htable = this.table(table)) {
+            Object client = this.aggregationClient();
+            return (Long) ROW_COUNT.invoke(client, htable,
+                                           new LongColumnInterpreter(), scan);
+        } catch (InvocationTargetException e) {
+            throw new BackendException("Failed to count %s by coprocessor",
+                                       e.getCause(), table);
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new BackendException("Failed to count %s by coprocessor",
+                                       e, table);
+        }
+    }
+
+    private synchronized Object aggregationClient()
+                                throws ReflectiveOperationException {
+        if (this.aggregationClient == null) {
+            // NOTE: the client opens its own connection
+            Class<?> clazz = ROW_COUNT.getDeclaringClass();
+            Configuration conf = this.hbase.getConfiguration();
+            this.aggregationClient = (Closeable) clazz.getConstructor(
+                                     Configuration.class).newInstance(conf);
+        }
+        return this.aggregationClient;
+    }
+
+    private static Method rowCountMethod() {
+        try {
+            Class<?> clazz = Class.forName(AGGREGATION_CLIENT);
+            return clazz.getMethod("rowCount", Table.class,
+                                   ColumnInterpreter.class, Scan.class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+
     @Override
     public synchronized void open() throws IOException {
         HugeConfig config = this.config();
@@ -106,6 +235,12 @@ public class HbaseSessions extends BackendSessionPool {
                        config.get(HbaseOptions.HBASE_THREADS_MAX));
 
         this.hbase = ConnectionFactory.createConnection(hConfig);
+
+        if (config.get(HbaseOptions.HBASE_PARALLEL_SCAN_THRESHOLD) > 0) {
+            int threads = config.get(HbaseOptions.HBASE_SCAN_THREADS);
+            String name = String.format(SCAN_WORKER, this.namespace);
+            this.scanExecutor = ExecutorUtil.newFixedThreadPool(threads, name);
+        }
     }
 
     @Override
@@ -125,6 +260,30 @@ public class HbaseSessions extends BackendSessionPool {
 
     @Override
     protected synchronized void doClose() {
+        if (this.scanExecutor != null) {
+            this.scanExecutor.shutdown();
+            this.scanExecutor = null;
+        }
+        this.aggregatableTables.clear();
+        if (this.asyncHbase != null) {
+            this.asyncHbase.thenAccept(conn -> {
+                try {
+                    conn.close();
+                } catch (IOException e) {
+                    LOG.warn("Failed to close HBase async connection", e);
+                }
+            });
+            this.asyncHbase = null;
+        }
+        if (this.aggregationClient != null) {
+            try {
+                this.aggregationClient.close();
+            } catch (IOException e) {
+                throw new BackendException("Failed to close AggregationClient",
+                                           e);
+            }
+            this.aggregationClient = null;
+        }
         if (this.hbase == null || this.hbase.isClosed()) {
             return;
         }
@@ -235,6 +394,10 @@ public class HbaseSessions extends BackendSessionPool {
             this.batch = new HashMap<>();
         }
 
+        public HugeConfig config() {
+            return HbaseSessions.this.config();
+        }
+
         private void batch(String table, Row row) {
             List<Row> rows = this.batch.get(table);
             if (rows == null) {
@@ -429,15 +592,7 @@ public class HbaseSessions extends BackendSessionPool {
                                Set<byte[]> rowkeys) {
             assert !this.hasChanges();
 
-            List<Get> gets = new ArrayList<>(rowkeys.size());
-            for (byte[] rowkey : rowkeys) {
-                Get get = new Get(rowkey);
-                if (family != null) {
-                    get.addFamily(family);
-                }
-                gets.add(get);
-            }
-
+            List<Get> gets = gets(family, rowkeys);
             try (Table htable = table(table)) {
                 return new RowIterator(htable.get(gets));
             } catch (IOException e) {
@@ -445,16 +600,28 @@ public class HbaseSessions extends BackendSessionPool {
             }
         }
 
+        /**
+         * Get multi records by rowkeys from a table asynchronously
+         */
+        public CompletableFuture<RowIterator> getAsync(String table,
+                                                       byte[] family,
+                                                       Set<byte[]> rowkeys) {
+            assert !this.hasChanges();
+            List<Get> gets = gets(family, rowkeys);
+            return asyncTable(table).thenCompose(htable -> htable.getAll(gets))
+                                    .thenApply(RowIterator::new);
+        }
+
         /**
          * Scan all records from a table
          */
-        public RowIterator scan(String table, long limit) {
+        public RowIterator scan(String table, long limit, int caching) {
             assert !this.hasChanges();
             Scan scan = new Scan();
             if (limit >= 0) {
                 scan.setFilter(new PageFilter(limit));
             }
-            return this.scan(table, scan);
+            return this.scan(table, scan, caching);
         }
 
         /**
@@ -462,47 +629,50 @@ public class HbaseSessions extends BackendSessionPool {
          */
         public RowIterator scan(String table, byte[] prefix) {
             assert !this.hasChanges();
-            return this.scan(table, prefix, true, prefix);
+            return this.scan(table, prefix, true, prefix, 0);
         }
 
         /**
-         * Scan records by multi rowkey prefixs from a table
+         * Scan records by multi rowkey prefixes from a table, the prefixes
+         * are sorted into row ranges so that only the matched rows are read
          */
-        public RowIterator scan(String table, Set<byte[]> prefixs) {
+        public RowIterator scan(String table, Set<byte[]> prefixes,
+                                int caching) {
             assert !this.hasChanges();
-
-            FilterList orFilters = new FilterList(Operator.MUST_PASS_ONE);
-            for (byte[] prefix : prefixs) {
-                FilterList andFilters = new FilterList(Operator.MUST_PASS_ALL);
-                List<RowRange> ranges = new ArrayList<>();
-                ranges.add(new RowRange(prefix, true, null, true));
-                andFilters.addFilter(new MultiRowRangeFilter(ranges));
-                andFilters.addFilter(new PrefixFilter(prefix));
-
-                orFilters.addFilter(andFilters);
+            if (prefixes.isEmpty()) {
+                return new RowIterator();
             }
 
-            Scan scan = new Scan().setFilter(orFilters);
-            return this.scan(table, scan);
+            List<RowRange> ranges = prefixRanges(prefixes);
+            int threshold = this.config().get(
+                            HbaseOptions.HBASE_PARALLEL_SCAN_THRESHOLD);
+            if (threshold > 0 && ranges.size() >= threshold) {
+                List<List<RowRange>> groups = this.groupByRegion(table, ranges);
+                if (groups.size() > 1) {
+                    return this.scan(table, groups, caching);
+                }
+            }
+            return this.scan(table, this.rangesScan(ranges), caching);
         }
 
         /**
          * Scan records by rowkey start and prefix from a table
          */
         public RowIterator scan(String table, byte[] startRow,
-                                boolean inclusiveStart, byte[] prefix) {
+                                boolean inclusiveStart, byte[] prefix,
+                                int caching) {
             assert !this.hasChanges();
-            Scan scan = new Scan().withStartRow(startRow, inclusiveStart)
-                                  .setFilter(new PrefixFilter(prefix));
-            return this.scan(table, scan);
+            return this.scan(table, this.prefixScan(startRow, inclusiveStart,
+                                                    prefix), caching);
         }
 
         /**
          * Scan records by rowkey range from a table
          */
-        public RowIterator scan(String table, byte[] startRow, byte[] stopRow) {
+        public RowIterator scan(String table, byte[] startRow, byte[] stopRow,
+                                int caching) {
             assert !this.hasChanges();
-            return this.scan(table, startRow, true, stopRow, false);
+            return this.scan(table, startRow, true, stopRow, false, caching);
         }
 
         /**
@@ -510,8 +680,342 @@ public class HbaseSessions extends BackendSessionPool {
          */
         public RowIterator scan(String table,
                                 byte[] startRow, boolean inclusiveStart,
-                                byte[] stopRow, boolean inclusiveStop) {
+                                byte[] stopRow, boolean inclusiveStop,
+                                int caching) {
+            assert !this.hasChanges();
+            Scan scan = this.rangeScan(startRow, inclusiveStart,
+                                       stopRow, inclusiveStop);
+            if (scan == null) {
+                return new RowIterator();
+            }
+            return this.scan(table, scan, caching);
+        }
+
+        /**
+         * Scan records by multi rowkey prefixes from a table asynchronously,
+         * the future is done after all the rows are fetched
+         */
+        public CompletableFuture<RowIterator> scanAsync(String table,
+                                                        Set<byte[]> prefixes,
+                                                        int caching) {
+            assert !this.hasChanges();
+            if (prefixes.isEmpty()) {
+                return CompletableFuture.completedFuture(new RowIterator());
+            }
+            Scan scan = this.rangesScan(prefixRanges(prefixes));
+            return this.scanAsync(table, scan, caching);
+        }
+
+        /**
+         * Scan records by rowkey start and prefix from a table asynchronously
+         */
+        public CompletableFuture<RowIterator> scanAsync(String table,
+                                                        byte[] startRow,
+                                                        boolean inclusiveStart,
+                                                        byte[] prefix,
+                                                        int caching) {
+            assert !this.hasChanges();
+            Scan scan = this.prefixScan(startRow, inclusiveStart, prefix);
+            return this.scanAsync(table, scan, caching);
+        }
+
+        /**
+         * Scan records by rowkey range from a table asynchronously
+         */
+        public CompletableFuture<RowIterator> scanAsync(String table,
+                                                        byte[] startRow,
+                                                        boolean inclusiveStart,
+                                                        byte[] stopRow,
+                                                        boolean inclusiveStop,
+                                                        int caching) {
+            assert !this.hasChanges();
+            Scan scan = this.rangeScan(startRow, inclusiveStart,
+                                       stopRow, inclusiveStop);
+            if (scan == null) {
+                return CompletableFuture.completedFuture(new RowIterator());
+            }
+            return this.scanAsync(table, scan, caching);
+        }
+
+        /**
+         * Inner scan: send scan request to HBase and get iterator
+         */
+        private RowIterator scan(String table, Scan scan, int caching) {
+            if (caching > 0) {
+                scan.setCaching(caching);
+            }
+            try (Table htable = table(table)) {
+                return new RowIterator(htable.getScanner(scan));
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+        }
+
+        /**
+         * Inner scan by AsyncTable: all the rows are fetched into memory
+         */
+        private CompletableFuture<RowIterator> scanAsync(String table,
+                                                         Scan scan,
+                                                         int caching) {
+            if (caching > 0) {
+                scan.setCaching(caching);
+            }
+            return asyncTable(table).thenCompose(htable -> htable.scanAll(scan))
+                                    .thenApply(RowIterator::new);
+        }
+
+        /**
+         * Inner scan with head prefetch: each group of row ranges is located
+         * in a region, the scanners of groups are opened and fetch their
+         * first batch (caching rows) in parallel. Then the rows are returned
+         * in the order of the groups, and the rest batches of each group are
+         * fetched serially while consuming.
+         */
+        private RowIterator scan(String table, List<List<RowRange>> groups,
+                                 int caching) {
+            ExecutorService executor = HbaseSessions.this.scanExecutor;
+            E.checkState(executor != null, "The scan executor is not opened");
+
+            List<ResultScanner> scanners = new ArrayList<>(groups.size());
+            List<ScanHead> heads = new ArrayList<>(groups.size());
+            try (Table htable = table(table)) {
+                for (List<RowRange> group : groups) {
+                    Scan scan = this.rangesScan(group);
+                    if (caching > 0) {
+                        scan.setCaching(caching);
+                    }
+                    ResultScanner scanner = htable.getScanner(scan);
+                    scanners.add(scanner);
+                    // Open the scanner and prefetch the first batch of rows
+                    ScanHead head = new ScanHead(scanner);
+                    heads.add(head);
+                    head.submit(executor);
+                }
+            } catch (Exception e) {
+                closeScanners(scanners, heads);
+                throw new BackendException(e);
+            }
+
+            List<Supplier<Iterator<Result>>> parts = new ArrayList<>();
+            for (int i = 0; i < scanners.size(); i++) {
+                ScanHead head = heads.get(i);
+                ResultScanner scanner = scanners.get(i);
+                parts.add(() -> {
+                    Result first;
+                    try {
+                        first = head.get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new BackendException("Failed to scan %s",
+                                                   e, table);
+                    }
+                    if (first == null) {
+                        return Collections.emptyIterator();
+                    }
+                    return Iterators.concat(Iterators.singletonIterator(first),
+                                            scanner.iterator());
+                });
+            }
+            Iterator<Result> results = Iterators.concat(
+                                       Iterators.transform(parts.iterator(),
+                                                           Supplier::get));
+            return new RowIterator(scanners, heads, results);
+        }
+
+        /**
+         * Build scan of sorted rowkey ranges, the rows out of the ranges are
+         * skipped by seeking to the next range on region servers
+         */
+        private Scan rangesScan(List<RowRange> ranges) {
+            assert !ranges.isEmpty();
+            RowRange first = ranges.get(0);
+            RowRange last = ranges.get(ranges.size() - 1);
+            Scan scan = new Scan().withStartRow(first.getStartRow(), true);
+            if (last.getStopRow().length > 0) {
+                scan.withStopRow(last.getStopRow(), false);
+            }
+            if (ranges.size() > 1) {
+                scan.setFilter(new MultiRowRangeFilter(ranges));
+            }
+            return scan;
+        }
+
+        /**
+         * Group the sorted rowkey ranges by the region of their start row
+         */
+        private List<List<RowRange>> groupByRegion(String table,
+                                                   List<RowRange> ranges) {
+            byte[][] startKeys;
+            try {
+                startKeys = HbaseSessions.this.regionStartKeys(table);
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+
+            List<List<RowRange>> groups = new ArrayList<>();
+            List<RowRange> group = null;
+            int region = 0;
+            for (RowRange range : ranges) {
+                byte[] start = range.getStartRow();
+                int current = region;
+                while (current + 1 < startKeys.length &&
+                       Bytes.compare(startKeys[current + 1], start) <= 0) {
+                    current++;
+                }
+                if (group == null || current != region) {
+                    group = new ArrayList<>();
+                    groups.add(group);
+                    region = current;
+                }
+                group.add(range);
+            }
+            return groups;
+        }
+
+        /**
+         * Count all records of a table
+         */
+        public long count(String table) {
+            assert !this.hasChanges();
+            return this.count(table, new Scan());
+        }
+
+        /**
+         * Count records by rowkey start and prefix from a table
+         */
+        public long count(String table, byte[] startRow,
+                          boolean inclusiveStart, byte[] prefix) {
+            assert !this.hasChanges();
+            Scan scan = this.prefixScan(startRow, inclusiveStart, prefix);
+            // Bound the scan to split it only by the regions of prefix
+            byte[] stopRow = prefixEnd(prefix);
+            if (stopRow.length > 0) {
+                scan.withStopRow(stopRow, false);
+            }
+            return this.count(table, scan);
+        }
+
+        /**
+         * Count records by rowkey range from a table
+         */
+        public long count(String table,
+                          byte[] startRow, boolean inclusiveStart,
+                          byte[] stopRow, boolean inclusiveStop) {
             assert !this.hasChanges();
+            Scan scan = this.rangeScan(startRow, inclusiveStart,
+                                       stopRow, inclusiveStop);
+            if (scan == null) {
+                return 0L;
+            }
+            return this.count(table, scan);
+        }
+
+        /**
+         * Inner count: count by the AggregateImplementation coprocessor on
+         * region servers if it's loaded by the table, otherwise count the
+         * row keys of regions in parallel
+         */
+        private long count(String table, Scan scan) {
+            if (HbaseSessions.this.aggregatable(table)) {
+                return HbaseSessions.this.rowCount(table, scan);
+            }
+
+            List<Scan> scans = this.splitByRegion(table, scan);
+            ExecutorService executor = HbaseSessions.this.scanExecutor;
+            if (executor == null || scans.size() <= 1) {
+                long count = 0L;
+                for (Scan regionScan : scans) {
+                    count += this.countKeys(table, regionScan);
+                }
+                return count;
+            }
+
+            List<Future<Long>> futures = new ArrayList<>(scans.size());
+            for (Scan regionScan : scans) {
+                futures.add(executor.submit(() -> {
+                    return this.countKeys(table, regionScan);
+                }));
+            }
+            long count = 0L;
+            try {
+                for (Future<Long> future : futures) {
+                    count += future.get();
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                for (Future<Long> future : futures) {
+                    future.cancel(false);
+                }
+                throw new BackendException("Failed to count %s", e, table);
+            }
+            return count;
+        }
+
+        /**
+         * Count by key-only scan: only the first key of each row is returned
+         * by the region servers, the columns and values are not transferred
+         */
+        private long countKeys(String table, Scan scan) {
+            FilterList filters = new FilterList(Operator.MUST_PASS_ALL);
+            if (scan.getFilter() != null) {
+                filters.addFilter(scan.getFilter());
+            }
+            filters.addFilter(new FirstKeyOnlyFilter());
+            filters.addFilter(new KeyOnlyFilter());
+            scan.setFilter(filters);
+            // Don't pollute the block cache with a full scan
+            scan.setCacheBlocks(false);
+
+            long count = 0L;
+            try (Table htable = table(table);
+                 ResultScanner scanner = htable.getScanner(scan)) {
+                while (scanner.next() != null) {
+                    count++;
+                }
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+            return count;
+        }
+
+        /**
+         * Split the rowkey range of scan by the start keys of regions
+         */
+        private List<Scan> splitByRegion(String table, Scan scan) {
+            List<Scan> scans = new ArrayList<>();
+            try {
+                byte[][] startKeys = HbaseSessions.this.regionStartKeys(table);
+                byte[] start = scan.getStartRow();
+                boolean inclusiveStart = scan.includeStartRow();
+                byte[] stop = scan.getStopRow();
+                for (byte[] key : startKeys) {
+                    if (Bytes.compare(key, start) <= 0) {
+                        continue;
+                    }
+                    if (stop.length > 0 && Bytes.compare(key, stop) >= 0) {
+                        break;
+                    }
+                    scans.add(new Scan(scan).withStartRow(start, inclusiveStart)
+                                            .withStopRow(key, false));
+                    start = key;
+                    inclusiveStart = true;
+                }
+                scans.add(new Scan(scan).withStartRow(start, inclusiveStart));
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+            return scans;
+        }
+
+        private Scan prefixScan(byte[] startRow, boolean inclusiveStart,
+                                byte[] prefix) {
+            return new Scan().withStartRow(startRow, inclusiveStart)
+                             .setFilter(new PrefixFilter(prefix));
+        }
+
+        /**
+         * Build scan of rowkey range, null means the range is empty
+         */
+        private Scan rangeScan(byte[] startRow, boolean inclusiveStart,
+                               byte[] stopRow, boolean inclusiveStop) {
             Scan scan = new Scan().withStartRow(startRow, inclusiveStart);
             if (stopRow != null) {
                 String version = VersionInfo.getVersion();
@@ -525,22 +1029,11 @@ public class HbaseSessions extends BackendSessionPool {
                 if (Bytes.equals(startRow, stopRow) &&
                     inclusiveStart && !inclusiveStop) {
                     // Bug https://issues.apache.org/jira/browse/HBASE-21618
-                    return new RowIterator();
+                    return null;
                 }
                 scan.withStopRow(stopRow, inclusiveStop);
             }
-            return this.scan(table, scan);
-        }
-
-        /**
-         * Inner scan: send scan request to HBase and get iterator
-         */
-        private RowIterator scan(String table, Scan scan) {
-            try (Table htable = table(table)) {
-                return new RowIterator(htable.getScanner(scan));
-            } catch (IOException e) {
-                throw new BackendException(e);
-            }
+            return scan;
         }
 
         /**
@@ -570,7 +1063,7 @@ public class HbaseSessions extends BackendSessionPool {
         private void dump(String table, Scan scan) throws IOException {
             System.out.println(String.format(">>>> scan table %s with %s",
                                              table, scan));
-            RowIterator iterator = this.scan(table, scan);
+            RowIterator iterator = this.scan(table, scan, 0);
             while (iterator.hasNext()) {
                 Result row = iterator.next();
                 System.out.println(StringEncoding.format(row.getRow()));
@@ -587,20 +1080,136 @@ public class HbaseSessions extends BackendSessionPool {
         }
     }
 
+    /**
+     * Get the first rowkey after all the rowkeys with the prefix,
+     * an empty array means there is no such rowkey
+     */
+    private static List<Get> gets(byte[] family, Set<byte[]> rowkeys) {
+        List<Get> gets = new ArrayList<>(rowkeys.size());
+        for (byte[] rowkey : rowkeys) {
+            Get get = new Get(rowkey);
+            if (family != null) {
+                get.addFamily(family);
+            }
+            gets.add(get);
+        }
+        return gets;
+    }
+
+    /**
+     * Convert prefixes to sorted rowkey ranges, the overlapped ranges are
+     * merged
+     */
+    private static List<RowRange> prefixRanges(Set<byte[]> prefixes) {
+        List<RowRange> ranges = new ArrayList<>(prefixes.size());
+        for (byte[] prefix : prefixes) {
+            byte[] end = prefixEnd(prefix);
+            ranges.add(new RowRange(prefix, true, end, false));
+        }
+        return MultiRowRangeFilter.sortAndMerge(ranges);
+    }
+
+    private static byte[] prefixEnd(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] end = Arrays.copyOf(prefix, i + 1);
+                end[i]++;
+                return end;
+            }
+        }
+        return HConstants.EMPTY_END_ROW;
+    }
+
+    /**
+     * The prefetch of the first batch of a scanner, which is skipped if the
+     * scan is closed before it starts, or else closing waits for it done
+     */
+    private static class ScanHead implements Callable<Result> {
+
+        private final ResultScanner scanner;
+        // Set by the prefetch or the closing, whichever comes first
+        private final AtomicBoolean claimed;
+        private Future<Result> future;
+
+        public ScanHead(ResultScanner scanner) {
+            this.scanner = scanner;
+            this.claimed = new AtomicBoolean(false);
+            this.future = null;
+        }
+
+        public void submit(ExecutorService executor) {
+            this.future = executor.submit(this);
+        }
+
+        @Override
+        public Result call() throws IOException {
+            if (!this.claimed.compareAndSet(false, true)) {
+                // The scan has been closed
+                return null;
+            }
+            return this.scanner.next();
+        }
+
+        public Result get() throws InterruptedException, ExecutionException {
+            return this.future.get();
+        }
+
+        public void cancel() {
+            if (this.claimed.compareAndSet(false, true)) {
+                if (this.future != null) {
+                    this.future.cancel(false);
+                }
+                return;
+            }
+            // Wait for the running prefetch before closing the scanner
+            try {
+                this.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException ignored) {
+                // The error is thrown when reading rows if needed
+            }
+        }
+    }
+
+    private static void closeScanners(List<ResultScanner> scanners,
+                                      List<ScanHead> heads) {
+        for (ScanHead head : heads) {
+            head.cancel();
+        }
+        for (ResultScanner scanner : scanners) {
+            scanner.close();
+        }
+    }
+
     protected static class RowIterator implements BackendIterator<Result> {
 
-        private final ResultScanner resultScanner;
+        private final List<ResultScanner> resultScanners;
+        private final List<ScanHead> heads;
         private final Iterator<Result> results;
 
         private byte[] position = null;
 
         public RowIterator(ResultScanner resultScanner) {
-            this.resultScanner = resultScanner;
+            this.resultScanners = ImmutableList.of(resultScanner);
+            this.heads = ImmutableList.of();
             this.results = resultScanner.iterator();
         }
 
+        private RowIterator(List<ResultScanner> resultScanners,
+                            List<ScanHead> heads, Iterator<Result> results) {
+            this.resultScanners = resultScanners;
+            this.heads = heads;
+            this.results = results;
+        }
+
+        public RowIterator(List<Result> results) {
+            this(results.toArray(new Result[results.size()]));
+        }
+
         public RowIterator(Result... results) {
-            this.resultScanner = null;
+            this.resultScanners = ImmutableList.of();
+            this.heads = ImmutableList.of();
             List<Result> rs = new ArrayList<>(results.length);
             for (Result result : results) {
                 // Get by Ids may return empty result
@@ -636,9 +1245,7 @@ public class HbaseSessions extends BackendSessionPool {
 
         @Override
         public void close() {
-            if (this.resultScanner != null) {
-                this.resultScanner.close();
-            }
+            closeScanners(this.resultScanners, this.heads);
         }
 
         @Override
@@ -20,10 +20,12 @@
 package com.baidu.hugegraph.backend.store.hbase;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.hbase.NamespaceExistException;
@@ -33,7 +35,9 @@ import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.store.AbstractBackendStore;
 import com.baidu.hugegraph.backend.store.BackendAction;
 import com.baidu.hugegraph.backend.store.BackendEntry;
@@ -42,6 +46,7 @@ import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.backend.store.hbase.HbaseSessions.Session;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
@@ -197,10 +202,52 @@ public abstract class HbaseStore extends AbstractBackendStore<Session> {
     public Iterator<BackendEntry> query(Query query) {
         this.checkOpened();
         Session session = this.sessions.session();
+        if (query instanceof BatchQuery) {
+            return this.queryBatch(session, (BatchQuery) query);
+        }
         HbaseTable table = this.table(HbaseTable.tableType(query));
         return table.query(session, query);
     }
 
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        this.checkOpened();
+        Session session = this.sessions.session();
+        if (!(query instanceof BatchQuery)) {
+            HbaseTable table = this.table(HbaseTable.tableType(query));
+            return table.queryAsync(session, query);
+        }
+        List<CompletableFuture<Iterator<BackendEntry>>> futures;
+        futures = new ArrayList<>();
+        Map<HugeType, BatchQuery> batches;
+        batches = ((BatchQuery) query).groupBy(HbaseTable::tableType);
+        for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+            HbaseTable table = this.table(e.getKey());
+            futures.add(table.queryAsync(session, e.getValue()));
+        }
+        return QueryResults.concatAsync(futures);
+    }
+
+    @Override
+    public Number queryNumber(Query query) {
+        this.checkOpened();
+        Session session = this.sessions.session();
+        HbaseTable table = this.table(HbaseTable.tableType(query));
+        return table.queryNumber(session, query);
+    }
+
+    private Iterator<BackendEntry> queryBatch(Session session,
+                                              BatchQuery query) {
+        ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+        Map<HugeType, BatchQuery> batches;
+        batches = query.groupBy(HbaseTable::tableType);
+        for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+            HbaseTable table = this.table(e.getKey());
+            rs.extend(table.query(session, e.getValue()));
+        }
+        return rs;
+    }
+
     @Override
     public void init() {
         this.checkOpened();
@@ -361,6 +408,19 @@ public abstract class HbaseStore extends AbstractBackendStore<Session> {
             super.checkOpened();
             return this.counters.getCounter(super.sessions.session(), type);
         }
+
+        @Override
+        public void increaseCounter(String name, long increment) {
+            super.checkOpened();
+            this.counters.increaseCounter(super.sessions.session(),
+                                          name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            super.checkOpened();
+            return this.counters.getCounter(super.sessions.session(), name);
+        }
     }
 
     public static class HbaseGraphStore extends HbaseStore {
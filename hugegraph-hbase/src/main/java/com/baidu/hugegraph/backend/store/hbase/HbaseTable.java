@@ -20,9 +20,11 @@
 package com.baidu.hugegraph.backend.store.hbase;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellScanner;
@@ -33,11 +35,14 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.page.PageState;
+import com.baidu.hugegraph.backend.query.Aggregate;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdPrefixQuery;
 import com.baidu.hugegraph.backend.query.IdRangeQuery;
 import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry;
 import com.baidu.hugegraph.backend.serializer.BinaryEntryIterator;
 import com.baidu.hugegraph.backend.store.BackendEntry;
@@ -48,6 +53,8 @@ import com.baidu.hugegraph.backend.store.Shard;
 import com.baidu.hugegraph.backend.store.hbase.HbaseSessions.RowIterator;
 import com.baidu.hugegraph.backend.store.hbase.HbaseSessions.Session;
 import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.iterator.FlatMapperIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
@@ -128,6 +135,20 @@ public class HbaseTable extends BackendTable<Session, BackendEntry> {
             return ImmutableList.<BackendEntry>of().iterator();
         }
 
+        if (query instanceof BatchQuery) {
+            BatchQuery bq = (BatchQuery) query;
+            // Query by multi prefixes, all prefixes are scanned at once
+            Set<byte[]> prefixes = prefixesOfBatch(bq);
+            if (prefixes != null) {
+                RowIterator rows = session.scan(this.table(), prefixes,
+                                                this.scanCaching(session));
+                return newEntryIterator(rows, query);
+            }
+            // Query by batch, each sub-query is executed lazily one by one
+            return new FlatMapperIterator<>(bq.queries().iterator(),
+                                            q -> this.query(session, q));
+        }
+
         // Query all
         if (query.empty()) {
             return newEntryIterator(this.queryAll(session, query), query);
@@ -163,13 +184,145 @@ public class HbaseTable extends BackendTable<Session, BackendEntry> {
         return newEntryIterator(this.queryByCond(session, cq), query);
     }
 
+    /**
+     * Query by AsyncTable of HBase, the future is done after all the rows
+     * are fetched. Since multi rows may be merged into an entry, the limit
+     * of entries can't be pushed down as a limit of rows, so only the gets
+     * by ids and the scans without limit are sent asynchronously, the paging
+     * or limited queries are executed in the caller thread like query().
+     */
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(
+                                                     Session session,
+                                                     Query query) {
+        if (query.limit() == 0 && query.limit() != Query.NO_LIMIT) {
+            LOG.debug("Return empty result(limit=0) for query {}", query);
+            return CompletableFuture.completedFuture(
+                   ImmutableList.<BackendEntry>of().iterator());
+        }
+
+        if (query instanceof BatchQuery) {
+            BatchQuery bq = (BatchQuery) query;
+            if (prefixesOfBatch(bq) == null) {
+                List<CompletableFuture<Iterator<BackendEntry>>> futures;
+                futures = new ArrayList<>(bq.queries().size());
+                for (Query q : bq.queries()) {
+                    futures.add(this.queryAsync(session, q));
+                }
+                return QueryResults.concatAsync(futures);
+            }
+        }
+
+        CompletableFuture<RowIterator> rows = this.queryRowsAsync(session,
+                                                                  query);
+        if (rows == null) {
+            return CompletableFuture.completedFuture(this.query(session,
+                                                                query));
+        }
+        return rows.thenApply(r -> this.newEntryIterator(r, query));
+    }
+
+    /**
+     * Send the query by AsyncTable if supported, null means not supported
+     */
+    private CompletableFuture<RowIterator> queryRowsAsync(Session session,
+                                                          Query query) {
+        int caching = this.scanCaching(session);
+        if (query instanceof BatchQuery) {
+            Set<byte[]> prefixes = prefixesOfBatch((BatchQuery) query);
+            assert prefixes != null;
+            return session.scanAsync(this.table(), prefixes, caching);
+        }
+        if (query.paging() || query.empty()) {
+            return null;
+        }
+        boolean noLimit = query.limit() == Query.NO_LIMIT;
+        if (query instanceof IdPrefixQuery) {
+            IdPrefixQuery pq = (IdPrefixQuery) query;
+            return !noLimit ? null :
+                   session.scanAsync(this.table(), pq.start().asBytes(),
+                                     pq.inclusiveStart(),
+                                     pq.prefix().asBytes(), caching);
+        }
+        if (query instanceof IdRangeQuery) {
+            IdRangeQuery rq = (IdRangeQuery) query;
+            if (!noLimit) {
+                return null;
+            }
+            byte[] start = rq.start().asBytes();
+            byte[] end = rq.end() == null ? null : rq.end().asBytes();
+            return session.scanAsync(this.table(), start, rq.inclusiveStart(),
+                                     end, rq.inclusiveEnd(), caching);
+        }
+        if (query.conditions().isEmpty()) {
+            // The gets by ids are bounded by the ids, the limit is ignored
+            assert !query.ids().isEmpty();
+            Set<byte[]> rowkeys = InsertionOrderUtil.newSet();
+            for (Id id : query.ids()) {
+                rowkeys.add(id.asBytes());
+            }
+            return session.getAsync(this.table(), null, rowkeys);
+        }
+        return null;
+    }
+
+    public Number queryNumber(Session session, Query query) {
+        Aggregate aggregate = query.aggregateNotNull();
+        if (!aggregate.countAll()) {
+            throw new NotSupportException("aggregate %s", aggregate);
+        }
+        E.checkArgument(!query.paging() && query.offset() == 0L &&
+                        query.limit() == Query.NO_LIMIT,
+                        "Can't count with paging or range: %s", query);
+
+        // Count by batch
+        if (query instanceof BatchQuery) {
+            Iterator<Number> results = new MapperIterator<>(
+                    ((BatchQuery) query).queries().iterator(),
+                    q -> this.queryNumber(session, q));
+            return aggregate.reduce(results);
+        }
+
+        // Count all, each vertex/edge/index is stored in a row
+        if (query.empty()) {
+            return session.count(this.table());
+        }
+
+        // Count by prefix
+        if (query instanceof IdPrefixQuery) {
+            IdPrefixQuery pq = (IdPrefixQuery) query;
+            return session.count(this.table(), pq.start().asBytes(),
+                                 pq.inclusiveStart(), pq.prefix().asBytes());
+        }
+
+        // Count by range
+        if (query instanceof IdRangeQuery) {
+            IdRangeQuery rq = (IdRangeQuery) query;
+            byte[] start = rq.start().asBytes();
+            byte[] end = rq.end() == null ? null : rq.end().asBytes();
+            return session.count(this.table(), start, rq.inclusiveStart(),
+                                 end, rq.inclusiveEnd());
+        }
+
+        // Other queries like by ids are counted from the entries
+        HugeType type = query.resultType();
+        long count = 0L;
+        Iterator<BackendEntry> entries = this.query(session, query);
+        while (entries.hasNext()) {
+            BackendEntry entry = entries.next();
+            // The edges of a vertex are collapsed into columns of an entry
+            count += type.isEdge() ? entry.columnsSize() : 1L;
+        }
+        return count;
+    }
+
     protected RowIterator queryAll(Session session, Query query) {
         if (query.paging()) {
             PageState page = PageState.fromString(query.page());
             byte[] begin = page.position();
-            return session.scan(this.table(), begin, null);
+            return session.scan(this.table(), begin, null,
+                                this.scanCaching(session));
         } else {
-            return session.scan(this.table(), -1);
+            return session.scan(this.table(), -1, this.scanCaching(session));
         }
     }
 
@@ -187,14 +340,16 @@ public class HbaseTable extends BackendTable<Session, BackendEntry> {
 
     protected RowIterator queryByPrefix(Session session, IdPrefixQuery query) {
         return session.scan(this.table(), query.start().asBytes(),
-                            query.inclusiveStart(), query.prefix().asBytes());
+                            query.inclusiveStart(), query.prefix().asBytes(),
+                            this.scanCaching(session));
     }
 
     protected RowIterator queryByRange(Session session, IdRangeQuery query) {
         byte[] start = query.start().asBytes();
         byte[] end = query.end() == null ? null : query.end().asBytes();
         return session.scan(this.table(), start, query.inclusiveStart(),
-                            end, query.inclusiveEnd());
+                            end, query.inclusiveEnd(),
+                            this.scanCaching(session));
     }
 
     protected RowIterator queryByCond(Session session, ConditionQuery query) {
@@ -218,7 +373,37 @@ public class HbaseTable extends BackendTable<Session, BackendEntry> {
                             "Invalid page out of lower bound");
             start = position;
         }
-        return session.scan(this.table(), start, end);
+        return session.scan(this.table(), start, end,
+                            this.scanCaching(session));
+    }
+
+    protected int scanCaching(Session session) {
+        return session.config().get(HbaseOptions.HBASE_SCAN_CACHING);
+    }
+
+    /**
+     * Get the prefixes if all the sub-queries of a batch are plain prefix
+     * queries, the rows of the prefixes are returned in rowkey order
+     * instead of the order of the sub-queries, null means not supported
+     */
+    private static Set<byte[]> prefixesOfBatch(BatchQuery query) {
+        if (query.paging() || query.offset() != 0L ||
+            query.limit() != Query.NO_LIMIT) {
+            return null;
+        }
+        Set<byte[]> prefixes = InsertionOrderUtil.newSet();
+        for (Query q : query.queries()) {
+            if (!(q instanceof IdPrefixQuery) || q.paging() ||
+                q.offset() != 0L || q.limit() != Query.NO_LIMIT) {
+                return null;
+            }
+            IdPrefixQuery pq = (IdPrefixQuery) q;
+            if (!pq.inclusiveStart() || !pq.start().equals(pq.prefix())) {
+                return null;
+            }
+            prefixes.add(pq.prefix().asBytes());
+        }
+        return prefixes.isEmpty() ? null : prefixes;
     }
 
     protected BackendEntryIterator newEntryIterator(RowIterator rows,
@@ -54,6 +54,26 @@ public class HbaseTables {
 
         public long getCounter(Session session, HugeType type) {
             byte[] key = new byte[]{type.code()};
+            return this.getCounter(session, key);
+        }
+
+        public void increaseCounter(Session session, HugeType type,
+                                    long increment) {
+            byte[] key = new byte[]{type.code()};
+            this.increaseCounter(session, key, increment);
+        }
+
+        public long getCounter(Session session, String name) {
+            // The named key never conflicts with the one-byte type key
+            return this.getCounter(session, Bytes.toBytes(name));
+        }
+
+        public void increaseCounter(Session session, String name,
+                                    long increment) {
+            this.increaseCounter(session, Bytes.toBytes(name), increment);
+        }
+
+        private long getCounter(Session session, byte[] key) {
             RowIterator results = session.get(this.table(), CF, key);
             if (results.hasNext()) {
                 Result row = results.next();
@@ -63,9 +83,8 @@ public class HbaseTables {
             }
         }
 
-        public void increaseCounter(Session session, HugeType type,
-                                    long increment) {
-            byte[] key = new byte[]{type.code()};
+        private void increaseCounter(Session session, byte[] key,
+                                     long increment) {
             session.increase(this.table(), CF, key, COL, increment);
         }
     }
@@ -214,6 +233,11 @@ public class HbaseTables {
             }
         }
 
+        @Override
+        protected int scanCaching(Session session) {
+            return session.config().get(HbaseOptions.HBASE_INDEX_SCAN_CACHING);
+        }
+
         @Override
         protected BackendEntryIterator newEntryIterator(RowIterator rows,
                                                         Query query) {
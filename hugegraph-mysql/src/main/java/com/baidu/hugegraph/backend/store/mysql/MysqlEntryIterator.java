@@ -80,6 +80,10 @@ public class MysqlEntryIterator extends BackendEntryIterator {
                     break;
                 }
             }
+            if (this.next == null && !this.results.isClosed()) {
+                // Release the exhausted results, then statement can be reused
+                this.results.close();
+            }
         } catch (SQLException e) {
             throw new BackendException("Fetch next error", e);
         }
@@ -98,6 +98,19 @@ public class MysqlOptions extends OptionHolder {
                     "false"
             );
 
+    public static final ConfigOption<Integer> JDBC_FETCH_SIZE =
+            new ConfigOption<>(
+                    "jdbc.fetch_size",
+                    "The number of rows fetched per round trip when scanning " +
+                    "large results by cursor, 0 means loading all rows of " +
+                    "results into memory at once. Note that MySQL cursor " +
+                    "fetch uses server-side prepared statements, and " +
+                    "PostgreSQL fetches by cursor in a read-only " +
+                    "transaction of another connection.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
     public static final ConfigOption<String> STORAGE_ENGINE =
             new ConfigOption<>(
                    "jdbc.storage_engine",
@@ -25,7 +25,11 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 
@@ -44,6 +48,7 @@ public class MysqlSessions extends BackendSessionPool {
     private static final Logger LOG = Log.logger(MysqlStore.class);
 
     private static final int DROP_DB_TIMEOUT = 10000;
+    private static final int SELECT_STATEMENTS_CAPACITY = 256;
 
     private HugeConfig config;
     private String database;
@@ -84,6 +89,14 @@ public class MysqlSessions extends BackendSessionPool {
         return this.opened;
     }
 
+    /**
+     * Whether the driver fetches results by cursor only inside transaction,
+     * like PostgreSQL, which loads all results in auto-commit mode
+     */
+    protected boolean cursorFetchInTransaction() {
+        return false;
+    }
+
     /**
      * Connect DB with specified database
      */
@@ -98,16 +111,22 @@ public class MysqlSessions extends BackendSessionPool {
         int maxTimes = this.config.get(MysqlOptions.JDBC_RECONNECT_MAX_TIMES);
         int interval = this.config.get(MysqlOptions.JDBC_RECONNECT_INTERVAL);
         String sslMode = this.config.get(MysqlOptions.JDBC_SSL_MODE);
+        int fetchSize = this.config.get(MysqlOptions.JDBC_FETCH_SIZE);
 
         URIBuilder uriBuilder = this.newConnectionURIBuilder();
         uriBuilder.setPath(url)
                   .setParameter("useSSL", sslMode)
                   .setParameter("characterEncoding", "utf-8")
                   .setParameter("rewriteBatchedStatements", "true")
-                  .setParameter("useServerPrepStmts", "false")
                   .setParameter("autoReconnect", String.valueOf(autoReconnect))
                   .setParameter("maxReconnects", String.valueOf(maxTimes))
                   .setParameter("initialTimeout", String.valueOf(interval));
+        if (fetchSize > 0) {
+            // Cursor fetch of MySQL requires server-side prepared statements
+            uriBuilder.setParameter("useCursorFetch", "true");
+        } else {
+            uriBuilder.setParameter("useServerPrepStmts", "false");
+        }
         return this.connect(uriBuilder.toString());
     }
 
@@ -229,12 +248,21 @@ public class MysqlSessions extends BackendSessionPool {
 
         private Connection conn;
         private Map<String, PreparedStatement> statements;
+        private Map<String, PreparedStatement> selects;
+        // The read-only connection of streamed selects that need transaction
+        private Connection streamConn;
+        private final List<PreparedStatement> streamSelects;
+        private final int fetchSize;
         private boolean opened;
         private int count;
 
         public Session() {
             this.conn = null;
             this.statements = new HashMap<>();
+            this.selects = new SelectStatements(SELECT_STATEMENTS_CAPACITY);
+            this.streamConn = null;
+            this.streamSelects = new ArrayList<>();
+            this.fetchSize = this.config().get(MysqlOptions.JDBC_FETCH_SIZE);
             this.opened = false;
             this.count = 0;
             try {
@@ -248,11 +276,17 @@ public class MysqlSessions extends BackendSessionPool {
             return MysqlSessions.this.config();
         }
 
+        public int fetchSize() {
+            return this.fetchSize;
+        }
+
         public void open() throws SQLException {
             if (this.conn != null && !this.conn.isClosed()) {
                 return;
             }
             this.conn = MysqlSessions.this.open(true);
+            // The cached statements belong to the previous connection
+            this.selects.clear();
             this.opened = true;
         }
 
@@ -271,12 +305,30 @@ public class MysqlSessions extends BackendSessionPool {
                     exception = e;
                 }
             }
+            for (PreparedStatement statement : this.selects.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+            this.selects.clear();
 
             try {
                 this.conn.close();
             } catch (SQLException e) {
                 exception = e;
             }
+            if (this.streamConn != null) {
+                try {
+                    // Rollback the read-only transaction and close cursors
+                    this.streamConn.close();
+                } catch (SQLException e) {
+                    exception = e;
+                }
+                this.streamConn = null;
+                this.streamSelects.clear();
+            }
 
             this.opened = false;
             if (exception != null) {
@@ -365,6 +417,11 @@ public class MysqlSessions extends BackendSessionPool {
             } catch (SQLException ignored) {
                 // pass
             }
+            try {
+                this.endStreamIfIdle();
+            } catch (SQLException e) {
+                LOG.warn("Failed to end the transaction of streamed selects", e);
+            }
         }
 
         public ResultSet select(String sql) throws SQLException {
@@ -372,6 +429,89 @@ public class MysqlSessions extends BackendSessionPool {
             return this.conn.createStatement().executeQuery(sql);
         }
 
+        /**
+         * Execute a select statement with placeholders, the statement is
+         * prepared once and cached by the sql, just like the write path
+         * @param sql the sql with placeholders '?'
+         * @param parameters the values of placeholders in order
+         * @param streamed whether to read results by cursor in batches of
+         *                 fetch size rather than loading all at once
+         * @return the results of select, which should be closed by caller
+         * @throws SQLException if a database access error occurs
+         */
+        public ResultSet select(String sql, List<Object> parameters,
+                                boolean streamed) throws SQLException {
+            assert this.conn.getAutoCommit();
+            if (streamed && MysqlSessions.this.cursorFetchInTransaction()) {
+                return this.selectByCursor(sql, parameters);
+            }
+            PreparedStatement statement = this.selects.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = this.conn.prepareStatement(sql);
+                this.selects.put(sql, statement);
+            } else if (inUse(statement)) {
+                /*
+                 * Results of the cached statement are still being read, like
+                 * nested queries of the same shape, re-executing it would
+                 * close the results. So use a one-off statement instead.
+                 */
+                statement = this.conn.prepareStatement(sql);
+                statement.closeOnCompletion();
+            }
+
+            for (int i = 0, n = parameters.size(); i < n; i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            statement.setFetchSize(streamed ? this.fetchSize : 0);
+            return statement.executeQuery();
+        }
+
+        /**
+         * Execute a streamed select in the read-only transaction of another
+         * connection, since the driver fetches by cursor only inside
+         * transaction, and the statement is closed with its results
+         */
+        private ResultSet selectByCursor(String sql, List<Object> parameters)
+                                         throws SQLException {
+            if (this.streamConn == null || this.streamConn.isClosed()) {
+                Connection conn = MysqlSessions.this.open(true);
+                conn.setReadOnly(true);
+                conn.setAutoCommit(false);
+                this.streamConn = conn;
+                this.streamSelects.clear();
+            } else {
+                this.endStreamIfIdle();
+            }
+
+            PreparedStatement statement = this.streamConn.prepareStatement(sql);
+            statement.closeOnCompletion();
+            this.streamSelects.add(statement);
+            for (int i = 0, n = parameters.size(); i < n; i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            statement.setFetchSize(this.fetchSize);
+            return statement.executeQuery();
+        }
+
+        /**
+         * End the transaction of streamed selects if all of their results
+         * are closed, then the next streamed select starts a new one
+         */
+        private void endStreamIfIdle() throws SQLException {
+            if (this.streamConn == null) {
+                return;
+            }
+            Iterator<PreparedStatement> iter = this.streamSelects.iterator();
+            while (iter.hasNext()) {
+                if (iter.next().isClosed()) {
+                    iter.remove();
+                }
+            }
+            if (this.streamSelects.isEmpty()) {
+                this.streamConn.commit();
+            }
+        }
+
         public boolean execute(String sql) throws SQLException {
             /*
              * commit() or rollback() failed to set connection to auto-commit
@@ -404,4 +544,46 @@ public class MysqlSessions extends BackendSessionPool {
             return statement;
         }
     }
+
+    private static boolean inUse(PreparedStatement statement)
+                                 throws SQLException {
+        ResultSet results = statement.getResultSet();
+        return results != null && !results.isClosed();
+    }
+
+    /**
+     * The LRU cache of select statements, the evicted statement will be
+     * closed once its results are closed if they are still being read
+     */
+    private static class SelectStatements
+                   extends LinkedHashMap<String, PreparedStatement> {
+
+        private static final long serialVersionUID = -4353530919012153934L;
+
+        private final int capacity;
+
+        public SelectStatements(int capacity) {
+            super(capacity, 0.75F, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                          Map.Entry<String, PreparedStatement> eldest) {
+            if (this.size() <= this.capacity) {
+                return false;
+            }
+            PreparedStatement statement = eldest.getValue();
+            try {
+                if (inUse(statement)) {
+                    statement.closeOnCompletion();
+                } else {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                LOG.warn("Failed to close statement '{}'", statement, e);
+            }
+            return true;
+        }
+    }
 }
@@ -25,12 +25,14 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.AbstractBackendStore;
 import com.baidu.hugegraph.backend.store.BackendAction;
@@ -40,6 +42,7 @@ import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.backend.store.mysql.MysqlSessions.Session;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
@@ -223,9 +226,51 @@ public abstract class MysqlStore extends AbstractBackendStore<Session> {
     @Override
     public Iterator<BackendEntry> query(Query query) {
         this.checkSessionConnected();
+        return this.query(this.sessions.session(), query);
+    }
+
+    /**
+     * Query by the bounded query executor of the session pool, the paging
+     * query is done in the caller thread since the page state is kept by
+     * the results of session
+     */
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        this.checkSessionConnected();
+        if (query.paging()) {
+            return super.queryAsync(query);
+        }
+        return this.sessions.queryAsync(session -> {
+            return this.query((Session) session, query);
+        });
+    }
+
+    private Iterator<BackendEntry> query(Session session, Query query) {
+        if (query instanceof BatchQuery) {
+            return this.queryBatch(session, (BatchQuery) query);
+        }
+        MysqlTable table = this.table(MysqlTable.tableType(query));
+        return table.query(session, query);
+    }
+
+    @Override
+    public Number queryNumber(Query query) {
+        this.checkSessionConnected();
 
         MysqlTable table = this.table(MysqlTable.tableType(query));
-        return table.query(this.sessions.session(), query);
+        return table.queryNumber(this.sessions.session(), query);
+    }
+
+    private Iterator<BackendEntry> queryBatch(Session session,
+                                              BatchQuery query) {
+        ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+        Map<HugeType, BatchQuery> batches;
+        batches = query.groupBy(MysqlTable::tableType);
+        for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+            MysqlTable table = this.table(e.getKey());
+            rs.extend(table.query(session, e.getValue()));
+        }
+        return rs;
     }
 
     @Override
@@ -362,6 +407,20 @@ public abstract class MysqlStore extends AbstractBackendStore<Session> {
             Session session = super.sessions.session();
             return this.counters.getCounter(session, type);
         }
+
+        @Override
+        public void increaseCounter(String name, long increment) {
+            this.checkSessionConnected();
+            Session session = super.sessions.session();
+            this.counters.increaseCounter(session, name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            this.checkSessionConnected();
+            Session session = super.sessions.session();
+            return this.counters.getCounter(session, name);
+        }
     }
 
     public static class MysqlGraphStore extends MysqlStore {
@@ -35,7 +35,10 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.page.PageState;
+import com.baidu.hugegraph.backend.query.Aggregate;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendTable;
@@ -44,7 +47,10 @@ import com.baidu.hugegraph.backend.store.mysql.MysqlEntryIterator.PagePosition;
 import com.baidu.hugegraph.backend.store.mysql.MysqlSessions.Session;
 import com.baidu.hugegraph.exception.NotFoundException;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.iterator.FlatMapperIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.google.common.collect.ImmutableList;
 
@@ -294,6 +300,10 @@ public abstract class MysqlTable
 
     @Override
     public Iterator<BackendEntry> query(Session session, Query query) {
+        if (query instanceof BatchQuery) {
+            return this.queryByBatch(session, (BatchQuery) query);
+        }
+
         ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
 
         if (query.limit() == 0 && query.limit() != Query.NO_LIMIT) {
@@ -301,10 +311,13 @@ public abstract class MysqlTable
             return rs;
         }
 
-        List<StringBuilder> selections = this.query2Select(this.table(), query);
+        List<Selection> selections = this.query2Select(this.table(), query);
+        boolean streamed = this.streamed(session, query);
         try {
-            for (StringBuilder selection : selections) {
-                ResultSet results = session.select(selection.toString());
+            for (Selection selection : selections) {
+                ResultSet results = session.select(selection.sql(),
+                                                   selection.parameters(),
+                                                   streamed);
                 rs.extend(this.results2Entries(query, results));
             }
         } catch (SQLException e) {
@@ -315,15 +328,107 @@ public abstract class MysqlTable
         return rs;
     }
 
-    protected List<StringBuilder> query2Select(String table, Query query) {
+    public Number queryNumber(Session session, Query query) {
+        Aggregate aggregate = query.aggregateNotNull();
+
+        if (query instanceof BatchQuery) {
+            Iterator<Number> results = new MapperIterator<>(
+                    ((BatchQuery) query).queries().iterator(),
+                    q -> this.queryNumber(session, q));
+            return aggregate.reduce(results);
+        }
+
+        // Each selection returns one row with the aggregate value
+        List<Selection> selections = this.query2Select(this.table(), query);
+        List<Number> results = new ArrayList<>(selections.size());
+        try {
+            for (Selection selection : selections) {
+                try (ResultSet rs = session.select(selection.sql(),
+                                                   selection.parameters(),
+                                                   false)) {
+                    results.add(rs.next() ? rs.getLong(1) :
+                                aggregate.func().defaultValue());
+                }
+            }
+        } catch (SQLException e) {
+            throw new BackendException("Failed to query [%s]", e, query);
+        }
+
+        LOG.debug("Return {} for query {}", results, query);
+        return aggregate.reduce(results.iterator());
+    }
+
+    protected Iterator<BackendEntry> queryByBatch(Session session,
+                                                  BatchQuery query) {
+        if (query.resultType().isEdge()) {
+            // Query edges of multi vertices by IN clause if without limit
+            ConditionQuery merged = query.mergeIn(HugeKeys.OWNER_VERTEX);
+            if (merged != null) {
+                return this.query(session, merged);
+            }
+        }
+
+        /*
+         * Union the selections of all sub-queries into one statement,
+         * each selection keeps the limit of its sub-query
+         */
+        for (Query q : query.queries()) {
+            if (q.paging()) {
+                // Paging can't be unioned, query one by one lazily
+                return new FlatMapperIterator<>(query.queries().iterator(),
+                                                sq -> this.query(session, sq));
+            }
+        }
+        Selection union = new Selection();
+        for (Query q : query.queries()) {
+            if (q.limit() == 0 && q.limit() != Query.NO_LIMIT) {
+                continue;
+            }
+            for (Selection selection : this.query2Select(this.table(), q)) {
+                if (!union.isEmpty()) {
+                    union.append(" UNION ALL ");
+                }
+                union.append("(").append(selection).append(")");
+            }
+        }
+        if (union.isEmpty()) {
+            return new ExtendableIterator<>();
+        }
+
+        try {
+            ResultSet results = session.select(union.sql(),
+                                               union.parameters(), false);
+            return this.results2Entries(query, results);
+        } catch (SQLException e) {
+            throw new BackendException("Failed to query [%s]", e, query);
+        }
+    }
+
+    /**
+     * Whether to read the results of query by cursor with fetch size,
+     * only for the scan without ids that may return lots of rows
+     */
+    protected boolean streamed(Session session, Query query) {
+        int fetchSize = session.fetchSize();
+        if (fetchSize <= 0 || !query.ids().isEmpty() ||
+            query.aggregate() != null) {
+            return false;
+        }
+        return query.limit() == Query.NO_LIMIT || query.limit() > fetchSize;
+    }
+
+    protected List<Selection> query2Select(String table, Query query) {
         // Set table
-        StringBuilder select = new StringBuilder(64);
-        select.append("SELECT * FROM ").append(table);
+        Selection select = new Selection();
+        Aggregate aggregate = query.aggregate();
+        select.append("SELECT ")
+              .append(aggregate == null ? "*" : aggregate.toString())
+              .append(" FROM ").append(table);
 
         // Is query by id?
-        List<StringBuilder> ids = this.queryId2Select(query, select);
+        List<Selection> ids = this.queryId2Select(query, select);
 
-        List<StringBuilder> selections;
+        List<Selection> selections;
 
         if (query.conditions().isEmpty()) {
             // Query only by id
@@ -331,14 +436,14 @@ public abstract class MysqlTable
             selections = ids;
         } else {
             selections = new ArrayList<>(ids.size());
-            for (StringBuilder selection : ids) {
+            for (Selection selection : ids) {
                 // Query by condition
                 selections.addAll(this.queryCondition2Select(query, selection));
             }
             LOG.debug("Query by conditions: {}", selections);
         }
         // Set page, order-by and limit
-        for (StringBuilder selection : selections) {
+        for (Selection selection : selections) {
             if (!query.orders().isEmpty()) {
                 this.wrapOrderBy(selection, query);
             }
@@ -352,8 +457,7 @@ public abstract class MysqlTable
         return selections;
     }
 
-    protected List<StringBuilder> queryId2Select(Query query,
-                                                 StringBuilder select) {
+    protected List<Selection> queryId2Select(Query query, Selection select) {
         // Query by id(s)
         if (query.ids().isEmpty()) {
             return ImmutableList.of(select);
@@ -382,7 +486,7 @@ public abstract class MysqlTable
 
             WhereBuilder where = this.newWhereBuilder();
             where.in(formatKey(nameParts.get(0)), values);
-            select.append(where.build());
+            select.append(where);
             return ImmutableList.of(select);
         }
 
@@ -393,10 +497,10 @@ public abstract class MysqlTable
          * columns when using: select.where(QueryBuilder.in(names, idList));
          * So we use multi-query instead of IN
          */
-        List<StringBuilder> selections = new ArrayList<>(ids.size());
+        List<Selection> selections = new ArrayList<>(ids.size());
         for (List<Object> objects : ids) {
             assert nameParts.size() == objects.size();
-            StringBuilder idSelection = new StringBuilder(select);
+            Selection idSelection = select.copy();
             /*
              * NOTE: concat with AND relation, like:
              * "pk = id and ck1 = v1 and ck2 = v2"
@@ -404,54 +508,54 @@ public abstract class MysqlTable
             WhereBuilder where = this.newWhereBuilder();
             where.and(formatKeys(nameParts), objects);
 
-            idSelection.append(where.build());
+            idSelection.append(where);
             selections.add(idSelection);
         }
         return selections;
     }
 
-    protected List<StringBuilder> queryCondition2Select(Query query,
-                                                        StringBuilder select) {
+    protected List<Selection> queryCondition2Select(Query query,
+                                                    Selection select) {
         // Query by conditions
         Set<Condition> conditions = query.conditions();
-        List<StringBuilder> clauses = new ArrayList<>(conditions.size());
+        E.checkArgument(!conditions.isEmpty(), "The clauses can't be empty");
+        WhereBuilder where = this.newWhereBuilder();
+        int i = 0;
         for (Condition condition : conditions) {
-            clauses.add(this.condition2Sql(condition));
+            if (i++ > 0) {
+                where.and();
+            }
+            this.condition2Sql(condition, where);
         }
-        WhereBuilder where = this.newWhereBuilder();
-        where.and(clauses);
-        select.append(where.build());
+        select.append(where);
         return ImmutableList.of(select);
     }
 
-    protected StringBuilder condition2Sql(Condition condition) {
+    protected void condition2Sql(Condition condition, WhereBuilder where) {
         switch (condition.type()) {
             case AND:
                 Condition.And and = (Condition.And) condition;
-                StringBuilder left = this.condition2Sql(and.left());
-                StringBuilder right = this.condition2Sql(and.right());
-                int size = left.length() + right.length() + " AND ".length();
-                StringBuilder sql = new StringBuilder(size);
-                sql.append(left).append(" AND ").append(right);
-                return sql;
+                this.condition2Sql(and.left(), where);
+                where.and();
+                this.condition2Sql(and.right(), where);
+                break;
             case OR:
                 throw new BackendException("Not support OR currently");
             case RELATION:
                 Condition.Relation r = (Condition.Relation) condition;
-                return this.relation2Sql(r);
+                this.relation2Sql(r, where);
+                break;
             default:
                 final String msg = "Unsupported condition: " + condition;
                 throw new AssertionError(msg);
         }
     }
 
-    protected StringBuilder relation2Sql(Condition.Relation relation) {
+    protected void relation2Sql(Condition.Relation relation,
+                                WhereBuilder where) {
         String key = relation.serialKey().toString();
         Object value = relation.serialValue();
-
-        WhereBuilder sql = this.newWhereBuilder(false);
-        sql.relation(key, relation.relation(), value);
-        return sql.build();
+        where.relation(key, relation.relation(), value);
     }
 
     protected WhereBuilder newWhereBuilder() {
@@ -459,10 +563,10 @@ public abstract class MysqlTable
     }
 
     protected WhereBuilder newWhereBuilder(boolean startWithWhere) {
-        return new WhereBuilder(startWithWhere);
+        return new WhereBuilder(startWithWhere, true);
     }
 
-    protected void wrapOrderBy(StringBuilder select, Query query) {
+    protected void wrapOrderBy(Selection select, Query query) {
         int size = query.orders().size();
         assert size > 0;
 
@@ -486,7 +590,7 @@ public abstract class MysqlTable
         }
     }
 
-    protected void wrapPage(StringBuilder select, Query query) {
+    protected void wrapPage(Selection select, Query query) {
         String page = query.page();
         // It's the first time if page is empty
         if (!page.isEmpty()) {
@@ -507,7 +611,7 @@ public abstract class MysqlTable
             if (!startWithWhere) {
                 select.append(" AND");
             }
-            select.append(where.build());
+            select.append(where);
         }
 
         select.append(this.orderByKeys());
@@ -515,24 +619,22 @@ public abstract class MysqlTable
         if (query.limit() != Query.NO_LIMIT) {
             // Fetch `limit + 1` rows for judging whether reached the last page
             select.append(" limit ");
-            select.append(query.limit() + 1);
+            select.parameter(query.limit() + 1);
         }
-        select.append(";");
     }
 
     protected String orderByKeys() {
         return Strings.EMPTY;
     }
 
-    protected void wrapOffset(StringBuilder select, Query query) {
+    protected void wrapOffset(Selection select, Query query) {
         assert query.limit() >= 0;
         assert query.offset() >= 0;
         // Set limit and offset
         select.append(" limit ");
-        select.append(query.limit());
+        select.parameter(query.limit());
         select.append(" offset ");
-        select.append(query.offset());
-        select.append(";");
+        select.parameter(query.offset());
     }
 
     protected Iterator<BackendEntry> results2Entries(Query query,
@@ -560,4 +662,69 @@ public abstract class MysqlTable
         }
         return names;
     }
+
+    /**
+     * The sql of a select statement with placeholders and the values of
+     * the placeholders, selections of the same query shape share the sql
+     * and then share the prepared statement cached by session
+     */
+    public static class Selection {
+
+        private final StringBuilder sql;
+        private final List<Object> parameters;
+
+        public Selection() {
+            this(new StringBuilder(64), new ArrayList<>());
+        }
+
+        private Selection(StringBuilder sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public Selection append(CharSequence text) {
+            this.sql.append(text);
+            return this;
+        }
+
+        public Selection append(WhereBuilder where) {
+            this.sql.append(where.build());
+            this.parameters.addAll(where.parameters());
+            return this;
+        }
+
+        public Selection append(Selection selection) {
+            this.sql.append(selection.sql);
+            this.parameters.addAll(selection.parameters);
+            return this;
+        }
+
+        public Selection parameter(Object value) {
+            this.sql.append("?");
+            this.parameters.add(value);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return this.sql.length() == 0;
+        }
+
+        public String sql() {
+            return this.sql.toString();
+        }
+
+        public List<Object> parameters() {
+            return this.parameters;
+        }
+
+        public Selection copy() {
+            return new Selection(new StringBuilder(this.sql),
+                                 new ArrayList<>(this.parameters));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s", this.sql, this.parameters);
+        }
+    }
 }
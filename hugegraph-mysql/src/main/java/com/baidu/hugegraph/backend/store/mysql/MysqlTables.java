@@ -99,11 +99,20 @@ public class MysqlTables {
         }
 
         public long getCounter(Session session, HugeType type) {
+            return this.getCounter(session, type.name());
+        }
+
+        public void increaseCounter(Session session,
+                                    HugeType type, long increment) {
+            this.increaseCounter(session, type.name(), increment);
+        }
+
+        public long getCounter(Session session, String name) {
             String schemaCol = formatKey(HugeKeys.SCHEMA_TYPE);
             String idCol = formatKey(HugeKeys.ID);
 
             String select = String.format("SELECT ID FROM %s WHERE %s = '%s';",
-                                          this.table(), schemaCol, type.name());
+                                          this.table(), schemaCol, name);
             try {
                 ResultSet resultSet = session.select(select);
                 if (resultSet.next()) {
@@ -114,16 +123,16 @@ public class MysqlTables {
             } catch (SQLException e) {
                 throw new BackendException(
                           "Failed to get id from counters with type '%s'",
-                          e, type);
+                          e, name);
             }
         }
 
         public void increaseCounter(Session session,
-                                    HugeType type, long increment) {
+                                    String name, long increment) {
             String update = String.format(
                             "INSERT INTO %s VALUES ('%s', %s) " +
                             "ON DUPLICATE KEY UPDATE ID = ID + %s;",
-                            this.table(), type.name(), increment, increment);
+                            this.table(), name, increment, increment);
             try {
                 session.execute(update);
             } catch (SQLException e) {
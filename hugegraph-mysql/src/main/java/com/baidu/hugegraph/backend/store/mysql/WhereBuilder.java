@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.store.mysql;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.query.Condition.RelationType;
@@ -28,17 +29,30 @@ import com.baidu.hugegraph.util.E;
 public class WhereBuilder {
 
     private StringBuilder builder;
+    // The values of placeholders, null means values are inlined into sql
+    private List<Object> parameters;
 
     public WhereBuilder() {
         this(true);
     }
 
     public WhereBuilder(boolean startWithWhere) {
+        this(startWithWhere, false);
+    }
+
+    /**
+     * @param startWithWhere whether to start with 'WHERE'
+     * @param parameterized whether to replace each value with placeholder
+     *                      '?', the values are collected into parameters()
+     *                      in the order of placeholders
+     */
+    public WhereBuilder(boolean startWithWhere, boolean parameterized) {
         if (startWithWhere) {
             this.builder = new StringBuilder(" WHERE ");
         } else {
             this.builder = new StringBuilder(" ");
         }
+        this.parameters = parameterized ? new ArrayList<>() : null;
     }
 
     public WhereBuilder relation(String key, RelationType type, Object value) {
@@ -76,7 +90,7 @@ public class WhereBuilder {
         if (operator != null) {
             this.builder.append(key);
             this.builder.append(operator);
-            this.builder.append(wrapStringIfNeeded(value));
+            this.appendValue(value);
         }
         return this;
     }
@@ -141,7 +155,7 @@ public class WhereBuilder {
         for (int i = 0, n = keys.size(); i < n; i++) {
             this.builder.append(keys.get(i));
             this.builder.append(operator);
-            this.builder.append(wrapStringIfNeeded(values.get(i)));
+            this.appendValue(values.get(i));
             if (i != n - 1) {
                 this.builder.append(" AND ");
             }
@@ -174,7 +188,7 @@ public class WhereBuilder {
         for (int i = 0, n = keys.size(); i < n; i++) {
             this.builder.append(keys.get(i));
             this.builder.append(operators.get(i));
-            this.builder.append(wrapStringIfNeeded(values.get(i)));
+            this.appendValue(values.get(i));
             if (i != n - 1) {
                 this.builder.append(" AND ");
             }
@@ -211,7 +225,7 @@ public class WhereBuilder {
     public WhereBuilder in(String key, List<Object> values) {
         this.builder.append(key).append(" IN (");
         for (int i = 0, n = values.size(); i < n; i++) {
-            this.builder.append(wrapStringIfNeeded(values.get(i)));
+            this.appendValue(values.get(i));
             if (i != n - 1) {
                 this.builder.append(", ");
             }
@@ -240,7 +254,7 @@ public class WhereBuilder {
         }
         this.builder.append(") >= (");
         for (int i = 0, n = values.size(); i < n; i++) {
-            this.builder.append(wrapStringIfNeeded(values.get(i)));
+            this.appendValue(values.get(i));
             if (i != n - 1) {
                 this.builder.append(", ");
             }
@@ -253,11 +267,30 @@ public class WhereBuilder {
         return this.builder;
     }
 
+    public List<Object> parameters() {
+        E.checkState(this.parameters != null,
+                     "The where builder is not parameterized");
+        return this.parameters;
+    }
+
     @Override
     public String toString() {
         return this.builder.toString();
     }
 
+    private void appendValue(Object value) {
+        if (this.parameters != null) {
+            this.builder.append("?");
+            this.parameters.add(this.convertParameter(value));
+        } else {
+            this.builder.append(this.wrapStringIfNeeded(value));
+        }
+    }
+
+    protected Object convertParameter(Object value) {
+        return value;
+    }
+
     protected String wrapStringIfNeeded(Object value) {
         if (value instanceof String) {
             return this.escapeAndWrapString((String) value);
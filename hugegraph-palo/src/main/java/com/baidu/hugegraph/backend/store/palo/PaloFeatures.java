@@ -64,6 +64,11 @@ public class PaloFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsAggregateQuery() {
+        return true;
+    }
+
     @Override
     public boolean supportsQueryWithContains() {
         return false;
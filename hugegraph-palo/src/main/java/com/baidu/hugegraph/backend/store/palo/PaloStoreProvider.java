@@ -103,6 +103,15 @@ public class PaloStoreProvider extends MysqlStoreProvider {
             return this.counter.getCounter(type);
         }
 
+        @Override
+        public void increaseCounter(String name, long increment) {
+            this.counter.increaseCounter(name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            return this.counter.getCounter(name);
+        }
     }
 
     public static class PaloGraphStore extends PaloStore {
@@ -104,10 +104,19 @@ public class PostgresqlSessions extends MysqlSessions {
                database, escapeAndWrapString(database), database);
     }
 
+    @Override
+    protected boolean cursorFetchInTransaction() {
+        return true;
+    }
+
     @Override
     protected URIBuilder newConnectionURIBuilder() {
-        // Suppress error log when database does not exist
-        return new URIBuilder().addParameter("loggerLevel", "OFF");
+        /*
+         * Suppress error log when database does not exist, and send string
+         * parameters untyped to be inferred by server like literals
+         */
+        return new URIBuilder().addParameter("loggerLevel", "OFF")
+                               .addParameter("stringtype", "unspecified");
     }
 
     public static String escapeAndWrapString(String value) {
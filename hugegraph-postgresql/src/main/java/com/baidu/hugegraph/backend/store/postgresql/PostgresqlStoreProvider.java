@@ -103,6 +103,20 @@ public class PostgresqlStoreProvider extends MysqlStoreProvider {
             MysqlSessions.Session session = this.session(type);
             return this.counters.getCounter(session, type);
         }
+
+        @Override
+        public void increaseCounter(String name, long increment) {
+            this.checkSessionConnected();
+            MysqlSessions.Session session = this.session(HugeType.COUNTER);
+            this.counters.increaseCounter(session, name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            this.checkSessionConnected();
+            MysqlSessions.Session session = this.session(HugeType.COUNTER);
+            return this.counters.getCounter(session, name);
+        }
     }
 
     public static class PostgresqlGraphStore extends PostgresqlStore {
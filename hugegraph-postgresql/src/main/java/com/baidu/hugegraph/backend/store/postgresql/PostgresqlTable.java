@@ -137,13 +137,22 @@ public abstract class PostgresqlTable extends MysqlTable {
 
     @Override
     protected WhereBuilder newWhereBuilder(boolean startWithWhere) {
-        return new PgWhereBuilder(startWithWhere);
+        return new PgWhereBuilder(startWithWhere, true);
     }
 
     private static class PgWhereBuilder extends WhereBuilder {
 
-        public PgWhereBuilder(boolean startWithWhere) {
-            super(startWithWhere);
+        public PgWhereBuilder(boolean startWithWhere, boolean parameterized) {
+            super(startWithWhere, parameterized);
+        }
+
+        @Override
+        protected Object convertParameter(Object value) {
+            // PostgreSQL doesn't accept string with character 0x00
+            if ("\u0000".equals(value)) {
+                return "";
+            }
+            return value;
         }
 
         @Override
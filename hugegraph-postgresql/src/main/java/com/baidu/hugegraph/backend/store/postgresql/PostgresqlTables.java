@@ -80,24 +80,33 @@ public class PostgresqlTables {
         }
 
         public long getCounter(Session session, HugeType type) {
-            MysqlTables.Counters table = (MysqlTables.Counters) this.template;
-            return table.getCounter(session, type);
+            return this.getCounter(session, type.name());
         }
 
         public void increaseCounter(Session session, HugeType type,
                                     long increment) {
+            this.increaseCounter(session, type.name(), increment);
+        }
+
+        public long getCounter(Session session, String name) {
+            MysqlTables.Counters table = (MysqlTables.Counters) this.template;
+            return table.getCounter(session, name);
+        }
+
+        public void increaseCounter(Session session, String name,
+                                    long increment) {
             String update = String.format(
                             "INSERT INTO %s (%s, %s) VALUES ('%s', %s) " +
                             "ON CONFLICT (%s) DO UPDATE SET ID = %s.ID + %s;",
                             this.table(), formatKey(HugeKeys.SCHEMA_TYPE),
-                            formatKey(HugeKeys.ID), type.name(), increment,
+                            formatKey(HugeKeys.ID), name, increment,
                             formatKey(HugeKeys.SCHEMA_TYPE),
                             this.table(), increment);
             try {
                 session.execute(update);
             } catch (SQLException e) {
                 throw new BackendException(
-                          "Failed to update counters with type '%s'", e, type);
+                          "Failed to update counters with type '%s'", e, name);
             }
         }
     }
@@ -82,6 +82,11 @@ public class RocksDBFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsAggregateQuery() {
+        return true;
+    }
+
     @Override
     public boolean supportsDeleteEdgeByLabel() {
         // No index in RocksDB
@@ -25,6 +25,7 @@ import java.util.Map;
 import org.apache.commons.io.FileUtils;
 
 import com.baidu.hugegraph.backend.store.BackendMetrics;
+import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 
@@ -37,6 +38,14 @@ public class RocksDBMetrics implements BackendMetrics {
 
     public static final String DISK_USAGE = "rocksdb.disk-usage";
 
+    // The memory usage breakdown of the graph
+    public static final String BLOCK_CACHE_USED = "block_cache_used";
+    public static final String BLOCK_CACHE_SHARED = "block_cache_shared";
+    public static final String SHARED_BLOCK_CACHE_USED =
+                               "shared_block_cache_used";
+    public static final String INDEX_FILTER_USED = "index_filter_used";
+    public static final String MEM_TABLE_USED = "mem_table_used";
+
     private final List<RocksDBSessions> dbs;
     private final RocksDBSessions.Session session;
 
@@ -49,19 +58,50 @@ public class RocksDBMetrics implements BackendMetrics {
     @Override
     public Map<String, Object> getMetrics() {
         Map<String, Object> metrics = InsertionOrderUtil.newMap();
-        // NOTE: the unit of rocksdb mem property is bytes
-        metrics.put(MEM_USED, this.getMemUsed() / Bytes.MB);
+        boolean sharedCache = this.sharedBlockCache();
+        double blockCache = sharedCache ? this.sharedBlockCacheUsed() :
+                            this.sum(this.session, BLOCK_CACHE);
+        double indexFilter = this.sum(this.session, INDEX_FILTER);
+        double memtable = this.sum(this.session, MEM_TABLE);
+        /*
+         * The shared block cache is used by all graphs in the process, so
+         * it isn't counted in the memory used by this graph.
+         * NOTE: the unit of rocksdb mem property is bytes
+         */
+        double memUsed = indexFilter + memtable;
+        if (!sharedCache) {
+            memUsed += blockCache;
+        }
+        metrics.put(MEM_USED, memUsed / Bytes.MB);
         metrics.put(MEM_UNIT, "MB");
+        if (sharedCache) {
+            metrics.put(SHARED_BLOCK_CACHE_USED, blockCache / Bytes.MB);
+        } else {
+            metrics.put(BLOCK_CACHE_USED, blockCache / Bytes.MB);
+        }
+        metrics.put(BLOCK_CACHE_SHARED, sharedCache);
+        metrics.put(INDEX_FILTER_USED, indexFilter / Bytes.MB);
+        metrics.put(MEM_TABLE_USED, memtable / Bytes.MB);
         String size = FileUtils.byteCountToDisplaySize(this.getDataSize());
         metrics.put(DATA_SIZE, size);
         return metrics;
     }
 
-    private double getMemUsed() {
-        double blockCache = this.sum(this.session, BLOCK_CACHE);
-        double indexFilter = this.sum(this.session, INDEX_FILTER);
-        double memtable = this.sum(this.session, MEM_TABLE);
-        return blockCache + indexFilter + memtable;
+    private boolean sharedBlockCache() {
+        HugeConfig config = this.dbs.get(0).config();
+        return config.get(RocksDBOptions.BLOCK_CACHE_SHARED) &&
+               config.get(RocksDBOptions.BLOCK_CACHE_CAPACITY) > 0L;
+    }
+
+    private double sharedBlockCacheUsed() {
+        /*
+         * Each db reports the usage of the whole shared cache, including
+         * the memtables charged by the shared write buffer manager.
+         * NOTE: the cache doesn't track which db a block is charged by, so
+         * the part used by this graph can't be reported, the usage of the
+         * whole process is reported as shared_block_cache_used instead
+         */
+        return Double.parseDouble(this.dbs.get(0).property(BLOCK_CACHE));
     }
 
     private long getDataSize() {
@@ -309,6 +309,38 @@ public class RocksDBOptions extends OptionHolder {
                     8L * Bytes.MB
             );
 
+    public static final ConfigOption<Boolean> BLOCK_CACHE_SHARED =
+            new ConfigOption<>(
+                    "rocksdb.block_cache_shared",
+                    "Whether to share one block cache among all the RocksDB " +
+                    "instances of all graphs in the process, the capacity of " +
+                    "the shared cache is block_cache_capacity, all graphs " +
+                    "sharing it must set the same block_cache_capacity, " +
+                    "block_cache_type and write_buffer_manager_capacity, " +
+                    "it's released when the last graph using it is closed.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<String> BLOCK_CACHE_TYPE =
+            new ConfigOption<>(
+                    "rocksdb.block_cache_type",
+                    "The type of the shared block cache: LRU/CLOCK.",
+                    allowValues("LRU", "CLOCK"),
+                    "LRU"
+            );
+
+    public static final ConfigOption<Long> WRITE_BUFFER_MANAGER_CAPACITY =
+            new ConfigOption<>(
+                    "rocksdb.write_buffer_manager_capacity",
+                    "The total amount of memtables in bytes of all the RocksDB " +
+                    "instances in the process, which is charged to the shared " +
+                    "block cache, 0 means no limit. It requires " +
+                    "block_cache_shared to be enabled.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
     public static final ConfigOption<Boolean> PIN_L0_FILTER_AND_INDEX_IN_CACHE =
             new ConfigOption<>(
                     "rocksdb.pin_l0_filter_and_index_blocks_in_cache",
@@ -359,4 +391,36 @@ public class RocksDBOptions extends OptionHolder {
                     disallowEmpty(),
                     false
             );
+
+    public static final ConfigOption<Integer> EDGE_PREFIX_LENGTH =
+            new ConfigOption<>(
+                    "rocksdb.edge_prefix_length",
+                    "The length in bytes of the key prefix extracted for " +
+                    "prefix seek and prefix bloom filter of edge tables, " +
+                    "the default value covers the owner vertex of number " +
+                    "id in range [2048, 2^27), 0 means no prefix extractor.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    4
+            );
+
+    public static final ConfigOption<Integer> INDEX_PREFIX_LENGTH =
+            new ConfigOption<>(
+                    "rocksdb.index_prefix_length",
+                    "The length in bytes of the key prefix extracted for " +
+                    "prefix seek and prefix bloom filter of index tables, " +
+                    "the default value covers the index label id of range " +
+                    "index, 0 means no prefix extractor.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    4
+            );
+
+    public static final ConfigOption<Double> MEMTABLE_PREFIX_BLOOM_RATIO =
+            new ConfigOption<>(
+                    "rocksdb.memtable_prefix_bloom_size_ratio",
+                    "The ratio of memtable size used to build the prefix " +
+                    "bloom filter of memtable for the tables with prefix " +
+                    "extractor, 0 means no memtable prefix bloom filter.",
+                    rangeDouble(0.0, 0.25),
+                    0.1
+            );
 }
@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.store.rocksdb;
 
+import java.util.List;
 import java.util.Set;
 
 import org.rocksdb.RocksDBException;
@@ -59,6 +60,8 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public static final int SCAN_GTE_BEGIN = 0x0c;
         public static final int SCAN_LT_END = 0x10;
         public static final int SCAN_LTE_END = 0x30;
+        // Only read the keys, the values are returned as empty bytes
+        public static final int SCAN_KEYONLY = 0x40;
 
         public abstract String property(String table, String property);
 
@@ -71,6 +74,8 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public abstract void delete(String table, byte[] key);
 
         public abstract byte[] get(String table, byte[] key);
+        public abstract BackendColumnIterator get(String table,
+                                                  List<byte[]> keys);
 
         public abstract BackendColumnIterator scan(String table);
         public abstract BackendColumnIterator scan(String table,
@@ -79,6 +84,9 @@ public abstract class RocksDBSessions extends BackendSessionPool {
                                                    byte[] keyFrom,
                                                    byte[] keyTo,
                                                    int scanType);
+        public abstract BackendColumnIterator scan(String table,
+                                                   List<byte[]> prefixes,
+                                                   long limit);
 
         public BackendColumnIterator scan(String table,
                                           byte[] keyFrom,
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -33,6 +34,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ClockCache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
@@ -42,6 +45,7 @@ import org.rocksdb.DBOptions;
 import org.rocksdb.DBOptionsInterface;
 import org.rocksdb.Env;
 import org.rocksdb.InfoLogLevel;
+import org.rocksdb.LRUCache;
 import org.rocksdb.MutableColumnFamilyOptionsInterface;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
@@ -50,31 +54,51 @@ import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.SstFileManager;
 import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteBufferManager;
 import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIteratorWrapper;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
 import com.baidu.hugegraph.util.StringEncoding;
 import com.google.common.collect.ImmutableList;
 
 public class RocksDBStdSessions extends RocksDBSessions {
 
+    private static final Logger LOG = Log.logger(RocksDBStdSessions.class);
+
+    /*
+     * The block cache and write buffer manager shared by all RocksDB in JVM,
+     * they are created with the options of the first opened RocksDB and are
+     * released when the last RocksDB using them is closed
+     */
+    private static Cache sharedBlockCache;
+    private static WriteBufferManager sharedWriteBufferManager;
+    private static String sharedOptions;
+    private static int sharedRefs = 0;
+
     private final RocksDB rocksdb;
     private final SstFileManager sstFileManager;
 
     private final Map<String, ColumnFamilyHandle> cfs;
     private final AtomicInteger refCount;
+    private final boolean shared;
 
     public RocksDBStdSessions(HugeConfig config, String database, String store,
                               String dataPath, String walPath)
                               throws RocksDBException {
         super(config, database, store);
 
+        this.shared = acquireSharedNatives(config);
+
         // Init options
         Options options = new Options();
         RocksDBStdSessions.initOptions(config, options, options, options);
@@ -87,7 +111,12 @@ public class RocksDBStdSessions extends RocksDBSessions {
          * Open RocksDB at the first time
          * Don't merge old CFs, we expect a clear DB when using this one
          */
-        this.rocksdb = RocksDB.open(options, dataPath);
+        try {
+            this.rocksdb = RocksDB.open(options, dataPath);
+        } catch (RocksDBException e) {
+            this.releaseSharedNatives();
+            throw e;
+        }
 
         this.cfs = new HashMap<>();
         this.refCount = new AtomicInteger(1);
@@ -98,6 +127,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
                               List<String> cfNames) throws RocksDBException {
         super(config, database, store);
 
+        this.shared = acquireSharedNatives(config);
+
         // Old CFs should always be opened
         Set<String> mergedCFs = this.mergeOldCFs(dataPath, cfNames);
         List<String> cfs = ImmutableList.copyOf(mergedCFs);
@@ -108,6 +139,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
             ColumnFamilyDescriptor cfd = new ColumnFamilyDescriptor(encode(cf));
             ColumnFamilyOptions options = cfd.getOptions();
             RocksDBStdSessions.initOptions(config, null, options, options);
+            RocksDBStdSessions.initPrefixOptions(config, cf, options);
             cfds.add(cfd);
         }
 
@@ -121,7 +153,12 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         // Open RocksDB with CFs
         List<ColumnFamilyHandle> cfhs = new ArrayList<>();
-        this.rocksdb = RocksDB.open(options, dataPath, cfds, cfhs);
+        try {
+            this.rocksdb = RocksDB.open(options, dataPath, cfds, cfhs);
+        } catch (RocksDBException e) {
+            this.releaseSharedNatives();
+            throw e;
+        }
         E.checkState(cfhs.size() == cfs.size(),
                      "Expect same size of cf-handles and cf-names");
 
@@ -144,6 +181,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.sstFileManager = origin.sstFileManager;
         this.cfs = origin.cfs;
         this.refCount = origin.refCount;
+        this.shared = origin.shared;
 
         this.refCount.incrementAndGet();
     }
@@ -175,6 +213,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         ColumnFamilyDescriptor cfd = new ColumnFamilyDescriptor(encode(table));
         ColumnFamilyOptions options = cfd.getOptions();
         initOptions(this.config(), null, options, options);
+        initPrefixOptions(this.config(), table, options);
         this.cfs.put(table, this.rocksdb.createColumnFamily(cfd));
 
         ingestExternalFile();
@@ -235,6 +274,14 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.cfs.clear();
 
         this.rocksdb.close();
+
+        this.releaseSharedNatives();
+    }
+
+    private void releaseSharedNatives() {
+        if (this.shared) {
+            releaseShared();
+        }
     }
 
     private void checkValid() {
@@ -337,6 +384,12 @@ public class RocksDBStdSessions extends RocksDBSessions {
                     conf.get(RocksDBOptions.USE_DIRECT_READS_WRITES_FC));
 
             db.setMaxOpenFiles(conf.get(RocksDBOptions.MAX_OPEN_FILES));
+
+            // Limit the total memtables memory of all RocksDB in process
+            WriteBufferManager manager = sharedWriteBufferManager(conf);
+            if (manager != null) {
+                db.setWriteBufferManager(manager);
+            }
         }
 
         if (cf != null) {
@@ -377,6 +430,9 @@ public class RocksDBStdSessions extends RocksDBSessions {
             if (cacheCapacity <= 0L) {
                 // Bypassing bug https://github.com/facebook/rocksdb/pull/5465
                 tableConfig.setNoBlockCache(true);
+            } else if (conf.get(RocksDBOptions.BLOCK_CACHE_SHARED) &&
+                       sharedBlockCache() != null) {
+                tableConfig.setBlockCache(sharedBlockCache());
             } else {
                 tableConfig.setBlockCacheSize(cacheCapacity);
             }
@@ -437,6 +493,138 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
     }
 
+    /**
+     * Set the prefix extractor of the table to match the key layout of
+     * BinarySerializer, the edge key is prefixed with owner vertex id and
+     * the index key is prefixed with index label id.
+     * NOTE: the owner vertex id is variable-length encoded, and the custom
+     * prefix extractor is not supported by RocksJava, so extract the fixed
+     * length capped prefix instead.
+     */
+    private static void initPrefixOptions(HugeConfig conf, String table,
+                                          ColumnFamilyOptions cf) {
+        int length = prefixExtractorLength(conf, table);
+        if (length <= 0) {
+            return;
+        }
+        cf.useCappedPrefixExtractor(length);
+        /*
+         * The prefixes are added to the bloom filter of SST files if set
+         * rocksdb.bloom_filter_bits_per_key, and to the bloom filter of
+         * memtables if set the ratio
+         */
+        cf.setMemtablePrefixBloomSizeRatio(
+                conf.get(RocksDBOptions.MEMTABLE_PREFIX_BLOOM_RATIO));
+    }
+
+    private static int prefixExtractorLength(HugeConfig conf, String table) {
+        // The table name is like "{graph}+oe" or "{graph}+si"
+        String name = table.substring(table.lastIndexOf('+') + 1)
+                           .toUpperCase();
+        if (name.length() == 2 && name.endsWith(HugeType.EDGE.string())) {
+            return conf.get(RocksDBOptions.EDGE_PREFIX_LENGTH);
+        }
+        HugeType type = HugeType.fromString(name);
+        if (type != null && type.isIndex()) {
+            return conf.get(RocksDBOptions.INDEX_PREFIX_LENGTH);
+        }
+        return 0;
+    }
+
+    private static synchronized boolean acquireSharedNatives(
+                                        HugeConfig conf) {
+        long capacity = conf.get(RocksDBOptions.BLOCK_CACHE_CAPACITY);
+        long wbmCapacity = conf.get(
+                           RocksDBOptions.WRITE_BUFFER_MANAGER_CAPACITY);
+        boolean shared = conf.get(RocksDBOptions.BLOCK_CACHE_SHARED) &&
+                         capacity > 0L;
+        E.checkArgument(shared || wbmCapacity <= 0L,
+                        "The option '%s' requires '%s' to be true and " +
+                        "'%s' to be > 0",
+                        RocksDBOptions.WRITE_BUFFER_MANAGER_CAPACITY.name(),
+                        RocksDBOptions.BLOCK_CACHE_SHARED.name(),
+                        RocksDBOptions.BLOCK_CACHE_CAPACITY.name());
+        if (!shared) {
+            return false;
+        }
+
+        String type = conf.get(RocksDBOptions.BLOCK_CACHE_TYPE);
+        String options = String.format("%s=%s, %s=%s, %s=%s",
+                         RocksDBOptions.BLOCK_CACHE_CAPACITY.name(), capacity,
+                         RocksDBOptions.BLOCK_CACHE_TYPE.name(), type,
+                         RocksDBOptions.WRITE_BUFFER_MANAGER_CAPACITY.name(),
+                         wbmCapacity);
+        if (sharedRefs > 0) {
+            // All the RocksDB sharing the natives must agree on the options
+            E.checkArgument(options.equals(sharedOptions),
+                            "The shared block cache has been created with " +
+                            "options [%s], but got [%s]",
+                            sharedOptions, options);
+            sharedRefs++;
+            return true;
+        }
+
+        assert sharedBlockCache == null && sharedWriteBufferManager == null;
+        // The natives may be created before any RocksDB class is loaded
+        RocksDB.loadLibrary();
+        if (type.equals("CLOCK")) {
+            sharedBlockCache = new ClockCache(capacity);
+        } else {
+            sharedBlockCache = new LRUCache(capacity);
+        }
+        if (wbmCapacity > 0L) {
+            // The memory of memtables is charged to the shared block cache
+            sharedWriteBufferManager = new WriteBufferManager(
+                                       wbmCapacity, sharedBlockCache);
+        }
+        sharedOptions = options;
+        sharedRefs = 1;
+        LOG.info("Create shared block cache with options [{}]", options);
+        return true;
+    }
+
+    private static synchronized void releaseShared() {
+        assert sharedRefs > 0;
+        if (--sharedRefs > 0) {
+            return;
+        }
+        // The last RocksDB using the shared natives has been closed
+        if (sharedWriteBufferManager != null) {
+            sharedWriteBufferManager.close();
+            sharedWriteBufferManager = null;
+        }
+        sharedBlockCache.close();
+        sharedBlockCache = null;
+        sharedOptions = null;
+        LOG.info("Release shared block cache since no RocksDB uses it");
+    }
+
+    /*
+     * NOTE: the shared natives are null if they are not acquired, like
+     * initOptions() called by RocksDBSstSessions which opens no RocksDB
+     */
+    private static synchronized Cache sharedBlockCache() {
+        return sharedBlockCache;
+    }
+
+    private static synchronized WriteBufferManager sharedWriteBufferManager(
+                                                   HugeConfig conf) {
+        if (conf.get(RocksDBOptions.WRITE_BUFFER_MANAGER_CAPACITY) <= 0L) {
+            return null;
+        }
+        return sharedWriteBufferManager;
+    }
+
+    private static int commonPrefixLength(byte[] bytes1, byte[] bytes2) {
+        int length = Math.min(bytes1.length, bytes2.length);
+        for (int i = 0; i < length; i++) {
+            if (bytes1[i] != bytes2[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
     public static final byte[] encode(String string) {
         return StringEncoding.encode(string);
     }
@@ -618,13 +806,48 @@ public class RocksDBStdSessions extends RocksDBSessions {
             }
         }
 
+        /**
+         * Get the values of multi keys from a table by one multi-get,
+         * the found columns are returned in the order of the keys
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            assert !this.hasChanges();
+            if (keys.isEmpty()) {
+                return BackendColumnIterator.empty();
+            }
+
+            List<ColumnFamilyHandle> cfs = new ArrayList<>(keys.size());
+            ColumnFamilyHandle cf = cf(table);
+            for (int i = 0; i < keys.size(); i++) {
+                cfs.add(cf);
+            }
+            Map<byte[], byte[]> values;
+            try {
+                values = rocksdb().multiGet(cfs, keys);
+            } catch (RocksDBException e) {
+                throw new BackendException(e);
+            }
+            // NOTE: the result map is keyed by the origin key arrays
+            List<BackendColumn> cols = new ArrayList<>(values.size());
+            for (byte[] key : keys) {
+                byte[] value = values.get(key);
+                if (value != null) {
+                    cols.add(BackendColumn.of(key, value));
+                }
+            }
+            return new BackendColumnIteratorWrapper(
+                       cols.toArray(new BackendColumn[0]));
+        }
+
         /**
          * Scan all records from a table
          */
         @Override
         public BackendColumnIterator scan(String table) {
             assert !this.hasChanges();
-            RocksIterator iter = rocksdb().newIterator(cf(table));
+            ReadOptions options = this.readOptions(table, 0);
+            RocksIterator iter = rocksdb().newIterator(cf(table), options);
             return new ColumnIterator(table, iter, null, null, SCAN_ANY);
         }
 
@@ -634,9 +857,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public BackendColumnIterator scan(String table, byte[] prefix) {
             assert !this.hasChanges();
-            ReadOptions options = new ReadOptions();
-            // NOTE: Options.prefix_extractor is a prerequisite
-            options.setPrefixSameAsStart(true);
+            ReadOptions options = this.readOptions(table, prefix.length);
             RocksIterator iter = rocksdb().newIterator(cf(table), options);
             return new ColumnIterator(table, iter, prefix, null,
                                       SCAN_PREFIX_BEGIN);
@@ -649,11 +870,54 @@ public class RocksDBStdSessions extends RocksDBSessions {
         public BackendColumnIterator scan(String table, byte[] keyFrom,
                                           byte[] keyTo, int scanType) {
             assert !this.hasChanges();
-            ReadOptions options = new ReadOptions();
-            options.setTotalOrderSeek(true); // Not sure if it must be set
+            /*
+             * All the keys in the range share the common prefix of keyFrom
+             * and keyTo, the keyTo is the prefix if set SCAN_PREFIX_END
+             */
+            int prefixLength = 0;
+            if (keyFrom != null && keyTo != null) {
+                prefixLength = commonPrefixLength(keyFrom, keyTo);
+            }
+            ReadOptions options = this.readOptions(table, prefixLength);
             RocksIterator iter = rocksdb().newIterator(cf(table), options);
             return new ColumnIterator(table, iter, keyFrom, keyTo, scanType);
         }
+
+        /**
+         * Scan records by multi key prefixes from a table, the prefixes are
+         * sorted and seeked one by one with a shared iterator
+         */
+        @Override
+        public BackendColumnIterator scan(String table, List<byte[]> prefixes,
+                                          long limit) {
+            assert !this.hasChanges();
+            int prefixLength = Integer.MAX_VALUE;
+            for (byte[] prefix : prefixes) {
+                prefixLength = Math.min(prefixLength, prefix.length);
+            }
+            // The prefix mode applies to each seek of the iterator
+            ReadOptions options = this.readOptions(table, prefixLength);
+            RocksIterator iter = rocksdb().newIterator(cf(table), options);
+            return new MultiPrefixColumnIterator(iter, prefixes, limit);
+        }
+
+        /**
+         * Iterate in prefix mode if all the keys to scan are prefixed with
+         * a prefix not shorter than the extracted prefix of the table, then
+         * the SST files without the prefix are skipped by prefix bloom filter.
+         * Otherwise iterate in total order, since the prefix mode can't see
+         * the keys with other extracted prefixes.
+         */
+        private ReadOptions readOptions(String table, int prefixLength) {
+            ReadOptions options = new ReadOptions();
+            int extracted = prefixExtractorLength(config(), table);
+            if (extracted > 0 && prefixLength >= extracted) {
+                options.setPrefixSameAsStart(true);
+            } else {
+                options.setTotalOrderSeek(true);
+            }
+            return options;
+        }
     }
 
     /**
@@ -661,6 +925,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
      */
     private static class ColumnIterator implements BackendColumnIterator {
 
+        private static final byte[] EMPTY_VALUE = new byte[0];
+
         private final String table;
         private final RocksIterator iter;
         private final byte[] keyBegin;
@@ -808,7 +1074,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
             if (this.match(Session.SCAN_PREFIX_BEGIN)) {
                 /*
                  * Prefix with `keyBegin`?
-                 * TODO: use custom prefix_extractor instead
+                 * NOTE: the prefix extractor just extracts the first bytes
+                 * of `keyBegin`, so we still need to check the whole prefix
                  */
                 return Bytes.prefixWith(key, this.keyBegin);
             } else if (this.match(Session.SCAN_PREFIX_END)) {
@@ -849,9 +1116,110 @@ public class RocksDBStdSessions extends RocksDBSessions {
                 }
             }
 
+            // Don't copy the value from native if only the key is needed
+            byte[] value = this.match(Session.SCAN_KEYONLY) ?
+                           EMPTY_VALUE : this.iter.value();
+            BackendColumn col = BackendColumn.of(this.iter.key(), value);
+            this.iter.next();
+            this.matched = false;
+
+            return col;
+        }
+
+        @Override
+        public byte[] position() {
+            return this.position;
+        }
+
+        @Override
+        public void close() {
+            if (this.iter.isOwningHandle()) {
+                this.iter.close();
+            }
+        }
+    }
+
+    /**
+     * A wrapper for RocksIterator that scans records prefixed with any of
+     * the prefixes, and returns at most `limit` records for each prefix
+     */
+    private static class MultiPrefixColumnIterator
+                   implements BackendColumnIterator {
+
+        private final RocksIterator iter;
+        private final Iterator<byte[]> prefixes;
+        private final long limit;
+
+        private byte[] prefix;
+        private long count;
+        private byte[] position;
+        private boolean matched;
+
+        public MultiPrefixColumnIterator(RocksIterator iter,
+                                         List<byte[]> prefixes, long limit) {
+            E.checkNotNull(iter, "iter");
+            E.checkArgument(limit > 0L, "The limit must be > 0, but got %s",
+                            limit);
+            this.iter = iter;
+            // Seek forward only if prefixes are sorted, skip the duplicates
+            List<byte[]> sorted = new ArrayList<>(prefixes);
+            sorted.sort(Bytes::compare);
+            List<byte[]> distinct = new ArrayList<>(sorted.size());
+            for (byte[] prefix : sorted) {
+                if (distinct.isEmpty() ||
+                    !Bytes.equals(distinct.get(distinct.size() - 1), prefix)) {
+                    distinct.add(prefix);
+                }
+            }
+            this.prefixes = distinct.iterator();
+            this.limit = limit;
+
+            this.prefix = null;
+            this.count = 0L;
+            this.position = null;
+            this.matched = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.matched) {
+                return true;
+            }
+            if (!this.iter.isOwningHandle()) {
+                // Maybe closed
+                return false;
+            }
+
+            while (true) {
+                if (this.prefix != null && this.count < this.limit &&
+                    this.iter.isValid() &&
+                    Bytes.prefixWith(this.iter.key(), this.prefix)) {
+                    this.position = this.iter.key();
+                    this.matched = true;
+                    return true;
+                }
+                if (!this.prefixes.hasNext()) {
+                    // The end, free the iterator
+                    this.position = null;
+                    this.close();
+                    return false;
+                }
+                this.prefix = this.prefixes.next();
+                this.count = 0L;
+                this.iter.seek(this.prefix);
+            }
+        }
+
+        @Override
+        public BackendColumn next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
             BackendColumn col = BackendColumn.of(this.iter.key(),
                                                  this.iter.value());
             this.iter.next();
+            this.count++;
             this.matched = false;
 
             return col;
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
@@ -39,7 +40,9 @@ import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.store.AbstractBackendStore;
 import com.baidu.hugegraph.backend.store.BackendAction;
 import com.baidu.hugegraph.backend.store.BackendEntry;
@@ -48,11 +51,13 @@ import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.Log;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 public abstract class RocksDBStore extends AbstractBackendStore<Session> {
 
@@ -315,11 +320,63 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
 
     @Override
     public Iterator<BackendEntry> query(Query query) {
+        if (query instanceof BatchQuery) {
+            return this.queryBatch((BatchQuery) query);
+        }
         HugeType tableType = RocksDBTable.tableType(query);
         RocksDBTable table = this.table(tableType);
         return table.query(this.session(tableType), query);
     }
 
+    /**
+     * Query by the bounded query executor of the session pool, the paging
+     * query is done in the caller thread since the page state is kept by
+     * the iterator of session
+     */
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        this.checkOpened();
+        if (query.paging()) {
+            return super.queryAsync(query);
+        }
+
+        Map<HugeType, ? extends Query> queries;
+        if (query instanceof BatchQuery) {
+            queries = ((BatchQuery) query).groupBy(RocksDBTable::tableType);
+        } else {
+            queries = ImmutableMap.of(RocksDBTable.tableType(query), query);
+        }
+        List<CompletableFuture<Iterator<BackendEntry>>> futures;
+        futures = new ArrayList<>(queries.size());
+        for (Map.Entry<HugeType, ? extends Query> e : queries.entrySet()) {
+            RocksDBTable table = this.table(e.getKey());
+            Query q = e.getValue();
+            futures.add(this.sessions(e.getKey()).queryAsync(session -> {
+                return table.query((Session) session, q);
+            }));
+        }
+        return futures.size() == 1 ? futures.get(0) :
+               QueryResults.concatAsync(futures);
+    }
+
+    @Override
+    public Number queryNumber(Query query) {
+        HugeType tableType = RocksDBTable.tableType(query);
+        RocksDBTable table = this.table(tableType);
+        return table.queryNumber(this.session(tableType), query);
+    }
+
+    private Iterator<BackendEntry> queryBatch(BatchQuery query) {
+        ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+        Map<HugeType, BatchQuery> batches;
+        batches = query.groupBy(RocksDBTable::tableType);
+        for (Map.Entry<HugeType, BatchQuery> e : batches.entrySet()) {
+            RocksDBTable table = this.table(e.getKey());
+            rs.extend(table.query(this.session(e.getKey()), e.getValue()));
+        }
+        return rs;
+    }
+
     @Override
     public void init() {
         this.checkOpened();
@@ -416,14 +473,16 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
     @Override
     protected Session session(HugeType tableType) {
         this.checkOpened();
+        return this.sessions(tableType).session();
+    }
 
+    private RocksDBSessions sessions(HugeType tableType) {
         // Optimized disk
         String disk = this.tableDiskMapping.get(tableType);
         if (disk != null) {
-            return db(disk).session();
+            return db(disk);
         }
-
-        return this.sessions.session();
+        return this.sessions;
     }
 
     private List<Session> session() {
@@ -552,6 +611,20 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
             Session session = super.sessions.session();
             return this.counters.getCounter(session, type);
         }
+
+        @Override
+        public void increaseCounter(String name, long increment) {
+            super.checkOpened();
+            Session session = super.sessions.session();
+            this.counters.increaseCounter(session, name, increment);
+        }
+
+        @Override
+        public long getCounter(String name) {
+            super.checkOpened();
+            Session session = super.sessions.session();
+            return this.counters.getCounter(session, name);
+        }
     }
 
     public static class RocksDBGraphStore extends RocksDBStore {
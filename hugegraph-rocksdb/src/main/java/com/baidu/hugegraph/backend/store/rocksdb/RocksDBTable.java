@@ -19,15 +19,20 @@
 
 package com.baidu.hugegraph.backend.store.rocksdb;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.page.PageState;
+import com.baidu.hugegraph.backend.query.Aggregate;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdPrefixQuery;
+import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.IdRangeQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry;
@@ -41,6 +46,7 @@ import com.baidu.hugegraph.backend.store.Shard;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
 import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.iterator.FlatMapperIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
@@ -118,6 +124,11 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
             return ImmutableList.<BackendEntry>of().iterator();
         }
 
+        // Query by batch
+        if (query instanceof BatchQuery) {
+            return this.queryByBatch(session, (BatchQuery) query);
+        }
+
         // Query all
         if (query.empty()) {
             return newEntryIterator(this.queryAll(session, query), query);
@@ -138,11 +149,11 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         // Query by id
         if (query.conditions().isEmpty()) {
             assert !query.ids().isEmpty();
-            ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
-            for (Id id : query.ids()) {
-                rs.extend(newEntryIterator(this.queryById(session, id), query));
+            if (query.ids().size() == 1) {
+                Id id = query.ids().iterator().next();
+                return newEntryIterator(this.queryById(session, id), query);
             }
-            return rs;
+            return this.queryByIds(session, query);
         }
 
         // Query by condition (or condition + id)
@@ -150,6 +161,123 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         return newEntryIterator(this.queryByCond(session, cq), query);
     }
 
+    public Number queryNumber(Session session, Query query) {
+        Aggregate aggregate = query.aggregateNotNull();
+        if (!aggregate.countAll()) {
+            throw new NotSupportException("aggregate %s", aggregate);
+        }
+        E.checkArgument(!query.paging() && query.offset() == 0L &&
+                        query.limit() == Query.NO_LIMIT,
+                        "Can't count with paging or range: %s", query);
+        HugeType type = query.resultType();
+
+        BackendColumnIterator keys = this.queryKeys(session, query);
+        if (keys == null) {
+            // Other queries like by ids are counted from the entries
+            long count = 0L;
+            Iterator<BackendEntry> entries = this.query(session, query);
+            while (entries.hasNext()) {
+                BackendEntry entry = entries.next();
+                count += countByColumn(type) ? entry.columnsSize() : 1L;
+            }
+            return count;
+        }
+
+        // Count by the keys only, the values are never read
+        long count = 0L;
+        try {
+            BinaryBackendEntry last = null;
+            while (keys.hasNext()) {
+                BackendColumn col = keys.next();
+                if (countByColumn(type)) {
+                    count++;
+                } else if (last == null || !last.belongToMe(col)) {
+                    // The columns of an entry are adjacent with same prefix
+                    last = new BinaryBackendEntry(type, col.name);
+                    count++;
+                }
+            }
+        } finally {
+            keys.close();
+        }
+        return count;
+    }
+
+    protected BackendColumnIterator queryKeys(Session session, Query query) {
+        // Count all
+        if (query.empty()) {
+            return session.scan(this.table(), null, null,
+                                Session.SCAN_ANY | Session.SCAN_KEYONLY);
+        }
+
+        // Count by prefix
+        if (query instanceof IdPrefixQuery) {
+            IdPrefixQuery pq = (IdPrefixQuery) query;
+            int type = pq.inclusiveStart() ?
+                       Session.SCAN_GTE_BEGIN : Session.SCAN_GT_BEGIN;
+            type |= Session.SCAN_PREFIX_END | Session.SCAN_KEYONLY;
+            return session.scan(this.table(), pq.start().asBytes(),
+                                pq.prefix().asBytes(), type);
+        }
+
+        // Count by range
+        if (query instanceof IdRangeQuery) {
+            IdRangeQuery rq = (IdRangeQuery) query;
+            byte[] start = rq.start().asBytes();
+            byte[] end = rq.end() == null ? null : rq.end().asBytes();
+            int type = rq.inclusiveStart() ?
+                       Session.SCAN_GTE_BEGIN : Session.SCAN_GT_BEGIN;
+            if (end != null) {
+                type |= rq.inclusiveEnd() ?
+                        Session.SCAN_LTE_END : Session.SCAN_LT_END;
+            }
+            type |= Session.SCAN_KEYONLY;
+            return session.scan(this.table(), start, end, type);
+        }
+
+        return null;
+    }
+
+    private static boolean countByColumn(HugeType type) {
+        // Each column is an edge or an element id of index
+        return type.isEdge() || type.isIndex();
+    }
+
+    protected Iterator<BackendEntry> queryByBatch(Session session,
+                                                  BatchQuery query) {
+        List<byte[]> prefixes = prefixesOfBatch(query);
+        if (prefixes != null) {
+            // Multi-seek all the prefixes with one iterator
+            long limit = query.queries().get(0).limit();
+            return newEntryIterator(session.scan(this.table(), prefixes,
+                                                 limit), query);
+        }
+        // Query one by one lazily, avoid opening all iterators at once
+        return new FlatMapperIterator<>(query.queries().iterator(),
+                                        q -> this.query(session, q));
+    }
+
+    private static List<byte[]> prefixesOfBatch(BatchQuery query) {
+        List<Query> queries = query.queries();
+        if (queries.isEmpty()) {
+            return null;
+        }
+        long limit = queries.get(0).limit();
+        List<byte[]> prefixes = new ArrayList<>(queries.size());
+        for (Query q : queries) {
+            if (!(q instanceof IdPrefixQuery) || q.limit() != limit ||
+                q.limit() == 0L || q.offset() != 0L || q.paging()) {
+                return null;
+            }
+            IdPrefixQuery pq = (IdPrefixQuery) q;
+            if (!pq.inclusiveStart() || !pq.start().equals(pq.prefix())) {
+                return null;
+            }
+            prefixes.add(pq.prefix().asBytes());
+        }
+        return prefixes;
+    }
+
     protected BackendColumnIterator queryAll(Session session, Query query) {
         if (query.paging()) {
             PageState page = PageState.fromString(query.page());
@@ -160,6 +288,24 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         }
     }
 
+    protected Iterator<BackendEntry> queryByIds(Session session, Query query) {
+        if (!(query instanceof IdQuery) ||
+            ((IdQuery) query).mustSortByInput()) {
+            ExtendableIterator<BackendEntry> rs = new ExtendableIterator<>();
+            for (Id id : query.ids()) {
+                rs.extend(newEntryIterator(this.queryById(session, id), query));
+            }
+            return rs;
+        }
+        // Multi-seek all the ids with one iterator if no need to keep order
+        List<byte[]> prefixes = new ArrayList<>(query.ids().size());
+        for (Id id : query.ids()) {
+            prefixes.add(id.asBytes());
+        }
+        return newEntryIterator(session.scan(this.table(), prefixes,
+                                             Query.NO_LIMIT), query);
+    }
+
     protected BackendColumnIterator queryById(Session session, Id id) {
         // TODO: change to get() after vertex and schema don't use id prefix
         return session.scan(this.table(), id.asBytes());
@@ -21,12 +21,15 @@ package com.baidu.hugegraph.backend.store.rocksdb;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
@@ -36,6 +39,7 @@ import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.StringEncoding;
 
 public class RocksDBTables {
 
@@ -49,6 +53,27 @@ public class RocksDBTables {
 
         public long getCounter(Session session, HugeType type) {
             byte[] key = new byte[]{type.code()};
+            return this.getCounter(session, key);
+        }
+
+        public void increaseCounter(Session session, HugeType type,
+                                    long increment) {
+            byte[] key = new byte[]{type.code()};
+            this.increaseCounter(session, key, increment);
+        }
+
+        public long getCounter(Session session, String name) {
+            // The named key never conflicts with the one-byte type key
+            return this.getCounter(session, StringEncoding.encode(name));
+        }
+
+        public void increaseCounter(Session session, String name,
+                                    long increment) {
+            this.increaseCounter(session, StringEncoding.encode(name),
+                                 increment);
+        }
+
+        private long getCounter(Session session, byte[] key) {
             byte[] value = session.get(this.table(), key);
             if (value != null) {
                 return l(value);
@@ -57,9 +82,8 @@ public class RocksDBTables {
             }
         }
 
-        public void increaseCounter(Session session, HugeType type,
-                                    long increment) {
-            byte[] key = new byte[]{type.code()};
+        private void increaseCounter(Session session, byte[] key,
+                                     long increment) {
             session.increase(this.table(), key, b(increment));
         }
 
@@ -148,6 +172,17 @@ public class RocksDBTables {
             BackendColumn col = BackendColumn.of(id.asBytes(), value);
             return new BackendColumnIteratorWrapper(col);
         }
+
+        @Override
+        protected Iterator<BackendEntry> queryByIds(Session session,
+                                                    Query query) {
+            // Edge is stored in one column, get all of them by one multi-get
+            List<byte[]> keys = new ArrayList<>(query.ids().size());
+            for (Id id : query.ids()) {
+                keys.add(id.asBytes());
+            }
+            return newEntryIterator(session.get(this.table(), keys), query);
+        }
     }
 
     public static class IndexTable extends RocksDBTable {
@@ -307,6 +307,14 @@ public class RocksDBSstSessions extends RocksDBSessions {
             return null;
         }
 
+        /**
+         * Get records by multi keys from a table
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            return BackendColumnIterator.empty();
+        }
+
         /**
          * Scan all records from a table
          */
@@ -336,6 +344,16 @@ public class RocksDBSstSessions extends RocksDBSessions {
             assert !this.hasChanges();
             return BackendColumnIterator.empty();
         }
+
+        /**
+         * Scan records by multi key prefixes from a table
+         */
+        @Override
+        public BackendColumnIterator scan(String table, List<byte[]> prefixes,
+                                          long limit) {
+            assert !this.hasChanges();
+            return BackendColumnIterator.empty();
+        }
     }
 
     private static class Changes extends ArrayList<Pair<byte[], byte[]>> {
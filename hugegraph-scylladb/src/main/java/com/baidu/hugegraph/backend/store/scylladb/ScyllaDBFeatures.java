@@ -32,4 +32,10 @@ public class ScyllaDBFeatures extends CassandraFeatures {
     public boolean supportsQueryWithContainsKey() {
         return false;
     }
+
+    @Override
+    public boolean supportsAggregateQuery() {
+        // The label index is stored in another table and joined in query
+        return false;
+    }
 }
@@ -33,9 +33,12 @@ import com.baidu.hugegraph.dist.RegisterUtil;
     IndexLabelApiTest.class,
     VertexApiTest.class,
     EdgeApiTest.class,
+    LoadApiTest.class,
+    TraversersApiTest.class,
     TaskApiTest.class,
     GremlinApiTest.class,
-    MetricsApiTest.class
+    MetricsApiTest.class,
+    StatisticsApiTest.class
 })
 public class ApiTestSuite {
 
@@ -21,8 +21,10 @@ package com.baidu.hugegraph.api;
 
 import java.io.IOException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -45,6 +47,7 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 public class BaseApiTest {
 
@@ -59,6 +62,9 @@ public class BaseApiTest {
     private static final String GRAPH_VERTEX = "/graph/vertices";
     private static final String GRAPH_EDGE = "/graph/edges";
 
+    private static final long TASK_TIMEOUT = 60 * 1000L;
+    private static final long TASK_QUERY_INTERVAL = 100L;
+
     private static RestClient client;
 
     private static final ObjectMapper mapper = new ObjectMapper();
@@ -378,9 +384,20 @@ public class BaseApiTest {
             List<Map> list = readList(content, type, Map.class);
             List<Object> names = list.stream().map(e -> e.get("name"))
                                      .collect(Collectors.toList());
+            List<Integer> tasks = new ArrayList<>();
             names.forEach(name -> {
-                client.delete(path, (String) name);
+                Response response = client.delete(path, (String) name);
+                if (response.getStatus() == 202) {
+                    // The label is removed asynchronously by a task
+                    String result = response.readEntity(String.class);
+                    tasks.add(assertJsonContains(result, "task_id"));
+                }
             });
+            /*
+             * Wait the removing tasks completed, otherwise a label with
+             * the same name created by next test may be removed by them
+             */
+            tasks.forEach(BaseApiTest::waitTaskCompleted);
         };
 
         consumer.accept(SCHEMA_ILS);
@@ -389,6 +406,32 @@ public class BaseApiTest {
         consumer.accept(SCHEMA_PKS);
     }
 
+    protected static void waitTaskCompleted(int task) {
+        String path = URL_PREFIX + "/tasks";
+        Set<String> completed = ImmutableSet.of("success", "cancelled",
+                                                "failed");
+        long deadline = System.currentTimeMillis() + TASK_TIMEOUT;
+        while (true) {
+            Response r = client.get(path, String.valueOf(task));
+            String content = assertResponseStatus(200, r);
+            String status = assertJsonContains(content, "task_status");
+            if (completed.contains(status)) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new HugeException("Task '%s' was not completed in " +
+                                        "%s ms, status: %s",
+                                        task, TASK_TIMEOUT, status);
+            }
+            try {
+                Thread.sleep(TASK_QUERY_INTERVAL);
+            } catch (InterruptedException e) {
+                throw new HugeException("Interrupted while waiting task " +
+                                        "'%s'", e, task);
+            }
+        }
+    }
+
     protected static String parseId(String content) throws IOException {
         Map<?, ?> map = mapper.readValue(content, Map.class);
         return (String) map.get("id");
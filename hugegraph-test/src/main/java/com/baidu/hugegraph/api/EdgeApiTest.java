@@ -20,15 +20,29 @@
 package com.baidu.hugegraph.api;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.ws.rs.core.Response;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.JsonUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
 public class EdgeApiTest extends BaseApiTest {
 
     private static String path = "/graphs/hugegraph/graph/edges/";
+    private static String vertexPath = "/graphs/hugegraph/graph/vertices/";
+
+    private static final int PERSONS = 30;
 
     @Before
     public void prepareSchema() {
@@ -124,4 +138,143 @@ public class EdgeApiTest extends BaseApiTest {
         r = client().delete(path, id);
         assertResponseStatus(204, r);
     }
+
+    @Test
+    public void testBatchCreateWithCheckVertex() {
+        List<String> persons = this.initPersons();
+
+        // Many edges with the vertices shared and the edges duplicated
+        List<Map<String, Object>> edges = new ArrayList<>();
+        Set<String> pairs = new HashSet<>();
+        for (int i = 0; i < PERSONS; i++) {
+            int j = (i + 1) % PERSONS;
+            int k = (i * 7 + 3) % PERSONS;
+            edges.add(knows(persons.get(i), persons.get(j), 0.5));
+            edges.add(knows(persons.get(i), persons.get(k), 0.5));
+            edges.add(knows(persons.get(i), persons.get(j), 0.5));
+            pairs.add(persons.get(i) + ">" + persons.get(j));
+            pairs.add(persons.get(i) + ">" + persons.get(k));
+        }
+        Response r = client().post(path + "batch", JsonUtil.toJson(edges));
+        String content = assertResponseStatus(201, r);
+        List<?> ids = JsonUtil.fromJson(content, List.class);
+        Assert.assertEquals(edges.size(), ids.size());
+        Assert.assertEquals(pairs.size(), new HashSet<>(ids).size());
+
+        Assert.assertEquals(pairs, this.listKnowsPairs());
+    }
+
+    @Test
+    public void testBatchCreateWithCheckVertexNotExist() {
+        List<String> persons = this.initPersons();
+
+        List<Map<String, Object>> edges = new ArrayList<>();
+        for (int i = 1; i < PERSONS; i++) {
+            edges.add(knows(persons.get(i - 1), persons.get(i), 0.5));
+        }
+        edges.add(knows(persons.get(0), "1:not-exist", 0.5));
+        Response r = client().post(path + "batch", JsonUtil.toJson(edges));
+        String content = assertResponseStatus(400, r);
+        Assert.assertTrue(content, content.contains(
+                          "Invalid vertex id '1:not-exist'"));
+
+        // None of the edges are committed
+        Assert.assertEquals(new HashSet<>(), this.listKnowsPairs());
+    }
+
+    @Test
+    public void testBatchUpdateWithCheckVertex() {
+        List<String> persons = this.initPersons();
+
+        List<Map<String, Object>> edges = new ArrayList<>();
+        for (int i = 1; i < PERSONS; i++) {
+            edges.add(knows(persons.get(i - 1), persons.get(i), 1.0));
+        }
+        Response r = client().post(path + "batch", JsonUtil.toJson(edges));
+        assertResponseStatus(201, r);
+
+        // Update the existing edges with duplicates and add new ones
+        edges = new ArrayList<>();
+        Set<String> pairs = new HashSet<>();
+        for (int i = 1; i < PERSONS; i++) {
+            edges.add(knows(persons.get(i - 1), persons.get(i), 2.0));
+            edges.add(knows(persons.get(i - 1), persons.get(i), 3.0));
+            edges.add(knows(persons.get(i), persons.get(0), 1.0));
+            pairs.add(persons.get(i - 1) + ">" + persons.get(i));
+            pairs.add(persons.get(i) + ">" + persons.get(0));
+        }
+        Map<String, Object> req = new HashMap<>();
+        req.put("edges", edges);
+        req.put("update_strategies", ImmutableMap.of("weight", "SUM"));
+        req.put("check_vertex", true);
+        req.put("create_if_not_exist", true);
+        r = client().put(path + "batch", JsonUtil.toJson(req),
+                         ImmutableMap.of());
+        String content = assertResponseStatus(200, r);
+        List<Map<?, ?>> results = assertJsonContains(content, "edges");
+        Assert.assertEquals(pairs.size(), results.size());
+        Assert.assertEquals(pairs, this.listKnowsPairs());
+
+        r = client().get(path, ImmutableMap.of("label", "knows",
+                                               "limit", 1000));
+        content = assertResponseStatus(200, r);
+        results = assertJsonContains(content, "edges");
+        for (Map<?, ?> edge : results) {
+            Map<?, ?> props = assertMapContains(edge, "properties");
+            String inV = assertMapContains(edge, "inV");
+            double expected = inV.equals(persons.get(0)) ? 1.0 : 6.0;
+            Assert.assertEquals(expected, props.get("weight"));
+        }
+
+        // Update with a not existing vertex
+        edges = ImmutableList.of(knows(persons.get(0), "1:not-exist", 1.0));
+        req.put("edges", edges);
+        r = client().put(path + "batch", JsonUtil.toJson(req),
+                         ImmutableMap.of());
+        assertResponseStatus(400, r);
+    }
+
+    private List<String> initPersons() {
+        List<Map<String, Object>> vertices = new ArrayList<>();
+        for (int i = 0; i < PERSONS; i++) {
+            vertices.add(ImmutableMap.of(
+                         "label", "person",
+                         "properties", ImmutableMap.of("name", "p" + i,
+                                                       "age", 20 + i,
+                                                       "city", "Beijing")));
+        }
+        Response r = client().post(vertexPath + "batch",
+                                   JsonUtil.toJson(vertices));
+        String content = assertResponseStatus(201, r);
+        @SuppressWarnings("unchecked")
+        List<String> ids = JsonUtil.fromJson(content, List.class);
+        Assert.assertEquals(PERSONS, ids.size());
+        return ids;
+    }
+
+    private Set<String> listKnowsPairs() {
+        Response r = client().get(path, ImmutableMap.of("label", "knows",
+                                                        "limit", 1000));
+        String content = assertResponseStatus(200, r);
+        List<Map<?, ?>> edges = assertJsonContains(content, "edges");
+        Set<String> pairs = new HashSet<>();
+        for (Map<?, ?> edge : edges) {
+            pairs.add(assertMapContains(edge, "outV") + ">" +
+                      assertMapContains(edge, "inV"));
+        }
+        return pairs;
+    }
+
+    private static Map<String, Object> knows(String outV, String inV,
+                                             double weight) {
+        Map<String, Object> edge = new HashMap<>();
+        edge.put("label", "knows");
+        edge.put("outV", outV);
+        edge.put("outVLabel", "person");
+        edge.put("inV", inV);
+        edge.put("inVLabel", "person");
+        edge.put("properties", ImmutableMap.of("date", "20170324",
+                                               "weight", weight));
+        return edge;
+    }
 }
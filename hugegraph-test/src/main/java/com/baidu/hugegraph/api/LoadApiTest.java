@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+
+public class LoadApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/graph/load";
+    private static String NDJSON = "application/x-ndjson";
+
+    @Before
+    public void prepareSchema() {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+    }
+
+    private Response load(String... lines) {
+        String body = String.join("\n", lines);
+        return client().post(path, Entity.entity(body, NDJSON));
+    }
+
+    private static String person(String name, int age) {
+        return String.format("{\"label\": \"person\", \"properties\": " +
+                             "{\"name\": \"%s\", \"age\": %s, " +
+                             "\"city\": \"Beijing\"}}", name, age);
+    }
+
+    private static String created(String outV, String inV) {
+        return String.format("{\"label\": \"created\", " +
+                             "\"outVLabel\": \"person\", \"outV\": \"%s\", " +
+                             "\"inVLabel\": \"software\", \"inV\": \"%s\", " +
+                             "\"properties\": {\"date\": \"20170324\", " +
+                             "\"weight\": 0.5}}",
+                             outV, inV);
+    }
+
+    @Test
+    public void testLoadVertices() {
+        Response r = load(person("tom", 18),
+                          person("jerry", 19),
+                          "",
+                          person("tommy", 20));
+        String content = assertResponseStatus(201, r);
+        Assert.assertEquals(3, assertJsonContains(content, "vertices"));
+        Assert.assertEquals(0, assertJsonContains(content, "edges"));
+        Assert.assertEquals(0, assertJsonContains(content, "failures"));
+
+        r = client().get("/graphs/hugegraph/graph/vertices");
+        content = assertResponseStatus(200, r);
+        List<?> vertices = assertJsonContains(content, "vertices");
+        Assert.assertEquals(3, vertices.size());
+    }
+
+    @Test
+    public void testLoadVerticesAndEdges() throws IOException {
+        BaseApiTest.initVertex();
+        String lop = getVertexId("software", "name", "lop");
+        String ripple = getVertexId("software", "name", "ripple");
+        String marko = getVertexId("person", "name", "marko");
+
+        Response r = load(person("tom", 18),
+                          "{\"type\": \"vertex\", \"label\": \"person\", " +
+                          "\"properties\": {\"name\": \"jerry\", " +
+                          "\"age\": 19, \"city\": \"Shanghai\"}}",
+                          created(marko, lop),
+                          created(marko, ripple));
+        String content = assertResponseStatus(201, r);
+        Assert.assertEquals(2, assertJsonContains(content, "vertices"));
+        Assert.assertEquals(2, assertJsonContains(content, "edges"));
+        Assert.assertEquals(0, assertJsonContains(content, "failures"));
+
+        r = client().get("/graphs/hugegraph/graph/edges");
+        content = assertResponseStatus(200, r);
+        List<?> edges = assertJsonContains(content, "edges");
+        Assert.assertEquals(2, edges.size());
+    }
+
+    @Test
+    public void testLoadWithInvalidLines() throws IOException {
+        BaseApiTest.initVertex();
+        String lop = getVertexId("software", "name", "lop");
+
+        Response r = load(person("tom", 18),
+                          "{\"label\": \"person\"",
+                          "{\"label\": \"undefined\", \"properties\": {}}",
+                          person("jerry", 19),
+                          created("1:not-exist", lop));
+        String content = assertResponseStatus(201, r);
+        Assert.assertEquals(2, assertJsonContains(content, "vertices"));
+        Assert.assertEquals(0, assertJsonContains(content, "edges"));
+        Assert.assertEquals(3, assertJsonContains(content, "failures"));
+
+        List<Map<?, ?>> errors = assertJsonContains(content, "errors");
+        Assert.assertEquals(3, errors.size());
+        Assert.assertEquals(2, assertMapContains(errors.get(0), "line"));
+        Assert.assertEquals(3, assertMapContains(errors.get(1), "line"));
+        Assert.assertEquals(5, assertMapContains(errors.get(2), "line"));
+    }
+
+    @Test
+    public void testLoadWithEmptyBody() {
+        Response r = load("");
+        String content = assertResponseStatus(201, r);
+        Assert.assertEquals(0, assertJsonContains(content, "vertices"));
+        Assert.assertEquals(0, assertJsonContains(content, "edges"));
+        Assert.assertEquals(0, assertJsonContains(content, "failures"));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+
+public class StatisticsApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/statistics";
+
+    @Before
+    public void prepareSchema() {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initVertex();
+    }
+
+    @Test
+    public void testGet() {
+        Response r = client().get(path);
+        String result = assertResponseStatus(200, r);
+        assertJsonContains(result, "enabled");
+        assertJsonContains(result, "since");
+        assertJsonContains(result, "edge_labels");
+        assertJsonContains(result, "index_labels");
+
+        Map<?, ?> labels = assertJsonContains(result, "vertex_labels");
+        Map<?, ?> person = assertMapContains(labels, "person");
+        Number count = assertMapContains(person, "count");
+        Assert.assertTrue(count.longValue() > 0L);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.JsonUtil;
+import com.google.common.collect.ImmutableMap;
+
+public class TraversersApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/traversers/";
+    private static String graphPath = "/graphs/hugegraph/graph/";
+
+    private static final int VERTICES = 50;
+    private static final long SPLIT_SIZE = 1024 * 1024L;
+    private static final int PAGE_LIMIT = 7;
+
+    @Before
+    public void prepareSchema() {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+    }
+
+    private List<String> initPersons() {
+        List<Map<String, Object>> vertices = new ArrayList<>();
+        for (int i = 0; i < VERTICES; i++) {
+            vertices.add(ImmutableMap.of(
+                         "label", "person",
+                         "properties", ImmutableMap.of("name", "p" + i,
+                                                       "age", 20 + i,
+                                                       "city", "Beijing")));
+        }
+        Response r = client().post(graphPath + "vertices/batch",
+                                   JsonUtil.toJson(vertices));
+        String content = assertResponseStatus(201, r);
+        @SuppressWarnings("unchecked")
+        List<String> ids = JsonUtil.fromJson(content, List.class);
+        Assert.assertEquals(VERTICES, ids.size());
+
+        List<Map<String, Object>> edges = new ArrayList<>();
+        for (int i = 1; i < VERTICES; i++) {
+            Map<String, Object> edge = new HashMap<>();
+            edge.put("label", "knows");
+            edge.put("outV", ids.get(i - 1));
+            edge.put("outVLabel", "person");
+            edge.put("inV", ids.get(i));
+            edge.put("inVLabel", "person");
+            edge.put("properties", ImmutableMap.of("date", "20170324",
+                                                   "weight", 0.5));
+            edges.add(edge);
+        }
+        r = client().post(graphPath + "edges/batch", JsonUtil.toJson(edges));
+        assertResponseStatus(201, r);
+        return ids;
+    }
+
+    @Test
+    public void testScanVerticesByPages() {
+        List<String> ids = this.initPersons();
+
+        List<Object> results = this.scanByPages("vertices");
+        Assert.assertEquals(VERTICES, results.size());
+        Assert.assertEquals(new HashSet<>(ids), new HashSet<>(results));
+    }
+
+    @Test
+    public void testScanEdgesByPages() {
+        this.initPersons();
+
+        List<Object> results = this.scanByPages("edges");
+        Assert.assertEquals(VERTICES - 1, results.size());
+        Assert.assertEquals(VERTICES - 1, new HashSet<>(results).size());
+    }
+
+    @Test
+    public void testScanVerticesWithoutPaging() {
+        List<String> ids = this.initPersons();
+
+        Set<Object> results = new HashSet<>();
+        for (Map<?, ?> shard : this.shards("vertices")) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("start", shard.get("start"));
+            params.put("end", shard.get("end"));
+            Response r = client().get(path + "vertices/scan", params);
+            String content = assertResponseStatus(200, r);
+
+            Map<?, ?> json = JsonUtil.fromJson(content, Map.class);
+            Assert.assertFalse(json.containsKey("page"));
+            List<Map<?, ?>> vertices = assertMapContains(json, "vertices");
+            for (Map<?, ?> vertex : vertices) {
+                Assert.assertEquals("person", vertex.get("label"));
+                results.add(vertex.get("id"));
+            }
+        }
+        Assert.assertEquals(new HashSet<>(ids), results);
+    }
+
+    private List<Map<?, ?>> shards(String type) {
+        Response r = client().get(path + type + "/shards",
+                                  ImmutableMap.of("split_size", SPLIT_SIZE));
+        String content = assertResponseStatus(200, r);
+        List<Map<?, ?>> shards = assertJsonContains(content, "shards");
+        Assert.assertFalse(shards.isEmpty());
+        return shards;
+    }
+
+    private List<Object> scanByPages(String type) {
+        List<Object> results = new ArrayList<>();
+        for (Map<?, ?> shard : this.shards(type)) {
+            String page = "";
+            int pages = 0;
+            while (page != null) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("start", shard.get("start"));
+                params.put("end", shard.get("end"));
+                params.put("page", page);
+                params.put("page_limit", PAGE_LIMIT);
+                Response r = client().get(path + type + "/scan", params);
+                String content = assertResponseStatus(200, r);
+
+                Map<?, ?> json = JsonUtil.fromJson(content, Map.class);
+                List<Map<?, ?>> elements = assertMapContains(json, type);
+                Assert.assertTrue(elements.size() <= PAGE_LIMIT);
+                for (Map<?, ?> element : elements) {
+                    results.add(element.get("id"));
+                }
+                page = assertMapContains(json, "page");
+                pages++;
+            }
+            Assert.assertTrue(pages >= 1);
+        }
+        return results;
+    }
+}
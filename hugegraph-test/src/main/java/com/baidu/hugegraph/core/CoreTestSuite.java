@@ -44,6 +44,7 @@ import com.baidu.hugegraph.util.Log;
     VertexPropertyCoreTest.class,
     EdgePropertyCoreTest.class,
     RestoreCoreTest.class,
+    TraverserCoreTest.class,
     MultiGraphsTest.class
 })
 public class CoreTestSuite {
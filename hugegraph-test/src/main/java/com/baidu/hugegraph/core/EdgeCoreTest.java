@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
@@ -47,10 +48,13 @@ import org.junit.Test;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.backend.query.BatchQuery;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.backend.store.Shard;
@@ -625,6 +629,20 @@ public class EdgeCoreTest extends BaseCoreTest {
         Assert.assertEquals(4, vertices.size());
     }
 
+    @Test
+    public void testQueryCount() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Assert.assertEquals(18L, graph.traversal().E().count().next());
+        Assert.assertEquals(7L, graph.traversal().E().hasLabel("look")
+                                     .count().next());
+        Assert.assertEquals(4L, graph.traversal().E().hasLabel("friend")
+                                     .count().next());
+        Assert.assertEquals(10L, graph.traversal().E().limit(10)
+                                      .count().next());
+    }
+
     @Test
     public void testQueryAllWithLimit() {
         HugeGraph graph = graph();
@@ -888,6 +906,37 @@ public class EdgeCoreTest extends BaseCoreTest {
         Assert.assertEquals("2017-5-1", edges.get(1).value("time"));
     }
 
+    @Test
+    public void testQueryEdgeIdsOfVertex() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Vertex james = vertex("author", "id", 1);
+        Query query = GraphTransaction.constructEdgesQuery((Id) james.id(),
+                                                           Directions.OUT);
+        List<EdgeId> ids = IteratorUtils.list(graph.edgeIds(query));
+        Assert.assertEquals(4, ids.size());
+
+        Set<Id> expected = new HashSet<>();
+        Set<Id> adjacentVertices = new HashSet<>();
+        graph.edges(query).forEachRemaining(edge -> {
+            expected.add(((HugeEdge) edge).id());
+            adjacentVertices.add((Id) edge.inVertex().id());
+        });
+        Assert.assertEquals(expected, new HashSet<>(ids));
+        for (EdgeId id : ids) {
+            Assert.assertEquals(james.id(), id.ownerVertexId());
+            Assert.assertTrue(adjacentVertices.contains(id.otherVertexId()));
+        }
+
+        // Uncommitted edge
+        Vertex java4 = graph.addVertex(T.label, "book", "name", "java-4");
+        Edge edge = james.addEdge("authored", java4);
+        ids = IteratorUtils.list(graph.edgeIds(query));
+        Assert.assertEquals(5, ids.size());
+        Assert.assertTrue(ids.contains(edge.id()));
+    }
+
     @Test
     public void testQueryEdgesById() {
         HugeGraph graph = graph();
@@ -952,6 +1001,112 @@ public class EdgeCoreTest extends BaseCoreTest {
         });
     }
 
+    @Test
+    public void testQueryEdgesByIdsWithoutSortByInput() {
+        HugeGraph graph = graph();
+        init100LookEdges();
+
+        Vertex louise = vertex("person", "name", "Louise");
+        Vertex java = vertex("book", "name", "java-book");
+        Edge removed = louise.addEdge("look", java, "time", "time-removed");
+        graph.tx().commit();
+        Id missing = (Id) removed.id();
+        removed.remove();
+        graph.tx().commit();
+
+        List<Id> ids = new LinkedList<>();
+        graph.edges().forEachRemaining(edge -> {
+            ids.add(0, (Id) edge.id());
+        });
+        Assert.assertEquals(100, ids.size());
+
+        // Query many edges by ids with and without the order of the ids
+        IdQuery query = new IdQuery(HugeType.EDGE);
+        ids.forEach(query::query);
+        List<Edge> edges = IteratorUtils.list(graph.edges(query));
+        Assert.assertEquals(100, edges.size());
+
+        query = new IdQuery(HugeType.EDGE);
+        ids.forEach(query::query);
+        query.mustSortByInput(false);
+        Set<Object> results = new HashSet<>();
+        graph.edges(query).forEachRemaining(edge -> {
+            Assert.assertTrue(results.add(edge.id()));
+            Assert.assertEquals("look", edge.label());
+        });
+        Assert.assertEquals(new HashSet<>(ids), results);
+        Assert.assertEquals(results, ImmutableSet.copyOf(
+                                     IteratorUtils.map(edges, Edge::id)));
+
+        // Query with missing and duplicate ids
+        query = new IdQuery(HugeType.EDGE);
+        query.query(missing);
+        query.query(ids.get(0));
+        query.query(ids.get(99));
+        query.query(ids.get(0));
+        query.query(EdgeId.parse(ids.get(99).asString()));
+        query.mustSortByInput(false);
+        edges = IteratorUtils.list(graph.edges(query));
+        Assert.assertEquals(2, edges.size());
+        Assert.assertEquals(ImmutableSet.of(ids.get(0), ids.get(99)),
+                            ImmutableSet.of(edges.get(0).id(),
+                                            edges.get(1).id()));
+
+        query = new IdQuery(HugeType.EDGE);
+        query.query(missing);
+        query.mustSortByInput(false);
+        Assert.assertFalse(graph.edges(query).hasNext());
+    }
+
+    @Test
+    public void testQueryEdgesOfVerticesAsync() throws Exception {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Vertex james = vertex("author", "id", 1);
+        Vertex louise = vertex("person", "name", "Louise");
+        Vertex java3 = vertex("book", "name", "java-3");
+
+        // Query edges of a vertex asynchronously
+        Query query = GraphTransaction.constructEdgesQuery(
+                      (Id) james.id(), Directions.BOTH);
+        CompletableFuture<Iterator<Edge>> future = graph.edgesAsync(query);
+        List<Edge> edges = IteratorUtils.list(future.get());
+        Assert.assertEquals(6, edges.size());
+        Assert.assertEquals(ImmutableSet.copyOf(james.edges(Direction.BOTH)),
+                            ImmutableSet.copyOf(edges));
+
+        // Query edges of multi vertices by batch asynchronously
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        batch.add(GraphTransaction.constructEdgesQuery((Id) louise.id(),
+                                                       Directions.OUT));
+        batch.add(GraphTransaction.constructEdgesQuery((Id) james.id(),
+                                                       Directions.OUT));
+        edges = IteratorUtils.list(graph.edgesAsync(batch).get());
+        Set<Edge> expected = new HashSet<>();
+        louise.edges(Direction.OUT).forEachRemaining(expected::add);
+        james.edges(Direction.OUT).forEachRemaining(expected::add);
+        Assert.assertEquals(expected.size(), edges.size());
+        Assert.assertEquals(expected, ImmutableSet.copyOf(edges));
+
+        // The uncommitted records are joined when iterating the results
+        Edge added = james.addEdge("write", java3, "time", "2020-1-1");
+        query = GraphTransaction.constructEdgesQuery((Id) james.id(),
+                                                     Directions.OUT);
+        edges = IteratorUtils.list(graph.edgesAsync(query).get());
+        Assert.assertTrue(edges.contains(added));
+        Assert.assertEquals(5, edges.size());
+        graph.tx().rollback();
+
+        // Query in paging asynchronously is not supported
+        Query paging = GraphTransaction.constructEdgesQuery(
+                       (Id) james.id(), Directions.OUT);
+        paging.page("");
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            graph.edgesAsync(paging);
+        });
+    }
+
     @Test
     public void testQueryEdgesByInvalidId() {
         HugeGraph graph = graph();
@@ -1120,6 +1275,36 @@ public class EdgeCoreTest extends BaseCoreTest {
         Assert.assertEquals(edges2, edges);
     }
 
+    @Test
+    public void testQueryEdgesOfVerticesByBatchQuery() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Id louise = (Id) vertex("person", "name", "Louise").id();
+        Id jeff = (Id) vertex("person", "name", "Jeff").id();
+        Id java3 = (Id) vertex("book", "name", "java-3").id();
+        Id look = graph.edgeLabel("look").id();
+
+        BatchQuery query = new BatchQuery(HugeType.EDGE);
+        query.add(GraphTransaction.constructEdgesQuery(louise, Directions.OUT));
+        query.add(GraphTransaction.constructEdgesQuery(jeff, Directions.OUT));
+        List<Edge> edges = ImmutableList.copyOf(graph.edges(query));
+        Assert.assertEquals(10, edges.size());
+
+        query = new BatchQuery(HugeType.EDGE);
+        query.add(GraphTransaction.constructEdgesQuery(louise, Directions.OUT,
+                                                       look));
+        query.add(GraphTransaction.constructEdgesQuery(jeff, Directions.OUT,
+                                                       look));
+        query.add(GraphTransaction.constructEdgesQuery(java3, Directions.IN));
+        edges = ImmutableList.copyOf(graph.edges(query));
+        Assert.assertEquals(10, edges.size());
+
+        query = new BatchQuery(HugeType.EDGE);
+        edges = ImmutableList.copyOf(graph.edges(query));
+        Assert.assertEquals(0, edges.size());
+    }
+
     @Test
     public void testQueryEdgesOfVertexWithCustomizeId() {
         HugeGraph graph = graph();
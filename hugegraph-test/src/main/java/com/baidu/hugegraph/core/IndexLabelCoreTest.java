@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.core;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.tinkerpop.gremlin.process.traversal.P;
@@ -29,15 +30,30 @@ import org.junit.Assume;
 import org.junit.Test;
 
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.backend.store.Shard;
+import com.baidu.hugegraph.backend.tx.GraphStatistics;
+import com.baidu.hugegraph.backend.tx.GraphStatistics.IndexStatistics;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.exception.NoIndexException;
 import com.baidu.hugegraph.exception.NotFoundException;
+import com.baidu.hugegraph.job.JobBuilder;
+import com.baidu.hugegraph.job.schema.RebuildIndexCallable;
+import com.baidu.hugegraph.job.schema.SchemaCallable;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
 import com.baidu.hugegraph.schema.SchemaManager;
 import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.task.HugeTask;
+import com.baidu.hugegraph.task.TaskStatus;
 import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.IndexType;
+import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.JsonUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 public class IndexLabelCoreTest extends SchemaCoreTest {
 
@@ -1278,6 +1294,165 @@ public class IndexLabelCoreTest extends SchemaCoreTest {
         Assert.assertNotNull(vertex);
     }
 
+    @Test
+    public void testRebuildIndexLabelWithStatistics() {
+        HugeGraph graph = graph();
+        GraphStatistics statistics = graph.statistics();
+        Assume.assumeTrue("Not enable statistics", statistics.enabled());
+
+        super.initPropertyKeys();
+        SchemaManager schema = graph.schema();
+        schema.vertexLabel("person").properties("name", "age", "city")
+              .primaryKeys("name").create();
+        graph.addVertex(T.label, "person", "name", "Baby",
+                        "city", "Hongkong", "age", 3);
+        graph.addVertex(T.label, "person", "name", "James",
+                        "city", "Beijing", "age", 19);
+        graph.addVertex(T.label, "person", "name", "Tom",
+                        "city", "Beijing", "age", 21);
+        graph.tx().commit();
+
+        // The statistics are seeded by the rebuilding of a new index
+        IndexLabel personByCity = schema.indexLabel("personByCity")
+                                        .onV("person").secondary()
+                                        .by("city").create();
+        IndexStatistics stats = statistics.indexLabel(personByCity.id());
+        Assert.assertTrue(stats.seeded());
+        Assert.assertEquals(3L, stats.entries());
+
+        // Simulate the statistics are partial like the graph is restarted
+        boolean complete = statistics.complete();
+        Whitebox.setInternalState(statistics, "complete", false);
+        try {
+            graph.addVertex(T.label, "person", "name", "Jack",
+                            "city", "Shanghai", "age", 20);
+            graph.tx().commit();
+            Assert.assertEquals(4L, stats.entries());
+
+            schema.indexLabel("personByCity").rebuild();
+            stats = statistics.indexLabel(personByCity.id());
+            Assert.assertTrue(stats.seeded());
+            Assert.assertEquals(4L, stats.entries());
+        } finally {
+            Whitebox.setInternalState(statistics, "complete", complete);
+        }
+    }
+
+    @Test
+    public void testRebuildIndexLabelByShards() throws Exception {
+        Assume.assumeTrue("Not support scan by key range",
+                          storeFeatures().supportsScanKeyRange());
+
+        IndexLabel personByCity = this.initPersonsWithStringId();
+        HugeGraph graph = graph();
+        Assert.assertEquals(20L, graph.traversal().V()
+                                      .has("city", "Beijing").count().next());
+
+        // Rebuild the cleared index by the shards split by backend
+        this.clearIndex(personByCity);
+        Assert.assertEquals(0L, graph.traversal().V()
+                                     .has("city", "Beijing").count().next());
+
+        List<Shard> shards = graph.graphTransaction()
+                                  .metadata(HugeType.VERTEX, "splits",
+                                            Bytes.MB);
+        List<List<String>> ranges = new ArrayList<>();
+        for (Shard shard : shards) {
+            ranges.add(ImmutableList.of(shard.start(), shard.end()));
+        }
+        HugeTask<?> task = this.rebuildIndex(personByCity, ranges,
+                                             ImmutableList.of());
+        Assert.assertEquals(TaskStatus.SUCCESS, task.status());
+        Assert.assertNull(task.input());
+        Assert.assertEquals(20L, graph.traversal().V()
+                                      .has("city", "Beijing").count().next());
+    }
+
+    @Test
+    public void testRebuildIndexLabelResumeFromCheckpoint() throws Exception {
+        Assume.assumeTrue("Not support scan by key range",
+                          storeFeatures().supportsScanKeyRange());
+
+        IndexLabel personByCity = this.initPersonsWithStringId();
+        HugeGraph graph = graph();
+        this.clearIndex(personByCity);
+
+        /*
+         * The string ids 'a0'~'a9' and 'c0'~'c9' are stored with key prefix
+         * 0x8161 and 0x8163, split them into two shards by 0x81620000
+         */
+        String split = String.valueOf(0x81620000L);
+        List<List<String>> ranges = ImmutableList.of(
+                                    ImmutableList.of("0", split),
+                                    ImmutableList.of(split, String.valueOf(
+                                                     BytesBuffer.UINT32_MAX)));
+
+        // All shards are finished, nothing to rebuild
+        HugeTask<?> task = this.rebuildIndex(personByCity, ranges,
+                                             ImmutableList.of(0, 1));
+        Assert.assertEquals(TaskStatus.SUCCESS, task.status());
+        Assert.assertEquals(0L, graph.traversal().V()
+                                     .has("city", "Beijing").count().next());
+
+        // Resume from the second shard
+        task = this.rebuildIndex(personByCity, ranges, ImmutableList.of(0));
+        Assert.assertEquals(TaskStatus.SUCCESS, task.status());
+        Assert.assertNull(task.input());
+        List<Vertex> vertices = graph.traversal().V()
+                                     .has("city", "Beijing").toList();
+        Assert.assertEquals(10, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertTrue(vertex.id().toString().startsWith("c"));
+        }
+
+        // Resume from the first shard
+        task = this.rebuildIndex(personByCity, ranges, ImmutableList.of(1));
+        Assert.assertEquals(TaskStatus.SUCCESS, task.status());
+        Assert.assertEquals(20L, graph.traversal().V()
+                                      .has("city", "Beijing").count().next());
+    }
+
+    private IndexLabel initPersonsWithStringId() {
+        super.initPropertyKeys();
+        HugeGraph graph = graph();
+        SchemaManager schema = graph.schema();
+        schema.vertexLabel("person").useCustomizeStringId()
+              .properties("name", "city").create();
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.label, "person", T.id, "a" + i,
+                            "name", "a" + i, "city", "Beijing");
+            graph.addVertex(T.label, "person", T.id, "c" + i,
+                            "name", "c" + i, "city", "Beijing");
+        }
+        graph.tx().commit();
+        return schema.indexLabel("personByCity").onV("person").secondary()
+                     .by("city").create();
+    }
+
+    private void clearIndex(IndexLabel indexLabel) {
+        GraphTransaction graphTx = graph().graphTransaction();
+        graphTx.removeIndex(indexLabel);
+        graphTx.commit();
+    }
+
+    private HugeTask<?> rebuildIndex(IndexLabel indexLabel,
+                                     List<List<String>> shards,
+                                     List<Integer> finished)
+                                     throws Exception {
+        String checkpoint = JsonUtil.toJson(ImmutableMap.of(
+                                            "shards", shards,
+                                            "finished", finished));
+        String name = SchemaCallable.formatTaskName(HugeType.INDEX_LABEL,
+                                                    indexLabel.id(),
+                                                    indexLabel.name());
+        HugeTask<Object> task = JobBuilder.of(graph()).name(name)
+                                          .input(checkpoint)
+                                          .job(new RebuildIndexCallable())
+                                          .schedule();
+        task.get();
+        return task;
+    }
+
     @Test
     public void testRebuildIndexLabelOfEdgeLabel() {
         super.initPropertyKeys();
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.core;
+
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.type.define.Directions;
+
+public class TraverserCoreTest extends BaseCoreTest {
+
+    private static final int CHILDREN = 300;
+    private static final int SHARED = 100;
+    private static final long DEGREE = 10000L;
+
+    private static final Id ROOT = IdGenerator.of(0);
+
+    @Before
+    public void initSchema() {
+        SchemaManager schema = graph().schema();
+        schema.vertexLabel("node").useCustomizeNumberId().create();
+        schema.edgeLabel("link").sourceLabel("node").targetLabel("node")
+              .create();
+    }
+
+    /**
+     * The root links to the children, each child links to a shared
+     * grandchild (linked by multiple children) and an own grandchild
+     */
+    private void initTree() {
+        HugeGraph graph = graph();
+        Vertex root = graph.addVertex(T.label, "node", T.id, 0);
+        for (int i = 1; i <= CHILDREN; i++) {
+            Vertex child = graph.addVertex(T.label, "node", T.id, i);
+            Vertex shared = graph.addVertex(T.label, "node",
+                                            T.id, 1000 + i % SHARED);
+            Vertex own = graph.addVertex(T.label, "node", T.id, 2000 + i);
+            root.addEdge("link", child);
+            child.addEdge("link", shared);
+            child.addEdge("link", own);
+            if (i % TX_BATCH == 0) {
+                graph.tx().commit();
+            }
+        }
+        graph.tx().commit();
+    }
+
+    @Test
+    public void testKoutParallel() {
+        this.initTree();
+        HugeTraverser traverser = new HugeTraverser(graph());
+
+        for (Directions dir : Directions.values()) {
+            for (int depth = 1; depth <= 3; depth++) {
+                for (long limit : new long[]{HugeTraverser.NO_LIMIT, 1L,
+                                             50L, 350L, 10000L}) {
+                    this.assertKoutEquals(traverser, dir, depth,
+                                          true, limit);
+                    this.assertKoutEquals(traverser, dir, depth,
+                                          false, limit);
+                }
+            }
+        }
+
+        Set<Id> results = traverser.kout(ROOT, Directions.OUT, "link", 2,
+                                         true, DEGREE, HugeTraverser.NO_LIMIT,
+                                         HugeTraverser.NO_LIMIT, true);
+        Assert.assertEquals(CHILDREN + SHARED, results.size());
+        results = traverser.kout(ROOT, Directions.OUT, "link", 2,
+                                 true, DEGREE, HugeTraverser.NO_LIMIT,
+                                 50L, true);
+        Assert.assertEquals(50, results.size());
+    }
+
+    @Test
+    public void testKneighborParallel() {
+        this.initTree();
+        HugeTraverser traverser = new HugeTraverser(graph());
+
+        for (Directions dir : Directions.values()) {
+            for (int depth = 1; depth <= 3; depth++) {
+                for (long limit : new long[]{HugeTraverser.NO_LIMIT, 1L,
+                                             50L, 350L, 10000L}) {
+                    this.assertKneighborEquals(traverser, dir, depth, limit);
+                }
+            }
+        }
+
+        Set<Id> results = traverser.kneighbor(ROOT, Directions.OUT, "link",
+                                              2, DEGREE,
+                                              HugeTraverser.NO_LIMIT, true);
+        Assert.assertEquals(1 + CHILDREN + SHARED + CHILDREN, results.size());
+        results = traverser.kneighbor(ROOT, Directions.OUT, "link",
+                                      2, DEGREE, 350L, true);
+        Assert.assertEquals(350, results.size());
+    }
+
+    @Test
+    public void testKoutParallelWithDegree() {
+        this.initTree();
+        HugeTraverser traverser = new HugeTraverser(graph());
+
+        // Each vertex expands at most one edge
+        Set<Id> serial = traverser.kout(ROOT, Directions.BOTH, "link", 2,
+                                        false, 1L, HugeTraverser.NO_LIMIT,
+                                        HugeTraverser.NO_LIMIT, false);
+        Set<Id> parallel = traverser.kout(ROOT, Directions.BOTH, "link", 2,
+                                          false, 1L, HugeTraverser.NO_LIMIT,
+                                          HugeTraverser.NO_LIMIT, true);
+        Assert.assertEquals(serial, parallel);
+    }
+
+    private void assertKoutEquals(HugeTraverser traverser, Directions dir,
+                                  int depth, boolean nearest, long limit) {
+        Set<Id> serial = traverser.kout(ROOT, dir, "link", depth, nearest,
+                                        DEGREE, HugeTraverser.NO_LIMIT,
+                                        limit, false);
+        // The parallel results are deterministic even if reach the limit
+        for (int i = 0; i < 3; i++) {
+            Set<Id> parallel = traverser.kout(ROOT, dir, "link", depth,
+                                              nearest, DEGREE,
+                                              HugeTraverser.NO_LIMIT,
+                                              limit, true);
+            Assert.assertEquals(serial, parallel);
+        }
+    }
+
+    private void assertKneighborEquals(HugeTraverser traverser,
+                                       Directions dir, int depth,
+                                       long limit) {
+        Set<Id> serial = traverser.kneighbor(ROOT, dir, "link", depth,
+                                             DEGREE, limit, false);
+        for (int i = 0; i < 3; i++) {
+            Set<Id> parallel = traverser.kneighbor(ROOT, dir, "link", depth,
+                                                   DEGREE, limit, true);
+            Assert.assertEquals(serial, parallel);
+        }
+    }
+}
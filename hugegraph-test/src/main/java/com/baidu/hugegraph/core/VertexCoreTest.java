@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.tinkerpop.gremlin.process.traversal.P;
@@ -51,6 +52,7 @@ import com.baidu.hugegraph.backend.id.SnowflakeIdGenerator;
 import com.baidu.hugegraph.backend.id.SplicingIdGenerator;
 import com.baidu.hugegraph.backend.page.PageInfo;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.Shard;
@@ -878,6 +880,52 @@ public class VertexCoreTest extends BaseCoreTest {
         assertContains(vertices, T.label, "book", "name", "java-1");
     }
 
+    @Test
+    public void testQueryCount() {
+        HugeGraph graph = graph();
+        init10Vertices();
+
+        Assert.assertEquals(10L, graph.traversal().V().count().next());
+        Assert.assertEquals(2L, graph.traversal().V().hasLabel("author")
+                                     .count().next());
+        Assert.assertEquals(5L, graph.traversal().V().hasLabel("book")
+                                     .count().next());
+        Assert.assertEquals(0L, graph.traversal().V().hasLabel("person")
+                                     .count().next());
+        Assert.assertEquals(3L, graph.traversal().V().limit(3)
+                                     .count().next());
+
+        // Count with uncommitted vertex
+        graph.addVertex(T.label, "book", "name", "java-6");
+        Assert.assertEquals(11L, graph.traversal().V().count().next());
+        Assert.assertEquals(6L, graph.traversal().V().hasLabel("book")
+                                     .count().next());
+    }
+
+    @Test
+    public void testQueryCountByIndex() {
+        HugeGraph graph = graph();
+        initPersonIndex(true);
+        init5Persons();
+        GraphTraversalSource g = graph.traversal();
+
+        Assert.assertEquals(5L, g.V().hasLabel("person", "author")
+                                 .count().next());
+        Assert.assertEquals(2L, g.V().has("age", 20).count().next());
+        Assert.assertEquals(3L, g.V().has("city", "Beijing").count().next());
+
+        // The elements matched by overlapped conditions are counted once
+        Assert.assertEquals(5L, g.V().has("age", P.gt(18).or(P.lt(21)))
+                                 .count().next());
+        Assert.assertEquals(3L, g.V().has("city", P.within("Beijing",
+                                                           "Beijing"))
+                                 .count().next());
+        Assert.assertEquals(4L, g.V().has("city", P.within("Beijing",
+                                                           "Taipei"))
+                                 .has("age", P.gt(3))
+                                 .count().next());
+    }
+
     @Test
     public void testQueryAllWithLimit() {
         HugeGraph graph = graph();
@@ -1092,6 +1140,115 @@ public class VertexCoreTest extends BaseCoreTest {
         });
     }
 
+    @Test
+    public void testQueryByIdsWithoutSortByInput() {
+        HugeGraph graph = graph();
+        init100Books();
+
+        String bookId = graph.vertexLabel("book").id().asString();
+        List<Id> ids = new LinkedList<>();
+        for (int i = 99; i >= 0; i--) {
+            ids.add(SplicingIdGenerator.splicing(bookId, "java-" + i));
+        }
+
+        // Query many vertices by ids with the order of the ids kept
+        IdQuery query = new IdQuery(HugeType.VERTEX);
+        ids.forEach(query::query);
+        List<Vertex> vertices = IteratorUtils.list(graph.vertices(query));
+        Assert.assertEquals(100, vertices.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(ids.get(i), vertices.get(i).id());
+        }
+
+        // Query many vertices by ids in any order
+        query = new IdQuery(HugeType.VERTEX);
+        ids.forEach(query::query);
+        query.mustSortByInput(false);
+        Set<Object> results = new HashSet<>();
+        graph.vertices(query).forEachRemaining(v -> {
+            Assert.assertTrue(results.add(v.id()));
+            Assert.assertEquals("java-" + v.value("price"), v.value("name"));
+        });
+        Assert.assertEquals(new HashSet<>(ids), results);
+
+        // Query with missing and duplicate ids
+        Id missing1 = SplicingIdGenerator.splicing(bookId, "java-100");
+        Id missing2 = SplicingIdGenerator.splicing(bookId, "java-");
+        query = new IdQuery(HugeType.VERTEX);
+        query.query(missing1);
+        query.query(ids.get(0));
+        query.query(missing2);
+        query.query(ids.get(99));
+        query.query(ids.get(0));
+        query.query(SplicingIdGenerator.splicing(bookId, "java-99"));
+        query.mustSortByInput(false);
+        vertices = IteratorUtils.list(graph.vertices(query));
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(ImmutableSet.of(ids.get(0), ids.get(99)),
+                            ImmutableSet.of(vertices.get(0).id(),
+                                            vertices.get(1).id()));
+
+        query = new IdQuery(HugeType.VERTEX);
+        query.query(missing1);
+        query.query(missing2);
+        query.mustSortByInput(false);
+        Assert.assertFalse(graph.vertices(query).hasNext());
+    }
+
+    @Test
+    public void testQueryByIdsAsync() throws Exception {
+        HugeGraph graph = graph();
+        init100Books();
+
+        String bookId = graph.vertexLabel("book").id().asString();
+        List<Id> ids = new LinkedList<>();
+        for (int i = 99; i >= 0; i--) {
+            ids.add(SplicingIdGenerator.splicing(bookId, "java-" + i));
+        }
+
+        // Query vertices by ids asynchronously
+        IdQuery query = new IdQuery(HugeType.VERTEX);
+        ids.forEach(query::query);
+        CompletableFuture<Iterator<Vertex>> future;
+        future = graph.verticesAsync(query);
+        List<Vertex> vertices = IteratorUtils.list(future.get());
+        Assert.assertEquals(100, vertices.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(ids.get(i), vertices.get(i).id());
+        }
+
+        // Query vertices by label(index) asynchronously
+        ConditionQuery cq = new ConditionQuery(HugeType.VERTEX);
+        cq.eq(HugeKeys.LABEL, graph.vertexLabel("book").id());
+        vertices = IteratorUtils.list(graph.verticesAsync(cq).get());
+        Assert.assertEquals(new HashSet<>(ids),
+                            ImmutableSet.copyOf(IteratorUtils.map(
+                                                vertices, Vertex::id)));
+
+        // The uncommitted records are joined when iterating the results
+        Vertex java100 = graph.addVertex(T.label, "book",
+                                         "name", "java-100", "price", 100);
+        graph.vertices(ids.get(0)).next().remove();
+        query = new IdQuery(HugeType.VERTEX);
+        query.query((Id) java100.id());
+        query.query(ids.get(0));
+        query.query(ids.get(1));
+        future = graph.verticesAsync(query);
+        vertices = IteratorUtils.list(future.get());
+        Assert.assertEquals(ImmutableSet.of(java100.id(), ids.get(1)),
+                            ImmutableSet.copyOf(IteratorUtils.map(
+                                                vertices, Vertex::id)));
+        graph.tx().rollback();
+
+        // Query in paging asynchronously is not supported
+        ConditionQuery paging = new ConditionQuery(HugeType.VERTEX);
+        paging.eq(HugeKeys.LABEL, graph.vertexLabel("book").id());
+        paging.page("");
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            graph.verticesAsync(paging);
+        });
+    }
+
     @Test
     public void testQueryByLabel() {
         HugeGraph graph = graph();
@@ -5196,15 +5353,98 @@ public class VertexCoreTest extends BaseCoreTest {
              .has("~page", "").limit(10).toList();
         });
 
-        Assert.assertThrows(HugeException.class, () -> {
-            g.V().has("name", "marko").has("lang", "java")
-             .has("~page", "").limit(10).toList();
-        });
+        // Joint of secondary indexes, there are 16 vertices matched
+        GraphTraversal<Vertex, Vertex> iter;
+        iter = g.V().has("name", "marko").has("lang", "java")
+                .has("~page", "").limit(10);
+        List<Vertex> vertices1 = IteratorUtils.list(iter);
+        Assert.assertEquals(10, vertices1.size());
+        String page = TraversalUtil.page(iter);
+        Assert.assertNotNull(page);
+        List<Vertex> vertices2 = g.V().has("name", "marko")
+                                  .has("lang", "java")
+                                  .has("~page", page).limit(10).toList();
+        Assert.assertEquals(6, vertices2.size());
+        Assert.assertTrue(CollectionUtil.intersect(vertices1, vertices2)
+                                        .isEmpty());
 
-        Assert.assertThrows(HugeException.class, () -> {
-            g.V().has("lang", "java").has("price", 200)
-             .has("~page", "").limit(10).toList();
-        });
+        // Joint of secondary and range indexes, there are 4 vertices matched
+        iter = g.V().has("lang", "java").has("price", 200)
+                .has("~page", "").limit(10);
+        vertices1 = IteratorUtils.list(iter);
+        Assert.assertEquals(4, vertices1.size());
+        for (Vertex vertex : vertices1) {
+            Assert.assertEquals(200, vertex.value("price"));
+        }
+    }
+
+    @Test
+    public void testQueryByJointSecondaryIndexInMultiPages() {
+        Assume.assumeTrue("Not support paging",
+                          storeFeatures().supportsQueryByPage());
+
+        GraphTraversalSource g = graph().traversal();
+        initPageTestData();
+
+        // There are 16 vertices matched, walk them by 5 + 5 + 5 + 1
+        List<Integer> sizes = new LinkedList<>();
+        Set<Vertex> vertices = new HashSet<>();
+        String page = PageInfo.PAGE_NONE;
+        while (page != null) {
+            GraphTraversal<Vertex, Vertex> iter;
+            iter = g.V().has("name", "marko").has("lang", "java")
+                    .has("~page", page).limit(5);
+            List<Vertex> results = IteratorUtils.list(iter);
+            for (Vertex vertex : results) {
+                Assert.assertEquals("software", vertex.label());
+                // Each vertex is returned exactly once
+                Assert.assertTrue(vertices.add(vertex));
+            }
+            sizes.add(results.size());
+            page = TraversalUtil.page(iter);
+        }
+        Assert.assertEquals(16, vertices.size());
+        Assert.assertEquals(ImmutableList.of(5, 5, 5, 1),
+                            sizes.subList(0, 4));
+    }
+
+    @Test
+    public void testQueryByJointRangeIndexInMultiPages() {
+        Assume.assumeTrue("Not support paging",
+                          storeFeatures().supportsQueryByPage());
+
+        GraphTraversalSource g = graph().traversal();
+        initPageTestData();
+
+        // There are 12 vertices matched, walk them by 3 + 3 + 3 + 3
+        List<Integer> sizes = new LinkedList<>();
+        Set<Vertex> vertices = new HashSet<>();
+        String page = PageInfo.PAGE_NONE;
+        while (page != null) {
+            GraphTraversal<Vertex, Vertex> iter;
+            iter = g.V().has("lang", "java").has("price", P.gt(100))
+                    .has("~page", page).limit(3);
+            List<Vertex> results = IteratorUtils.list(iter);
+            for (Vertex vertex : results) {
+                Assert.assertTrue((int) vertex.value("price") > 100);
+                Assert.assertTrue(vertices.add(vertex));
+            }
+            sizes.add(results.size());
+            page = TraversalUtil.page(iter);
+        }
+        Assert.assertEquals(12, vertices.size());
+        Assert.assertEquals(ImmutableList.of(3, 3, 3, 3),
+                            sizes.subList(0, 4));
+        // The page may end with an empty page
+        for (int size : sizes.subList(4, sizes.size())) {
+            Assert.assertEquals(0, size);
+        }
+
+        // There are no vertices matched
+        GraphTraversal<Vertex, Vertex> iter;
+        iter = g.V().has("lang", "java").has("price", P.gt(400))
+                .has("~page", PageInfo.PAGE_NONE).limit(3);
+        Assert.assertEquals(0, IteratorUtils.count(iter));
     }
 
     @Test
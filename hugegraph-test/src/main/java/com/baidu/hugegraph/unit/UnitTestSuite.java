@@ -25,16 +25,22 @@ import org.junit.runners.Suite;
 import com.baidu.hugegraph.unit.cache.CacheManagerTest;
 import com.baidu.hugegraph.unit.cache.CachedGraphTransactionTest;
 import com.baidu.hugegraph.unit.cache.CachedSchemaTransactionTest;
+import com.baidu.hugegraph.unit.cache.OffheapCacheTest;
 import com.baidu.hugegraph.unit.cache.RamCacheTest;
+import com.baidu.hugegraph.unit.cache.TinyLfuCacheTest;
+import com.baidu.hugegraph.unit.cassandra.CassandraSessionPoolTest;
 import com.baidu.hugegraph.unit.cassandra.CassandraTest;
 import com.baidu.hugegraph.unit.core.AnalyzerTest;
 import com.baidu.hugegraph.unit.core.BackendMutationTest;
+import com.baidu.hugegraph.unit.core.ConcurrencyLimiterTest;
 import com.baidu.hugegraph.unit.core.ConditionQueryFlattenTest;
 import com.baidu.hugegraph.unit.core.ConditionTest;
 import com.baidu.hugegraph.unit.core.DataTypeTest;
 import com.baidu.hugegraph.unit.core.DirectionsTest;
 import com.baidu.hugegraph.unit.core.EdgeIdTest;
 import com.baidu.hugegraph.unit.core.ExceptionTest;
+import com.baidu.hugegraph.unit.core.GraphStatisticsTest;
+import com.baidu.hugegraph.unit.core.GroupCommitterTest;
 import com.baidu.hugegraph.unit.core.LocksTableTest;
 import com.baidu.hugegraph.unit.core.QueryTest;
 import com.baidu.hugegraph.unit.core.SecurityManagerTest;
@@ -47,10 +53,13 @@ import com.baidu.hugegraph.unit.rocksdb.RocksDBCountersTest;
 import com.baidu.hugegraph.unit.rocksdb.RocksDBSessionsTest;
 import com.baidu.hugegraph.unit.serializer.BinaryBackendEntryTest;
 import com.baidu.hugegraph.unit.serializer.BinaryInlineSerializerTest;
+import com.baidu.hugegraph.unit.serializer.BinaryResponseSerializerTest;
 import com.baidu.hugegraph.unit.serializer.BytesBufferTest;
 import com.baidu.hugegraph.unit.serializer.SerializerFactoryTest;
 import com.baidu.hugegraph.unit.serializer.TableBackendEntryTest;
 import com.baidu.hugegraph.unit.serializer.TextBackendEntryTest;
+import com.baidu.hugegraph.unit.util.IdDoubleMapTest;
+import com.baidu.hugegraph.unit.util.IdSetTest;
 import com.baidu.hugegraph.unit.util.JsonUtilTest;
 import com.baidu.hugegraph.unit.util.StringEncodingTest;
 import com.baidu.hugegraph.unit.util.VersionTest;
@@ -59,6 +68,8 @@ import com.baidu.hugegraph.unit.util.VersionTest;
 @Suite.SuiteClasses({
     /* cache */
     RamCacheTest.class,
+    TinyLfuCacheTest.class,
+    OffheapCacheTest.class,
     CachedSchemaTransactionTest.class,
     CachedGraphTransactionTest.class,
     CacheManagerTest.class,
@@ -77,11 +88,14 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     AnalyzerTest.class,
     EdgeIdTest.class,
     BackendMutationTest.class,
+    GroupCommitterTest.class,
     ConditionTest.class,
     ConditionQueryFlattenTest.class,
     QueryTest.class,
     SecurityManagerTest.class,
     ExceptionTest.class,
+    GraphStatisticsTest.class,
+    ConcurrencyLimiterTest.class,
 
     /* serializer */
     BytesBufferTest.class,
@@ -90,9 +104,11 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     TableBackendEntryTest.class,
     BinaryBackendEntryTest.class,
     BinaryInlineSerializerTest.class,
+    BinaryResponseSerializerTest.class,
 
     /* cassandra */
     CassandraTest.class,
+    CassandraSessionPoolTest.class,
 
     /* mysql */
     MysqlUtilTest.class,
@@ -105,7 +121,9 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     /* utils */
     VersionTest.class,
     JsonUtilTest.class,
-    StringEncodingTest.class
+    StringEncodingTest.class,
+    IdSetTest.class,
+    IdDoubleMapTest.class
 })
 public class UnitTestSuite {
 }
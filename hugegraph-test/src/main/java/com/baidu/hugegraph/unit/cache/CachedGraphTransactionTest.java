@@ -19,22 +19,34 @@
 
 package com.baidu.hugegraph.unit.cache;
 
+import java.util.Iterator;
+
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.cache.CachedGraphTransaction;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.BatchQuery;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.testutil.Assert;
 import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.IdStrategy;
 import com.baidu.hugegraph.unit.BaseUnitTest;
 import com.baidu.hugegraph.unit.FakeObjects;
 import com.baidu.hugegraph.util.Events;
+import com.google.common.collect.ImmutableList;
 
 public class CachedGraphTransactionTest extends BaseUnitTest {
 
@@ -67,6 +79,19 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
         return new HugeVertex(graph, id, vl);
     }
 
+    private HugeEdge newEdge(HugeVertex source, HugeVertex target) {
+        HugeGraph graph = this.cache().graph();
+        graph.schema().edgeLabel("knows")
+                      .sourceLabel("person")
+                      .targetLabel("person")
+                      .checkExist(false)
+                      .create();
+        EdgeLabel el = graph.edgeLabel("knows");
+        HugeEdge edge = new HugeEdge(source, null, el, target);
+        edge.assignId();
+        return edge;
+    }
+
     @Test
     public void testEventClear() throws Exception {
         CachedGraphTransaction cache = this.cache();
@@ -120,4 +145,102 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
         Assert.assertEquals(2L,
                             Whitebox.invoke(cache, "verticesCache", "size"));
     }
+
+    @Test
+    public void testQueryEdgeIdsFromCache() throws Exception {
+        CachedGraphTransaction cache = this.cache();
+
+        HugeVertex v1 = this.newVertex(IdGenerator.of(1));
+        HugeVertex v2 = this.newVertex(IdGenerator.of(2));
+        HugeEdge edge = this.newEdge(v1, v2);
+        cache.addVertex(v1);
+        cache.addVertex(v2);
+        cache.addEdge(edge);
+        cache.commit();
+
+        Query query1 = GraphTransaction.constructEdgesQuery(v1.id(),
+                                                            Directions.OUT);
+        Query query2 = GraphTransaction.constructEdgesQuery(v2.id(),
+                                                            Directions.IN);
+
+        // Query edge ids from backend, they are not cached
+        Assert.assertEquals(ImmutableList.of(edge.id()),
+                            IteratorUtils.list(cache.queryEdgeIds(query1)));
+        Assert.assertEquals(0L,
+                            Whitebox.invoke(cache, "edgesCache", "size"));
+
+        // Cache the edges of query1
+        Assert.assertEquals(1L, IteratorUtils.count(cache.queryEdges(query1)));
+        Assert.assertEquals(1L,
+                            Whitebox.invoke(cache, "edgesCache", "size"));
+
+        // Remove the edge from backend without updating the cache
+        GraphTransaction tx = new GraphTransaction(cache.graph(),
+                                                   cache.graph()
+                                                        .loadGraphStore());
+        tx.removeEdge(edge);
+        tx.commit();
+        tx.close();
+
+        // The ids of query1 are got from cache, and query2 from backend
+        Assert.assertEquals(ImmutableList.of(edge.id()),
+                            IteratorUtils.list(cache.queryEdgeIds(query1)));
+        Assert.assertEquals(ImmutableList.of(),
+                            IteratorUtils.list(cache.queryEdgeIds(query2)));
+
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        batch.add(query1);
+        batch.add(query2);
+        Iterator<EdgeId> ids = cache.queryEdgeIds(batch);
+        Assert.assertEquals(ImmutableList.of(edge.id()),
+                            IteratorUtils.list(ids));
+    }
+
+    @Test
+    public void testQueryEdgesByBatchWithCache() throws Exception {
+        CachedGraphTransaction cache = this.cache();
+
+        HugeVertex v1 = this.newVertex(IdGenerator.of(1));
+        HugeVertex v2 = this.newVertex(IdGenerator.of(2));
+        HugeVertex v3 = this.newVertex(IdGenerator.of(3));
+        HugeEdge edge1 = this.newEdge(v1, v2);
+        HugeEdge edge2 = this.newEdge(v1, v3);
+        cache.addVertex(v1);
+        cache.addVertex(v2);
+        cache.addVertex(v3);
+        cache.addEdge(edge1);
+        cache.addEdge(edge2);
+        cache.commit();
+
+        Query query1 = GraphTransaction.constructEdgesQuery(v1.id(),
+                                                            Directions.OUT);
+        Query query2 = GraphTransaction.constructEdgesQuery(v2.id(),
+                                                            Directions.IN);
+        Query query3 = GraphTransaction.constructEdgesQuery(v3.id(),
+                                                            Directions.OUT);
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        batch.add(query1);
+        batch.add(query2);
+        batch.add(query3);
+
+        // The missed results of each sub-query are cached
+        Assert.assertEquals(3L, IteratorUtils.count(cache.queryEdges(batch)));
+        Assert.assertEquals(3L,
+                            Whitebox.invoke(cache, "edgesCache", "size"));
+
+        // Remove the edges from backend without updating the cache
+        GraphTransaction tx = new GraphTransaction(cache.graph(),
+                                                   cache.graph()
+                                                        .loadGraphStore());
+        tx.removeEdge(edge1);
+        tx.removeEdge(edge2);
+        tx.commit();
+        tx.close();
+
+        Assert.assertEquals(2L, IteratorUtils.count(cache.queryEdges(query1)));
+        Assert.assertEquals(ImmutableList.of(edge1.id()),
+                            IteratorUtils.list(cache.queryEdgeIds(query2)));
+        Assert.assertEquals(0L, IteratorUtils.count(cache.queryEdges(query3)));
+        Assert.assertEquals(3L, IteratorUtils.count(cache.queryEdges(batch)));
+    }
 }
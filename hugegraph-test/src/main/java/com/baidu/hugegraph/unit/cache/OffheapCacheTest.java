@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.cache;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.cache.OffheapCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class OffheapCacheTest extends BaseUnitTest {
+
+    private static final long MB = OffheapCache.MB;
+
+    @Test
+    public void testUpdateAndGetVertex() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        HugeGraph graph = edge.graph();
+        OffheapCache cache = new OffheapCache(graph, 4 * MB);
+
+        HugeVertex vertex = edge.sourceVertex();
+        Assert.assertNull(cache.get(vertex.id()));
+
+        cache.update(vertex.id(), vertex);
+        HugeVertex cached = (HugeVertex) cache.get(vertex.id());
+        Assert.assertEquals(vertex, cached);
+        Assert.assertEquals(vertex.label(), cached.label());
+        Assert.assertEquals(vertex.getProperties(), cached.getProperties());
+        // Deserialized into a new object on every hit
+        Assert.assertNotSame(cached, cache.get(vertex.id()));
+
+        cache.update(vertex.id(), edge.targetVertex());
+        cached = (HugeVertex) cache.get(vertex.id());
+        Assert.assertEquals(edge.targetVertex().getProperties(),
+                            cached.getProperties());
+    }
+
+    @Test
+    public void testUpdateAndGetEdges() {
+        FakeObjects objects = new FakeObjects();
+        HugeEdge edge1 = objects.newEdge(123, 456);
+        HugeEdge edge2 = objects.newEdge(147, 789);
+        OffheapCache cache = new OffheapCache(edge1.graph(), 4 * MB);
+
+        Id id = IdGenerator.of("edges-query");
+        cache.update(id, ImmutableList.of(edge1, edge2));
+
+        @SuppressWarnings("unchecked")
+        List<HugeEdge> edges = (List<HugeEdge>) cache.get(id);
+        Assert.assertEquals(2, edges.size());
+        Assert.assertEquals(edge1, edges.get(0));
+        Assert.assertEquals(edge1.getProperties(), edges.get(0).getProperties());
+        Assert.assertEquals(edge2, edges.get(1));
+        Assert.assertEquals(edge2.getProperties(), edges.get(1).getProperties());
+
+        cache.update(id, ImmutableList.of());
+        Assert.assertEquals(ImmutableList.of(), cache.get(id));
+    }
+
+    @Test
+    public void testUpdateWithUnsupportedValue() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        OffheapCache cache = new OffheapCache(edge.graph(), 4 * MB);
+        Assert.assertThrows(NotSupportException.class, () -> {
+            cache.update(IdGenerator.of(1), "value-1");
+        });
+    }
+
+    @Test
+    public void testUpdateIfAbsentAndPresent() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        OffheapCache cache = new OffheapCache(edge.graph(), 4 * MB);
+        HugeVertex source = edge.sourceVertex();
+        HugeVertex target = edge.targetVertex();
+
+        cache.updateIfPresent(source.id(), source);
+        Assert.assertNull(cache.get(source.id()));
+
+        cache.updateIfAbsent(source.id(), source);
+        Assert.assertEquals(source.getProperties(),
+                            ((HugeVertex) cache.get(source.id()))
+                            .getProperties());
+
+        cache.updateIfAbsent(source.id(), target);
+        Assert.assertEquals(source.getProperties(),
+                            ((HugeVertex) cache.get(source.id()))
+                            .getProperties());
+
+        cache.updateIfPresent(source.id(), target);
+        Assert.assertEquals(target.getProperties(),
+                            ((HugeVertex) cache.get(source.id()))
+                            .getProperties());
+    }
+
+    @Test
+    public void testInvalidateAndClear() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        OffheapCache cache = new OffheapCache(edge.graph(), 4 * MB);
+        HugeVertex source = edge.sourceVertex();
+        HugeVertex target = edge.targetVertex();
+
+        cache.update(source.id(), source);
+        cache.update(target.id(), target);
+        Assert.assertEquals(2L, cache.size());
+
+        cache.invalidate(source.id());
+        Assert.assertNull(cache.get(source.id()));
+        Assert.assertNotNull(cache.get(target.id()));
+        Assert.assertEquals(1L, cache.size());
+
+        cache.clear();
+        Assert.assertNull(cache.get(target.id()));
+        Assert.assertEquals(0L, cache.size());
+        Assert.assertEquals(0L, cache.usedBytes());
+    }
+
+    @Test
+    public void testSizeBoundedInBytes() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        HugeGraph graph = edge.graph();
+        OffheapCache cache = new OffheapCache(graph, 1 * MB);
+        Assert.assertEquals(1 * MB, cache.capacity());
+
+        HugeVertex vertex = edge.sourceVertex();
+        for (int i = 0; i < 100000; i++) {
+            HugeVertex copy = new HugeVertex(graph, IdGenerator.of(i),
+                                             vertex.schemaLabel());
+            vertex.getProperties().values().forEach(prop -> {
+                copy.addProperty(prop.propertyKey(), prop.value());
+            });
+            cache.update(copy.id(), copy);
+        }
+        Assert.assertTrue(cache.usedBytes() <= 1 * MB);
+        Assert.assertTrue(cache.size() < 100000);
+
+        // The latest one is always in cache, the oldest one is evicted
+        Assert.assertNotNull(cache.get(IdGenerator.of(99999)));
+        Assert.assertNull(cache.get(IdGenerator.of(0)));
+    }
+
+    @Test
+    public void testHitsAndMiss() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        OffheapCache cache = new OffheapCache(edge.graph(), 4 * MB);
+        HugeVertex vertex = edge.sourceVertex();
+
+        cache.update(vertex.id(), vertex);
+        cache.get(IdGenerator.of(1));
+        cache.get(vertex.id());
+        cache.get(vertex.id());
+        Assert.assertEquals(2L, cache.hits());
+        Assert.assertEquals(1L, cache.miss());
+    }
+
+    @Test
+    public void testExpire() {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        OffheapCache cache = new OffheapCache(edge.graph(), 4 * MB);
+        cache.update(edge.sourceVertex().id(), edge.sourceVertex());
+        cache.update(edge.targetVertex().id(), edge.targetVertex());
+        Assert.assertEquals(2L, cache.size());
+
+        cache.expire(2); // 2 seconds
+        Assert.assertEquals(2000L, cache.expire());
+        waitTillNext(2);
+        Assert.assertEquals(2L, cache.tick());
+        Assert.assertEquals(0L, cache.size());
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.cache.TinyLfuCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.util.Bytes;
+
+public class TinyLfuCacheTest extends BaseUnitTest {
+
+    @Before
+    public void setup() {
+        // pass
+    }
+
+    @After
+    public void teardown() throws Exception {
+        // pass
+    }
+
+    @Test
+    public void testUpdateAndGet() {
+        TinyLfuCache cache = new TinyLfuCache();
+        Id id = IdGenerator.of("1");
+        Assert.assertNull(cache.get(id));
+
+        cache.update(id, "value-1");
+        Assert.assertEquals("value-1", cache.get(id));
+
+        cache.update(id, "value-2");
+        Assert.assertEquals("value-2", cache.get(id));
+    }
+
+    @Test
+    public void testUpdateAndGetWithSizeEqualCapacity() {
+        TinyLfuCache cache = new TinyLfuCache(4);
+        cache.update(IdGenerator.of("1"), "value-1");
+        cache.update(IdGenerator.of("2"), "value-2");
+        cache.update(IdGenerator.of("3"), "value-3");
+        cache.update(IdGenerator.of("4"), "value-4");
+
+        Assert.assertEquals("value-1", cache.get(IdGenerator.of("1")));
+        Assert.assertEquals("value-2", cache.get(IdGenerator.of("2")));
+        Assert.assertEquals("value-3", cache.get(IdGenerator.of("3")));
+        Assert.assertEquals("value-4", cache.get(IdGenerator.of("4")));
+    }
+
+    @Test
+    public void testGetOrFetch() {
+        TinyLfuCache cache = new TinyLfuCache();
+        Id id = IdGenerator.of("1");
+        Assert.assertNull(cache.get(id));
+
+        Assert.assertEquals("value-1",  cache.getOrFetch(id, key -> {
+            return "value-1";
+        }));
+
+        cache.update(id, "value-2");
+        Assert.assertEquals("value-2",  cache.getOrFetch(id, key -> {
+            return "value-1";
+        }));
+    }
+
+    @Test
+    public void testUpdateIfAbsent() {
+        TinyLfuCache cache = new TinyLfuCache();
+        Id id = IdGenerator.of("1");
+        cache.updateIfAbsent(id, "value-1");
+        Assert.assertEquals("value-1", cache.get(id));
+
+        cache.updateIfAbsent(id, "value-2");
+        Assert.assertEquals("value-1", cache.get(id));
+    }
+
+    @Test
+    public void testUpdateIfPresent() {
+        TinyLfuCache cache = new TinyLfuCache();
+        Id id = IdGenerator.of("1");
+        cache.updateIfPresent(id, "value-1");
+        Assert.assertEquals(null, cache.get(id));
+
+        cache.update(id, "value-1");
+        Assert.assertEquals("value-1", cache.get(id));
+        cache.updateIfPresent(id, "value-2");
+        Assert.assertEquals("value-2", cache.get(id));
+    }
+
+    @Test
+    public void testInvalidate() {
+        TinyLfuCache cache = new TinyLfuCache();
+        Id id = IdGenerator.of("1");
+        cache.update(id, "value-1");
+        Assert.assertEquals("value-1", cache.get(id));
+        Assert.assertEquals(1L, cache.size());
+
+        cache.invalidate(id);
+        Assert.assertEquals(null, cache.get(id));
+        Assert.assertEquals(0L, cache.size());
+
+        // Re-add after invalidated
+        cache.update(id, "value-2");
+        Assert.assertEquals("value-2", cache.get(id));
+        Assert.assertEquals(1L, cache.size());
+    }
+
+    @Test
+    public void testClear() {
+        TinyLfuCache cache = new TinyLfuCache(10000);
+        for (int i = 0; i < 100; i++) {
+            cache.update(IdGenerator.of(i), "value-" + i);
+        }
+        Assert.assertEquals(100, cache.size());
+
+        cache.clear();
+        Assert.assertEquals(null, cache.get(IdGenerator.of(1)));
+        Assert.assertEquals(0, cache.size());
+
+        cache.update(IdGenerator.of(1), "value-1");
+        Assert.assertEquals("value-1", cache.get(IdGenerator.of(1)));
+    }
+
+    @Test
+    public void testCapacity() {
+        TinyLfuCache cache = new TinyLfuCache(10);
+        Assert.assertEquals(10, cache.capacity());
+
+        cache = new TinyLfuCache(1);
+        Assert.assertEquals(1, cache.capacity());
+
+        cache = new TinyLfuCache(0);
+        Assert.assertEquals(0, cache.capacity());
+        cache.update(IdGenerator.of("1"), "value-1");
+        Assert.assertEquals(0, cache.size());
+
+        int huge = (int) (200 * Bytes.GB);
+        cache = new TinyLfuCache(huge);
+        Assert.assertEquals(huge, cache.capacity());
+
+        // The min capacity is 0
+        cache = new TinyLfuCache(-1);
+        Assert.assertEquals(0, cache.capacity());
+    }
+
+    @Test
+    public void testSizeWithReachCapacity() {
+        TinyLfuCache cache = new TinyLfuCache(10);
+        for (int i = 0; i < 20; i++) {
+            Id id = IdGenerator.of("key-" + i);
+            cache.update(id, "value-" + i);
+        }
+        Assert.assertEquals(10, cache.size());
+
+        // Multi segments
+        cache = new TinyLfuCache(100000);
+        for (int i = 0; i < 300000; i++) {
+            cache.update(IdGenerator.of(i), "value-" + i);
+        }
+        Assert.assertTrue(cache.size() <= 100000);
+        Assert.assertTrue(cache.size() > 90000);
+    }
+
+    @Test
+    public void testHitsAndMiss() {
+        TinyLfuCache cache = new TinyLfuCache();
+        Assert.assertEquals(0L, cache.hits());
+        Assert.assertEquals(0L, cache.miss());
+
+        Id id = IdGenerator.of("1");
+        cache.update(id, "value-1");
+        Assert.assertEquals(0L, cache.hits());
+        Assert.assertEquals(0L, cache.miss());
+
+        cache.get(IdGenerator.of("not-exist"));
+        Assert.assertEquals(0L, cache.hits());
+        Assert.assertEquals(1L, cache.miss());
+
+        cache.get(IdGenerator.of("1"));
+        Assert.assertEquals(1L, cache.hits());
+        Assert.assertEquals(1L, cache.miss());
+    }
+
+    @Test
+    public void testFrequentItemsSurviveScan() {
+        TinyLfuCache cache = new TinyLfuCache(1000);
+        // The hot items
+        for (int i = 0; i < 500; i++) {
+            cache.update(IdGenerator.of(i), "value-" + i);
+        }
+        for (int times = 0; times < 5; times++) {
+            for (int i = 0; i < 500; i++) {
+                Assert.assertNotNull(cache.get(IdGenerator.of(i)));
+            }
+        }
+
+        // Scan a lot of items which are accessed only once
+        for (int i = 10000; i < 110000; i++) {
+            cache.update(IdGenerator.of(i), "value-" + i);
+        }
+        Assert.assertEquals(1000, cache.size());
+
+        long hits = 0L;
+        for (int i = 0; i < 500; i++) {
+            if (cache.get(IdGenerator.of(i)) != null) {
+                hits++;
+            }
+        }
+        Assert.assertTrue("hits: " + hits, hits > 450);
+    }
+
+    @Test
+    public void testExpire() {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.update(IdGenerator.of("1"), "value-1");
+        cache.update(IdGenerator.of("2"), "value-2");
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(0L, cache.expire());
+
+        cache.expire(2); // 2 seconds
+        Assert.assertEquals(2000L, cache.expire());
+        waitTillNext(2);
+        Assert.assertEquals(2L, cache.tick());
+
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpireWithZeroSecond() {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.update(IdGenerator.of("1"), "value-1");
+        cache.update(IdGenerator.of("2"), "value-2");
+
+        Assert.assertEquals(2, cache.size());
+
+        cache.expire(0);
+        waitTillNext(1);
+        cache.tick();
+
+        Assert.assertEquals(2, cache.size());
+    }
+
+    private static final int THREADS_NUM = 8;
+
+    @Test
+    public void testMutiThreadsUpdate() {
+        TinyLfuCache cache = new TinyLfuCache(THREADS_NUM * 10000 * 10);
+
+        runWithThreads(THREADS_NUM, () -> {
+            for (int i = 0; i < 10000 * 10; i++) {
+                Id id = IdGenerator.of(
+                        Thread.currentThread().getName() + "-" + i);
+                cache.update(id, "value-" + i);
+            }
+        });
+        // The keys may be not spread evenly into segments
+        Assert.assertTrue(cache.size() <= THREADS_NUM * 10000 * 10);
+        Assert.assertTrue(cache.size() > THREADS_NUM * 10000 * 9);
+    }
+
+    @Test
+    public void testMutiThreadsUpdateWithGtCapacity() {
+        TinyLfuCache cache = new TinyLfuCache(10);
+
+        runWithThreads(THREADS_NUM, () -> {
+            for (int i = 0; i < 10000 * 100; i++) {
+                Id id = IdGenerator.of(
+                        Thread.currentThread().getName() + "-" + i);
+                cache.update(id, "value-" + i);
+            }
+        });
+        Assert.assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void testMutiThreadsUpdateAndCheck() {
+        TinyLfuCache cache = new TinyLfuCache();
+
+        runWithThreads(THREADS_NUM, () -> {
+            Map<Id, Object> all = new HashMap<>(1000);
+
+            for (int i = 0; i < 1000; i++) {
+                Id id = IdGenerator.of(Thread.currentThread().getName() +
+                                       "-" + i);
+                String value = "value-" + i;
+                cache.update(id, value);
+
+                all.put(id, value);
+            }
+
+            for (Map.Entry<Id, Object> entry : all.entrySet()) {
+                Id key = entry.getKey();
+                Assert.assertEquals(entry.getValue(), cache.get(key));
+            }
+        });
+        Assert.assertEquals(THREADS_NUM * 1000, cache.size());
+    }
+
+    @Test
+    public void testMutiThreadsGetAndUpdateWithGtCapacity() {
+        TinyLfuCache cache = new TinyLfuCache(10);
+
+        runWithThreads(THREADS_NUM, () -> {
+            for (int i = 0; i < 10000 * 20; i++) {
+                for (int k = 0; k < 15; k++) {
+                    Id id = IdGenerator.of(k);
+                    Object value = cache.get(id);
+                    if (value != null) {
+                        Assert.assertEquals("value-" + k, value);
+                    } else {
+                        cache.update(id, "value-" + k);
+                    }
+                }
+            }
+        });
+        // The size never exceeds the capacity
+        Assert.assertEquals(10, cache.size());
+    }
+}
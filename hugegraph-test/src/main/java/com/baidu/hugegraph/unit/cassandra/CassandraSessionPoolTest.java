@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.baidu.hugegraph.unit.cassandra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.store.cassandra.CassandraSessionPool;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class CassandraSessionPoolTest {
+
+    @Test
+    public void testConvertNumber() {
+        Assert.assertEquals((byte) 1, convert(DataType.tinyint(), 1L));
+        Assert.assertEquals((short) 2, convert(DataType.smallint(), 2L));
+        Assert.assertEquals(3, convert(DataType.cint(), 3L));
+        Assert.assertEquals(4L, convert(DataType.bigint(), 4));
+        Assert.assertEquals(5L, convert(DataType.counter(), 5));
+        Assert.assertEquals(1.5F, convert(DataType.cfloat(), 1.5D));
+        Assert.assertEquals(2.5D, convert(DataType.cdouble(), 2.5F));
+        Assert.assertEquals(BigInteger.valueOf(6L),
+                            convert(DataType.varint(), 6));
+        Assert.assertEquals(new BigDecimal("7.5"),
+                            convert(DataType.decimal(), 7.5D));
+
+        BigInteger bigInteger = new BigInteger("123456789012345678901234");
+        Assert.assertSame(bigInteger, convert(DataType.varint(), bigInteger));
+        BigDecimal bigDecimal = new BigDecimal("1234567890.123456789");
+        Assert.assertSame(bigDecimal, convert(DataType.decimal(), bigDecimal));
+    }
+
+    @Test
+    public void testConvertOtherTypes() {
+        Assert.assertNull(convert(DataType.cint(), null));
+        Assert.assertEquals("text", convert(DataType.text(), "text"));
+        Assert.assertEquals(true, convert(DataType.cboolean(), true));
+
+        ByteBuffer blob = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        Assert.assertSame(blob, convert(DataType.blob(), blob));
+    }
+
+    @Test
+    public void testConvertCollection() {
+        Assert.assertEquals(ImmutableList.of(1, 2, 3),
+                            convert(DataType.list(DataType.cint()),
+                                    ImmutableList.of(1L, 2L, 3L)));
+        Assert.assertEquals(ImmutableSet.of(1L, 2L),
+                            convert(DataType.set(DataType.bigint()),
+                                    ImmutableSet.of(1, 2)));
+        Assert.assertEquals(ImmutableMap.of(1, "v1", 2, "v2"),
+                            convert(DataType.map(DataType.cint(),
+                                                 DataType.text()),
+                                    ImmutableMap.of(1L, "v1", 2L, "v2")));
+        Assert.assertEquals(ImmutableMap.of("k1", 1.0D),
+                            convert(DataType.map(DataType.text(),
+                                                 DataType.cdouble()),
+                                    ImmutableMap.of("k1", 1)));
+    }
+
+    @Test
+    public void testGroupByPartition() {
+        Statement s1 = statement("s1", 1);
+        Statement s2 = statement("s2", 2);
+        Statement s3 = statement("s3", 1);
+        Statement s4 = statement("s4", 3);
+        Statement s5 = statement("s5", 1);
+
+        List<Statement> results = groupByPartition(s1, s2, s3, s4, s5);
+        Assert.assertEquals(3, results.size());
+
+        // The statements of the same partition are grouped in order
+        Assert.assertEquals(ImmutableList.of(s1, s3, s5),
+                            statements(results.get(0)));
+        Assert.assertEquals(BatchStatement.Type.UNLOGGED,
+                            Whitebox.getInternalState(results.get(0),
+                                                      "batchType"));
+        // The single statement is not wrapped by batch
+        Assert.assertSame(s2, results.get(1));
+        Assert.assertSame(s4, results.get(2));
+    }
+
+    @Test
+    public void testGroupByPartitionWithUnroutedStatement() {
+        Statement s1 = statement("s1", 1);
+        Statement s2 = statement("s2", 2);
+        Statement s3 = statement("s3", 1);
+        Statement u1 = statement("u1", null);
+        Statement s4 = statement("s4", 1);
+        Statement u2 = statement("u2", null);
+        Statement s5 = statement("s5", 2);
+
+        /*
+         * The pending batches must be sent before the unrouted statement,
+         * and the statements after it must not be merged into them
+         */
+        List<Statement> results = groupByPartition(s1, s2, s3, u1,
+                                                   s4, u2, s5);
+        Assert.assertEquals(6, results.size());
+        Assert.assertEquals(ImmutableList.of(s1, s3),
+                            statements(results.get(0)));
+        Assert.assertSame(s2, results.get(1));
+        Assert.assertSame(u1, results.get(2));
+        Assert.assertSame(s4, results.get(3));
+        Assert.assertSame(u2, results.get(4));
+        Assert.assertSame(s5, results.get(5));
+    }
+
+    @Test
+    public void testGroupByPartitionWithLargeBatch() {
+        List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            statements.add(statement("s" + i, 1));
+        }
+        Statement other = statement("other", 2);
+        statements.add(other);
+
+        List<Statement> results = groupByPartition(
+                                  statements.toArray(new Statement[0]));
+        Assert.assertEquals(4, results.size());
+        Assert.assertEquals(statements.subList(0, 100),
+                            statements(results.get(0)));
+        Assert.assertEquals(statements.subList(100, 200),
+                            statements(results.get(1)));
+        Assert.assertEquals(statements.subList(200, 250),
+                            statements(results.get(2)));
+        Assert.assertSame(other, results.get(3));
+    }
+
+    @Test
+    public void testGroupByPartitionWithEmptyStatements() {
+        Assert.assertEquals(ImmutableList.of(), groupByPartition());
+    }
+
+    private static Object convert(DataType type, Object value) {
+        return Whitebox.invokeStatic(CassandraSessionPool.class,
+                                     new Class<?>[]{DataType.class,
+                                                    Object.class},
+                                     "convert", type, value);
+    }
+
+    private static List<Statement> groupByPartition(Statement... statements) {
+        return Whitebox.invokeStatic(CassandraSessionPool.class,
+                                     new Class<?>[]{Collection.class,
+                                                    ProtocolVersion.class,
+                                                    CodecRegistry.class},
+                                     "groupByPartition",
+                                     ImmutableList.copyOf(statements),
+                                     ProtocolVersion.NEWEST_SUPPORTED,
+                                     CodecRegistry.DEFAULT_INSTANCE);
+    }
+
+    private static Statement statement(String cql, Integer partition) {
+        SimpleStatement statement = new SimpleStatement(cql);
+        if (partition != null) {
+            byte[] key = new byte[]{partition.byteValue()};
+            statement.setRoutingKey(ByteBuffer.wrap(key));
+        }
+        return statement;
+    }
+
+    private static List<Statement> statements(Statement batch) {
+        Assert.assertTrue(batch instanceof BatchStatement);
+        return new ArrayList<>(((BatchStatement) batch).getStatements());
+    }
+}
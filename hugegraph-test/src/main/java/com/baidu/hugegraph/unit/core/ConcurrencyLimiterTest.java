@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.define.ConcurrencyLimiter;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class ConcurrencyLimiterTest extends BaseUnitTest {
+
+    private static final long LATENCY = 1000L;
+
+    @Test
+    public void testInvalidArgs() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new ConcurrencyLimiter("read", 0, 1, false);
+        }, e -> {
+            Assert.assertTrue(e.getMessage().contains(
+                              "The max limit of 'read' must be > 0"));
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new ConcurrencyLimiter("read", 1, -1, false);
+        }, e -> {
+            Assert.assertTrue(e.getMessage().contains(
+                              "The max queued of 'read' must be >= 0"));
+        });
+    }
+
+    @Test
+    public void testTryAcquireUnderLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("read", 2, 0,
+                                                            false);
+        Assert.assertEquals("read", limiter.name());
+        Assert.assertEquals(2, limiter.limit());
+
+        Assert.assertTrue(limiter.tryAcquire(0L));
+        Assert.assertTrue(limiter.tryAcquire(0L));
+        Assert.assertEquals(2, limiter.inflight());
+        Assert.assertFalse(limiter.tryAcquire(0L));
+
+        limiter.release(LATENCY);
+        Assert.assertEquals(1, limiter.inflight());
+        Assert.assertTrue(limiter.tryAcquire(0L));
+        limiter.release(LATENCY);
+        limiter.release(LATENCY);
+        Assert.assertEquals(0, limiter.inflight());
+        Assert.assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    public void testTryAcquireWithQueueFull() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("write", 1, 0,
+                                                            false);
+        Assert.assertTrue(limiter.tryAcquire(1000L));
+
+        // Return immediately without waiting since no queue is allowed
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(limiter.tryAcquire(1000L));
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000L);
+        Assert.assertEquals(1, limiter.inflight());
+        Assert.assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    public void testTryAcquireWithTimeout() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("write", 1, 1,
+                                                            false);
+        Assert.assertTrue(limiter.tryAcquire(0L));
+
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(limiter.tryAcquire(100L));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 100L);
+        Assert.assertEquals(1, limiter.inflight());
+        Assert.assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    public void testTryAcquireAfterReleased() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("traversal", 1, 1,
+                                                            false);
+        Assert.assertTrue(limiter.tryAcquire(0L));
+
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        Thread thread = new Thread(() -> {
+            acquired.set(limiter.tryAcquire(10000L));
+        });
+        thread.start();
+        while (limiter.queued() == 0) {
+            Thread.sleep(1L);
+        }
+        // Reject the request exceeding the max queued
+        Assert.assertFalse(limiter.tryAcquire(10000L));
+
+        limiter.release(LATENCY);
+        thread.join();
+        Assert.assertTrue(acquired.get());
+        Assert.assertEquals(1, limiter.inflight());
+        Assert.assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    public void testAdaptiveLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("read", 4, 0,
+                                                            true);
+        // The first window decides the no-load latency
+        this.acquireAndRelease(limiter, 4, 1, LATENCY);
+        Assert.assertEquals(4, limiter.limit());
+
+        // Decrease the limit once the latency grows obviously
+        this.acquireAndRelease(limiter, 4, 1, LATENCY * 10);
+        Assert.assertEquals(3, limiter.limit());
+
+        // Don't increase the limit if it's not used up
+        this.acquireAndRelease(limiter, 4, 1, LATENCY);
+        Assert.assertEquals(3, limiter.limit());
+
+        // Increase the limit after the latency recovered
+        this.acquireAndRelease(limiter, 2, 2, LATENCY);
+        Assert.assertEquals(4, limiter.limit());
+
+        // Never exceed the max limit
+        this.acquireAndRelease(limiter, 2, 2, LATENCY);
+        Assert.assertEquals(4, limiter.limit());
+
+        // Failed requests (latency 0) are not sampled
+        this.acquireAndRelease(limiter, 10, 1, 0L);
+        Assert.assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    public void testAdaptiveLimitNotLessThanOne() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("read", 2, 0,
+                                                            true);
+        this.acquireAndRelease(limiter, 2, 1, LATENCY);
+        long latency = LATENCY;
+        for (int i = 0; i < 20; i++) {
+            latency *= 10;
+            this.acquireAndRelease(limiter, 2, 1, latency);
+        }
+        Assert.assertEquals(1, limiter.limit());
+        Assert.assertTrue(limiter.tryAcquire(0L));
+        Assert.assertFalse(limiter.tryAcquire(0L));
+        limiter.release(LATENCY);
+    }
+
+    @Test
+    public void testNonAdaptiveLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("write", 4, 0,
+                                                            false);
+        this.acquireAndRelease(limiter, 4, 1, LATENCY);
+        this.acquireAndRelease(limiter, 8, 1, LATENCY * 10);
+        Assert.assertEquals(4, limiter.limit());
+    }
+
+    private void acquireAndRelease(ConcurrencyLimiter limiter, int rounds,
+                                   int concurrency, long latency) {
+        for (int i = 0; i < rounds; i++) {
+            for (int j = 0; j < concurrency; j++) {
+                Assert.assertTrue(limiter.tryAcquire(0L));
+            }
+            for (int j = 0; j < concurrency; j++) {
+                limiter.release(latency);
+            }
+        }
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.backend.tx.GraphStatistics;
+import com.baidu.hugegraph.backend.tx.GraphStatistics.IndexStatistics;
+import com.baidu.hugegraph.backend.tx.GraphStatistics.LabelStatistics;
+import com.baidu.hugegraph.backend.tx.SchemaTransaction;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.type.define.IndexType;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class GraphStatisticsTest extends BaseUnitTest {
+
+    private FakeObjects fakeObject;
+    private IndexLabel cityIndex;
+    private IndexLabel ageIndex;
+
+    @Before
+    public void setup() {
+        this.fakeObject = new FakeObjects();
+        this.cityIndex = this.fakeObject.newIndexLabel(
+                         IdGenerator.of(1), "personByCity",
+                         HugeType.VERTEX_LABEL, IdGenerator.of(1),
+                         IndexType.SECONDARY, IdGenerator.of(3));
+        this.ageIndex = this.fakeObject.newIndexLabel(
+                        IdGenerator.of(2), "personByAge",
+                        HugeType.VERTEX_LABEL, IdGenerator.of(1),
+                        IndexType.RANGE_INT, IdGenerator.of(2));
+    }
+
+    @Test
+    public void testUpdateIndex() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        for (int i = 0; i < 1000; i++) {
+            changes.updateIndex(this.cityIndex, "city-" + (i % 10),
+                                IdGenerator.of(i), false);
+        }
+        changes.updateIndex(this.cityIndex, "city-1", IdGenerator.of(1),
+                            true);
+        Assert.assertNull(statistics.indexLabel(this.cityIndex.id()));
+
+        statistics.apply(changes);
+        IndexStatistics stats = statistics.indexLabel(this.cityIndex.id());
+        Assert.assertEquals(999L, stats.entries());
+        Assert.assertEquals(10L, stats.distinctValues());
+        Assert.assertEquals(100L, stats.entriesPerValue());
+
+        // The statistics are partial before seeded
+        ConditionQuery query = this.indexQuery(this.cityIndex);
+        query.eq(HugeKeys.FIELD_VALUES, "city-2");
+        Assert.assertFalse(stats.seeded());
+        Assert.assertEquals(GraphStatistics.UNKNOWN,
+                            statistics.estimate(this.cityIndex, query));
+
+        statistics.seed(ImmutableList.of(this.cityIndex.id()));
+        Assert.assertTrue(stats.seeded());
+        Assert.assertEquals(100L, statistics.estimate(this.cityIndex, query));
+
+        query = this.indexQuery(this.ageIndex);
+        query.eq(HugeKeys.FIELD_VALUES, 18);
+        Assert.assertEquals(GraphStatistics.UNKNOWN,
+                            statistics.estimate(this.ageIndex, query));
+    }
+
+    @Test
+    public void testEstimateRange() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        for (int i = 0; i < 1000; i++) {
+            changes.updateIndex(this.ageIndex, i % 100, IdGenerator.of(i),
+                                false);
+        }
+        statistics.apply(changes);
+        statistics.seed(ImmutableList.of(this.ageIndex.id()));
+
+        ConditionQuery query = this.indexQuery(this.ageIndex);
+        query.gte(HugeKeys.FIELD_VALUES, 0);
+        query.lt(HugeKeys.FIELD_VALUES, 33);
+        Assert.assertEquals(330L, statistics.estimate(this.ageIndex, query));
+
+        query = this.indexQuery(this.ageIndex);
+        query.gt(HugeKeys.FIELD_VALUES, 200);
+        Assert.assertEquals(1L, statistics.estimate(this.ageIndex, query));
+
+        query = this.indexQuery(this.ageIndex);
+        query.eq(HugeKeys.FIELD_VALUES, 18);
+        Assert.assertEquals(10L, statistics.estimate(this.ageIndex, query));
+    }
+
+    @Test
+    public void testEstimateRangeBySkewedValues() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        for (int i = 0; i < 900; i++) {
+            changes.updateIndex(this.ageIndex, i % 10, IdGenerator.of(i),
+                                false);
+        }
+        for (int i = 0; i < 100; i++) {
+            changes.updateIndex(this.ageIndex, 100 + i,
+                                IdGenerator.of(900 + i), false);
+        }
+        statistics.apply(changes);
+        statistics.seed(ImmutableList.of(this.ageIndex.id()));
+
+        // The buckets of histogram are 8 wide for the values in [0, 199]
+        IndexStatistics stats = statistics.indexLabel(this.ageIndex.id());
+        Map<Double, Long> histogram = stats.histogram();
+        Assert.assertEquals(720L, (long) histogram.get(0D));
+        Assert.assertEquals(180L, (long) histogram.get(8D));
+
+        ConditionQuery query = this.indexQuery(this.ageIndex);
+        query.gte(HugeKeys.FIELD_VALUES, 0);
+        query.lt(HugeKeys.FIELD_VALUES, 10);
+        Assert.assertEquals(765L, statistics.estimate(this.ageIndex, query));
+
+        // The values are assumed uniform in the partly overlapped buckets
+        query = this.indexQuery(this.ageIndex);
+        query.gte(HugeKeys.FIELD_VALUES, 100);
+        long estimated = statistics.estimate(this.ageIndex, query);
+        Assert.assertTrue(estimated >= 95L && estimated <= 105L);
+
+        // The removed values are counted out of the histogram
+        changes = new GraphStatistics.Changes();
+        for (int i = 0; i < 900; i += 10) {
+            changes.updateIndex(this.ageIndex, 0, IdGenerator.of(i), true);
+        }
+        statistics.apply(changes);
+        Assert.assertEquals(630L, (long) stats.histogram().get(0D));
+    }
+
+    @Test
+    public void testClearIndex() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Beijing", IdGenerator.of(1),
+                            false);
+        changes.updateIndex(this.ageIndex, 18, IdGenerator.of(1), false);
+        statistics.apply(changes);
+        statistics.seed(ImmutableList.of(this.cityIndex.id(),
+                                         this.ageIndex.id()));
+        Assert.assertEquals(1L, statistics.indexLabel(this.cityIndex.id())
+                                          .entries());
+
+        changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Shanghai", IdGenerator.of(2),
+                            false);
+        changes.clearIndex(this.cityIndex);
+        changes.updateIndex(this.cityIndex, "Wuhan", IdGenerator.of(3),
+                            false);
+        statistics.apply(changes);
+        Assert.assertEquals(1L, statistics.indexLabel(this.cityIndex.id())
+                                          .entries());
+        Assert.assertEquals(1L, statistics.indexLabel(this.ageIndex.id())
+                                          .entries());
+        // The cleared index is partial until rebuilt
+        Assert.assertFalse(statistics.indexLabel(this.cityIndex.id())
+                                     .seeded());
+        Assert.assertTrue(statistics.indexLabel(this.ageIndex.id())
+                                    .seeded());
+
+        statistics.clear();
+        Assert.assertNull(statistics.indexLabel(this.cityIndex.id()));
+        Assert.assertNull(statistics.indexLabel(this.ageIndex.id()));
+    }
+
+    @Test
+    public void testCompleteAfterClear() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        Assert.assertFalse(statistics.complete());
+
+        statistics.clear();
+        Assert.assertTrue(statistics.complete());
+
+        // The statistics collected since cleared are complete
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Beijing", IdGenerator.of(1),
+                            false);
+        changes.updateIndex(this.cityIndex, "Shanghai", IdGenerator.of(2),
+                            false);
+        statistics.apply(changes);
+        Assert.assertTrue(statistics.indexLabel(this.cityIndex.id())
+                                    .seeded());
+
+        ConditionQuery query = this.indexQuery(this.cityIndex);
+        query.eq(HugeKeys.FIELD_VALUES, "Beijing");
+        Assert.assertEquals(1L, statistics.estimate(this.cityIndex, query));
+    }
+
+    @Test
+    public void testUpdateLabel() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        HugeEdge edge1 = this.fakeObject.newEdge(1, 2);
+        HugeEdge edge2 = this.fakeObject.newEdge(1, 3);
+        changes.updateLabel(edge1, false);
+        changes.updateLabel(edge2, false);
+        changes.updateLabel(edge1.sourceVertex(), false);
+        statistics.apply(changes);
+
+        LabelStatistics stats = statistics.edgeLabel(edge1.schemaLabel().id());
+        Assert.assertEquals(2L, stats.count());
+        Assert.assertEquals(2D, stats.averageOutDegree(), 0D);
+        Assert.assertEquals(1D, stats.averageInDegree(), 0D);
+
+        Map<String, Object> results = stats.asMap();
+        Assert.assertEquals(1L, results.get("source_vertices"));
+        Assert.assertEquals(2L, results.get("target_vertices"));
+        Assert.assertEquals(ImmutableMap.of(2L, 1L), stats.outDegrees());
+        Assert.assertEquals(ImmutableMap.of(1L, 2L), stats.inDegrees());
+
+        changes = new GraphStatistics.Changes();
+        changes.updateLabel(edge2, true);
+        statistics.apply(changes);
+        Assert.assertEquals(1L, stats.count());
+        Assert.assertEquals(ImmutableMap.of(1L, 1L), stats.outDegrees());
+        Assert.assertEquals(ImmutableMap.of(1L, 1L), stats.inDegrees());
+
+        stats = statistics.vertexLabel(edge1.sourceVertex()
+                                            .schemaLabel().id());
+        Assert.assertEquals(1L, stats.count());
+    }
+
+    @Test
+    public void testDegreeHistogram() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        HugeEdge edge = null;
+        // Vertex i has (i % 8 + 1) out edges, the sample is full of vertices
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j <= i % 8; j++) {
+                edge = this.fakeObject.newEdge(i, 10000 + j);
+                changes.updateLabel(edge, false);
+            }
+        }
+        statistics.apply(changes);
+
+        LabelStatistics stats = statistics.edgeLabel(edge.schemaLabel().id());
+        Assert.assertEquals(4500L, stats.count());
+        Map<Long, Long> degrees = stats.outDegrees();
+        Assert.assertEquals(ImmutableSet.of(1L, 2L, 4L, 8L), degrees.keySet());
+        long vertices = degrees.values().stream().mapToLong(n -> n).sum();
+        // The sampled vertices stand for about 1000 vertices
+        Assert.assertTrue(vertices > 500L && vertices < 2000L);
+        // The in-degree of the 8 target vertices is 125 to 1000
+        Assert.assertEquals(ImmutableMap.of(64L, 1L, 128L, 1L, 256L, 2L,
+                                            512L, 4L),
+                            stats.inDegrees());
+    }
+
+    @Test
+    public void testOverrideIndex() {
+        GraphStatistics statistics = new GraphStatistics(true);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Beijing", IdGenerator.of(1),
+                            false);
+        changes.updateIndex(this.cityIndex, "Shanghai", IdGenerator.of(2),
+                            false);
+        statistics.apply(changes);
+        IndexStatistics stats = statistics.indexLabel(this.cityIndex.id());
+        Assert.assertEquals(2L, stats.entries());
+
+        // Override vertex 1 with the same value and vertex 2 with new value
+        changes = new GraphStatistics.Changes();
+        changes.overrideIndex(this.cityIndex, "Beijing", IdGenerator.of(1));
+        changes.overrideIndex(this.cityIndex, "Shanghai", IdGenerator.of(2));
+        changes.updateIndex(this.cityIndex, "Beijing", IdGenerator.of(1),
+                            false);
+        changes.updateIndex(this.cityIndex, "Wuhan", IdGenerator.of(2),
+                            false);
+        // The same entry is appended multiple times when updating
+        changes.updateIndex(this.cityIndex, "Wuhan", IdGenerator.of(2),
+                            false);
+        statistics.apply(changes);
+        Assert.assertEquals(2L, stats.entries());
+
+        // Remove and add an entry again in a transaction
+        changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Wuhan", IdGenerator.of(2),
+                            true);
+        changes.updateIndex(this.cityIndex, "Wuhan", IdGenerator.of(2),
+                            false);
+        statistics.apply(changes);
+        Assert.assertEquals(2L, stats.entries());
+
+        changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Wuhan", IdGenerator.of(2),
+                            true);
+        statistics.apply(changes);
+        Assert.assertEquals(1L, stats.entries());
+    }
+
+    @Test
+    public void testPersistAndLoad() {
+        BackendStore store = this.counterStore();
+        GraphStatistics statistics = new GraphStatistics(true);
+        statistics.init(store);
+
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        HugeEdge edge1 = this.fakeObject.newEdge(1, 2);
+        HugeEdge edge2 = this.fakeObject.newEdge(1, 3);
+        changes.updateLabel(edge1, false);
+        changes.updateLabel(edge2, false);
+        changes.updateLabel(edge1.sourceVertex(), false);
+        for (int i = 0; i < 1000; i++) {
+            changes.updateIndex(this.cityIndex, "city-" + (i % 10),
+                                IdGenerator.of(i), false);
+            changes.updateIndex(this.ageIndex, i % 100, IdGenerator.of(i),
+                                false);
+        }
+        statistics.apply(changes);
+        statistics.seed(ImmutableList.of(this.ageIndex.id()));
+
+        SchemaTransaction schema = this.schema(store, edge1);
+        GraphStatistics loaded = new GraphStatistics(true);
+        loaded.load(schema);
+        Assert.assertTrue(loaded.complete());
+
+        LabelStatistics stats = loaded.edgeLabel(edge1.schemaLabel().id());
+        Assert.assertEquals(2L, stats.count());
+        Assert.assertEquals(2D, stats.averageOutDegree(), 0D);
+        Assert.assertEquals(1D, stats.averageInDegree(), 0D);
+        Assert.assertEquals(ImmutableMap.of(2L, 1L), stats.outDegrees());
+        stats = loaded.vertexLabel(edge1.sourceVertex().schemaLabel().id());
+        Assert.assertEquals(1L, stats.count());
+
+        IndexStatistics city = loaded.indexLabel(this.cityIndex.id());
+        Assert.assertTrue(city.seeded());
+        Assert.assertEquals(1000L, city.entries());
+        Assert.assertEquals(10L, city.distinctValues());
+        IndexStatistics age = loaded.indexLabel(this.ageIndex.id());
+        Assert.assertEquals(statistics.indexLabel(this.ageIndex.id())
+                                      .histogram(),
+                            age.histogram());
+        ConditionQuery query = this.indexQuery(this.ageIndex);
+        query.gte(HugeKeys.FIELD_VALUES, 0);
+        query.lt(HugeKeys.FIELD_VALUES, 33);
+        Assert.assertEquals(330L, loaded.estimate(this.ageIndex, query));
+
+        // The cleared index is reset in the counters
+        changes = new GraphStatistics.Changes();
+        changes.clearIndex(this.cityIndex);
+        loaded.apply(changes);
+        loaded = new GraphStatistics(true);
+        loaded.load(schema);
+        Assert.assertNull(loaded.indexLabel(this.cityIndex.id()));
+        Assert.assertEquals(1000L, loaded.indexLabel(this.ageIndex.id())
+                                         .entries());
+
+        // The statistics become partial if opened with them disabled
+        new GraphStatistics(false).load(schema);
+        loaded = new GraphStatistics(true);
+        loaded.load(schema);
+        Assert.assertFalse(loaded.complete());
+        Assert.assertFalse(loaded.indexLabel(this.ageIndex.id()).seeded());
+        Assert.assertEquals(1000L, loaded.indexLabel(this.ageIndex.id())
+                                         .entries());
+        loaded = new GraphStatistics(true);
+        loaded.load(schema);
+        Assert.assertFalse(loaded.complete());
+        Assert.assertFalse(loaded.indexLabel(this.ageIndex.id()).seeded());
+
+        // The statistics are complete again after truncated
+        loaded.init(this.counterStore());
+        Assert.assertTrue(loaded.complete());
+        Assert.assertNull(loaded.indexLabel(this.ageIndex.id()));
+    }
+
+    @Test
+    public void testDisabled() {
+        GraphStatistics statistics = new GraphStatistics(false);
+        GraphStatistics.Changes changes = new GraphStatistics.Changes();
+        changes.updateIndex(this.cityIndex, "Beijing", IdGenerator.of(1),
+                            false);
+        statistics.apply(changes);
+        Assert.assertFalse(statistics.enabled());
+        Assert.assertNull(statistics.indexLabel(this.cityIndex.id()));
+    }
+
+    private BackendStore counterStore() {
+        Map<String, Long> counters = new HashMap<>();
+        BackendStore store = Mockito.mock(BackendStore.class);
+        Mockito.doAnswer(i -> {
+            counters.merge((String) i.getArguments()[0],
+                           (Long) i.getArguments()[1], Long::sum);
+            return null;
+        }).when(store).increaseCounter(Mockito.anyString(), Mockito.anyLong());
+        Mockito.when(store.getCounter(Mockito.anyString())).thenAnswer(i -> {
+            return counters.getOrDefault(i.getArguments()[0], 0L);
+        });
+        return store;
+    }
+
+    private SchemaTransaction schema(BackendStore store, HugeEdge edge) {
+        SchemaTransaction schema = Mockito.mock(SchemaTransaction.class);
+        Mockito.when(schema.store()).thenReturn(store);
+        Mockito.when(schema.graph()).thenReturn(this.fakeObject.graph());
+        Mockito.when(schema.getVertexLabels()).thenReturn(ImmutableList.of(
+                     edge.sourceVertex().schemaLabel()));
+        Mockito.when(schema.getEdgeLabels()).thenReturn(ImmutableList.of(
+                     edge.schemaLabel()));
+        Mockito.when(schema.getIndexLabels()).thenReturn(ImmutableList.of(
+                     this.cityIndex, this.ageIndex));
+        return schema;
+    }
+
+    private ConditionQuery indexQuery(IndexLabel indexLabel) {
+        ConditionQuery query = new ConditionQuery(indexLabel.indexType()
+                                                            .type());
+        query.eq(HugeKeys.INDEX_LABEL_ID, indexLabel.id());
+        return query;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.store.BackendMutation;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.backend.tx.GroupCommitter;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class GroupCommitterTest extends BaseUnitTest {
+
+    private BackendStore store;
+    private CountDownLatch committing;
+    private CountDownLatch released;
+
+    @Before
+    public void setup() {
+        this.store = Mockito.mock(BackendStore.class);
+        this.committing = new CountDownLatch(1);
+        this.released = new CountDownLatch(1);
+    }
+
+    @Test
+    public void testCommit() {
+        GroupCommitter committer = new GroupCommitter(this.store, 0L, 10);
+        BackendMutation m1 = mutation(1);
+        BackendMutation m2 = mutation(2);
+
+        committer.commit(m1, m2);
+
+        Mockito.verify(this.store, Mockito.times(1)).beginTx();
+        Mockito.verify(this.store).mutate(m1);
+        Mockito.verify(this.store).mutate(m2);
+        Mockito.verify(this.store, Mockito.times(1)).commitTx();
+        Assert.assertNull(Whitebox.getInternalState(committer, "pending"));
+    }
+
+    @Test
+    public void testCommitInGroup() throws InterruptedException {
+        GroupCommitter committer = new GroupCommitter(this.store, 0L, 10);
+        this.blockFirstCommit();
+
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(commitAsync(committer, mutation(1), errors));
+        this.committing.await();
+
+        // Commit while the first group is committing
+        for (int i = 0; i < 4; i++) {
+            threads.add(commitAsync(committer, mutation(2), errors));
+        }
+        waitForMembers(committer, 4);
+        this.released.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(0, errors.size());
+        Mockito.verify(this.store, Mockito.times(2)).beginTx();
+        Mockito.verify(this.store, Mockito.times(5))
+               .mutate(Mockito.any(BackendMutation.class));
+        Mockito.verify(this.store, Mockito.times(2)).commitTx();
+    }
+
+    @Test
+    public void testCommitInGroupWithMaxSize() throws InterruptedException {
+        GroupCommitter committer = new GroupCommitter(this.store, 0L, 5);
+        this.blockFirstCommit();
+
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(commitAsync(committer, mutation(1), errors));
+        this.committing.await();
+
+        // The 3rd mutation exceeds the max size and starts a new group
+        threads.add(commitAsync(committer, mutation(2), errors));
+        threads.add(commitAsync(committer, mutation(2), errors));
+        Object group = waitForMembers(committer, 2);
+        threads.add(commitAsync(committer, mutation(2), errors));
+        while (waitForMembers(committer, 1) == group) {
+            Thread.sleep(1L);
+        }
+        this.released.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(0, errors.size());
+        Mockito.verify(this.store, Mockito.times(3)).beginTx();
+        Mockito.verify(this.store, Mockito.times(4))
+               .mutate(Mockito.any(BackendMutation.class));
+        Mockito.verify(this.store, Mockito.times(3)).commitTx();
+    }
+
+    @Test
+    public void testCommitInGroupWithError() throws InterruptedException {
+        GroupCommitter committer = new GroupCommitter(this.store, 0L, 10);
+        AtomicInteger commits = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            if (commits.incrementAndGet() == 1) {
+                this.committing.countDown();
+                this.released.await();
+                return null;
+            }
+            throw new BackendException("Failed to commit");
+        }).when(this.store).commitTx();
+
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(commitAsync(committer, mutation(1), errors));
+        this.committing.await();
+
+        for (int i = 0; i < 3; i++) {
+            threads.add(commitAsync(committer, mutation(1), errors));
+        }
+        waitForMembers(committer, 3);
+        this.released.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // All the members of the failed group get the error
+        Assert.assertEquals(3, errors.size());
+        for (Throwable e : errors) {
+            Assert.assertTrue(e instanceof BackendException);
+        }
+    }
+
+    @Test
+    public void testNewGroupCommitterWithInvalidArgs() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new GroupCommitter(this.store, -1L, 10);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new GroupCommitter(this.store, 0L, 0);
+        });
+    }
+
+    private void blockFirstCommit() {
+        AtomicInteger commits = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            if (commits.incrementAndGet() == 1) {
+                this.committing.countDown();
+                this.released.await();
+            }
+            return null;
+        }).when(this.store).commitTx();
+    }
+
+    private static BackendMutation mutation(int size) {
+        BackendMutation mutation = Mockito.mock(BackendMutation.class);
+        Mockito.when(mutation.size()).thenReturn(size);
+        return mutation;
+    }
+
+    private static Thread commitAsync(GroupCommitter committer,
+                                      BackendMutation mutation,
+                                      List<Throwable> errors) {
+        Thread thread = new Thread(() -> {
+            try {
+                committer.commit(mutation);
+            } catch (Throwable e) {
+                synchronized (errors) {
+                    errors.add(e);
+                }
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static Object waitForMembers(GroupCommitter committer,
+                                         int members)
+                                         throws InterruptedException {
+        Object group;
+        while (true) {
+            group = Whitebox.getInternalState(committer, "pending");
+            if (group != null) {
+                synchronized (group) {
+                    int current = Whitebox.getInternalState(group, "members");
+                    if (current >= members) {
+                        return group;
+                    }
+                }
+            }
+            Thread.sleep(1L);
+        }
+    }
+}
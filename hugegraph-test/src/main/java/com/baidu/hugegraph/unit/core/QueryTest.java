@@ -19,13 +19,21 @@
 
 package com.baidu.hugegraph.unit.core;
 
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.BatchQuery;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.Query.Order;
 import com.baidu.hugegraph.testutil.Assert;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.HugeKeys;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 public class QueryTest {
@@ -75,4 +83,89 @@ public class QueryTest {
                             "limit 10, order by {NAME=ASC, FIELDS=DESC}",
                             query.toString());
     }
+
+    @Test
+    public void testBatchQueryAdd() {
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        Assert.assertTrue(batch.empty());
+        Assert.assertEquals(Query.NO_CAPACITY, batch.capacity());
+
+        batch.add(edgesQuery(IdGenerator.of(1), "1"));
+        batch.add(edgesQuery(IdGenerator.of(2), "1"));
+        Assert.assertFalse(batch.empty());
+        Assert.assertEquals(2, batch.size());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            batch.add(new Query(HugeType.VERTEX));
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            batch.add(new BatchQuery(HugeType.EDGE));
+        });
+    }
+
+    @Test
+    public void testBatchQueryGroupBy() {
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        batch.add(edgesQuery(IdGenerator.of(1), "1"));
+        batch.add(edgesQuery(IdGenerator.of(2), "2"));
+        batch.add(edgesQuery(IdGenerator.of(3), "1"));
+
+        Map<Object, BatchQuery> batches = batch.groupBy(query -> {
+            return ((ConditionQuery) query).condition(HugeKeys.LABEL);
+        });
+        Assert.assertEquals(2, batches.size());
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of("1"),
+                                             IdGenerator.of("2")),
+                            ImmutableList.copyOf(batches.keySet()));
+        Assert.assertEquals(2, batches.get(IdGenerator.of("1")).size());
+        Assert.assertEquals(1, batches.get(IdGenerator.of("2")).size());
+    }
+
+    @Test
+    public void testBatchQueryMergeIn() {
+        BatchQuery batch = new BatchQuery(HugeType.EDGE);
+        batch.add(edgesQuery(IdGenerator.of(1), "1"));
+        batch.add(edgesQuery(IdGenerator.of(2), "1"));
+
+        ConditionQuery merged = batch.mergeIn(HugeKeys.OWNER_VERTEX);
+        Assert.assertNotNull(merged);
+        Assert.assertEquals(2, merged.conditions().size());
+        Assert.assertEquals(IdGenerator.of("1"),
+                            merged.condition(HugeKeys.LABEL));
+        Assert.assertTrue(merged.containsCondition(HugeKeys.OWNER_VERTEX,
+                                                   Condition.RelationType.IN));
+
+        // Can't merge sub-queries without the EQ condition of the key
+        Assert.assertNull(batch.mergeIn(HugeKeys.DIRECTION));
+
+        // Can't merge sub-queries with different other conditions
+        batch.add(edgesQuery(IdGenerator.of(3), "2"));
+        Assert.assertNull(batch.mergeIn(HugeKeys.OWNER_VERTEX));
+
+        // Can't merge sub-queries with limit
+        batch = new BatchQuery(HugeType.EDGE);
+        batch.add(edgesQuery(IdGenerator.of(1), "1"));
+        batch.add(edgesQuery(IdGenerator.of(2), "1"));
+        batch.queries().get(1).limit(10L);
+        Assert.assertNull(batch.mergeIn(HugeKeys.OWNER_VERTEX));
+
+        // Can't merge sub-queries with different limits even per key
+        Assert.assertNull(batch.mergeIn(HugeKeys.OWNER_VERTEX, true));
+
+        // Merge sub-queries with the same limit per key
+        batch.queries().get(0).limit(10L);
+        Assert.assertNull(batch.mergeIn(HugeKeys.OWNER_VERTEX));
+        merged = batch.mergeIn(HugeKeys.OWNER_VERTEX, true);
+        Assert.assertNotNull(merged);
+        Assert.assertEquals(10L, merged.limit());
+        Assert.assertTrue(merged.containsCondition(HugeKeys.OWNER_VERTEX,
+                                                   Condition.RelationType.IN));
+    }
+
+    private static ConditionQuery edgesQuery(Id owner, String label) {
+        ConditionQuery query = new ConditionQuery(HugeType.EDGE);
+        query.eq(HugeKeys.OWNER_VERTEX, owner);
+        query.eq(HugeKeys.LABEL, IdGenerator.of(label));
+        return query;
+    }
 }
@@ -122,4 +122,25 @@ public class WhereBuilderTest extends BaseUnitTest {
         where.gte(ImmutableList.of("k1", "k2"), ImmutableList.of("v1", "v2"));
         Assert.assertEquals(" (k1, k2) >= ('v1', 'v2')", where.toString());
     }
+
+    @Test
+    public void testParameterized() {
+        WhereBuilder where = new WhereBuilder(true, true);
+        where.relation("k1", RelationType.EQ, "v'1").and()
+             .relation("k2", RelationType.GT, 2)
+             .and().in("k3", ImmutableList.of("v3", 3));
+        Assert.assertEquals(" WHERE k1=? AND k2>? AND k3 IN (?, ?)",
+                            where.toString());
+        Assert.assertEquals(ImmutableList.of("v'1", 2, "v3", 3),
+                            where.parameters());
+
+        where = new WhereBuilder(false, true);
+        where.gte(ImmutableList.of("k1", "k2"), ImmutableList.of("v1", 2));
+        Assert.assertEquals(" (k1, k2) >= (?, ?)", where.toString());
+        Assert.assertEquals(ImmutableList.of("v1", 2), where.parameters());
+
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            new WhereBuilder(false).parameters();
+        });
+    }
 }
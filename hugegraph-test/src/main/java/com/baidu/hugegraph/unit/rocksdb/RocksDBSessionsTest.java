@@ -19,18 +19,31 @@
 
 package com.baidu.hugegraph.unit.rocksdb;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assume;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.rocksdb.RocksDBException;
 
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBStdSessions;
+import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.baidu.hugegraph.util.Bytes;
+import com.google.common.collect.ImmutableList;
 
 public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
 
@@ -136,6 +149,107 @@ public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
         Assert.assertEquals("Lisa", get("person:2gname"));
     }
 
+    @Test
+    public void testGetByMultiKeys() throws RocksDBException {
+        for (int i = 0; i < 100; i++) {
+            put("person:" + i, "name" + i);
+        }
+
+        Session session = this.rocks.session();
+        // The found values are returned in the order of the keys
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 99; i >= 0; i--) {
+            keys.add(b("person:" + i));
+        }
+        Iterator<BackendColumn> iter = session.get(TABLE, keys);
+        for (int i = 99; i >= 0; i--) {
+            Assert.assertTrue(iter.hasNext());
+            BackendColumn col = iter.next();
+            Assert.assertEquals("person:" + i, s(col.name));
+            Assert.assertEquals("name" + i, s(col.value));
+        }
+        Assert.assertFalse(iter.hasNext());
+
+        // The missing keys are skipped
+        keys = ImmutableList.of(b("person:100"), b("person:1"),
+                                b("person:"), b("person:10"),
+                                b("person:1000"));
+        List<String> results = new ArrayList<>();
+        iter = session.get(TABLE, keys);
+        while (iter.hasNext()) {
+            results.add(s(iter.next().value));
+        }
+        Assert.assertEquals(ImmutableList.of("name1", "name10"), results);
+
+        keys = ImmutableList.of(b("person:100"), b("person:101"));
+        Assert.assertFalse(session.get(TABLE, keys).hasNext());
+        Assert.assertFalse(session.get(TABLE, ImmutableList.of()).hasNext());
+
+        // The duplicate keys are returned as many times as they are passed
+        byte[] key = b("person:2");
+        keys = ImmutableList.of(b("person:3"), key, b("person:3"), key);
+        results = new ArrayList<>();
+        iter = session.get(TABLE, keys);
+        while (iter.hasNext()) {
+            results.add(s(iter.next().value));
+        }
+        Assert.assertEquals(ImmutableList.of("name3", "name2",
+                                             "name3", "name2"), results);
+    }
+
+    @Test
+    public void testScanByMultiPrefixes() throws RocksDBException {
+        for (int i = 0; i < 100; i++) {
+            put(String.format("person:%02dgname", i), "name" + i);
+            put(String.format("person:%02dgage", i), String.valueOf(i));
+        }
+
+        Session session = this.rocks.session();
+        List<byte[]> prefixes = new ArrayList<>();
+        for (int i = 99; i >= 0; i -= 3) {
+            prefixes.add(b(String.format("person:%02d", i)));
+        }
+        Map<String, String> results = new HashMap<>();
+        Iterator<BackendColumn> iter = session.scan(TABLE, prefixes,
+                                                    Long.MAX_VALUE);
+        while (iter.hasNext()) {
+            BackendColumn col = iter.next();
+            Assert.assertNull(results.put(s(col.name), s(col.value)));
+        }
+        Assert.assertEquals(68, results.size());
+        for (int i = 99; i >= 0; i -= 3) {
+            Assert.assertEquals("name" + i, results.get(
+                                String.format("person:%02dgname", i)));
+            Assert.assertEquals(String.valueOf(i), results.get(
+                                String.format("person:%02dgage", i)));
+        }
+
+        // The missing and duplicate prefixes are skipped
+        prefixes = ImmutableList.of(b("person:100"), b("person:01"),
+                                    b("person:7"), b("person:01"),
+                                    b("person:A"), b("person:01"));
+        results = new HashMap<>();
+        iter = session.scan(TABLE, prefixes, Long.MAX_VALUE);
+        while (iter.hasNext()) {
+            BackendColumn col = iter.next();
+            Assert.assertNull(results.put(s(col.name), s(col.value)));
+        }
+        Assert.assertEquals(22, results.size());
+        Assert.assertEquals("name1", results.get("person:01gname"));
+        Assert.assertEquals("70", results.get("person:70gage"));
+        Assert.assertEquals("name79", results.get("person:79gname"));
+
+        // At most `limit` records are returned for each prefix
+        prefixes = ImmutableList.of(b("person:02"), b("person:01"));
+        List<String> names = new ArrayList<>();
+        iter = session.scan(TABLE, prefixes, 1L);
+        while (iter.hasNext()) {
+            names.add(s(iter.next().name));
+        }
+        Assert.assertEquals(ImmutableList.of("person:01gage",
+                                             "person:02gage"), names);
+    }
+
     @Test
     public void testScanByRange() throws RocksDBException {
         put("person:1gname", "James");
@@ -466,4 +580,72 @@ public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
         Assert.assertArrayEquals(null, session.get(TABLE, key14));
         Assert.assertArrayEquals(value20, session.get(TABLE, key20));
     }
+
+    @Test
+    public void testSharedBlockCache() throws RocksDBException, IOException {
+        File dir1 = new File(System.getProperty("java.io.tmpdir"),
+                             "rocksdb-shared-1");
+        File dir2 = new File(System.getProperty("java.io.tmpdir"),
+                             "rocksdb-shared-2");
+        FileUtils.deleteQuietly(dir1);
+        FileUtils.deleteQuietly(dir2);
+        HugeConfig config16m = sharedCacheConfig(16L * Bytes.MB);
+        HugeConfig config32m = sharedCacheConfig(32L * Bytes.MB);
+
+        RocksDBSessions rocks1 = openShared(config16m, dir1);
+        RocksDBSessions rocks2 = openShared(config16m, dir2);
+        try {
+            // The shared cache can't be resized by another graph
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                openShared(config32m, dir2);
+            }, e -> {
+                Assert.assertTrue(e.getMessage().startsWith(
+                                  "The shared block cache has been created"));
+            });
+            rocks1.session().put(TABLE, b("key"), b("value"));
+            rocks1.session().commit();
+            Assert.assertEquals("value",
+                                s(rocks1.session().get(TABLE, b("key"))));
+        } finally {
+            rocks1.close();
+            rocks2.close();
+        }
+
+        // The shared cache is released after the last db is closed
+        RocksDBSessions rocks3 = openShared(config32m, dir1);
+        try {
+            Assert.assertEquals("value",
+                                s(rocks3.session().get(TABLE, b("key"))));
+        } finally {
+            rocks3.close();
+            FileUtils.forceDelete(dir1);
+            FileUtils.forceDelete(dir2);
+        }
+    }
+
+    private static HugeConfig sharedCacheConfig(long capacity) {
+        HugeConfig config = Mockito.spy(FakeObjects.newConfig());
+        Mockito.doReturn(true).when(config)
+               .get(RocksDBOptions.BLOCK_CACHE_SHARED);
+        Mockito.doReturn(capacity).when(config)
+               .get(RocksDBOptions.BLOCK_CACHE_CAPACITY);
+        Mockito.doReturn(capacity / 2).when(config)
+               .get(RocksDBOptions.WRITE_BUFFER_MANAGER_CAPACITY);
+        return config;
+    }
+
+    private static RocksDBSessions openShared(HugeConfig config, File dir)
+                                              throws RocksDBException {
+        String path = dir.getPath();
+        RocksDBSessions rocks;
+        if (dir.exists()) {
+            rocks = new RocksDBStdSessions(config, "db", "shared", path, path,
+                                           ImmutableList.of(TABLE));
+        } else {
+            rocks = new RocksDBStdSessions(config, "db", "shared", path, path);
+            rocks.createTable(TABLE);
+        }
+        rocks.session();
+        return rocks;
+    }
 }
@@ -19,11 +19,19 @@
 
 package com.baidu.hugegraph.unit.serializer;
 
+import java.util.Iterator;
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.serializer.BinaryInlineSerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
 import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.testutil.Assert;
 import com.baidu.hugegraph.testutil.Whitebox;
@@ -79,4 +87,77 @@ public class BinaryInlineSerializerTest extends BaseUnitTest {
         Assert.assertEquals(edge2, edge);
         Assert.assertEquals(edge2.getProperties(), edge.getProperties());
     }
+
+    @Test
+    public void testLazyProperties() {
+        BinaryInlineSerializer ser = new BinaryInlineSerializer();
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        HugeVertex source = edge.sourceVertex();
+
+        BackendEntry entry = ser.writeVertex(source);
+        HugeVertex vertex = ser.readVertex(edge.graph(), entry);
+        Map<Id, HugeProperty<?>> parsed = Whitebox.getInternalState(
+                                          vertex, "properties");
+        Assert.assertEquals(0, parsed.size());
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+
+        // Only the accessed property is deserialized
+        Id age = IdGenerator.of(2);
+        Assert.assertEquals(18, (int) vertex.getPropertyValue(age));
+        parsed = Whitebox.getInternalState(vertex, "properties");
+        Assert.assertEquals(1, parsed.size());
+        Assert.assertTrue(vertex.hasProperty(IdGenerator.of(1)));
+        Assert.assertFalse(vertex.hasProperty(IdGenerator.of(5)));
+        Assert.assertEquals(1, parsed.size());
+
+        // All properties are deserialized if needed
+        Assert.assertEquals(source.getProperties(), vertex.getProperties());
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+
+        // The copied vertex doesn't share the lazy properties
+        vertex = ser.readVertex(edge.graph(), ser.writeVertex(source));
+        HugeVertex copy = vertex.copy();
+        Assert.assertNotSame(Whitebox.getInternalState(vertex,
+                                                       "lazyProperties"),
+                             Whitebox.getInternalState(copy,
+                                                       "lazyProperties"));
+        Assert.assertEquals(source.getProperties(), copy.getProperties());
+        parsed = Whitebox.getInternalState(vertex, "properties");
+        Assert.assertEquals(0, parsed.size());
+        Assert.assertEquals(source.getProperties(), vertex.getProperties());
+
+        entry = ser.writeEdge(edge);
+        vertex = ser.readVertex(edge.graph(), entry);
+        HugeEdge edge1 = vertex.getEdges().iterator().next();
+        Assert.assertEquals(2, edge1.sizeOfProperties());
+        Assert.assertEquals(0.75, edge1.getPropertyValue(IdGenerator.of(5)));
+        Assert.assertEquals(edge.getProperties(), edge1.getProperties());
+    }
+
+    @Test
+    public void testEdgeIds() {
+        BinaryInlineSerializer ser = new BinaryInlineSerializer();
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+
+        BackendEntry entry = ser.writeEdge(edge);
+        // The value of edge is not needed to decode the edge id
+        for (BackendColumn col : entry.columns()) {
+            col.value = new byte[]{(byte) 0xff};
+        }
+
+        Iterator<EdgeId> ids = ser.readEdgeIds(edge.graph(), entry);
+        Assert.assertTrue(ids.hasNext());
+        EdgeId id = ids.next();
+        Assert.assertEquals(edge.id(), id);
+        Assert.assertEquals(edge.id().ownerVertexId(), id.ownerVertexId());
+        Assert.assertEquals(edge.id().otherVertexId(), id.otherVertexId());
+        Assert.assertEquals(edge.id().direction(), id.direction());
+        Assert.assertFalse(ids.hasNext());
+
+        HugeEdge other = edge.switchOwner();
+        ids = ser.readEdgeIds(edge.graph(), ser.writeEdge(other));
+        Assert.assertEquals(other.id(), ids.next());
+        Assert.assertEquals(edge.sourceVertex().id(),
+                            other.id().otherVertexId());
+    }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.iterator.Metadatable;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.serializer.BinaryResponseSerializer;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.structure.HugeProperty;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.type.define.Cardinality;
+import com.baidu.hugegraph.type.define.DataType;
+import com.baidu.hugegraph.type.define.SerialEnum;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class BinaryResponseSerializerTest extends BaseUnitTest {
+
+    private static final BinaryResponseSerializer SERIALIZER =
+                         BinaryResponseSerializer.instance();
+
+    @Test
+    public void testWriteIds() throws IOException {
+        List<Id> ids = ImmutableList.of(IdGenerator.of(1),
+                                        IdGenerator.of("marko"),
+                                        IdGenerator.of(Long.MAX_VALUE));
+        BytesBuffer buffer = write(SERIALIZER.writeIds(ids));
+
+        List<Id> results = new ArrayList<>();
+        for (BytesBuffer record : readRecords(buffer)) {
+            results.add(record.readId());
+        }
+        Assert.assertEquals(ids, results);
+        Assert.assertFalse(buffer.remaining() > 0);
+
+        buffer = write(SERIALIZER.writeIds(ImmutableList.of()));
+        Assert.assertEquals(0, readRecords(buffer).size());
+        Assert.assertFalse(buffer.remaining() > 0);
+    }
+
+    @Test
+    public void testWriteVertices() throws IOException {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        List<Vertex> vertices = ImmutableList.of(edge.sourceVertex(),
+                                                 edge.targetVertex());
+        BytesBuffer buffer = write(SERIALIZER.writeVertices(
+                                   vertices.iterator(), false));
+
+        List<BytesBuffer> records = readRecords(buffer);
+        Assert.assertEquals(2, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            HugeVertex vertex = (HugeVertex) vertices.get(i);
+            BytesBuffer record = records.get(i);
+            Assert.assertEquals(vertex.id(), record.readId());
+            Assert.assertEquals("person", record.readString());
+            assertProperties(vertex, readProperties(record));
+            Assert.assertFalse(record.remaining() > 0);
+        }
+        Assert.assertFalse(buffer.remaining() > 0);
+    }
+
+    @Test
+    public void testWriteVerticesWithPaging() throws IOException {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        PageInfo page = new PageInfo(1, PageInfo.PAGE_NONE);
+        Iterator<Vertex> vertices = new PagingIterator<>(
+                                    ImmutableList.<Vertex>of(
+                                    edge.sourceVertex()).iterator(),
+                                    page);
+        BytesBuffer buffer = write(SERIALIZER.writeVertices(vertices, true));
+
+        List<BytesBuffer> records = readRecords(buffer);
+        Assert.assertEquals(1, records.size());
+        Assert.assertEquals(edge.sourceVertex().id(),
+                            records.get(0).readId());
+        Assert.assertEquals(page.toString(), readPage(buffer));
+        Assert.assertFalse(buffer.remaining() > 0);
+
+        // No more pages
+        vertices = new PagingIterator<>(ImmutableList.<Vertex>of().iterator(),
+                                        null);
+        buffer = write(SERIALIZER.writeVertices(vertices, true));
+        Assert.assertEquals(0, readRecords(buffer).size());
+        Assert.assertNull(readPage(buffer));
+        Assert.assertFalse(buffer.remaining() > 0);
+    }
+
+    @Test
+    public void testWriteEdges() throws IOException {
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        BytesBuffer buffer = write(SERIALIZER.writeEdges(
+                                   ImmutableList.<Edge>of(edge).iterator(),
+                                   false));
+
+        List<BytesBuffer> records = readRecords(buffer);
+        Assert.assertEquals(1, records.size());
+        BytesBuffer record = records.get(0);
+        Assert.assertEquals(edge.id(), record.readId());
+        Assert.assertEquals("knows", record.readString());
+        Assert.assertEquals(IdGenerator.of(123), record.readId());
+        Assert.assertEquals("person", record.readString());
+        Assert.assertEquals(IdGenerator.of(456), record.readId());
+        Assert.assertEquals("person", record.readString());
+        assertProperties(edge, readProperties(record));
+        Assert.assertFalse(record.remaining() > 0);
+        Assert.assertFalse(buffer.remaining() > 0);
+    }
+
+    @Test
+    public void testWritePaths() throws IOException {
+        HugeTraverser.Path path1 = new HugeTraverser.Path(
+                                   null, ImmutableList.of(IdGenerator.of(1),
+                                                          IdGenerator.of(2),
+                                                          IdGenerator.of(3)));
+        HugeTraverser.Path path2 = new HugeTraverser.Path(
+                                   null, ImmutableList.of(IdGenerator.of("a"),
+                                                          IdGenerator.of("b")));
+        HugeTraverser.Path path3 = new HugeTraverser.Path(
+                                   null, ImmutableList.of());
+        List<HugeTraverser.Path> paths = ImmutableList.of(path1, path2, path3);
+        BytesBuffer buffer = write(SERIALIZER.writePaths(
+                                   ImmutableSet.copyOf(paths)));
+
+        List<BytesBuffer> records = readRecords(buffer);
+        Assert.assertEquals(3, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            BytesBuffer record = records.get(i);
+            int size = record.readVInt();
+            List<Id> vertices = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                vertices.add(record.readId());
+            }
+            Assert.assertEquals(paths.get(i).vertices(), vertices);
+            Assert.assertFalse(record.remaining() > 0);
+        }
+        Assert.assertFalse(buffer.remaining() > 0);
+    }
+
+    private static BytesBuffer write(StreamingOutput output)
+                                     throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        return BytesBuffer.wrap(out.toByteArray());
+    }
+
+    private static List<BytesBuffer> readRecords(BytesBuffer buffer) {
+        List<BytesBuffer> records = new ArrayList<>();
+        int length;
+        while ((length = buffer.readVInt()) > 0) {
+            records.add(BytesBuffer.wrap(buffer.read(length)));
+        }
+        return records;
+    }
+
+    private static String readPage(BytesBuffer buffer) {
+        int length = buffer.readVInt();
+        return length == 0 ? null : new String(buffer.read(length));
+    }
+
+    private static Map<String, Object> readProperties(BytesBuffer record) {
+        Map<String, Object> properties = new HashMap<>();
+        int size = record.readVInt();
+        for (int i = 0; i < size; i++) {
+            String name = record.readString();
+            PropertyKey pkey = new PropertyKey(null, IdGenerator.of(i), name);
+            pkey.dataType(SerialEnum.fromCode(DataType.class, record.read()));
+            pkey.cardinality(SerialEnum.fromCode(Cardinality.class,
+                                                 record.read()));
+            properties.put(name, record.readProperty(pkey));
+        }
+        return properties;
+    }
+
+    private static void assertProperties(HugeElement element,
+                                         Map<String, Object> properties) {
+        Map<Id, HugeProperty<?>> expected = element.getProperties();
+        Assert.assertEquals(expected.size(), properties.size());
+        for (HugeProperty<?> prop : expected.values()) {
+            Assert.assertEquals(prop.value(), properties.get(prop.key()));
+        }
+    }
+
+    private static class PagingIterator<T> implements Iterator<T>,
+                                                      Metadatable {
+
+        private final Iterator<T> iterator;
+        private final PageInfo page;
+
+        public PagingIterator(Iterator<T> iterator, PageInfo page) {
+            this.iterator = iterator;
+            this.page = page;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return this.iterator.next();
+        }
+
+        @Override
+        public Object metadata(String meta, Object... args) {
+            Assert.assertEquals(PageInfo.PAGE, meta);
+            return this.page;
+        }
+    }
+}
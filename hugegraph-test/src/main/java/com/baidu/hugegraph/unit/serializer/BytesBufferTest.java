@@ -22,6 +22,7 @@ package com.baidu.hugegraph.unit.serializer;
 import java.awt.Point;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -971,6 +972,37 @@ public class BytesBufferTest extends BaseUnitTest {
         Assert.assertArrayEquals(new int[]{2, 5}, (int[]) iterator.next());
     }
 
+    @Test
+    public void testSkipProperty() {
+        Object[][] values = {
+            {genPkey(DataType.BOOLEAN), true},
+            {genPkey(DataType.BYTE), (byte) 127},
+            {genPkey(DataType.INT), 128},
+            {genPkey(DataType.FLOAT), 3.14f},
+            {genPkey(DataType.LONG), Long.MAX_VALUE},
+            {genPkey(DataType.DATE), new Date()},
+            {genPkey(DataType.DOUBLE), 3.14d},
+            {genPkey(DataType.TEXT), "abc"},
+            {genPkey(DataType.BLOB), genBytes("001199aabbcc")},
+            {genPkey(DataType.UUID), UUID.randomUUID()},
+            {genPkey(DataType.OBJECT), new Point(3, 8)},
+            {genListPkey(DataType.TEXT), ImmutableList.of("abc", "123")},
+            {genSetPkey(DataType.INT), ImmutableSet.of(127, 128)}
+        };
+
+        int ending = 0x12345678;
+        for (Object[] value : values) {
+            PropertyKey pkey = (PropertyKey) value[0];
+            BytesBuffer buf = BytesBuffer.allocate(0);
+            byte[] bytes = buf.writeProperty(pkey, value[1])
+                              .writeInt(ending).bytes();
+
+            buf = BytesBuffer.wrap(bytes).skipProperty(pkey);
+            Assert.assertEquals(ending, buf.readInt());
+            Assert.assertEquals(0, buf.remaining());
+        }
+    }
+
     @Test
     public void testString() {
         BytesBuffer buf = BytesBuffer.allocate(0);
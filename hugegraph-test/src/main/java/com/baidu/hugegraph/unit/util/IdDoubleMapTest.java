@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.collection.IdDoubleMap;
+import com.baidu.hugegraph.util.collection.LongDoubleHashMap;
+import com.google.common.collect.ImmutableMap;
+
+public class IdDoubleMapTest {
+
+    @Test
+    public void testLongDoubleHashMap() {
+        LongDoubleHashMap map = new LongDoubleHashMap();
+        Assert.assertTrue(map.isEmpty());
+
+        Assert.assertTrue(map.put(1L, 0.1));
+        Assert.assertTrue(map.put(0L, 0.2));
+        Assert.assertFalse(map.put(1L, 0.3));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(0.3, map.get(1L, 0.0), 0.0);
+        Assert.assertEquals(0.2, map.get(0L, 0.0), 0.0);
+        Assert.assertEquals(-1.0, map.get(2L, -1.0), 0.0);
+
+        Assert.assertEquals(0.5, map.add(0L, 0.3), 1e-9);
+        Assert.assertEquals(0.5, map.add(2L, 0.5), 0.0);
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertTrue(map.remove(0L));
+        Assert.assertFalse(map.remove(0L));
+        Assert.assertFalse(map.containsKey(0L));
+        Assert.assertEquals(0.1, map.add(0L, 0.1), 0.0);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.keys().hasNext());
+    }
+
+    @Test
+    public void testLongDoubleHashMapWithRandomOperations() {
+        LongDoubleHashMap map = new LongDoubleHashMap();
+        Map<Long, Double> expected = new HashMap<>();
+        Random random = new Random(20191101L);
+        for (int i = 0; i < 200000; i++) {
+            long key = random.nextInt(10000);
+            int op = random.nextInt(3);
+            if (op == 0) {
+                Assert.assertEquals(expected.remove(key) != null,
+                                    map.remove(key));
+            } else if (op == 1) {
+                Assert.assertEquals(expected.put(key, (double) i) == null,
+                                    map.put(key, i));
+            } else {
+                double value = expected.merge(key, 1.0, Double::sum);
+                Assert.assertEquals(value, map.add(key, 1.0), 0.0);
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+
+        Map<Long, Double> entries = new HashMap<>();
+        PrimitiveIterator.OfLong keys = map.keys();
+        while (keys.hasNext()) {
+            long key = keys.nextLong();
+            entries.put(key, map.get(key, Double.NaN));
+        }
+        Assert.assertEquals(expected, entries);
+    }
+
+    @Test
+    public void testIdDoubleMap() {
+        IdDoubleMap map = new IdDoubleMap();
+        Id id1 = IdGenerator.of(1L);
+        Id id2 = IdGenerator.of("2");
+
+        map.put(id1, 0.1);
+        map.put(id2, 0.2);
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(0.1, map.get(id1), 0.0);
+        Assert.assertEquals(0.2, map.get(id2, 0.0), 0.0);
+        Assert.assertNull(map.get(IdGenerator.of(2L)));
+        Assert.assertNull(map.get("2"));
+        Assert.assertEquals(-1.0, map.get(IdGenerator.of(2L), -1.0), 0.0);
+
+        Assert.assertEquals(0.4, map.add(id1, 0.3), 1e-9);
+        Assert.assertEquals(0.5, map.add(id2, 0.3), 1e-9);
+        Assert.assertEquals(0.5, map.add(IdGenerator.of(3L), 0.5), 0.0);
+        Assert.assertTrue(map.containsKey(IdGenerator.of(3L)));
+
+        Assert.assertEquals(0.5, map.remove(IdGenerator.of(3L)), 0.0);
+        Assert.assertNull(map.remove(IdGenerator.of(3L)));
+
+        Map<Id, Double> expected = ImmutableMap.of(id1, map.get(id1),
+                                                   id2, map.get(id2));
+        Assert.assertEquals(expected, new HashMap<>(map));
+        Assert.assertEquals(expected, map);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+    }
+}
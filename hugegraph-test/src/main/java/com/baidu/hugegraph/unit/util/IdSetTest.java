@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.collection.IdSet;
+import com.baidu.hugegraph.util.collection.LongHashSet;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class IdSetTest {
+
+    @Test
+    public void testLongHashSet() {
+        LongHashSet set = new LongHashSet();
+        Assert.assertTrue(set.isEmpty());
+
+        Assert.assertTrue(set.add(1L));
+        Assert.assertTrue(set.add(0L));
+        Assert.assertTrue(set.add(-1L));
+        Assert.assertFalse(set.add(1L));
+        Assert.assertFalse(set.add(0L));
+        Assert.assertEquals(3, set.size());
+
+        Assert.assertTrue(set.contains(0L));
+        Assert.assertTrue(set.contains(-1L));
+        Assert.assertFalse(set.contains(2L));
+
+        Assert.assertTrue(set.remove(0L));
+        Assert.assertFalse(set.remove(0L));
+        Assert.assertFalse(set.contains(0L));
+        Assert.assertEquals(2, set.size());
+
+        Set<Long> elems = new HashSet<>();
+        PrimitiveIterator.OfLong iter = set.iterator();
+        while (iter.hasNext()) {
+            elems.add(iter.nextLong());
+        }
+        Assert.assertEquals(ImmutableSet.of(1L, -1L), elems);
+
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    public void testLongHashSetWithRandomOperations() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(20191101L);
+        for (int i = 0; i < 200000; i++) {
+            // A small range to make enough collisions and removals
+            long key = random.nextInt(10000) - 100;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                Assert.assertEquals(expected.add(key), set.add(key));
+            }
+        }
+        Assert.assertEquals(expected.size(), set.size());
+        for (long key = -100L; key < 9900L; key++) {
+            Assert.assertEquals(expected.contains(key), set.contains(key));
+        }
+
+        Set<Long> elems = new HashSet<>();
+        PrimitiveIterator.OfLong iter = set.iterator();
+        while (iter.hasNext()) {
+            Assert.assertTrue(elems.add(iter.nextLong()));
+        }
+        Assert.assertEquals(expected, elems);
+    }
+
+    @Test
+    public void testLongHashSetWithInvalidSize() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new LongHashSet(-1);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new LongHashSet(Integer.MAX_VALUE);
+        });
+    }
+
+    @Test
+    public void testIdSet() {
+        Set<Id> set = new IdSet();
+        Assert.assertTrue(set.isEmpty());
+
+        Assert.assertTrue(set.add(IdGenerator.of(1L)));
+        Assert.assertTrue(set.add(IdGenerator.of("1")));
+        Assert.assertTrue(set.add(IdGenerator.of("java")));
+        Assert.assertFalse(set.add(IdGenerator.of(1L)));
+        Assert.assertFalse(set.add(IdGenerator.of("java")));
+        Assert.assertEquals(3, set.size());
+
+        Assert.assertTrue(set.contains(IdGenerator.of(1L)));
+        Assert.assertTrue(set.contains(IdGenerator.of("1")));
+        Assert.assertFalse(set.contains(IdGenerator.of(2L)));
+        Assert.assertFalse(set.contains(1L));
+
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of(1L),
+                                            IdGenerator.of("1"),
+                                            IdGenerator.of("java")),
+                            ImmutableSet.copyOf(set));
+
+        Assert.assertTrue(set.removeAll(ImmutableList.of(IdGenerator.of(1L),
+                                                         IdGenerator.of(3L))));
+        Assert.assertTrue(set.remove(IdGenerator.of("java")));
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of("1")),
+                            ImmutableSet.copyOf(set));
+
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+    }
+}